@@ -0,0 +1,312 @@
+package com.example.simulation_of_bangladesh_bank;
+
+import com.example.simulation_of_bangladesh_bank.saida.util.GroupCommit;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * BinaryFileHelper - Shared record store for the Sara and Shifat screens.
+ * Records are kept as length-prefixed frames behind a small file header, so
+ * appending one record never touches the rest of the file and reads can be
+ * streamed one record at a time.
+ *
+ * File layout: [magic int] followed by frames of [length int][serialized record].
+ * Files written by the old ObjectOutputStream-based helper are still readable
+ * and are converted on their next write.
+ */
+public class BinaryFileHelper {
+
+    // "BBRF" - Bangladesh Bank record frames
+    private static final int MAGIC = 0x42425246;
+    private static final int HEADER_SIZE = 4;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // First two bytes of a plain ObjectOutputStream file
+    private static final int LEGACY_STREAM_MAGIC = 0xACED;
+
+    // Length of each file up to its last complete frame, as of our last append to it
+    private static final Map<String, Long> VERIFIED_LENGTHS = new ConcurrentHashMap<>();
+
+    // Append a single object to the file in O(1)
+    public static synchronized void saveObject(File file, Object obj) {
+        try {
+            if (isLegacyFile(file)) {
+                convertLegacyFile(file);
+            }
+            boolean newFile = !file.exists() || file.length() < HEADER_SIZE;
+            if (!newFile) {
+                truncateTornFrame(file);
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new FileOutputStream(file, !newFile), BUFFER_SIZE))) {
+                if (newFile) {
+                    out.writeInt(MAGIC);
+                }
+                writeFrame(out, obj);
+            }
+            VERIFIED_LENGTHS.put(file.getAbsolutePath(), file.length());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // Read all objects from the file
+    public static <T> List<T> readAllObjects(File file) {
+        try (Stream<T> records = stream(file)) {
+            return records.collect(Collectors.toList());
+        }
+    }
+
+    // Replace the file contents with the given objects
+    public static <T> void writeAllObjects(File file, List<T> objects) {
+        writeAllObjects(file, objects.stream());
+    }
+
+    /**
+     * Replaces the file contents with the records of a stream, writing each one as it is
+     * produced, so a file of any size is written without holding its records in memory.
+     * The records go to a temp file that replaces the old one only once complete, so a crash
+     * or a failing stream never leaves the file truncated.
+     * Returns false if the file could not be written.
+     */
+    public static synchronized <T> boolean writeAllObjects(File file, Stream<T> objects) {
+        Path target = file.toPath();
+        Path temp = null;
+        try {
+            temp = GroupCommit.newTempFile(target);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(temp), BUFFER_SIZE))) {
+                out.writeInt(MAGIC);
+                Iterator<T> records = objects.iterator();
+                while (records.hasNext()) {
+                    writeFrame(out, records.next());
+                }
+            }
+            GroupCommit.commit(temp, target);
+            VERIFIED_LENGTHS.put(file.getAbsolutePath(), file.length());
+            return true;
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+            return false;
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    System.err.println("Could not remove temp file " + temp.getFileName());
+                }
+            }
+        }
+    }
+
+    /**
+     * Lazily streams the records of a file; only one record is held in memory at a time.
+     * The stream must be closed to release the file.
+     * A file that cannot be read throws UncheckedIOException rather than ending the stream
+     * early, so a damaged file is never mistaken for a shorter one (and then overwritten).
+     * An incomplete last record, left by a crash mid-append, is skipped.
+     */
+    public static <T> Stream<T> stream(File file) {
+        if (!file.exists() || file.length() == 0) return Stream.empty();
+
+        try {
+            RecordIterator<T> iterator = isLegacyFile(file)
+                    ? new LegacyRecordIterator<>(file)
+                    : new FrameRecordIterator<>(file);
+            return StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                    .onClose(iterator::close);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + file.getName(), e);
+        }
+    }
+
+    // A crash mid-append leaves a partial frame at the end of the file; appending after it
+    // would make every later record unreadable, so it is cut off first. Files whose length
+    // has not changed since our last append are known to be complete and are not scanned.
+    private static void truncateTornFrame(File file) throws IOException {
+        Long verified = VERIFIED_LENGTHS.get(file.getAbsolutePath());
+        if (verified != null && verified == file.length()) {
+            return;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            long length = raf.length();
+            if (raf.readInt() != MAGIC) {
+                throw new IOException("Unrecognized record file: " + file.getName());
+            }
+            long end = HEADER_SIZE;
+            while (end + Integer.BYTES <= length) {
+                raf.seek(end);
+                int frame = raf.readInt();
+                if (frame < 0 || end + Integer.BYTES + frame > length) {
+                    break;
+                }
+                end += Integer.BYTES + frame;
+            }
+            if (end < length) {
+                System.err.println("Removing incomplete trailing record from " + file.getName());
+                raf.setLength(end);
+            }
+        }
+    }
+
+    private static void writeFrame(DataOutputStream out, Object obj) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(obj);
+        }
+        out.writeInt(bytes.size());
+        bytes.writeTo(out);
+    }
+
+    // Rewrites an old-format file as frames; unreadable files are kept aside as .backup
+    private static void convertLegacyFile(File file) throws IOException {
+        List<Object> records = new ArrayList<>();
+        try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                try {
+                    records.add(ois.readObject());
+                } catch (EOFException eof) {
+                    break; // End of file
+                }
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            File backup = new File(file.getPath() + ".backup");
+            Files.move(file.toPath(), backup.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            System.err.println("Could not convert " + file.getName() + " (" + e.getMessage()
+                    + "). Old file backed up as: " + backup.getName());
+            return;
+        }
+        if (!writeAllObjects(file, records.stream())) {
+            throw new IOException("Could not convert " + file.getName());
+        }
+    }
+
+    private static boolean isLegacyFile(File file) throws IOException {
+        if (!file.exists() || file.length() < 2) return false;
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return in.readUnsignedShort() == LEGACY_STREAM_MAGIC;
+        }
+    }
+
+    private abstract static class RecordIterator<T> implements Iterator<T> {
+        private T next;
+        private boolean done;
+
+        // Returns the next record, or null at the end of the file
+        abstract T readNext() throws IOException, ClassNotFoundException;
+
+        abstract void close();
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                try {
+                    next = readNext();
+                } catch (IOException | ClassNotFoundException e) {
+                    close();
+                    throw new UncheckedIOException(new IOException("Unreadable record: " + e.getMessage(), e));
+                }
+                if (next == null) {
+                    done = true;
+                    close();
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            T record = next;
+            next = null;
+            return record;
+        }
+    }
+
+    // Reads length-prefixed frames, using the file length to detect the end
+    private static class FrameRecordIterator<T> extends RecordIterator<T> {
+        private final File file;
+        private final DataInputStream in;
+        private long remaining;
+
+        FrameRecordIterator(File file) throws IOException {
+            this.file = file;
+            this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+            this.remaining = file.length() - HEADER_SIZE;
+            if (in.readInt() != MAGIC) {
+                in.close();
+                throw new IOException("Unrecognized record file: " + file.getName());
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        T readNext() throws IOException, ClassNotFoundException {
+            if (remaining < Integer.BYTES) return null;
+            int length = in.readInt();
+            remaining -= Integer.BYTES;
+            if (length < 0 || length > remaining) {
+                System.err.println("Ignoring incomplete trailing record in " + file.getName());
+                return null;
+            }
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            remaining -= length;
+            try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+                return (T) ois.readObject();
+            }
+        }
+
+        @Override
+        void close() {
+            try {
+                in.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    // Reads files written by the old helper as one ObjectOutputStream
+    private static class LegacyRecordIterator<T> extends RecordIterator<T> {
+        private final ObjectInputStream ois;
+
+        LegacyRecordIterator(File file) throws IOException {
+            this.ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        T readNext() throws IOException, ClassNotFoundException {
+            try {
+                return (T) ois.readObject();
+            } catch (EOFException eof) {
+                return null; // End of file
+            }
+        }
+
+        @Override
+        void close() {
+            try {
+                ois.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.example.simulation_of_bangladesh_bank.Sara;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * AutomatedClearingHouseEngine - Deferred net settlement of ACH batch files.
+ * Items are cleared all day and only each bank's multilateral net position is settled,
+ * through RTGS, at the end. Banks are numbered on first sight, so positions are kept in
+ * plain long arrays indexed by bank number. A batch is read in chunks of lines; each chunk
+ * is split across a fork/join pool whose leaves parse and net their lines in one pass into
+ * their own arrays, and the arrays are summed on the way back up. Memory stays bounded by
+ * two chunks of lines plus a few longs per bank, however large the batch.
+ *
+ * Input: one item per line as itemId,type,originatingBank,receivingBank,amount where type
+ * is C (credit transfer: the originating bank pays) or D (direct debit: the receiving bank
+ * pays), optionally preceded by a header line starting with "itemId".
+ */
+public class AutomatedClearingHouseEngine {
+
+    public static final int DEFAULT_CHUNK_SIZE = 200_000;
+
+    // Settlement account in RTGS that collects net debits and pays out net credits
+    public static final String SETTLEMENT_ACCOUNT = "ACH Settlement Account";
+
+    // Lines a fork/join leaf nets on its own
+    private static final int LEAF_SIZE = 8_192;
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    public AutomatedClearingHouseEngine() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public AutomatedClearingHouseEngine(ForkJoinPool pool, int chunkSize) {
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Clears a batch file and returns every bank's net settlement position.
+     */
+    public NettingResult net(Path batchFile) throws IOException {
+        long started = System.currentTimeMillis();
+        BankNumbers banks = new BankNumbers();
+        Positions totals = new Positions();
+
+        try (BufferedReader reader = Files.newBufferedReader(batchFile, StandardCharsets.UTF_8)) {
+            // The next chunk is read while the previous one is being netted
+            ForkJoinTask<Positions> running = null;
+            String[] lines = new String[chunkSize];
+            String[] spare = new String[chunkSize];
+            int count;
+            while ((count = readChunk(reader, lines)) > 0 || running != null) {
+                ForkJoinTask<Positions> next = count > 0
+                        ? pool.submit(new NetTask(lines, 0, count, banks)) : null;
+                if (running != null) {
+                    totals.add(running.join());
+                }
+                running = next;
+                String[] filled = lines;
+                lines = spare;
+                spare = filled;
+            }
+        }
+
+        return new NettingResult(banks.names(), totals, System.currentTimeMillis() - started);
+    }
+
+    private static int readChunk(BufferedReader reader, String[] lines) throws IOException {
+        int count = 0;
+        String line;
+        while (count < lines.length && (line = reader.readLine()) != null) {
+            if (!line.isBlank() && !line.startsWith("itemId")) {
+                lines[count++] = line;
+            }
+        }
+        return count;
+    }
+
+    // ==================== NETTING ====================
+
+    /**
+     * Nets a range of lines; ranges above the leaf size are halved and forked.
+     */
+    private static class NetTask extends RecursiveTask<Positions> {
+        private static final long serialVersionUID = 1L;
+
+        private final String[] lines;
+        private final int from;
+        private final int to;
+        private final BankNumbers banks;
+
+        NetTask(String[] lines, int from, int to, BankNumbers banks) {
+            this.lines = lines;
+            this.from = from;
+            this.to = to;
+            this.banks = banks;
+        }
+
+        @Override
+        protected Positions compute() {
+            if (to - from <= LEAF_SIZE) {
+                Positions positions = new Positions();
+                for (int i = from; i < to; i++) {
+                    positions.net(lines[i], banks);
+                }
+                return positions;
+            }
+            int middle = (from + to) >>> 1;
+            NetTask left = new NetTask(lines, from, middle, banks);
+            left.fork();
+            Positions right = new NetTask(lines, middle, to, banks).compute();
+            right.add(left.join());
+            return right;
+        }
+    }
+
+    /**
+     * Assigns each bank name a dense number shared by all netting threads.
+     */
+    private static class BankNumbers {
+        private final Map<String, Integer> numbers = new ConcurrentHashMap<>();
+        private final List<String> names = new ArrayList<>();
+
+        int numberOf(String bank) {
+            Integer number = numbers.get(bank);
+            return number != null ? number : register(bank);
+        }
+
+        private synchronized int register(String bank) {
+            return numbers.computeIfAbsent(bank, b -> {
+                names.add(b);
+                return names.size() - 1;
+            });
+        }
+
+        synchronized List<String> names() {
+            return new ArrayList<>(names);
+        }
+    }
+
+    /**
+     * Gross and net amounts per bank number, in paisa.
+     */
+    private static class Positions {
+        long[] paid = new long[16];
+        long[] received = new long[16];
+        long items;
+        long malformed;
+        long value;
+
+        void net(String line, BankNumbers banks) {
+            int c1 = line.indexOf(',');
+            int c2 = line.indexOf(',', c1 + 1);
+            int c3 = line.indexOf(',', c2 + 1);
+            int c4 = line.indexOf(',', c3 + 1);
+            if (c1 < 0 || c2 < 0 || c3 < 0 || c4 < 0) {
+                malformed++;
+                return;
+            }
+            long amount = parsePaisa(line, c4 + 1, line.length());
+            char type = firstChar(line, c1 + 1, c2);
+            String originating = line.substring(c2 + 1, c3).trim();
+            String receiving = line.substring(c3 + 1, c4).trim();
+            if (amount <= 0 || originating.isEmpty() || receiving.isEmpty() || (type != 'C' && type != 'D')) {
+                malformed++;
+                return;
+            }
+            int payer = banks.numberOf(type == 'C' ? originating : receiving);
+            int payee = banks.numberOf(type == 'C' ? receiving : originating);
+            ensureCapacity(Math.max(payer, payee) + 1);
+            paid[payer] += amount;
+            received[payee] += amount;
+            items++;
+            value += amount;
+        }
+
+        void add(Positions other) {
+            ensureCapacity(other.paid.length);
+            for (int i = 0; i < other.paid.length; i++) {
+                paid[i] += other.paid[i];
+                received[i] += other.received[i];
+            }
+            items += other.items;
+            malformed += other.malformed;
+            value += other.value;
+        }
+
+        private void ensureCapacity(int banks) {
+            if (banks > paid.length) {
+                int size = Math.max(banks, paid.length * 2);
+                paid = Arrays.copyOf(paid, size);
+                received = Arrays.copyOf(received, size);
+            }
+        }
+
+        private static char firstChar(String line, int from, int to) {
+            for (int i = from; i < to; i++) {
+                char c = line.charAt(i);
+                if (c != ' ') {
+                    return Character.toUpperCase(c);
+                }
+            }
+            return 0;
+        }
+
+        // Parses "1234.5" or "1234.56" into paisa without going through double; -1 if invalid
+        private static long parsePaisa(String text, int from, int to) {
+            long taka = 0;
+            long paisa = 0;
+            int decimals = -1;
+            boolean digits = false;
+            for (int i = from; i < to; i++) {
+                char c = text.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    digits = true;
+                    if (decimals < 0) {
+                        taka = taka * 10 + (c - '0');
+                    } else if (++decimals <= 2) {
+                        paisa = paisa * 10 + (c - '0');
+                    } else if (c != '0') {
+                        return -1;
+                    }
+                } else if (c == '.' && decimals < 0) {
+                    decimals = 0;
+                } else if (c != ' ') {
+                    return -1;
+                }
+            }
+            if (!digits) {
+                return -1;
+            }
+            if (decimals == 1) {
+                paisa *= 10;
+            }
+            return taka * 100 + paisa;
+        }
+    }
+
+    // ==================== RESULT ====================
+
+    /**
+     * Net settlement positions of one batch; amounts in paisa.
+     */
+    public static class NettingResult {
+        private final List<String> banks;
+        private final long[] paid;
+        private final long[] received;
+        private final long items;
+        private final long malformed;
+        private final long value;
+        private final long elapsedMillis;
+
+        NettingResult(List<String> banks, Positions totals, long elapsedMillis) {
+            this.banks = banks;
+            this.paid = Arrays.copyOf(totals.paid, banks.size());
+            this.received = Arrays.copyOf(totals.received, banks.size());
+            this.items = totals.items;
+            this.malformed = totals.malformed;
+            this.value = totals.value;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public List<String> getBanks() {
+            return banks;
+        }
+
+        public long getPaid(int bank) {
+            return paid[bank];
+        }
+
+        public long getReceived(int bank) {
+            return received[bank];
+        }
+
+        /**
+         * Positive for a net creditor, negative for a net debtor. All positions sum to zero.
+         */
+        public long getNetPosition(int bank) {
+            return received[bank] - paid[bank];
+        }
+
+        public long getItems() {
+            return items;
+        }
+
+        public long getMalformed() {
+            return malformed;
+        }
+
+        /**
+         * Gross value of all cleared items.
+         */
+        public long getValue() {
+            return value;
+        }
+
+        /**
+         * Amount that actually moves in settlement: the sum of net debit positions.
+         */
+        public long getSettlementValue() {
+            long total = 0;
+            for (int bank = 0; bank < banks.size(); bank++) {
+                total += Math.max(0, -getNetPosition(bank));
+            }
+            return total;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        /**
+         * Settles the positions through RTGS in one all-or-nothing batch: every net debtor
+         * pays the ACH settlement account, which pays every net creditor. If any bank is not
+         * an RTGS participant or a debtor cannot cover its net debit, no leg settles.
+         * Legs are recorded in the RTGS ledger as batchId/n, n being the bank's number.
+         */
+        public List<RealTimeGrossSettlementEngine.Payment> settle(RealTimeGrossSettlementService rtgs, String batchId) {
+            rtgs.getEngine().register(SETTLEMENT_ACCOUNT, 0);
+            List<RealTimeGrossSettlementEngine.Transfer> legs = new ArrayList<>();
+            for (int bank = 0; bank < banks.size(); bank++) {
+                long net = getNetPosition(bank);
+                if (net < 0) {
+                    legs.add(new RealTimeGrossSettlementEngine.Transfer(legId(batchId, bank),
+                            banks.get(bank), SETTLEMENT_ACCOUNT, -net));
+                } else if (net > 0) {
+                    legs.add(new RealTimeGrossSettlementEngine.Transfer(legId(batchId, bank),
+                            SETTLEMENT_ACCOUNT, banks.get(bank), net));
+                }
+            }
+            return legs.isEmpty() ? new ArrayList<>() : rtgs.settleAll(legs);
+        }
+
+        // Bank names do not fit the ledger's ID column; bank numbers do
+        private static String legId(String batchId, int bank) {
+            return batchId + "/" + (bank + 1);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Cleared %,d items between %d banks in %,d ms (%,d malformed lines): "
+                            + "gross ৳%,.2f settles as ৳%,.2f net",
+                    items, banks.size(), elapsedMillis, malformed, value / 100.0, getSettlementValue() / 100.0);
+        }
+    }
+}
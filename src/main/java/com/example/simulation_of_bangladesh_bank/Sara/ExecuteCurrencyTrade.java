@@ -1,5 +1,6 @@
 package com.example.simulation_of_bangladesh_bank.Sara;
 
+import com.example.simulation_of_bangladesh_bank.BinaryFileHelper;
 import javafx.event.ActionEvent;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
@@ -81,7 +82,7 @@ public class ExecuteCurrencyTrade {
         );
 
         executeCurrency_tradeArrayList.add(ExecuteCurrency_Trade);
-        BinaryFileHelper.writeAllObjects(file, executeCurrency_tradeArrayList);
+        BinaryFileHelper.saveObject(file, ExecuteCurrency_Trade);
     }
 
     @javafx.fxml.FXML
@@ -1,6 +1,9 @@
 package com.example.simulation_of_bangladesh_bank.Sara;
 
-public class ExecuteCurrency_Trade {
+import java.io.Serializable;
+
+public class ExecuteCurrency_Trade implements Serializable {
+    private static final long serialVersionUID = 1L;
 
     String CurrencyPairs;
     String TransactionTpe;
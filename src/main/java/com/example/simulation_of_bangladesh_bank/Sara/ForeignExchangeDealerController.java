@@ -1,5 +1,6 @@
 package com.example.simulation_of_bangladesh_bank.Sara;
 
+import com.example.simulation_of_bangladesh_bank.BinaryFileHelper;
 import javafx.event.ActionEvent;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
@@ -86,7 +87,7 @@ public class ForeignExchangeDealerController
         );
 
         boolean add = foreignExchangeDealersArrayList.add(foreignExchangeDealer);
-        BinaryFileHelper.writeAllObjects(file, foreignExchangeDealersArrayList);
+        BinaryFileHelper.saveObject(file, foreignExchangeDealer);
 
         tableView.getItems().clear();
         tableView.getItems().addAll(foreignExchangeDealersArrayList);
@@ -1,10 +1,11 @@
 package com.example.simulation_of_bangladesh_bank.Sara;
 
+import com.example.simulation_of_bangladesh_bank.saida.util.ViewCache;
 import javafx.event.ActionEvent;
 
 import java.io.IOException;
 
-public class ForeignExchangeDealer_DashController
+public class ForeignExchangeDealer_DashController implements ViewCache.Resettable
 {
     @javafx.fxml.FXML
     public void initialize() {
@@ -12,6 +13,11 @@ public class ForeignExchangeDealer_DashController
 
     }
 
+    // Navigation only, so the cached dashboard has nothing to reload
+    @Override
+    public void resetView() {
+    }
+
     @Deprecated
     public void managedailyexchangeOnAction(ActionEvent actionEvent) throws IOException {
         SceneSwitching.sceneSwitch(actionEvent, "Sara/ForeignExchangeDealer.fxml", "Foreign Exchange Dealer");
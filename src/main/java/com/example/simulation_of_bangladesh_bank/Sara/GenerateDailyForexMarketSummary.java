@@ -1,6 +1,9 @@
 package com.example.simulation_of_bangladesh_bank.Sara;
 
-public class GenerateDailyForexMarketSummary {
+import java.io.Serializable;
+
+public class GenerateDailyForexMarketSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
     private String currencyId;
     private String tradeType;
     private String amount;
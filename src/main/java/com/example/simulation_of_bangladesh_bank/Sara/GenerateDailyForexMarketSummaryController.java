@@ -1,5 +1,6 @@
 package com.example.simulation_of_bangladesh_bank.Sara;
 
+import com.example.simulation_of_bangladesh_bank.BinaryFileHelper;
 import javafx.event.ActionEvent;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.TableColumn;
@@ -73,6 +74,6 @@ public class GenerateDailyForexMarketSummaryController
         );
 
         generateDailyForexMarketSummaryArrayList.add(generateDailyForexMarketSummary);
-        BinaryFileHelper.writeAllObjects(file, generateDailyForexMarketSummaryArrayList);
+        BinaryFileHelper.saveObject(file, generateDailyForexMarketSummary);
     }
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.example.simulation_of_bangladesh_bank.Sara;
 
-public class MaintainForeignReserveRecords {
+import java.io.Serializable;
+
+public class MaintainForeignReserveRecords implements Serializable {
+    private static final long serialVersionUID = 1L;
     private String currencyID;
     private String amount;
     private String update;
@@ -1,5 +1,6 @@
 package com.example.simulation_of_bangladesh_bank.Sara;
 
+import com.example.simulation_of_bangladesh_bank.BinaryFileHelper;
 import javafx.event.ActionEvent;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
@@ -66,6 +67,6 @@ public class MaintainForeignReserveRecordsController
         );
 
         maintainForeignReserveRecordsArrayList.add(maintainForeignReserveRecords);
-        BinaryFileHelper.writeAllObjects(file, maintainForeignReserveRecordsArrayList);
+        BinaryFileHelper.saveObject(file, maintainForeignReserveRecords);
     }
 }
\ No newline at end of file
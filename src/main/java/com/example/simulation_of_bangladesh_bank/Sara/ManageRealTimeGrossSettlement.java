@@ -1,15 +1,35 @@
 package com.example.simulation_of_bangladesh_bank.Sara;
 
-public class ManageRealTimeGrossSettlement {
+import com.example.simulation_of_bangladesh_bank.saida.util.FixedWidthCodec;
+
+import java.io.Serializable;
+
+public class ManageRealTimeGrossSettlement implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // RTGS ledger file in the data directory
+    public static final String FILE = "rtgs_payments.bin";
+
+    // Fixed-width row layout used for the RTGS ledger file
+    public static final FixedWidthCodec<ManageRealTimeGrossSettlement> CODEC =
+            new FixedWidthCodec<>(() -> new ManageRealTimeGrossSettlement(null, null, null, 0, null))
+                    .text("rtgs", 32, ManageRealTimeGrossSettlement::getRtgs, ManageRealTimeGrossSettlement::setRtgs)
+                    .text("sender", 48, ManageRealTimeGrossSettlement::getSender, ManageRealTimeGrossSettlement::setSender)
+                    .text("receiver", 48, ManageRealTimeGrossSettlement::getReceiver, ManageRealTimeGrossSettlement::setReceiver)
+                    .number("amount", ManageRealTimeGrossSettlement::getAmount, ManageRealTimeGrossSettlement::setAmount)
+                    .text("status", 16, ManageRealTimeGrossSettlement::getStatus, ManageRealTimeGrossSettlement::setStatus);
+
     private String rtgs;
     private String sender;
     private String receiver;
+    private double amount;
     private String status;
 
-    public ManageRealTimeGrossSettlement(String rtgs, String sender, String receiver, String status) {
+    public ManageRealTimeGrossSettlement(String rtgs, String sender, String receiver, double amount, String status) {
         this.rtgs = rtgs;
         this.sender = sender;
         this.receiver = receiver;
+        this.amount = amount;
         this.status = status;
     }
 
@@ -37,6 +57,14 @@ public class ManageRealTimeGrossSettlement {
         this.receiver = receiver;
     }
 
+    public double getAmount() {
+        return amount;
+    }
+
+    public void setAmount(double amount) {
+        this.amount = amount;
+    }
+
     public String getStatus() {
         return status;
     }
@@ -51,6 +79,7 @@ public class ManageRealTimeGrossSettlement {
                 "rtgs='" + rtgs + '\'' +
                 ", sender='" + sender + '\'' +
                 ", receiver='" + receiver + '\'' +
+                ", amount=" + amount +
                 ", status='" + status + '\'' +
                 '}';
     }
@@ -1,16 +1,27 @@
 package com.example.simulation_of_bangladesh_bank.Sara;
 
+import com.example.simulation_of_bangladesh_bank.saida.util.AsyncDataManager;
+import com.example.simulation_of_bangladesh_bank.saida.util.CellValues;
+import com.example.simulation_of_bangladesh_bank.saida.util.DataManager;
+import com.example.simulation_of_bangladesh_bank.saida.util.IdSequence;
+import com.example.simulation_of_bangladesh_bank.saida.util.MappedRecordStore;
+import com.example.simulation_of_bangladesh_bank.saida.util.PagedRecordList;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
+import javafx.scene.control.Label;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
-import javafx.scene.control.cell.PropertyValueFactory;
 
-import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Thin client of RealTimeGrossSettlementService: submits payments and cancels queued ones.
+ * The service records every payment and its outcome in the ledger; the table pages through
+ * the ledger file, so only the rows on screen are held in memory.
+ */
 public class ManageRealTimeGrossSettlementController
 {
     @javafx.fxml.FXML
@@ -24,7 +35,7 @@ public class ManageRealTimeGrossSettlementController
     @javafx.fxml.FXML
     private TableColumn<ManageRealTimeGrossSettlement, String> rtgsColumn;
     @javafx.fxml.FXML
-    private TextField statusID;
+    private TextField amountID;
     @javafx.fxml.FXML
     private TableColumn<ManageRealTimeGrossSettlement, String> statusColumn;
     @javafx.fxml.FXML
@@ -32,26 +43,50 @@ public class ManageRealTimeGrossSettlementController
     @javafx.fxml.FXML
     private TableColumn<ManageRealTimeGrossSettlement, String> senderColumn;
     @javafx.fxml.FXML
-    private TableColumn<ManageRealTimeGrossSettlementController, String> receiverColumn;
-    private List<ManageRealTimeGrossSettlement> manageRealTimeGrossSettlementControllerArrayList = new ArrayList<>();
-    private File file = new File( "data/ManageRealTimeGrossSettlement.bin");
-
+    private TableColumn<ManageRealTimeGrossSettlement, String> receiverColumn;
     @javafx.fxml.FXML
-    public void initialize() {
-        rtgsColumn.setCellValueFactory(new PropertyValueFactory<>("rtgsID"));
-        senderColumn.setCellValueFactory(new PropertyValueFactory<>("sender"));
-        receiverColumn.setCellValueFactory(new PropertyValueFactory<>("receiver"));
-        statusColumn.setCellValueFactory(new PropertyValueFactory<>("status"));
+    private TableColumn<ManageRealTimeGrossSettlement, Double> amountColumn;
+    @javafx.fxml.FXML
+    private Label messageLabel;
 
+    private PagedRecordList<ManageRealTimeGrossSettlement> payments;
+    private RealTimeGrossSettlementService service;
 
+    // Payments the load test fires per run
+    private static final int LOAD_TEST_PAYMENTS = 500_000;
+    private static final String RTGS_FILE = ManageRealTimeGrossSettlement.FILE;
+
+    @javafx.fxml.FXML
+    public void initialize() {
+        rtgsColumn.setCellValueFactory(CellValues.of(ManageRealTimeGrossSettlement::getRtgs));
+        senderColumn.setCellValueFactory(CellValues.of(ManageRealTimeGrossSettlement::getSender));
+        receiverColumn.setCellValueFactory(CellValues.of(ManageRealTimeGrossSettlement::getReceiver));
+        amountColumn.setCellValueFactory(CellValues.of(ManageRealTimeGrossSettlement::getAmount));
+        statusColumn.setCellValueFactory(CellValues.of(ManageRealTimeGrossSettlement::getStatus));
 
-        manageRealTimeGrossSettlementControllerArrayList = BinaryFileHelper.readAllObjects(file);
-        tableID.getItems().clear();
-        tableID.getItems().addAll(manageRealTimeGrossSettlementControllerArrayList);
+        // Starting the service opens (and may convert) the ledger, so it stays off the FX thread
+        AsyncDataManager.supplyAsync(RealTimeGrossSettlementService::shared).thenAccept(started -> {
+            service = started;
+            // Only the open screen is notified; the service records outcomes either way
+            service.setListener(payment -> Platform.runLater(() -> onPaymentRecorded(payment)));
+            payments = new PagedRecordList<>(RTGS_FILE);
+            tableID.setItems(payments);
+        });
     }
 
     @javafx.fxml.FXML
     public void deleteOnAction(ActionEvent actionEvent) {
+        String id = rtgsID2.getText().trim();
+        if (id.isEmpty()) {
+            messageLabel.setText("Enter the RTGS ID of a queued payment to cancel");
+            return;
+        }
+        if (service != null && service.cancel(id)) {
+            messageLabel.setText("Payment " + id + " cancelled");
+            rtgsID2.clear();
+        } else {
+            messageLabel.setText("Only queued payments can be cancelled");
+        }
     }
 
     @javafx.fxml.FXML
@@ -62,16 +97,72 @@ public class ManageRealTimeGrossSettlementController
 
     @javafx.fxml.FXML
     public void saveOnAction(ActionEvent actionEvent) {
-        ManageRealTimeGrossSettlement manageRealTimeGrossSettlement  = new ManageRealTimeGrossSettlement(
-                rtgsID.getText(),
-                senderID.getText(),
-                receiverID.getText(),
-                statusID.getText()
+        if (service == null) {
+            messageLabel.setText("RTGS is still starting");
+            return;
+        }
+        String typedId = rtgsID.getText().trim();
+        double amount;
+        try {
+            amount = Double.parseDouble(amountID.getText().trim());
+        } catch (NumberFormatException e) {
+            messageLabel.setText("Enter a valid amount");
+            return;
+        }
+        String sender = senderID.getText().trim();
+        String receiver = receiverID.getText().trim();
 
+        // The ledger is not held in memory, so IDs are minted and checked against the file
+        AsyncDataManager.supplyAsync(() -> {
+            String id = typedId.isEmpty()
+                    ? IdSequence.nextId("RTGS-", 6, () -> {
+                        MappedRecordStore<ManageRealTimeGrossSettlement> store = DataManager.openRecordStore(RTGS_FILE);
+                        return store != null ? store.keys() : List.of();
+                    })
+                    : typedId;
+            return service.submit(new ManageRealTimeGrossSettlement(id, sender, receiver, amount, null));
+        }).thenAccept(payment -> {
+            showOutcome(payment);
+            refreshPayments();
+            if (payment.getStatus() != RealTimeGrossSettlementEngine.Status.REJECTED) {
+                rtgsID.clear();
+                amountID.clear();
+            }
+        });
+    }
+
+    @javafx.fxml.FXML
+    public void loadTestOnAction(ActionEvent actionEvent) {
+        messageLabel.setText("Running load test...");
+        int threads = Runtime.getRuntime().availableProcessors();
+        AsyncDataManager.supplyAsync(() -> {
+            Map<String, Long> balances = RealTimeGrossSettlementEngine.shared().getBalances();
+            try {
+                return RealTimeGrossSettlementLoadGenerator.run(balances, LOAD_TEST_PAYMENTS, threads,
+                        System.nanoTime()).toString();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return "Load test interrupted";
+            }
+        }).thenAccept(messageLabel::setText);
+    }
 
-        );
+    private void onPaymentRecorded(RealTimeGrossSettlementEngine.Payment payment) {
+        showOutcome(payment);
+        refreshPayments();
+    }
 
-        manageRealTimeGrossSettlementControllerArrayList.add(manageRealTimeGrossSettlement);
-        BinaryFileHelper.writeAllObjects(file, manageRealTimeGrossSettlementControllerArrayList);
+    private void showOutcome(RealTimeGrossSettlementEngine.Payment payment) {
+        String status = RealTimeGrossSettlementService.statusText(payment.getStatus());
+        messageLabel.setText(payment.getReason() != null
+                ? payment.getPaymentId() + " rejected: " + payment.getReason()
+                : payment.getPaymentId() + " " + status.toLowerCase());
     }
+
+    private void refreshPayments() {
+        if (payments != null) {
+            payments.refresh();
+            tableID.refresh();
+        }
     }
+}
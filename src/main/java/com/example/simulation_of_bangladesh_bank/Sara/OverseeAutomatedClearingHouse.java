@@ -1,4 +1,95 @@
 package com.example.simulation_of_bangladesh_bank.Sara;
 
-public class OverseeAutomatedClearingHouse {
+import java.io.Serializable;
+
+/**
+ * One bank's settlement position in a cleared ACH batch (amounts in BDT).
+ */
+public class OverseeAutomatedClearingHouse implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String batchId;
+    private String bank;
+    private double totalDebits;
+    private double totalCredits;
+    private double netPosition;
+    private String status;
+
+    public OverseeAutomatedClearingHouse(String batchId, String bank, double totalDebits, double totalCredits,
+                                         double netPosition, String status) {
+        this.batchId = batchId;
+        this.bank = bank;
+        this.totalDebits = totalDebits;
+        this.totalCredits = totalCredits;
+        this.netPosition = netPosition;
+        this.status = status;
+    }
+
+    /**
+     * Record key, batchId/bank name. The settlement leg in the RTGS ledger is numbered
+     * by bank instead (see AutomatedClearingHouseEngine.NettingResult.settle).
+     */
+    public String getPositionId() {
+        return batchId + "/" + bank;
+    }
+
+    public String getBatchId() {
+        return batchId;
+    }
+
+    public void setBatchId(String batchId) {
+        this.batchId = batchId;
+    }
+
+    public String getBank() {
+        return bank;
+    }
+
+    public void setBank(String bank) {
+        this.bank = bank;
+    }
+
+    public double getTotalDebits() {
+        return totalDebits;
+    }
+
+    public void setTotalDebits(double totalDebits) {
+        this.totalDebits = totalDebits;
+    }
+
+    public double getTotalCredits() {
+        return totalCredits;
+    }
+
+    public void setTotalCredits(double totalCredits) {
+        this.totalCredits = totalCredits;
+    }
+
+    public double getNetPosition() {
+        return netPosition;
+    }
+
+    public void setNetPosition(double netPosition) {
+        this.netPosition = netPosition;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    @Override
+    public String toString() {
+        return "OverseeAutomatedClearingHouse{" +
+                "batchId='" + batchId + '\'' +
+                ", bank='" + bank + '\'' +
+                ", totalDebits=" + totalDebits +
+                ", totalCredits=" + totalCredits +
+                ", netPosition=" + netPosition +
+                ", status='" + status + '\'' +
+                '}';
+    }
 }
@@ -1,7 +1,186 @@
 package com.example.simulation_of_bangladesh_bank.Sara;
 
+import com.example.simulation_of_bangladesh_bank.saida.util.AsyncDataManager;
+import com.example.simulation_of_bangladesh_bank.saida.util.CellValues;
+import com.example.simulation_of_bangladesh_bank.saida.util.DataManager;
+import com.example.simulation_of_bangladesh_bank.saida.util.DataRepository;
+import com.example.simulation_of_bangladesh_bank.saida.util.IdSequence;
+import javafx.event.ActionEvent;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.stage.FileChooser;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Clears ACH batch files with AutomatedClearingHouseEngine and settles the resulting
+ * net positions through the shared RTGS engine.
+ */
 public class OverseeAutomatedClearingHouseController
 {
+    @javafx.fxml.FXML
+    private TableView<OverseeAutomatedClearingHouse> positionTable;
+    @javafx.fxml.FXML
+    private TableColumn<OverseeAutomatedClearingHouse, String> batchColumn;
+    @javafx.fxml.FXML
+    private TableColumn<OverseeAutomatedClearingHouse, String> bankColumn;
+    @javafx.fxml.FXML
+    private TableColumn<OverseeAutomatedClearingHouse, Double> debitsColumn;
+    @javafx.fxml.FXML
+    private TableColumn<OverseeAutomatedClearingHouse, Double> creditsColumn;
+    @javafx.fxml.FXML
+    private TableColumn<OverseeAutomatedClearingHouse, Double> netColumn;
+    @javafx.fxml.FXML
+    private TableColumn<OverseeAutomatedClearingHouse, String> statusColumn;
+    @javafx.fxml.FXML
+    private Button loadBatchButton;
+    @javafx.fxml.FXML
+    private Button settleButton;
+    @javafx.fxml.FXML
+    private Label summaryLabel;
+
+    private static final String ACH_FILE = "ach_positions.bin";
+
+    private String batchId;
+    private AutomatedClearingHouseEngine.NettingResult netting;
+    private final List<OverseeAutomatedClearingHouse> batchPositions = new ArrayList<>();
+
+    static {
+        DataManager.registerRecordKey(ACH_FILE, r -> ((OverseeAutomatedClearingHouse) r).getPositionId());
+    }
+
     @javafx.fxml.FXML
     public void initialize() {
-    }}
\ No newline at end of file
+        batchColumn.setCellValueFactory(CellValues.of(OverseeAutomatedClearingHouse::getBatchId));
+        bankColumn.setCellValueFactory(CellValues.of(OverseeAutomatedClearingHouse::getBank));
+        debitsColumn.setCellValueFactory(CellValues.of(OverseeAutomatedClearingHouse::getTotalDebits));
+        creditsColumn.setCellValueFactory(CellValues.of(OverseeAutomatedClearingHouse::getTotalCredits));
+        netColumn.setCellValueFactory(CellValues.of(OverseeAutomatedClearingHouse::getNetPosition));
+        statusColumn.setCellValueFactory(CellValues.of(OverseeAutomatedClearingHouse::getStatus));
+        settleButton.setDisable(true);
+
+        AsyncDataManager.<OverseeAutomatedClearingHouse>loadAsync(ACH_FILE)
+                .thenAccept(positions -> positionTable.getItems().setAll(positions))
+                .exceptionally(error -> AsyncDataManager.reportLoadFailure(ACH_FILE, error));
+    }
+
+    @javafx.fxml.FXML
+    public void loadBatchOnAction(ActionEvent actionEvent) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Select ACH Batch File");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Batch files (*.csv, *.txt)", "*.csv", "*.txt"));
+        File batchFile = chooser.showOpenDialog(positionTable.getScene().getWindow());
+        if (batchFile == null) {
+            return;
+        }
+
+        loadBatchButton.setDisable(true);
+        settleButton.setDisable(true);
+        summaryLabel.setText("Clearing " + batchFile.getName() + "...");
+        AsyncDataManager.supplyAsync(() -> {
+            try {
+                AutomatedClearingHouseEngine.NettingResult result = new AutomatedClearingHouseEngine().net(batchFile.toPath());
+                // Minting the first ID of the year may read the positions file
+                return new ClearedBatch(nextBatchId(), result);
+            } catch (IOException e) {
+                System.err.println("Error clearing " + batchFile.getName() + ": " + e.getMessage());
+                return null;
+            }
+        }).thenAccept(batch -> {
+            loadBatchButton.setDisable(false);
+            if (batch == null) {
+                summaryLabel.setText("Could not clear " + batchFile.getName());
+                return;
+            }
+            showBatch(batch.batchId, batch.result);
+        });
+    }
+
+    private static String nextBatchId() {
+        return IdSequence.nextId("ACH-" + LocalDate.now().getYear() + "-", 4,
+                () -> DataRepository.<OverseeAutomatedClearingHouse>get(ACH_FILE).stream()
+                        .map(OverseeAutomatedClearingHouse::getBatchId).collect(Collectors.toList()));
+    }
+
+    private void showBatch(String id, AutomatedClearingHouseEngine.NettingResult result) {
+        netting = result;
+        batchId = id;
+        batchPositions.clear();
+        for (int bank = 0; bank < result.getBanks().size(); bank++) {
+            long net = result.getNetPosition(bank);
+            batchPositions.add(new OverseeAutomatedClearingHouse(batchId, result.getBanks().get(bank),
+                    result.getPaid(bank) / 100.0, result.getReceived(bank) / 100.0, net / 100.0,
+                    net == 0 ? "No Settlement" : "Pending"));
+        }
+        positionTable.getItems().addAll(0, batchPositions);
+        savePositions();
+        settleButton.setDisable(batchPositions.isEmpty());
+        summaryLabel.setText(batchId + ": " + result);
+    }
+
+    @javafx.fxml.FXML
+    public void settleOnAction(ActionEvent actionEvent) {
+        if (netting == null) {
+            return;
+        }
+        settleButton.setDisable(true);
+        AutomatedClearingHouseEngine.NettingResult result = netting;
+        String batch = batchId;
+        netting = null;
+        // Writes the legs to the RTGS ledger, so it runs off the FX thread
+        AsyncDataManager.supplyAsync(() -> result.settle(RealTimeGrossSettlementService.shared(), batch))
+                .thenAccept(legs -> showSettlement(batch, legs));
+    }
+
+    private void showSettlement(String batch, List<RealTimeGrossSettlementEngine.Payment> legs) {
+        String rejection = null;
+        for (RealTimeGrossSettlementEngine.Payment leg : legs) {
+            if (leg.getStatus() == RealTimeGrossSettlementEngine.Status.REJECTED) {
+                rejection = leg.getReason();
+            }
+        }
+        // The batch settles all together or not at all
+        String status = rejection == null ? "Settled" : "Rejected: " + rejection;
+        for (OverseeAutomatedClearingHouse position : batchPositions) {
+            if (!"No Settlement".equals(position.getStatus())) {
+                position.setStatus(status);
+            }
+        }
+        positionTable.refresh();
+        savePositions();
+        summaryLabel.setText(rejection == null
+                ? batch + ": " + legs.size() + " settlement legs settled through RTGS"
+                : batch + ": not settled, " + rejection);
+    }
+
+    private void savePositions() {
+        for (OverseeAutomatedClearingHouse position : batchPositions) {
+            AsyncDataManager.updateAsync(ACH_FILE, position.getPositionId(), position);
+        }
+    }
+
+    @javafx.fxml.FXML
+    public void backOnAction(ActionEvent actionEvent) throws IOException {
+        SceneSwitching.sceneSwitch(actionEvent, "Sara/PaymentSystemOperatorDash.fxml", "Payment System Operator");
+    }
+
+    /**
+     * A netted batch with the ID minted for it.
+     */
+    private static class ClearedBatch {
+        final String batchId;
+        final AutomatedClearingHouseEngine.NettingResult result;
+
+        ClearedBatch(String batchId, AutomatedClearingHouseEngine.NettingResult result) {
+            this.batchId = batchId;
+            this.result = result;
+        }
+    }
+}
@@ -1,15 +1,21 @@
 package com.example.simulation_of_bangladesh_bank.Sara;
 
+import com.example.simulation_of_bangladesh_bank.saida.util.ViewCache;
 import javafx.event.ActionEvent;
 
 import java.io.IOException;
 
-public class PaymentSystemOperatorDashController
+public class PaymentSystemOperatorDashController implements ViewCache.Resettable
 {
     @javafx.fxml.FXML
     public void initialize() {
     }
 
+    // Navigation only, so the cached dashboard has nothing to reload
+    @Override
+    public void resetView() {
+    }
+
     @javafx.fxml.FXML
     public void monitorTransaction(ActionEvent actionEvent) {
     }
@@ -25,7 +31,8 @@ public class PaymentSystemOperatorDashController
     }
 
     @javafx.fxml.FXML
-    public void overseeautomated(ActionEvent actionEvent) {
+    public void overseeautomated(ActionEvent actionEvent) throws IOException {
+        SceneSwitching.sceneSwitch(actionEvent, "Sara/OverseeAutomatedClearingHouse.fxml", "Automated Clearing House");
     }
 
     @javafx.fxml.FXML
@@ -1,6 +1,9 @@
 package com.example.simulation_of_bangladesh_bank.Sara;
 
-public class ProcessInterbankFundTransfers {
+import java.io.Serializable;
+
+public class ProcessInterbankFundTransfers implements Serializable {
+    private static final long serialVersionUID = 1L;
     private String request;
     private String sender;
     private String receiver;
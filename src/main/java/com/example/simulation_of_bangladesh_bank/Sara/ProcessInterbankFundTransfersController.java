@@ -1,5 +1,6 @@
 package com.example.simulation_of_bangladesh_bank.Sara;
 
+import com.example.simulation_of_bangladesh_bank.BinaryFileHelper;
 import javafx.event.ActionEvent;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
@@ -72,7 +73,7 @@ public class ProcessInterbankFundTransfersController
         );
 
         processInterbankFundTransfersArrayList.add(processInterbankFundTransfers);
-        BinaryFileHelper.writeAllObjects(file, processInterbankFundTransfersArrayList);
+        BinaryFileHelper.saveObject(file, processInterbankFundTransfers);
     }
 
     @javafx.fxml.FXML
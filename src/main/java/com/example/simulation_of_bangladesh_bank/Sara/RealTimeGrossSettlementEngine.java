@@ -0,0 +1,658 @@
+package com.example.simulation_of_bangladesh_bank.Sara;
+
+import com.example.simulation_of_bangladesh_bank.saida.util.DataFileCorruptedException;
+import com.example.simulation_of_bangladesh_bank.saida.util.DataManager;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * RealTimeGrossSettlementEngine - Settles interbank payments one by one, in real time.
+ * Every participant's settlement balance lives in a primitive array slot (in paisa) and
+ * is updated with compare-and-set, so payments between different banks never wait on
+ * each other and an account can never go below zero. A payment the sender cannot cover
+ * is queued in the sender's FIFO queue and retried whenever the sender receives funds.
+ *
+ * Payments take the shared side of a read-write lock, so they still run in parallel;
+ * snapshot() takes the exclusive side to copy the balances at one consistent instant.
+ */
+public class RealTimeGrossSettlementEngine {
+
+    public static final String BALANCES_FILE = "rtgs_balances.bin";
+
+    public enum Status { SETTLED, QUEUED, REJECTED, CANCELLED }
+
+    // Balances are spaced one cache line apart so busy accounts do not slow their neighbours
+    private static final int SLOT_STRIDE = 8;
+    private static final int DEFAULT_CAPACITY = 256;
+
+    // Settlement accounts opened when no balances have been saved yet
+    private static final String[] DEFAULT_PARTICIPANTS = {
+            "Sonali Bank PLC", "Janata Bank Ltd.", "Agrani Bank PLC", "Rupali Bank PLC",
+            "Dutch Bangla Bank Ltd.", "BRAC Bank Ltd.", "Islami Bank Bangladesh PLC",
+            "Eastern Bank PLC", "The City Bank PLC", "Pubali Bank PLC"
+    };
+    private static final long DEFAULT_OPENING_BALANCE = 50_000_000_000L * 100;
+
+    private static RealTimeGrossSettlementEngine shared;
+
+    private final int capacity;
+    private final AtomicLongArray balances;
+    private final String[] participants;
+    private final Map<String, Integer> indexOf = new ConcurrentHashMap<>();
+    private final AtomicInteger participantCount = new AtomicInteger();
+
+    private final PaymentQueue[] queues;
+    // Pending drain requests per participant; only the thread that raised it from 0 drains
+    private final AtomicIntegerArray drainRequests;
+    private final Map<String, Payment> queuedById = new ConcurrentHashMap<>();
+    // Settled payments whose ledger rows may not say so yet; saved with the balances
+    private final Set<String> unrecorded = ConcurrentHashMap.newKeySet();
+
+    private final ReentrantReadWriteLock cut = new ReentrantReadWriteLock();
+    private final Lock paymentLock = cut.readLock();
+
+    private final LongAdder settledCount = new LongAdder();
+    private final LongAdder settledValue = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    private volatile Consumer<Payment> listener;
+
+    public RealTimeGrossSettlementEngine() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public RealTimeGrossSettlementEngine(int capacity) {
+        this.capacity = capacity;
+        this.balances = new AtomicLongArray(capacity * SLOT_STRIDE);
+        this.participants = new String[capacity];
+        this.queues = new PaymentQueue[capacity];
+        this.drainRequests = new AtomicIntegerArray(capacity);
+    }
+
+    /**
+     * Returns the engine used by the RTGS screen, loading the saved balances on first use.
+     */
+    public static synchronized RealTimeGrossSettlementEngine shared() {
+        if (shared == null) {
+            shared = new RealTimeGrossSettlementEngine();
+            Object saved = null;
+            try {
+                saved = DataManager.loadObjectFromFile(BALANCES_FILE);
+            } catch (DataFileCorruptedException e) {
+                System.err.println("RTGS balances reset to opening balances: " + e.getMessage());
+            }
+            if (saved instanceof Snapshot snapshot) {
+                snapshot.balances.forEach(shared::register);
+                shared.unrecorded.addAll(snapshot.unrecorded);
+            } else if (saved instanceof Map<?, ?> balances) {
+                // Balances saved before snapshots carried the unrecorded payments
+                balances.forEach((participant, balance) -> shared.register((String) participant, (Long) balance));
+            } else {
+                for (String participant : DEFAULT_PARTICIPANTS) {
+                    shared.register(participant, DEFAULT_OPENING_BALANCE);
+                }
+                shared.saveBalances();
+            }
+        }
+        return shared;
+    }
+
+    // ==================== PARTICIPANTS ====================
+
+    /**
+     * Opens a settlement account with the given opening balance (in paisa).
+     * Registering an existing participant leaves its balance unchanged.
+     */
+    public int register(String participantId, long openingBalance) {
+        paymentLock.lock();
+        try {
+            return registerLocked(participantId, openingBalance);
+        } finally {
+            paymentLock.unlock();
+        }
+    }
+
+    private int registerLocked(String participantId, long openingBalance) {
+        synchronized (indexOf) {
+            Integer existing = indexOf.get(participantId);
+            if (existing != null) {
+                return existing;
+            }
+            int index = participantCount.get();
+            if (index == capacity) {
+                throw new IllegalStateException("RTGS is full (" + capacity + " participants)");
+            }
+            participants[index] = participantId;
+            queues[index] = new PaymentQueue();
+            balances.set(index * SLOT_STRIDE, openingBalance);
+            participantCount.set(index + 1);
+            indexOf.put(participantId, index);
+            return index;
+        }
+    }
+
+    public boolean isParticipant(String participantId) {
+        return participantId != null && indexOf.containsKey(participantId);
+    }
+
+    public long getBalance(String participantId) {
+        Integer index = indexOf.get(participantId);
+        return index != null ? balances.get(index * SLOT_STRIDE) : 0;
+    }
+
+    /**
+     * Adds intraday liquidity to a participant and releases its queued payments.
+     */
+    public void fund(String participantId, long amount) {
+        Integer index = indexOf.get(participantId);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown participant: " + participantId);
+        }
+        paymentLock.lock();
+        try {
+            Deque<Integer> work = new ArrayDeque<>();
+            credit(index, amount, work);
+            drainAll(work);
+        } finally {
+            paymentLock.unlock();
+        }
+    }
+
+    /**
+     * Copies every participant's current balance, in registration order.
+     */
+    public Map<String, Long> getBalances() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        int count = participantCount.get();
+        for (int i = 0; i < count; i++) {
+            snapshot.put(participants[i], balances.get(i * SLOT_STRIDE));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Copies the balances together with the payments settled since their ledger rows were
+     * last written. No payment is half-applied in the copy, so a settled payment is either
+     * in both the balances and the unrecorded set, or in neither.
+     */
+    public Snapshot snapshot() {
+        cut.writeLock().lock();
+        try {
+            return new Snapshot(new LinkedHashMap<>(getBalances()), new HashSet<>(unrecorded));
+        } finally {
+            cut.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether a settled payment is still waiting for its ledger row to be written.
+     */
+    public boolean isUnrecorded(String paymentId) {
+        return unrecorded.contains(paymentId);
+    }
+
+    /**
+     * Marks settled payments as written to the ledger.
+     */
+    public void recorded(Collection<String> paymentIds) {
+        unrecorded.removeAll(paymentIds);
+    }
+
+    public boolean saveBalances() {
+        return DataManager.saveObjectToFile(BALANCES_FILE, snapshot());
+    }
+
+    // ==================== PAYMENTS ====================
+
+    /**
+     * Receives notice of every payment that is queued or reaches a final status. Called on
+     * the thread that changed the payment, often one settling another bank's payment.
+     */
+    public void setListener(Consumer<Payment> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Submits a gross payment (amount in paisa). It settles immediately if the sender
+     * has the funds and nothing queued ahead of it, otherwise it waits in the queue.
+     */
+    public Payment submit(String paymentId, String sender, String receiver, long amount) {
+        paymentLock.lock();
+        try {
+            return submitLocked(paymentId, sender, receiver, amount);
+        } finally {
+            paymentLock.unlock();
+        }
+    }
+
+    private Payment submitLocked(String paymentId, String sender, String receiver, long amount) {
+        Integer from = indexOf.get(sender);
+        Integer to = indexOf.get(receiver);
+        Payment payment = new Payment(paymentId, sender, receiver, from != null ? from : -1,
+                to != null ? to : -1, amount);
+
+        if (from == null || to == null) {
+            return reject(payment, "Unknown participant: " + (from == null ? sender : receiver));
+        }
+        if (from.equals(to)) {
+            return reject(payment, "Sender and receiver are the same bank");
+        }
+        if (amount <= 0) {
+            return reject(payment, "Amount must be positive");
+        }
+        if (paymentId != null && queuedById.containsKey(paymentId)) {
+            return reject(payment, "Payment " + paymentId + " is already queued");
+        }
+
+        Deque<Integer> work = new ArrayDeque<>();
+        if (queues[from].isEmpty() && tryDebit(from, amount)) {
+            payment.status.set(Status.SETTLED);
+            credit(to, amount, work);
+            settled(payment);
+        } else {
+            payment.status.set(Status.QUEUED);
+            if (paymentId != null) {
+                queuedById.put(paymentId, payment);
+            }
+            queues[from].add(payment);
+            notifyListener(payment);
+            work.add(from);
+        }
+        drainAll(work);
+        return payment;
+    }
+
+    /**
+     * Settles a batch of transfers all together or not at all, e.g. the legs of a net
+     * settlement. Every participant and each sender's net debit are checked first; if any
+     * check fails every transfer is rejected with the reason and no balance changes.
+     * Nothing is queued, and no other payment sees the batch half-applied.
+     */
+    public List<Payment> settleAll(List<Transfer> transfers) {
+        List<Payment> payments = new ArrayList<>(transfers.size());
+        Deque<Integer> work = new ArrayDeque<>();
+        cut.writeLock().lock();
+        try {
+            Map<Integer, Long> netChange = new LinkedHashMap<>();
+            String problem = null;
+            for (Transfer transfer : transfers) {
+                Integer from = indexOf.get(transfer.sender);
+                Integer to = indexOf.get(transfer.receiver);
+                payments.add(new Payment(transfer.paymentId, transfer.sender, transfer.receiver,
+                        from != null ? from : -1, to != null ? to : -1, transfer.amount));
+                if (problem != null) {
+                    continue;
+                }
+                if (from == null || to == null) {
+                    problem = "Unknown participant: " + (from == null ? transfer.sender : transfer.receiver);
+                } else if (from.equals(to)) {
+                    problem = "Sender and receiver are the same bank";
+                } else if (transfer.amount <= 0) {
+                    problem = "Amount must be positive";
+                } else if (transfer.paymentId != null && queuedById.containsKey(transfer.paymentId)) {
+                    problem = "Payment " + transfer.paymentId + " is already queued";
+                } else {
+                    netChange.merge(from, -transfer.amount, Long::sum);
+                    netChange.merge(to, transfer.amount, Long::sum);
+                }
+            }
+            if (problem == null) {
+                for (Map.Entry<Integer, Long> change : netChange.entrySet()) {
+                    if (balances.get(change.getKey() * SLOT_STRIDE) + change.getValue() < 0) {
+                        problem = participants[change.getKey()] + " cannot cover its net debit";
+                        break;
+                    }
+                }
+            }
+            if (problem != null) {
+                for (Payment payment : payments) {
+                    reject(payment, problem);
+                }
+                return payments;
+            }
+            for (Map.Entry<Integer, Long> change : netChange.entrySet()) {
+                balances.getAndAdd(change.getKey() * SLOT_STRIDE, change.getValue());
+                if (change.getValue() > 0 && !queues[change.getKey()].isEmpty()) {
+                    work.add(change.getKey());
+                }
+            }
+            for (Payment payment : payments) {
+                payment.status.set(Status.SETTLED);
+                settled(payment);
+            }
+        } finally {
+            cut.writeLock().unlock();
+        }
+        // Credited banks may now cover payments waiting in their queues
+        paymentLock.lock();
+        try {
+            drainAll(work);
+        } finally {
+            paymentLock.unlock();
+        }
+        return payments;
+    }
+
+    /**
+     * Cancels a queued payment. Returns false if it is not queued (any more).
+     */
+    public boolean cancel(String paymentId) {
+        paymentLock.lock();
+        try {
+            Payment payment = queuedById.get(paymentId);
+            if (payment == null || !payment.status.compareAndSet(Status.QUEUED, Status.CANCELLED)) {
+                return false;
+            }
+            queuedById.remove(paymentId);
+            queues[payment.senderIndex].remove(payment);
+            payment.resolvedNanos = System.nanoTime();
+            notifyListener(payment);
+            return true;
+        } finally {
+            paymentLock.unlock();
+        }
+    }
+
+    /**
+     * Rejects every payment still queued, e.g. at the close of the business day.
+     */
+    public int rejectQueued(String reason) {
+        paymentLock.lock();
+        try {
+            int rejected = 0;
+            for (Payment payment : new ArrayList<>(queuedById.values())) {
+                if (payment.status.compareAndSet(Status.QUEUED, Status.REJECTED)) {
+                    queuedById.remove(payment.paymentId);
+                    queues[payment.senderIndex].remove(payment);
+                    payment.reason = reason;
+                    payment.resolvedNanos = System.nanoTime();
+                    rejectedCount.increment();
+                    notifyListener(payment);
+                    rejected++;
+                }
+            }
+            return rejected;
+        } finally {
+            paymentLock.unlock();
+        }
+    }
+
+    /**
+     * A payment turned away before it reached the engine, e.g. because it could not be recorded.
+     */
+    public static Payment rejected(String paymentId, String sender, String receiver, long amount, String reason) {
+        Payment payment = new Payment(paymentId, sender, receiver, -1, -1, amount);
+        payment.status.set(Status.REJECTED);
+        payment.reason = reason;
+        payment.resolvedNanos = System.nanoTime();
+        return payment;
+    }
+
+    public Payment findQueued(String paymentId) {
+        return queuedById.get(paymentId);
+    }
+
+    public List<Payment> getQueued(String participantId) {
+        Integer index = indexOf.get(participantId);
+        return index != null ? new ArrayList<>(queues[index]) : Collections.emptyList();
+    }
+
+    // ==================== STATISTICS ====================
+
+    public long getSettledCount() {
+        return settledCount.sum();
+    }
+
+    /**
+     * Total value settled, in paisa.
+     */
+    public long getSettledValue() {
+        return settledValue.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public int getQueuedCount() {
+        return queuedById.size();
+    }
+
+    // ==================== INTERNALS ====================
+
+    private boolean tryDebit(int index, long amount) {
+        int slot = index * SLOT_STRIDE;
+        long balance;
+        do {
+            balance = balances.get(slot);
+            if (balance < amount) {
+                return false;
+            }
+        } while (!balances.compareAndSet(slot, balance, balance - amount));
+        return true;
+    }
+
+    // A credit may release the receiver's queue; the drain is deferred to the work list
+    // so a chain of released payments does not recurse through the call stack
+    private void credit(int index, long amount, Deque<Integer> work) {
+        balances.getAndAdd(index * SLOT_STRIDE, amount);
+        if (!queues[index].isEmpty()) {
+            work.add(index);
+        }
+    }
+
+    private void drainAll(Deque<Integer> work) {
+        Integer index;
+        while ((index = work.poll()) != null) {
+            drain(index, work);
+        }
+    }
+
+    /**
+     * Settles the participant's queued payments in order until one cannot be covered.
+     * Threads that find a drain already running leave a request, and the running drain
+     * goes round again, so no credit is missed.
+     */
+    private void drain(int index, Deque<Integer> work) {
+        if (drainRequests.getAndIncrement(index) != 0) {
+            return;
+        }
+        PaymentQueue queue = queues[index];
+        int requests = 1;
+        do {
+            Payment head;
+            while ((head = queue.peek()) != null) {
+                if (head.status.get() != Status.QUEUED) {
+                    queue.remove(head);
+                    continue;
+                }
+                if (!tryDebit(index, head.amount)) {
+                    break;
+                }
+                if (!head.status.compareAndSet(Status.QUEUED, Status.SETTLED)) {
+                    // Cancelled or rejected meanwhile; give the money back
+                    balances.getAndAdd(index * SLOT_STRIDE, head.amount);
+                    continue;
+                }
+                queue.remove(head);
+                if (head.paymentId != null) {
+                    queuedById.remove(head.paymentId);
+                }
+                credit(head.receiverIndex, head.amount, work);
+                settled(head);
+            }
+            requests = drainRequests.addAndGet(index, -requests);
+        } while (requests != 0);
+    }
+
+    private void settled(Payment payment) {
+        if (payment.paymentId != null) {
+            unrecorded.add(payment.paymentId);
+        }
+        payment.resolvedNanos = System.nanoTime();
+        settledCount.increment();
+        settledValue.add(payment.amount);
+        notifyListener(payment);
+    }
+
+    private Payment reject(Payment payment, String reason) {
+        payment.status.set(Status.REJECTED);
+        payment.reason = reason;
+        payment.resolvedNanos = System.nanoTime();
+        rejectedCount.increment();
+        notifyListener(payment);
+        return payment;
+    }
+
+    private void notifyListener(Payment payment) {
+        Consumer<Payment> current = listener;
+        if (current != null) {
+            current.accept(payment);
+        }
+    }
+
+    /**
+     * A transfer to settle with settleAll() (amount in paisa).
+     */
+    public static class Transfer {
+        private final String paymentId;
+        private final String sender;
+        private final String receiver;
+        private final long amount;
+
+        public Transfer(String paymentId, String sender, String receiver, long amount) {
+            this.paymentId = paymentId;
+            this.sender = sender;
+            this.receiver = receiver;
+            this.amount = amount;
+        }
+
+        public String getPaymentId() {
+            return paymentId;
+        }
+
+        public String getSender() {
+            return sender;
+        }
+
+        public String getReceiver() {
+            return receiver;
+        }
+
+        public long getAmount() {
+            return amount;
+        }
+    }
+
+    // A typed array element, so the queues need no raw generic array
+    private static class PaymentQueue extends ConcurrentLinkedQueue<Payment> {
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * Balances and unrecorded settled payments, copied at one instant. This is what the
+     * balances file holds.
+     */
+    public static class Snapshot implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final LinkedHashMap<String, Long> balances;
+        private final HashSet<String> unrecorded;
+
+        Snapshot(LinkedHashMap<String, Long> balances, HashSet<String> unrecorded) {
+            this.balances = balances;
+            this.unrecorded = unrecorded;
+        }
+
+        public Map<String, Long> getBalances() {
+            return Collections.unmodifiableMap(balances);
+        }
+
+        public Set<String> getUnrecorded() {
+            return Collections.unmodifiableSet(unrecorded);
+        }
+    }
+
+    /**
+     * One gross payment and its settlement outcome.
+     */
+    public static class Payment {
+        private final String paymentId;
+        private final String sender;
+        private final String receiver;
+        private final int senderIndex;
+        private final int receiverIndex;
+        private final long amount;
+        private final long submittedNanos = System.nanoTime();
+        private final AtomicReference<Status> status = new AtomicReference<>();
+        private volatile long resolvedNanos;
+        private volatile String reason;
+
+        Payment(String paymentId, String sender, String receiver, int senderIndex, int receiverIndex, long amount) {
+            this.paymentId = paymentId;
+            this.sender = sender;
+            this.receiver = receiver;
+            this.senderIndex = senderIndex;
+            this.receiverIndex = receiverIndex;
+            this.amount = amount;
+        }
+
+        public String getPaymentId() {
+            return paymentId;
+        }
+
+        public String getSender() {
+            return sender;
+        }
+
+        public String getReceiver() {
+            return receiver;
+        }
+
+        /**
+         * Amount in paisa.
+         */
+        public long getAmount() {
+            return amount;
+        }
+
+        public Status getStatus() {
+            return status.get();
+        }
+
+        /**
+         * Why the payment was rejected, or null.
+         */
+        public String getReason() {
+            return reason;
+        }
+
+        /**
+         * Nanoseconds from submission to the final status, or -1 while queued.
+         */
+        public long getLatencyNanos() {
+            long resolved = resolvedNanos;
+            return resolved != 0 ? resolved - submittedNanos : -1;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.simulation_of_bangladesh_bank.Sara;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * RealTimeGrossSettlementLoadGenerator - Measures RTGS throughput and settlement latency.
+ * Fires random payments between the given participants from several threads at a scratch
+ * engine (the live balances are never touched) and reports payments per second and latency
+ * percentiles. Payments still queued when the run ends are counted but have no latency.
+ *
+ * Command line: RealTimeGrossSettlementLoadGenerator [payments] [threads] [participants]
+ */
+public class RealTimeGrossSettlementLoadGenerator {
+
+    // Largest generated payment as a fraction of the average opening balance
+    private static final double MAX_PAYMENT_SHARE = 0.02;
+
+    public static void main(String[] args) throws InterruptedException {
+        int payments = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int participants = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+
+        RealTimeGrossSettlementEngine template = new RealTimeGrossSettlementEngine();
+        for (int i = 1; i <= participants; i++) {
+            template.register(String.format("BANK-%03d", i), 10_000_000_000L * 100);
+        }
+        System.out.println(run(template.getBalances(), payments, threads, 42));
+    }
+
+    /**
+     * Runs the load test against a fresh engine opened with the given balances (in paisa).
+     */
+    public static LoadReport run(Map<String, Long> openingBalances, int payments, int threads, long seed)
+            throws InterruptedException {
+        if (openingBalances.size() < 2) {
+            throw new IllegalArgumentException("Load test needs at least two participants");
+        }
+        RealTimeGrossSettlementEngine engine = new RealTimeGrossSettlementEngine(openingBalances.size());
+        openingBalances.forEach(engine::register);
+        String[] banks = openingBalances.keySet().toArray(new String[0]);
+        long average = openingBalances.values().stream().mapToLong(Long::longValue).sum() / banks.length;
+        long maxAmount = Math.max(1, (long) (average * MAX_PAYMENT_SHARE));
+
+        List<List<RealTimeGrossSettlementEngine.Payment>> submitted = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (int t = 0; t < threads; t++) {
+            int share = payments / threads + (t < payments % threads ? 1 : 0);
+            List<RealTimeGrossSettlementEngine.Payment> mine = new ArrayList<>(share);
+            submitted.add(mine);
+            SplittableRandom random = seeds.split();
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < share; i++) {
+                    int from = random.nextInt(banks.length);
+                    int to = random.nextInt(banks.length - 1);
+                    if (to >= from) {
+                        to++;
+                    }
+                    mine.add(engine.submit(null, banks[from], banks[to], 1 + random.nextLong(maxAmount)));
+                }
+            }, "rtgs-load-" + t);
+            workers.add(worker);
+            worker.start();
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - began;
+
+        long[] latencies = new long[payments];
+        int measured = 0;
+        int settled = 0;
+        int queued = 0;
+        int rejected = 0;
+        for (List<RealTimeGrossSettlementEngine.Payment> list : submitted) {
+            for (RealTimeGrossSettlementEngine.Payment payment : list) {
+                switch (payment.getStatus()) {
+                    case SETTLED -> settled++;
+                    case QUEUED -> queued++;
+                    default -> rejected++;
+                }
+                long latency = payment.getLatencyNanos();
+                if (latency >= 0 && payment.getStatus() == RealTimeGrossSettlementEngine.Status.SETTLED) {
+                    latencies[measured++] = latency;
+                }
+            }
+        }
+        long[] sorted = Arrays.copyOf(latencies, measured);
+        Arrays.sort(sorted);
+        return new LoadReport(payments, threads, settled, queued, rejected, elapsed, sorted);
+    }
+
+    /**
+     * Outcome of one load test run. Latencies are submission-to-settlement times.
+     */
+    public static class LoadReport {
+        private final int payments;
+        private final int threads;
+        private final int settled;
+        private final int queued;
+        private final int rejected;
+        private final long elapsedNanos;
+        private final long[] sortedLatencies;
+
+        LoadReport(int payments, int threads, int settled, int queued, int rejected,
+                   long elapsedNanos, long[] sortedLatencies) {
+            this.payments = payments;
+            this.threads = threads;
+            this.settled = settled;
+            this.queued = queued;
+            this.rejected = rejected;
+            this.elapsedNanos = elapsedNanos;
+            this.sortedLatencies = sortedLatencies;
+        }
+
+        public int getSettled() {
+            return settled;
+        }
+
+        public int getQueued() {
+            return queued;
+        }
+
+        public int getRejected() {
+            return rejected;
+        }
+
+        public double getPaymentsPerSecond() {
+            return payments * 1e9 / Math.max(1, elapsedNanos);
+        }
+
+        /**
+         * Latency percentile in microseconds, e.g. percentile(99.9).
+         */
+        public double percentile(double percent) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percent / 100 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, Math.min(rank, sortedLatencies.length - 1))] / 1000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d payments on %d threads in %,d ms: %,.0f payments/s | "
+                            + "settled %,d, still queued %,d, rejected %,d | "
+                            + "latency p50 %.1f µs, p99 %.1f µs, p99.9 %.1f µs, max %.1f µs",
+                    payments, threads, elapsedNanos / 1_000_000, getPaymentsPerSecond(),
+                    settled, queued, rejected,
+                    percentile(50), percentile(99), percentile(99.9), percentile(100));
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.example.simulation_of_bangladesh_bank.Sara;
+
+import com.example.simulation_of_bangladesh_bank.saida.util.DataManager;
+import com.example.simulation_of_bangladesh_bank.saida.util.MappedRecordStore;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * RealTimeGrossSettlementService - Keeps the RTGS ledger file (rtgs_payments.bin) and the
+ * saved balances in step with the shared settlement engine, for as long as the application
+ * runs, whichever screen is open.
+ *
+ * Every payment is written to the ledger as "Queued" before it reaches the engine. Outcomes
+ * are written by one background writer: it saves a balances snapshot first and then the
+ * status rows. The snapshot lists the settled payments whose rows are not written yet, so
+ * after a crash between the two writes those rows are marked settled instead of being
+ * submitted (and debited) again; payments still queued are resubmitted at start.
+ */
+public class RealTimeGrossSettlementService {
+
+    private static final String FILE = ManageRealTimeGrossSettlement.FILE;
+
+    private static RealTimeGrossSettlementService shared;
+
+    private final RealTimeGrossSettlementEngine engine;
+    // Ledger rows of the payments whose final status has not been written yet
+    private final Map<String, ManageRealTimeGrossSettlement> open = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<RealTimeGrossSettlementEngine.Payment> outcomes = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean writeScheduled = new AtomicBoolean();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "rtgs-ledger-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Consumer<RealTimeGrossSettlementEngine.Payment> listener;
+
+    static {
+        DataManager.useFixedWidthFormat(FILE, ManageRealTimeGrossSettlement.CODEC);
+    }
+
+    private RealTimeGrossSettlementService(RealTimeGrossSettlementEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Returns the service of the shared engine, recovering the ledger on first use.
+     * Reads the ledger file, so call it off the FX thread.
+     */
+    public static synchronized RealTimeGrossSettlementService shared() {
+        if (shared == null) {
+            shared = new RealTimeGrossSettlementService(RealTimeGrossSettlementEngine.shared());
+            shared.engine.setListener(shared::onOutcome);
+            shared.recover();
+        }
+        return shared;
+    }
+
+    /**
+     * Writes any outcomes still waiting, e.g. before the application exits.
+     * Does nothing if the service was never started.
+     */
+    public static void flushShared() {
+        RealTimeGrossSettlementService current;
+        synchronized (RealTimeGrossSettlementService.class) {
+            current = shared;
+        }
+        if (current != null) {
+            current.flush();
+        }
+    }
+
+    public RealTimeGrossSettlementEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Receives every payment whose outcome has been written to the ledger, on the writer thread.
+     */
+    public void setListener(Consumer<RealTimeGrossSettlementEngine.Payment> listener) {
+        this.listener = listener;
+    }
+
+    // ==================== PAYMENTS ====================
+
+    /**
+     * Records a payment in the ledger and submits it. A payment whose RTGS ID is already
+     * used, or that could not be recorded, is rejected without reaching the engine.
+     */
+    public synchronized RealTimeGrossSettlementEngine.Payment submit(ManageRealTimeGrossSettlement record) {
+        String id = record.getRtgs();
+        ManageRealTimeGrossSettlement row = new ManageRealTimeGrossSettlement(id, record.getSender(),
+                record.getReceiver(), record.getAmount(), statusText(RealTimeGrossSettlementEngine.Status.QUEUED));
+        if (isUsed(id)) {
+            return RealTimeGrossSettlementEngine.rejected(id, row.getSender(), row.getReceiver(),
+                    toPaisa(row.getAmount()), "RTGS ID " + id + " is already used");
+        }
+        if (!DataManager.appendRecord(FILE, id, row)) {
+            return RealTimeGrossSettlementEngine.rejected(id, row.getSender(), row.getReceiver(),
+                    toPaisa(row.getAmount()), "Could not record the payment in the ledger");
+        }
+        open.put(id, row);
+        return engine.submit(id, row.getSender(), row.getReceiver(), toPaisa(row.getAmount()));
+    }
+
+    /**
+     * Records a batch of transfers in the ledger and settles them all together or not at
+     * all (see RealTimeGrossSettlementEngine.settleAll). If the batch cannot be recorded it
+     * is rejected without reaching the engine.
+     */
+    public synchronized List<RealTimeGrossSettlementEngine.Payment> settleAll(
+            List<RealTimeGrossSettlementEngine.Transfer> transfers) {
+        Map<String, ManageRealTimeGrossSettlement> rows = new LinkedHashMap<>();
+        String problem = null;
+        for (RealTimeGrossSettlementEngine.Transfer transfer : transfers) {
+            if (isUsed(transfer.getPaymentId()) || rows.containsKey(transfer.getPaymentId())) {
+                problem = "RTGS ID " + transfer.getPaymentId() + " is already used";
+            }
+            rows.put(transfer.getPaymentId(), new ManageRealTimeGrossSettlement(transfer.getPaymentId(),
+                    transfer.getSender(), transfer.getReceiver(), transfer.getAmount() / 100.0,
+                    statusText(RealTimeGrossSettlementEngine.Status.QUEUED)));
+        }
+        if (problem == null && !DataManager.appendRecords(FILE, rows)) {
+            problem = "Could not record the batch in the ledger";
+        }
+        if (problem != null) {
+            List<RealTimeGrossSettlementEngine.Payment> rejected = new ArrayList<>();
+            for (RealTimeGrossSettlementEngine.Transfer transfer : transfers) {
+                rejected.add(RealTimeGrossSettlementEngine.rejected(transfer.getPaymentId(), transfer.getSender(),
+                        transfer.getReceiver(), transfer.getAmount(), problem));
+            }
+            return rejected;
+        }
+        open.putAll(rows);
+        return engine.settleAll(transfers);
+    }
+
+    /**
+     * Cancels a queued payment. Returns false if it is not queued (any more).
+     */
+    public boolean cancel(String paymentId) {
+        return engine.cancel(paymentId);
+    }
+
+    /**
+     * Whether an RTGS ID is taken by a payment in the ledger.
+     */
+    public boolean isUsed(String paymentId) {
+        if (open.containsKey(paymentId)) {
+            return true;
+        }
+        MappedRecordStore<ManageRealTimeGrossSettlement> store = DataManager.openRecordStore(FILE);
+        return store != null && store.indexesOf("rtgs", paymentId).length > 0;
+    }
+
+    /**
+     * Waits until every outcome seen so far is written.
+     */
+    public void flush() {
+        try {
+            writer.submit(this::writeOutcomes).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Error writing RTGS outcomes: " + e.getCause().getMessage());
+        }
+    }
+
+    public static String statusText(RealTimeGrossSettlementEngine.Status status) {
+        return switch (status) {
+            case SETTLED -> "Settled";
+            case QUEUED -> "Queued";
+            case REJECTED -> "Rejected";
+            case CANCELLED -> "Cancelled";
+        };
+    }
+
+    static long toPaisa(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    // ==================== LEDGER ====================
+
+    // Queued rows settled before a crash are marked settled; the others go back into the engine
+    private void recover() {
+        MappedRecordStore<ManageRealTimeGrossSettlement> store = DataManager.openRecordStore(FILE);
+        if (store == null) {
+            return;
+        }
+        Map<String, ManageRealTimeGrossSettlement> settled = new LinkedHashMap<>();
+        List<ManageRealTimeGrossSettlement> queued = new ArrayList<>();
+        for (int index : store.indexesOf("status", statusText(RealTimeGrossSettlementEngine.Status.QUEUED))) {
+            ManageRealTimeGrossSettlement row = store.get(index);
+            if (engine.isUnrecorded(row.getRtgs())) {
+                row.setStatus(statusText(RealTimeGrossSettlementEngine.Status.SETTLED));
+                settled.put(row.getRtgs(), row);
+            } else if (engine.findQueued(row.getRtgs()) == null) {
+                queued.add(row);
+            }
+        }
+        if (!settled.isEmpty() && !DataManager.updateRecords(FILE, settled)) {
+            System.err.println("Could not mark " + settled.size() + " settled RTGS payments in the ledger");
+            return;
+        }
+        engine.recorded(engine.snapshot().getUnrecorded());
+        for (ManageRealTimeGrossSettlement row : queued) {
+            open.put(row.getRtgs(), row);
+            engine.submit(row.getRtgs(), row.getSender(), row.getReceiver(), toPaisa(row.getAmount()));
+        }
+    }
+
+    // Called on whichever thread changed the payment; the write happens on the writer thread
+    private void onOutcome(RealTimeGrossSettlementEngine.Payment payment) {
+        if (payment.getStatus() == RealTimeGrossSettlementEngine.Status.QUEUED
+                || payment.getPaymentId() == null || !open.containsKey(payment.getPaymentId())) {
+            return;
+        }
+        outcomes.add(payment);
+        if (writeScheduled.compareAndSet(false, true)) {
+            writer.execute(() -> {
+                writeScheduled.set(false);
+                writeOutcomes();
+            });
+        }
+    }
+
+    private void writeOutcomes() {
+        List<RealTimeGrossSettlementEngine.Payment> batch = new ArrayList<>();
+        RealTimeGrossSettlementEngine.Payment payment;
+        while ((payment = outcomes.poll()) != null) {
+            batch.add(payment);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        // The balances go first: a crash before the rows are written is repaired from the snapshot
+        if (!engine.saveBalances()) {
+            retryLater(batch);
+            return;
+        }
+        Map<String, ManageRealTimeGrossSettlement> rows = new LinkedHashMap<>();
+        for (RealTimeGrossSettlementEngine.Payment outcome : batch) {
+            ManageRealTimeGrossSettlement row = open.get(outcome.getPaymentId());
+            rows.put(row.getRtgs(), new ManageRealTimeGrossSettlement(row.getRtgs(), row.getSender(),
+                    row.getReceiver(), row.getAmount(), statusText(outcome.getStatus())));
+        }
+        if (!DataManager.updateRecords(FILE, rows)) {
+            retryLater(batch);
+            return;
+        }
+        engine.recorded(rows.keySet());
+        rows.keySet().forEach(open::remove);
+        Consumer<RealTimeGrossSettlementEngine.Payment> current = listener;
+        if (current != null) {
+            batch.forEach(current);
+        }
+    }
+
+    private void retryLater(List<RealTimeGrossSettlementEngine.Payment> batch) {
+        System.err.println("Could not write " + batch.size() + " RTGS outcomes; retrying with the next outcome");
+        outcomes.addAll(batch);
+    }
+}
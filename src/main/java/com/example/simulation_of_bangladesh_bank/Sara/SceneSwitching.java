@@ -2,20 +2,14 @@ package com.example.simulation_of_bangladesh_bank.Sara;
 
 import com.example.simulation_of_bangladesh_bank.HelloApplication;
 import javafx.event.ActionEvent;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Scene;
-import javafx.stage.Stage;
 
 import java.io.IOException;
 
 public class SceneSwitching {
 
     public static void sceneSwitch(ActionEvent actionEvent, String fxmlFile, String title) throws IOException {
-        FXMLLoader fxmlLoader = new FXMLLoader(HelloApplication.class.getResource(fxmlFile));
-        Scene scene = new Scene(fxmlLoader.load());
-        Stage stage = (Stage) ((javafx.scene.Node) actionEvent.getSource()).getScene().getWindow();
-        stage.setTitle(title);
-        stage.setScene(scene);
-        stage.show();
+        // Views are cached and timed by ViewCache, shared with Saida's SceneSwitcher
+        com.example.simulation_of_bangladesh_bank.saida.util.SceneSwitcher.sceneSwitch(
+                actionEvent, HelloApplication.class.getResource(fxmlFile), title);
     }
 }
@@ -1,28 +1,37 @@
 package com.example.simulation_of_bangladesh_bank.saida;
 
+import com.example.simulation_of_bangladesh_bank.Sara.RealTimeGrossSettlementService;
+import com.example.simulation_of_bangladesh_bank.saida.util.AsyncDataManager;
 import com.example.simulation_of_bangladesh_bank.saida.util.DataManager;
 import com.example.simulation_of_bangladesh_bank.saida.util.DataInitializer;
+import com.example.simulation_of_bangladesh_bank.saida.util.TreasuryLedger;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
+import java.time.Duration;
+import java.time.Instant;
+
 /**
  * Main Application class for Bangladesh Bank Simulation System.
  * Entry point for the JavaFX application.
  */
 public class Main extends Application {
 
+    // Set with -Dbb.exitAfterFirstFrame=true for the AppCDS training run (see the appcds profile in pom.xml)
+    private static final boolean EXIT_AFTER_FIRST_FRAME = Boolean.getBoolean("bb.exitAfterFirstFrame");
+
     @Override
     public void init() throws Exception {
-        // Initialize data directory and default users before UI loads
         System.out.println("Initializing Bangladesh Bank Simulation System...");
         DataManager.ensureDataDirectory();
-        DataManager.initializeDefaultUsers();
-        
-        // Initialize all application data with realistic startup scenario
-        DataInitializer.initializeAllData();
+
+        // Journal recovery, default users and seed data are written in the background;
+        // the login screen shows at once and each file is read when first needed
+        DataInitializer.startInBackground();
     }
 
     @Override
@@ -42,6 +51,34 @@ public class Main extends Application {
         
         // Show the stage
         primaryStage.show();
+        reportFirstFrame(scene);
+    }
+
+    /**
+     * Logs the time from JVM launch to the first laid-out frame of the login screen.
+     */
+    private static void reportFirstFrame(Scene scene) {
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            scene.removePostLayoutPulseListener(listener[0]);
+            long millis = ProcessHandle.current().info().startInstant()
+                    .map(start -> Duration.between(start, Instant.now()).toMillis())
+                    .orElse(-1L);
+            System.out.println("✓ First frame " + millis + " ms after launch");
+            if (EXIT_AFTER_FIRST_FRAME) {
+                Platform.exit();
+            }
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+    }
+
+    @Override
+    public void stop() throws Exception {
+        // Write any saves still waiting in the background before the JVM exits
+        DataInitializer.awaitStartup();
+        RealTimeGrossSettlementService.flushShared();
+        TreasuryLedger.closeShared();
+        AsyncDataManager.flushAll();
     }
 
     /**
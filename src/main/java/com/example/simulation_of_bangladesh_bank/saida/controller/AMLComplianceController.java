@@ -1,6 +1,9 @@
 package com.example.simulation_of_bangladesh_bank.saida.controller;
 
 import com.example.simulation_of_bangladesh_bank.saida.model.AMLMonitoring;
+import com.example.simulation_of_bangladesh_bank.saida.util.AMLCaseIndex;
+import com.example.simulation_of_bangladesh_bank.saida.util.AMLScreeningEngine;
+import com.example.simulation_of_bangladesh_bank.saida.util.AsyncDataManager;
 import com.example.simulation_of_bangladesh_bank.saida.util.DataManager;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
@@ -9,10 +12,14 @@ import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
+import javafx.stage.FileChooser;
 
+import java.io.File;
+import java.io.IOException;
 import java.net.URL;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
 
@@ -78,7 +85,12 @@ public class AMLComplianceController implements Initializable {
     @FXML
     private TableColumn<AMLMonitoring, String> colNotes;
 
+    // Screened cases listed in the table; the rest are only saved
+    private static final int MAX_SCREENED_SHOWN = 1000;
+
     private ObservableList<AMLMonitoring> amlCases = FXCollections.observableArrayList();
+    // Same cases as amlCases, counted for the statistic cards
+    private final AMLCaseIndex caseIndex = new AMLCaseIndex();
     private AMLMonitoring currentCase;
 
     @Override
@@ -113,27 +125,32 @@ public class AMLComplianceController implements Initializable {
      * Loads AML cases from persistent storage.
      */
     private void loadAMLHistory() {
-        List<AMLMonitoring> savedCases = DataManager.loadFromFile(DataManager.AML_CASES_FILE);
-        
-        if (savedCases.isEmpty()) {
-            System.out.println("No previous AML cases found.");
-        } else {
-            amlCases.addAll(savedCases);
-            System.out.println("Loaded " + savedCases.size() + " AML cases from history.");
-        }
+        AsyncDataManager.<AMLMonitoring>loadAsync(DataManager.AML_CASES_FILE).thenAccept(savedCases -> {
+            if (savedCases.isEmpty()) {
+                System.out.println("No previous AML cases found.");
+            } else {
+                amlCases.addAll(savedCases);
+                caseIndex.addAll(savedCases);
+                System.out.println("Loaded " + savedCases.size() + " AML cases from history.");
+            }
+            updateStatistics();
+        }).exceptionally(error -> AsyncDataManager.reportLoadFailure(DataManager.AML_CASES_FILE, error));
     }
     
     /**
-     * Saves AML cases to persistent storage.
+     * Saves one AML case to persistent storage. Only this case is written, so screened
+     * cases that are saved but not listed in the table are kept.
      */
-    private void saveAMLHistory() {
-        List<AMLMonitoring> toSave = new java.util.ArrayList<>(amlCases);
-        boolean success = DataManager.saveToFile(DataManager.AML_CASES_FILE, toSave);
-        if (success) {
-            System.out.println("AML cases saved successfully.");
-        } else {
-            System.err.println("Failed to save AML cases!");
-        }
+    private void saveAMLCase(AMLMonitoring amlCase) {
+        // Same key as the AML file's record key
+        String key = amlCase.getCaseId() != null ? amlCase.getCaseId() : amlCase.getTransactionId();
+        AsyncDataManager.updateAsync(DataManager.AML_CASES_FILE, key, amlCase).thenAccept(success -> {
+            if (success) {
+                System.out.println("AML case saved successfully.");
+            } else {
+                System.err.println("Failed to save AML case " + key + "!");
+            }
+        });
     }
     
     /**
@@ -242,40 +259,29 @@ public class AMLComplianceController implements Initializable {
      * Updates the statistics cards.
      */
     private void updateStatistics() {
-        long highRisk = amlCases.stream()
-            .filter(c -> {
-                String risk = c.getRiskLevel() != null ? c.getRiskLevel() : c.getRiskFlag();
-                return "High".equals(risk) || "High Risk".equals(risk);
-            }).count();
-        long mediumRisk = amlCases.stream()
-            .filter(c -> {
-                String risk = c.getRiskLevel() != null ? c.getRiskLevel() : c.getRiskFlag();
-                return "Medium".equals(risk) || "Medium Risk".equals(risk);
-            }).count();
-        long investigating = amlCases.stream()
-            .filter(c -> {
-                String status = c.getStatus();
-                String risk = c.getRiskLevel() != null ? c.getRiskLevel() : c.getRiskFlag();
-                return "Under Investigation".equals(status) || "Under Investigation".equals(risk);
-            }).count();
-        long resolved = amlCases.stream()
-            .filter(c -> {
-                String status = c.getStatus();
-                String risk = c.getRiskLevel() != null ? c.getRiskLevel() : c.getRiskFlag();
-                return "Cleared".equals(status) || "Cleared".equals(risk);
-            }).count();
-
-        lblHighRisk.setText(String.valueOf(highRisk));
-        lblMediumRisk.setText(String.valueOf(mediumRisk));
-        lblUnderInvestigation.setText(String.valueOf(investigating));
-        lblResolved.setText(String.valueOf(resolved));
+        // Counters are maintained by the index as cases change
+        lblHighRisk.setText(String.valueOf(caseIndex.getHighRiskCount()));
+        lblMediumRisk.setText(String.valueOf(caseIndex.getMediumRiskCount()));
+        lblUnderInvestigation.setText(String.valueOf(caseIndex.getUnderInvestigationCount()));
+        lblResolved.setText(String.valueOf(caseIndex.getResolvedCount()));
     }
 
     /**
      * Loads suspicious activity reports.
+     * If a transaction file is chosen it is screened in the background; otherwise
+     * a simulated report is added.
      */
     @FXML
     public void loadSuspiciousReports(ActionEvent event) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Select Daily Transaction File");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Transaction files (*.csv, *.txt)", "*.csv", "*.txt"));
+        File transactionFile = chooser.showOpenDialog(tblAMLCases.getScene().getWindow());
+        if (transactionFile != null) {
+            screenTransactionFile(transactionFile);
+            return;
+        }
+
         // Simulate loading new reports
         AMLMonitoring newCase = new AMLMonitoring();
         newCase.loadSuspiciousReports();
@@ -285,12 +291,56 @@ public class AMLComplianceController implements Initializable {
         newCase.setInvestigationNotes("New suspicious activity detected - awaiting review");
         
         amlCases.add(0, newCase);
+        caseIndex.add(newCase);
+        saveAMLCase(newCase);
         updateStatistics();
         
         showInfo("Suspicious activity reports loaded successfully.\n" +
                 "New cases added to the review queue.");
     }
 
+    /**
+     * Screens a full transaction file off the FX thread and adds the flagged cases.
+     */
+    private void screenTransactionFile(File transactionFile) {
+        btnLoadReports.setDisable(true);
+        List<AMLMonitoring> screened = new ArrayList<>();
+        AsyncDataManager.supplyAsync(() -> {
+            try (AMLScreeningEngine engine = new AMLScreeningEngine()) {
+                // Cases are saved chunk by chunk as they are found; only the first ones are kept for the table
+                return engine.screen(transactionFile.toPath(), cases -> {
+                    AMLScreeningEngine.saveCases(cases);
+                    synchronized (screened) {
+                        int room = MAX_SCREENED_SHOWN - screened.size();
+                        screened.addAll(cases.subList(0, Math.max(0, Math.min(room, cases.size()))));
+                    }
+                });
+            } catch (IOException e) {
+                System.err.println("Error screening " + transactionFile.getName() + ": " + e.getMessage());
+                return null;
+            }
+        }).thenAccept(result -> {
+            btnLoadReports.setDisable(false);
+            if (result == null) {
+                showError("Could not screen " + transactionFile.getName());
+                return;
+            }
+            amlCases.addAll(0, screened);
+            caseIndex.addAll(screened);
+            updateStatistics();
+
+            StringBuilder summary = new StringBuilder(result.toString()).append("\n");
+            if (result.getFlagged() > screened.size()) {
+                summary.append("\nShowing the first ").append(String.format("%,d", screened.size()))
+                        .append(" flagged cases; all ").append(String.format("%,d", result.getFlagged()))
+                        .append(" are saved.\n");
+            }
+            result.getFlagCounts().forEach((flag, count) ->
+                    summary.append("\n").append(flag).append(": ").append(String.format("%,d", count)));
+            showInfo(summary.toString());
+        });
+    }
+
     /**
      * Validates AML red flags for the current case.
      */
@@ -365,12 +415,13 @@ public class AMLComplianceController implements Initializable {
         currentCase.recordInvestigation();
 
         // Add if new, otherwise just update
-        if (!amlCases.contains(currentCase)) {
+        if (!caseIndex.contains(currentCase)) {
             amlCases.add(0, currentCase);
         }
+        caseIndex.add(currentCase);
         
         // Save to persistent storage
-        saveAMLHistory();
+        saveAMLCase(currentCase);
         updateStatistics();
         tblAMLCases.refresh();
         
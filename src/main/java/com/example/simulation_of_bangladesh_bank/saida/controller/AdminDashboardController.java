@@ -3,6 +3,7 @@ package com.example.simulation_of_bangladesh_bank.saida.controller;
 import com.example.simulation_of_bangladesh_bank.saida.model.User;
 import com.example.simulation_of_bangladesh_bank.saida.util.DataManager;
 import com.example.simulation_of_bangladesh_bank.saida.util.SceneSwitcher;
+import com.example.simulation_of_bangladesh_bank.saida.util.UserManagement;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -238,7 +239,7 @@ public class AdminDashboardController implements Initializable {
             }
             
             // Create new user
-            String newId = "USR" + String.format("%03d", allUsers.size() + 1);
+            String newId = UserManagement.nextUserId();
             User newUser = new User(newId, username, password, fullName, role, email, phone, department);
             allUsers.add(newUser);
             
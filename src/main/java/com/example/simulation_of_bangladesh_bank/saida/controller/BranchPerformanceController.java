@@ -1,6 +1,7 @@
 package com.example.simulation_of_bangladesh_bank.saida.controller;
 
 import com.example.simulation_of_bangladesh_bank.saida.model.BranchPerformance;
+import com.example.simulation_of_bangladesh_bank.saida.util.AsyncDataManager;
 import com.example.simulation_of_bangladesh_bank.saida.util.DataManager;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
@@ -111,16 +112,17 @@ public class BranchPerformanceController implements Initializable {
      * Loads branch data from persistent storage.
      */
     private void loadBranchHistory() {
-        List<BranchPerformance> savedBranches = DataManager.loadFromFile(DataManager.BRANCHES_FILE);
-        
-        if (savedBranches.isEmpty()) {
-            System.out.println("No previous branch data found.");
-        } else {
-            branches.addAll(savedBranches);
-            // Sort by KPI descending
-            branches.sort((a, b) -> Double.compare(b.getKpiScore(), a.getKpiScore()));
-            System.out.println("Loaded " + savedBranches.size() + " branch records from history.");
-        }
+        AsyncDataManager.<BranchPerformance>loadAsync(DataManager.BRANCHES_FILE).thenAccept(savedBranches -> {
+            if (savedBranches.isEmpty()) {
+                System.out.println("No previous branch data found.");
+            } else {
+                branches.addAll(savedBranches);
+                // Sort by KPI descending
+                branches.sort((a, b) -> Double.compare(b.getKpiScore(), a.getKpiScore()));
+                System.out.println("Loaded " + savedBranches.size() + " branch records from history.");
+            }
+            updateStatistics();
+        }).exceptionally(error -> AsyncDataManager.reportLoadFailure(DataManager.BRANCHES_FILE, error));
     }
     
     /**
@@ -128,12 +130,13 @@ public class BranchPerformanceController implements Initializable {
      */
     private void saveBranchHistory() {
         List<BranchPerformance> toSave = new java.util.ArrayList<>(branches);
-        boolean success = DataManager.saveToFile(DataManager.BRANCHES_FILE, toSave);
-        if (success) {
-            System.out.println("Branch data saved successfully.");
-        } else {
-            System.err.println("Failed to save branch data!");
-        }
+        AsyncDataManager.saveAsync(DataManager.BRANCHES_FILE, toSave).thenAccept(success -> {
+            if (success) {
+                System.out.println("Branch data saved successfully.");
+            } else {
+                System.err.println("Failed to save branch data!");
+            }
+        });
     }
     
     /**
@@ -1,7 +1,10 @@
 package com.example.simulation_of_bangladesh_bank.saida.controller;
 
 import com.example.simulation_of_bangladesh_bank.saida.model.CapitalAdequacy;
+import com.example.simulation_of_bangladesh_bank.saida.util.AsyncDataManager;
+import com.example.simulation_of_bangladesh_bank.saida.util.CarStressTest;
 import com.example.simulation_of_bangladesh_bank.saida.util.DataManager;
+import com.example.simulation_of_bangladesh_bank.saida.util.ReportGenerator;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -78,11 +81,14 @@ public class CARMonitoringController implements Initializable {
     @FXML
     private TableColumn<CapitalAdequacy, String> colStatus;
 
+    @FXML
+    private Button btnExportReports;
+
     private ObservableList<CapitalAdequacy> carRecords = FXCollections.observableArrayList();
     private CapitalAdequacy currentCAR;
+    private ReportGenerator.ReportJob exportJob;
 
     private static final double BASEL_III_MINIMUM = 10.0; // 10% minimum CAR
-    private static final String CAR_DATA_FILE = "car_data.bin";
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
@@ -106,14 +112,15 @@ public class CARMonitoringController implements Initializable {
      * Loads CAR records from persistent storage.
      */
     private void loadCARHistory() {
-        List<CapitalAdequacy> savedRecords = DataManager.loadFromFile(CAR_DATA_FILE);
-        
-        if (savedRecords.isEmpty()) {
-            System.out.println("No previous CAR records found.");
-        } else {
-            carRecords.addAll(savedRecords);
-            System.out.println("Loaded " + savedRecords.size() + " CAR records from history.");
-        }
+        AsyncDataManager.<CapitalAdequacy>loadAsync(DataManager.CAR_DATA_FILE).thenAccept(savedRecords -> {
+            if (savedRecords.isEmpty()) {
+                System.out.println("No previous CAR records found.");
+            } else {
+                carRecords.addAll(savedRecords);
+                System.out.println("Loaded " + savedRecords.size() + " CAR records from history.");
+            }
+            updateOverview();
+        }).exceptionally(error -> AsyncDataManager.reportLoadFailure(DataManager.CAR_DATA_FILE, error));
     }
     
     /**
@@ -121,12 +128,13 @@ public class CARMonitoringController implements Initializable {
      */
     private void saveCARHistory() {
         List<CapitalAdequacy> toSave = new java.util.ArrayList<>(carRecords);
-        boolean success = DataManager.saveToFile(CAR_DATA_FILE, toSave);
-        if (success) {
-            System.out.println("CAR records saved successfully.");
-        } else {
-            System.err.println("Failed to save CAR records!");
-        }
+        AsyncDataManager.saveAsync(DataManager.CAR_DATA_FILE, toSave).thenAccept(success -> {
+            if (success) {
+                System.out.println("CAR records saved successfully.");
+            } else {
+                System.err.println("Failed to save CAR records!");
+            }
+        });
     }
     
     /**
@@ -385,6 +393,81 @@ public class CARMonitoringController implements Initializable {
         }
     }
 
+    /**
+     * Writes the CAR report of every saved record to output/reports.
+     * Clicking again while the export runs cancels it.
+     */
+    @FXML
+    public void exportAllReports(ActionEvent event) {
+        if (exportJob != null) {
+            exportJob.cancel();
+            return;
+        }
+
+        exportJob = ReportGenerator.exportAll(DataManager.CAR_DATA_FILE,
+                progress -> btnExportReports.setText(String.format("Cancel Export (%.0f%%)", progress * 100)));
+        btnExportReports.setText("Cancel Export");
+        ReportGenerator.ReportJob job = exportJob;
+        job.getResult().thenAccept(file -> {
+            exportJob = null;
+            btnExportReports.setText("Export All Reports");
+            if (file != null) {
+                showInfo("Exported " + job.getTotal() + " CAR reports to\n" + file.toAbsolutePath());
+            } else if (job.isCancelled()) {
+                showInfo("Report export cancelled.");
+            } else {
+                showError("Could not export CAR reports.");
+            }
+        });
+    }
+
+    /**
+     * Runs the standard stress scenarios against every bank in the CAR history and shows
+     * the scenarios that push the most banks into a worse compliance level.
+     */
+    @FXML
+    public void runStressTest(ActionEvent event) {
+        if (carRecords.isEmpty()) {
+            showError("No CAR records to stress test");
+            return;
+        }
+        List<CapitalAdequacy> records = List.copyOf(carRecords);
+        AsyncDataManager.supplyAsync(() -> {
+            CarStressTest.Portfolio portfolio = CarStressTest.portfolio(records);
+            List<CarStressTest.ScenarioResult> results = CarStressTest.run(portfolio, CarStressTest.standardScenarios());
+            StringBuilder report = new StringBuilder();
+            report.append("Banks: ").append(portfolio.size()).append("   Scenarios: ").append(results.size()).append("\n");
+            report.append(String.format("Baseline: %d Compliant, %d Warning, %d Non-Compliant%n",
+                    portfolio.getBaselineCount(CapitalAdequacy.COMPLIANT),
+                    portfolio.getBaselineCount(CapitalAdequacy.WARNING),
+                    portfolio.getBaselineCount(CapitalAdequacy.NON_COMPLIANT)));
+            long breaching = results.stream().filter(r -> r.getNonCompliant() > 0).count();
+            report.append("Scenarios with a non-compliant bank: ").append(breaching).append("\n\n");
+            report.append("Most severe scenarios:\n");
+            for (CarStressTest.ScenarioResult result : CarStressTest.mostSevere(results, 15)) {
+                report.append(result.getScenario().getName()).append("\n");
+                report.append(String.format("  Compliant→Warning %d, Warning→Non-Compliant %d, Compliant→Non-Compliant %d%n",
+                        result.getTransitions(CapitalAdequacy.COMPLIANT, CapitalAdequacy.WARNING),
+                        result.getTransitions(CapitalAdequacy.WARNING, CapitalAdequacy.NON_COMPLIANT),
+                        result.getTransitions(CapitalAdequacy.COMPLIANT, CapitalAdequacy.NON_COMPLIANT)));
+                report.append("  Capital shortfall: ").append(formatCurrency(result.getCapitalShortfall())).append("\n");
+            }
+            return report.toString();
+        }).thenAccept(report -> {
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("CAR Stress Test");
+            alert.setHeaderText("Basel III Stress Test Across All Banks");
+
+            TextArea textArea = new TextArea(report);
+            textArea.setEditable(false);
+            textArea.setWrapText(true);
+            textArea.setPrefHeight(400);
+
+            alert.getDialogPane().setContent(textArea);
+            alert.showAndWait();
+        });
+    }
+
     /**
      * Refreshes the table.
      */
@@ -1,6 +1,8 @@
 package com.example.simulation_of_bangladesh_bank.saida.controller;
 
 import com.example.simulation_of_bangladesh_bank.saida.model.GovCashBalance;
+import com.example.simulation_of_bangladesh_bank.saida.util.AsyncDataManager;
+import com.example.simulation_of_bangladesh_bank.saida.util.TreasuryPostings;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -30,6 +32,12 @@ public class CashBalanceController implements Initializable {
     @FXML private TextField txtProjectedBalance;
     @FXML private DatePicker dpReportDate;
 
+    @FXML private ComboBox<String> cmbPostingType;
+    @FXML private TextField txtPostingAmount;
+    @FXML private TextField txtTargetAccount;
+    @FXML private TextField txtPurpose;
+    @FXML private Button btnPost;
+
     @FXML private TableView<GovCashBalance> tblCashBalance;
     @FXML private TableColumn<GovCashBalance, String> colDate;
     @FXML private TableColumn<GovCashBalance, String> colBalance;
@@ -44,6 +52,7 @@ public class CashBalanceController implements Initializable {
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         dpReportDate.setValue(LocalDate.now());
+        cmbPostingType.setItems(FXCollections.observableArrayList("Receipt", "Payment", "Transfer"));
         setupTableColumns();
         loadSampleData();
         setupTableSelectionListener();
@@ -163,6 +172,63 @@ public class CashBalanceController implements Initializable {
         clearForm();
     }
 
+    /**
+     * Posts a receipt, payment or transfer to the TSA ledger and records it on the selected
+     * (or latest) record. The ledger waits for its journal to reach the disk, so the posting
+     * runs in the background.
+     */
+    @FXML
+    public void postToTreasury(ActionEvent event) {
+        GovCashBalance record = currentRecord != null ? currentRecord : records.isEmpty() ? null : records.get(0);
+        String type = cmbPostingType.getValue();
+        if (record == null || type == null) {
+            showError("Please select a record and a transaction type");
+            return;
+        }
+        double amount;
+        try {
+            amount = parseAmount(txtPostingAmount.getText());
+        } catch (NumberFormatException e) {
+            showError("Please enter a valid amount");
+            return;
+        }
+        String targetAccount = txtTargetAccount.getText().trim();
+        String purpose = txtPurpose.getText().trim();
+        if (type.equals("Transfer") && targetAccount.isEmpty()) {
+            showError("Please enter the target account of the transfer");
+            return;
+        }
+
+        btnPost.setDisable(true);
+        AsyncDataManager.supplyAsync(() -> post(record, type, amount, targetAccount, purpose)).thenAccept(result -> {
+            btnPost.setDisable(false);
+            if (result.startsWith("Error") || result.startsWith("Transfer failed")) {
+                showError(result);
+            } else {
+                txtPostingAmount.clear();
+                txtTargetAccount.clear();
+                txtPurpose.clear();
+                populateFormFromRecord(record);
+                tblCashBalance.refresh();
+                showReport("TSA Posting", result);
+            }
+        });
+    }
+
+    // Runs in the background; failures come back as an error message
+    private static String post(GovCashBalance record, String type, double amount, String targetAccount, String purpose) {
+        try {
+            return switch (type) {
+                case "Receipt" -> TreasuryPostings.updateCashRecords(record, amount, "credit");
+                case "Payment" -> TreasuryPostings.updateCashRecords(record, amount, "debit");
+                default -> TreasuryPostings.authorizeTransfer(record, targetAccount, amount, purpose);
+            };
+        } catch (RuntimeException e) {
+            System.err.println("TSA posting failed: " + e.getMessage());
+            return "Error: " + e.getMessage();
+        }
+    }
+
     @FXML
     public void generateCashReport(ActionEvent event) {
         if (currentRecord == null && !records.isEmpty()) currentRecord = records.get(0);
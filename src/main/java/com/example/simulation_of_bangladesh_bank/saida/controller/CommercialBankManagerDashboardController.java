@@ -1,7 +1,9 @@
 package com.example.simulation_of_bangladesh_bank.saida.controller;
 
-import com.example.simulation_of_bangladesh_bank.saida.model.*;
+import com.example.simulation_of_bangladesh_bank.saida.util.AsyncDataManager;
+import com.example.simulation_of_bangladesh_bank.saida.util.DataFileCorruptedException;
 import com.example.simulation_of_bangladesh_bank.saida.util.DataManager;
+import com.example.simulation_of_bangladesh_bank.saida.util.KpiSnapshot;
 import com.example.simulation_of_bangladesh_bank.saida.util.SceneSwitcher;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -15,8 +17,8 @@ import javafx.stage.Stage;
 
 import java.io.IOException;
 import java.net.URL;
-import java.util.List;
 import java.util.ResourceBundle;
+import java.util.function.IntSupplier;
 
 /**
  * Controller for Commercial Bank Manager Dashboard.
@@ -117,41 +119,84 @@ public class CommercialBankManagerDashboardController implements Initializable {
      * Updates dashboard statistics from persistent data files.
      */
     private void updateDashboardStats() {
-        // Load real data from bin files
-        List<SLRCompliance> slrRecords = DataManager.loadFromFile(DataManager.SLR_DATA_FILE);
-        List<LoanApplication> loanRecords = DataManager.loadFromFile(DataManager.LOANS_FILE);
-        List<AMLMonitoring> amlRecords = DataManager.loadFromFile(DataManager.AML_CASES_FILE);
-        List<InterbankOperations> interbankRecords = DataManager.loadFromFile(DataManager.INTERBANK_FILE);
-        List<BranchPerformance> branchRecords = DataManager.loadFromFile(DataManager.BRANCHES_FILE);
-        List<LiquidityManagement> liquidityRecords = DataManager.loadFromFile(DataManager.LIQUIDITY_FILE);
-        List<CapitalAdequacy> carRecords = DataManager.loadFromFile("car_data.bin");
-        
-        // Update dashboard labels with actual counts
-        lblSLRCount.setText(String.valueOf(slrRecords.size()));
-        lblLoanCount.setText(String.valueOf(loanRecords.size()));
-        lblCARCount.setText(String.valueOf(carRecords.size()));
-        lblAMLCount.setText(String.valueOf(amlRecords.size()));
-        
-        // Calculate liquidity status
-        if (!liquidityRecords.isEmpty()) {
-            LiquidityManagement latest = liquidityRecords.get(0);
-            double netPos = latest.getNetPosition();
-            double threshold = latest.getMinThreshold();
-            lblLiquidityStatus.setText(netPos >= threshold ? "Healthy" : "Alert");
-        } else {
-            lblLiquidityStatus.setText("No Data");
+        // Aggregated in the background over the columnar KPI snapshot
+        AsyncDataManager.supplyAsync(() -> new DashboardStats(
+                stat(() -> KpiSnapshot.table(DataManager.SLR_DATA_FILE).size()),
+                stat(() -> KpiSnapshot.table(DataManager.LOANS_FILE).size()),
+                stat(() -> KpiSnapshot.table(DataManager.CAR_DATA_FILE).size()),
+                stat(() -> KpiSnapshot.table(DataManager.AML_CASES_FILE).size()),
+                liquidityStatus(),
+                stat(() -> KpiSnapshot.table(DataManager.INTERBANK_FILE).count("status", "Active")),
+                stat(() -> KpiSnapshot.table(DataManager.BRANCHES_FILE).size())
+        )).thenAccept(stats -> {
+            // Update dashboard labels with actual counts
+            lblSLRCount.setText(statText(stats.slrCount, ""));
+            lblLoanCount.setText(statText(stats.loanCount, ""));
+            lblCARCount.setText(statText(stats.carCount, ""));
+            lblAMLCount.setText(statText(stats.amlCount, ""));
+            lblLiquidityStatus.setText(stats.liquidityStatus);
+            lblInterbankCount.setText(statText(stats.activeInterbank, " Active"));
+            lblBranchCount.setText(statText(stats.branchCount, " Branches"));
+        });
+    }
+
+    // An unreadable file only blanks its own figure; -1 marks it unavailable
+    private static int stat(IntSupplier figure) {
+        try {
+            return figure.getAsInt();
+        } catch (DataFileCorruptedException e) {
+            System.err.println("Error loading dashboard statistic: " + e.getMessage());
+            return -1;
         }
-        
-        // Count active interbank operations
-        long activeInterbank = interbankRecords.stream()
-            .filter(op -> "Active".equals(op.getStatus()))
-            .count();
-        lblInterbankCount.setText(activeInterbank + " Active");
-        
-        // Branch count
-        lblBranchCount.setText(branchRecords.size() + " Branches");
     }
 
+    private static String statText(int value, String suffix) {
+        return value < 0 ? "N/A" : value + suffix;
+    }
+
+    // Liquidity status from the latest position
+    private static String liquidityStatus() {
+        try {
+            KpiSnapshot.Table liquidity = KpiSnapshot.table(DataManager.LIQUIDITY_FILE);
+            synchronized (liquidity) {
+                if (liquidity.size() == 0) {
+                    return "No Data";
+                }
+                double netPos = liquidity.value("netPosition", 0);
+                double threshold = liquidity.value("minThreshold", 0);
+                return netPos >= threshold ? "Healthy" : "Alert";
+            }
+        } catch (DataFileCorruptedException e) {
+            System.err.println("Error loading dashboard statistic: " + e.getMessage());
+            return "N/A";
+        }
+    }
+
+    /**
+     * Dashboard figures gathered off the FX thread.
+     */
+    private static class DashboardStats {
+        final int slrCount;
+        final int loanCount;
+        final int carCount;
+        final int amlCount;
+        final String liquidityStatus;
+        final int activeInterbank;
+        final int branchCount;
+
+        DashboardStats(int slrCount, int loanCount, int carCount, int amlCount,
+                       String liquidityStatus, int activeInterbank, int branchCount) {
+            this.slrCount = slrCount;
+            this.loanCount = loanCount;
+            this.carCount = carCount;
+            this.amlCount = amlCount;
+            this.liquidityStatus = liquidityStatus;
+            this.activeInterbank = activeInterbank;
+            this.branchCount = branchCount;
+        }
+    }
+
+
     /**
      * Shows the main dashboard view.
      */
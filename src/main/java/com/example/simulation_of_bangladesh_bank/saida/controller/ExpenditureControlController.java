@@ -1,6 +1,9 @@
 package com.example.simulation_of_bangladesh_bank.saida.controller;
 
 import com.example.simulation_of_bangladesh_bank.saida.model.ExpenditureControl;
+import com.example.simulation_of_bangladesh_bank.saida.util.DataManager;
+import com.example.simulation_of_bangladesh_bank.saida.util.DataRepository;
+import com.example.simulation_of_bangladesh_bank.saida.util.IdSequence;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -13,6 +16,8 @@ import java.net.URL;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ResourceBundle;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Controller for Expenditure Control view.
@@ -106,7 +111,11 @@ public class ExpenditureControlController implements Initializable {
     }
 
     private void generateRequestID() {
-        txtRequestID.setText("EXP-" + LocalDate.now().getYear() + "-" + String.format("%04d", requests.size() + 1));
+        txtRequestID.setText(IdSequence.nextId("EXP-" + LocalDate.now().getYear() + "-", 4,
+                () -> Stream.concat(
+                        DataRepository.<ExpenditureControl>get(DataManager.EXPENDITURE_FILE).stream(),
+                        requests.stream())
+                        .map(ExpenditureControl::getExpenditureId).collect(Collectors.toList())));
     }
 
     private void updateStatistics() {
@@ -1,7 +1,10 @@
 package com.example.simulation_of_bangladesh_bank.saida.controller;
 
 import com.example.simulation_of_bangladesh_bank.saida.model.InterbankOperations;
+import com.example.simulation_of_bangladesh_bank.saida.util.AsyncDataManager;
 import com.example.simulation_of_bangladesh_bank.saida.util.DataManager;
+import com.example.simulation_of_bangladesh_bank.saida.util.InterbankExposureLedger;
+import com.example.simulation_of_bangladesh_bank.saida.util.MappedRecordStore;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -13,8 +16,11 @@ import javafx.scene.control.*;
 import java.net.URL;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Controller for Interbank Operations view.
@@ -90,6 +96,10 @@ public class InterbankOpsController implements Initializable {
     private ObservableList<InterbankOperations> transactions = FXCollections.observableArrayList();
     private InterbankOperations currentTransaction;
     private boolean creditValidated = false;
+    // Every booking and credit check is chained here, so a check always sees the deals booked before it
+    private CompletableFuture<InterbankExposureLedger> exposureLedger;
+    // Bumped by every credit check and form reset, so a late result of an older check is dropped
+    private int creditCheck;
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
@@ -122,6 +132,9 @@ public class InterbankOpsController implements Initializable {
         
         // Load data from persistent storage (or initialize with realistic startup data)
         loadTransactionHistory();
+
+        // Build the exposure ledger off the FX thread before the first credit check
+        exposureLedger = AsyncDataManager.supplyAsync(InterbankExposureLedger::shared);
         
         // Update overview
         updateOverview();
@@ -132,28 +145,43 @@ public class InterbankOpsController implements Initializable {
      * If no history exists, initializes with realistic startup scenario.
      */
     private void loadTransactionHistory() {
-        List<InterbankOperations> savedTransactions = DataManager.loadFromFile(DataManager.INTERBANK_FILE);
-        
-        if (savedTransactions.isEmpty()) {
-            // No saved data - this is a fresh start, no dummy data
-            System.out.println("No previous interbank transaction history found. Starting fresh.");
-        } else {
-            transactions.addAll(savedTransactions);
-            System.out.println("Loaded " + savedTransactions.size() + " interbank transactions from history.");
-        }
+        AsyncDataManager.<InterbankOperations>loadAsync(DataManager.INTERBANK_FILE).thenAccept(savedTransactions -> {
+            if (savedTransactions.isEmpty()) {
+                // No saved data - this is a fresh start, no dummy data
+                System.out.println("No previous interbank transaction history found. Starting fresh.");
+            } else {
+                transactions.addAll(savedTransactions);
+                System.out.println("Loaded " + savedTransactions.size() + " interbank transactions from history.");
+            }
+            updateOverview();
+        }).exceptionally(error -> AsyncDataManager.reportLoadFailure(DataManager.INTERBANK_FILE, error));
     }
     
     /**
-     * Saves current transactions to persistent storage.
+     * Saves a new transaction to persistent storage.
+     * The operation is appended to the journal instead of rewriting the whole file.
+     * Its exposure is booked before the save starts, so the next credit check counts it,
+     * and released again if the save fails.
      */
-    private void saveTransactionHistory() {
-        List<InterbankOperations> toSave = new java.util.ArrayList<>(transactions);
-        boolean success = DataManager.saveToFile(DataManager.INTERBANK_FILE, toSave);
-        if (success) {
-            System.out.println("Interbank transactions saved successfully.");
-        } else {
-            System.err.println("Failed to save interbank transactions!");
-        }
+    private void saveTransaction(InterbankOperations operation) {
+        updateExposure(ledger -> ledger.book(operation));
+        AsyncDataManager.appendAsync(DataManager.INTERBANK_FILE, operation.getOperationId(), operation).thenAccept(success -> {
+            if (success) {
+                System.out.println("Interbank transaction " + operation.getOperationId() + " saved successfully.");
+            } else {
+                System.err.println("Failed to save interbank transaction!");
+                updateExposure(ledger -> ledger.settle(operation));
+            }
+            updateOverview();
+        });
+    }
+
+    // Runs after the ledger is built and every earlier update; booking is cheap once it is
+    private void updateExposure(Consumer<InterbankExposureLedger> update) {
+        exposureLedger = exposureLedger.thenApply(ledger -> {
+            update.accept(ledger);
+            return ledger;
+        });
     }
 
     /**
@@ -202,15 +230,37 @@ public class InterbankOpsController implements Initializable {
 
     /**
      * Updates overview statistics.
+     * The totals are computed off the FX thread, since opening the record store may map
+     * (or first convert) the operations file.
      */
     private void updateOverview() {
-        double totalBorrowed = transactions.stream()
-            .mapToDouble(InterbankOperations::getBorrowAmount).sum();
-        double totalLent = transactions.stream()
-            .mapToDouble(InterbankOperations::getLendingAmount).sum();
+        List<InterbankOperations> shown = new ArrayList<>(transactions);
+        AsyncDataManager.supplyAsync(() -> overviewTotals(shown)).thenAccept(this::showOverview);
+    }
+
+    // { total borrowed, total lent, average rate }
+    private static double[] overviewTotals(List<InterbankOperations> shown) {
+        MappedRecordStore<InterbankOperations> store = DataManager.openRecordStore(DataManager.INTERBANK_FILE);
+        if (store != null) {
+            // Column scans straight over the mapped file - no records are deserialized
+            return new double[] {
+                    store.sum("borrowAmount"),
+                    store.sum("lendingAmount"),
+                    store.size() > 0 ? store.sum("interestRate") / store.size() : 0
+            };
+        }
+        return new double[] {
+                shown.stream().mapToDouble(InterbankOperations::getBorrowAmount).sum(),
+                shown.stream().mapToDouble(InterbankOperations::getLendingAmount).sum(),
+                shown.stream().mapToDouble(InterbankOperations::getInterestRate).average().orElse(0)
+        };
+    }
+
+    private void showOverview(double[] totals) {
+        double totalBorrowed = totals[0];
+        double totalLent = totals[1];
+        double avgRate = totals[2];
         double netPosition = totalLent - totalBorrowed;
-        double avgRate = transactions.stream()
-            .mapToDouble(InterbankOperations::getInterestRate).average().orElse(0);
 
         lblTotalBorrowed.setText(formatCurrency(totalBorrowed));
         lblTotalLent.setText(formatCurrency(totalLent));
@@ -264,48 +314,59 @@ public class InterbankOpsController implements Initializable {
             return;
         }
 
+        double requestedAmount;
         try {
-            double requestedAmount = parseAmount(txtAmount.getText());
-            String counterparty = cmbCounterparty.getValue();
-            double creditLimit = getCreditLimitForBank(counterparty);
-            
-            // Calculate current exposure to this counterparty from existing transactions
-            double existingExposure = transactions.stream()
-                .filter(t -> counterparty.equals(t.getCounterpartyBank()))
-                .mapToDouble(t -> t.getBorrowAmount() + t.getLendingAmount())
-                .sum();
-            
-            currentTransaction = new InterbankOperations();
-            currentTransaction.setCounterpartyBank(counterparty);
-            currentTransaction.setCreditLimit(creditLimit);
-            currentTransaction.setCurrentExposure(existingExposure);
-            
-            boolean isValid = (existingExposure + requestedAmount) <= creditLimit;
-            creditValidated = isValid;
-            
-            if (isValid) {
-                lblCreditStatus.setText("✓ Credit Limit OK");
-                lblCreditStatus.setStyle("-fx-text-fill: #4caf50; -fx-font-weight: bold;");
-                showInfo("Credit limit validated successfully!\n\n" +
-                        "Counterparty: " + counterparty + "\n" +
-                        "Credit Limit: " + formatCurrency(creditLimit) + "\n" +
-                        "Existing Exposure: " + formatCurrency(existingExposure) + "\n" +
-                        "Requested Amount: " + formatCurrency(requestedAmount) + "\n" +
-                        "Available: " + formatCurrency(creditLimit - existingExposure) + "\n\n" +
-                        "✓ Transaction can proceed.");
-            } else {
-                lblCreditStatus.setText("✗ Exceeds Limit");
-                lblCreditStatus.setStyle("-fx-text-fill: #f44336; -fx-font-weight: bold;");
-                showWarning("Transaction exceeds credit limit!\n\n" +
-                        "Counterparty: " + counterparty + "\n" +
-                        "Credit Limit: " + formatCurrency(creditLimit) + "\n" +
-                        "Existing Exposure: " + formatCurrency(existingExposure) + "\n" +
-                        "Requested Amount: " + formatCurrency(requestedAmount) + "\n" +
-                        "Available: " + formatCurrency(creditLimit - existingExposure) + "\n\n" +
-                        "Please reduce amount or choose another counterparty.");
-            }
+            requestedAmount = parseAmount(txtAmount.getText());
         } catch (NumberFormatException e) {
             showError("Please enter a valid numeric amount");
+            return;
+        }
+        String counterparty = cmbCounterparty.getValue();
+        // Transactions wait for this check's result
+        int check = ++creditCheck;
+        creditValidated = false;
+        lblCreditStatus.setText("Checking...");
+        lblCreditStatus.setStyle("-fx-text-fill: #666666;");
+        // Exposure over active, unmatured deals, counted after every deal booked so far
+        exposureLedger.thenCompose(ledger -> AsyncDataManager.supplyAsync(() -> ledger.getExposure(counterparty)))
+                .thenAccept(existingExposure -> {
+                    if (check == creditCheck) {
+                        showCreditCheck(counterparty, requestedAmount, existingExposure);
+                    }
+                });
+    }
+
+    private void showCreditCheck(String counterparty, double requestedAmount, double existingExposure) {
+        double creditLimit = getCreditLimitForBank(counterparty);
+
+        currentTransaction = new InterbankOperations();
+        currentTransaction.setCounterpartyBank(counterparty);
+        currentTransaction.setCreditLimit(creditLimit);
+        currentTransaction.setCurrentExposure(existingExposure);
+        
+        boolean isValid = (existingExposure + requestedAmount) <= creditLimit;
+        creditValidated = isValid;
+        
+        if (isValid) {
+            lblCreditStatus.setText("✓ Credit Limit OK");
+            lblCreditStatus.setStyle("-fx-text-fill: #4caf50; -fx-font-weight: bold;");
+            showInfo("Credit limit validated successfully!\n\n" +
+                    "Counterparty: " + counterparty + "\n" +
+                    "Credit Limit: " + formatCurrency(creditLimit) + "\n" +
+                    "Existing Exposure: " + formatCurrency(existingExposure) + "\n" +
+                    "Requested Amount: " + formatCurrency(requestedAmount) + "\n" +
+                    "Available: " + formatCurrency(creditLimit - existingExposure) + "\n\n" +
+                    "✓ Transaction can proceed.");
+        } else {
+            lblCreditStatus.setText("✗ Exceeds Limit");
+            lblCreditStatus.setStyle("-fx-text-fill: #f44336; -fx-font-weight: bold;");
+            showWarning("Transaction exceeds credit limit!\n\n" +
+                    "Counterparty: " + counterparty + "\n" +
+                    "Credit Limit: " + formatCurrency(creditLimit) + "\n" +
+                    "Existing Exposure: " + formatCurrency(existingExposure) + "\n" +
+                    "Requested Amount: " + formatCurrency(requestedAmount) + "\n" +
+                    "Available: " + formatCurrency(creditLimit - existingExposure) + "\n\n" +
+                    "Please reduce amount or choose another counterparty.");
         }
     }
 
@@ -331,7 +392,7 @@ public class InterbankOpsController implements Initializable {
             borrowOp.borrow();
 
             transactions.add(0, borrowOp);
-            saveTransactionHistory(); // Save to persistent storage
+            saveTransaction(borrowOp); // Save to persistent storage
             updateOverview();
             
             showInfo("✅ Borrow transaction executed & saved!\n\n" +
@@ -371,7 +432,7 @@ public class InterbankOpsController implements Initializable {
             lendOp.lend();
 
             transactions.add(0, lendOp);
-            saveTransactionHistory(); // Save to persistent storage
+            saveTransaction(lendOp); // Save to persistent storage
             updateOverview();
             
             showInfo("✅ Lend transaction executed & saved!\n\n" +
@@ -446,6 +507,7 @@ public class InterbankOpsController implements Initializable {
         lblCreditStatus.setText("Not Checked");
         lblCreditStatus.setStyle("-fx-text-fill: #666666;");
         creditValidated = false;
+        creditCheck++;
         currentTransaction = null;
     }
 
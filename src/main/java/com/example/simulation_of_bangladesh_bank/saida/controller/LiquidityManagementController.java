@@ -1,19 +1,28 @@
 package com.example.simulation_of_bangladesh_bank.saida.controller;
 
 import com.example.simulation_of_bangladesh_bank.saida.model.LiquidityManagement;
+import com.example.simulation_of_bangladesh_bank.saida.util.AsyncDataManager;
 import com.example.simulation_of_bangladesh_bank.saida.util.DataManager;
+import com.example.simulation_of_bangladesh_bank.saida.util.LiquidityTimeSeries;
+import com.example.simulation_of_bangladesh_bank.saida.util.LiquidityTimeSeries.Forecast;
+import com.example.simulation_of_bangladesh_bank.saida.util.LiquidityTimeSeries.Measure;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
 import javafx.scene.control.*;
 import javafx.scene.layout.HBox;
+import javafx.util.StringConverter;
 
 import java.net.URL;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
 
@@ -88,6 +97,10 @@ public class LiquidityManagementController implements Initializable {
     private ObservableList<LiquidityManagement> transactions = FXCollections.observableArrayList();
     private LiquidityManagement currentLiquidity;
 
+    // Days of history shown in the chart, and the most points plotted for them
+    private static final int HISTORY_DAYS = 3 * 365;
+    private static final int MAX_CHART_POINTS = 400;
+
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         // Set default threshold
@@ -104,33 +117,38 @@ public class LiquidityManagementController implements Initializable {
         
         // Update overview
         updateOverview();
+
+        // Build the liquidity history in the background before it is first charted
+        AsyncDataManager.supplyAsync(LiquidityTimeSeries::shared);
     }
     
     /**
      * Loads liquidity history from persistent storage.
      */
     private void loadLiquidityHistory() {
-        List<LiquidityManagement> savedTransactions = DataManager.loadFromFile(DataManager.LIQUIDITY_FILE);
-        
-        if (savedTransactions.isEmpty()) {
-            System.out.println("No previous liquidity history found. Starting fresh.");
-        } else {
-            transactions.addAll(savedTransactions);
-            System.out.println("Loaded " + savedTransactions.size() + " liquidity records from history.");
-        }
+        AsyncDataManager.<LiquidityManagement>loadAsync(DataManager.LIQUIDITY_FILE).thenAccept(savedTransactions -> {
+            if (savedTransactions.isEmpty()) {
+                System.out.println("No previous liquidity history found. Starting fresh.");
+            } else {
+                transactions.addAll(savedTransactions);
+                System.out.println("Loaded " + savedTransactions.size() + " liquidity records from history.");
+            }
+            updateOverview();
+        }).exceptionally(error -> AsyncDataManager.reportLoadFailure(DataManager.LIQUIDITY_FILE, error));
     }
     
     /**
      * Saves liquidity records to persistent storage.
      */
     private void saveLiquidityHistory() {
-        List<LiquidityManagement> toSave = new java.util.ArrayList<>(transactions);
-        boolean success = DataManager.saveToFile(DataManager.LIQUIDITY_FILE, toSave);
-        if (success) {
-            System.out.println("Liquidity records saved successfully.");
-        } else {
-            System.err.println("Failed to save liquidity records!");
-        }
+        List<LiquidityManagement> toSave = new ArrayList<>(transactions);
+        AsyncDataManager.saveAsync(DataManager.LIQUIDITY_FILE, toSave).thenAccept(success -> {
+            if (success) {
+                System.out.println("Liquidity records saved successfully.");
+            } else {
+                System.err.println("Failed to save liquidity records!");
+            }
+        });
     }
 
     /**
@@ -261,7 +279,7 @@ public class LiquidityManagementController implements Initializable {
             currentLiquidity.forecastTransactions();
 
             transactions.add(0, currentLiquidity);
-            saveLiquidityHistory(); // Save to persistent storage
+            saveLiquidityHistory(); // Save to persistent storage; the history picks it up once saved
             updateOverview();
             
             showInfo("✅ Transaction forecast completed & saved!\n\n" +
@@ -323,6 +341,82 @@ public class LiquidityManagementController implements Initializable {
         }
     }
 
+    /**
+     * Charts the daily net position of the selected record's bank (or of all banks) over the
+     * last three years, with its moving averages and exponential smoothing.
+     */
+    @FXML
+    public void showLiquidityHistory(ActionEvent event) {
+        String bankId = currentLiquidity != null && currentLiquidity.getBankId() != null
+                ? currentLiquidity.getBankId() : LiquidityTimeSeries.ALL_BANKS;
+        AsyncDataManager.supplyAsync(() -> LiquidityTimeSeries.shared().history(bankId, HISTORY_DAYS))
+                .thenAccept(history -> {
+                    if (history.size() == 0) {
+                        showInfo("No liquidity history for " + bankId);
+                        return;
+                    }
+                    // The forecast made on the last day is the next day's forecast
+                    Alert alert = new Alert(Alert.AlertType.INFORMATION);
+                    alert.setTitle("Liquidity History");
+                    alert.setHeaderText(bankId + " - Net Position and Forecasts (next day: "
+                            + formatCurrency(history.getForecast(Measure.NET_POSITION, Forecast.EXPONENTIAL,
+                                    history.size() - 1)) + ")");
+                    alert.getDialogPane().setContent(buildHistoryChart(history));
+                    alert.getDialogPane().setPrefWidth(900);
+                    alert.showAndWait();
+                });
+    }
+
+    /**
+     * Line chart of a history, plotting every n-th day when there are more days than points.
+     */
+    private LineChart<Number, Number> buildHistoryChart(LiquidityTimeSeries.History history) {
+        NumberAxis xAxis = new NumberAxis();
+        xAxis.setForceZeroInRange(false);
+        xAxis.setLabel("Date");
+        xAxis.setTickLabelFormatter(new StringConverter<Number>() {
+            @Override
+            public String toString(Number epochDay) {
+                return LocalDate.ofEpochDay(epochDay.longValue()).format(DateTimeFormatter.ofPattern("MMM yyyy"));
+            }
+
+            @Override
+            public Number fromString(String text) {
+                return null;
+            }
+        });
+        NumberAxis yAxis = new NumberAxis();
+        yAxis.setLabel("BDT");
+
+        XYChart.Series<Number, Number> actual = new XYChart.Series<>();
+        actual.setName("Net position");
+        List<XYChart.Series<Number, Number>> forecasts = new ArrayList<>();
+        for (Forecast forecast : Forecast.values()) {
+            XYChart.Series<Number, Number> series = new XYChart.Series<>();
+            series.setName(forecast.getLabel());
+            forecasts.add(series);
+        }
+
+        int step = Math.max(1, (history.size() + MAX_CHART_POINTS - 1) / MAX_CHART_POINTS);
+        for (int i = 0; i < history.size(); i += step) {
+            long day = history.getDay(i).toEpochDay();
+            actual.getData().add(new XYChart.Data<>(day, history.getValue(Measure.NET_POSITION, i)));
+            for (Forecast forecast : Forecast.values()) {
+                // A forecast is made on day i for the day after
+                forecasts.get(forecast.ordinal()).getData().add(
+                        new XYChart.Data<>(day + 1, history.getForecast(Measure.NET_POSITION, forecast, i)));
+            }
+        }
+
+        LineChart<Number, Number> chart = new LineChart<>(xAxis, yAxis);
+        chart.setCreateSymbols(false);
+        chart.setAnimated(false);
+        chart.getData().add(actual);
+        chart.getData().addAll(forecasts);
+        chart.setPrefSize(860, 420);
+        return chart;
+    }
+
     /**
      * Refreshes the table.
      */
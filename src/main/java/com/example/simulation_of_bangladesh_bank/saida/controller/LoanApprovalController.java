@@ -1,7 +1,12 @@
 package com.example.simulation_of_bangladesh_bank.saida.controller;
 
 import com.example.simulation_of_bangladesh_bank.saida.model.LoanApplication;
+import com.example.simulation_of_bangladesh_bank.saida.util.AsyncDataManager;
 import com.example.simulation_of_bangladesh_bank.saida.util.DataManager;
+import com.example.simulation_of_bangladesh_bank.saida.util.DataRepository;
+import com.example.simulation_of_bangladesh_bank.saida.util.DocumentIssuer;
+import com.example.simulation_of_bangladesh_bank.saida.util.IdSequence;
+import com.example.simulation_of_bangladesh_bank.saida.util.LoanRiskEngine;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -15,6 +20,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.stream.Collectors;
 
 /**
  * Controller for Corporate Loan Approval view.
@@ -51,6 +57,9 @@ public class LoanApprovalController implements Initializable {
     @FXML
     private Button btnSanction;
 
+    @FXML
+    private Button btnIssueLetters;
+
     @FXML
     private Label lblRiskScore;
 
@@ -127,27 +136,28 @@ public class LoanApprovalController implements Initializable {
      * Loads loan applications from persistent storage.
      */
     private void loadLoanHistory() {
-        List<LoanApplication> savedLoans = DataManager.loadFromFile(DataManager.LOANS_FILE);
-        
-        if (savedLoans.isEmpty()) {
-            System.out.println("No previous loan applications found.");
-        } else {
-            loanApplications.addAll(savedLoans);
-            System.out.println("Loaded " + savedLoans.size() + " loan applications from history.");
-        }
+        AsyncDataManager.<LoanApplication>loadAsync(DataManager.LOANS_FILE).thenAccept(savedLoans -> {
+            if (savedLoans.isEmpty()) {
+                System.out.println("No previous loan applications found.");
+            } else {
+                loanApplications.addAll(savedLoans);
+                System.out.println("Loaded " + savedLoans.size() + " loan applications from history.");
+            }
+        }).exceptionally(error -> AsyncDataManager.reportLoadFailure(DataManager.LOANS_FILE, error));
     }
     
     /**
-     * Saves loan applications to persistent storage.
+     * Saves a single loan application to persistent storage.
+     * Only the changed record is journaled; the rest of loans.bin is untouched.
      */
-    private void saveLoanHistory() {
-        List<LoanApplication> toSave = new java.util.ArrayList<>(loanApplications);
-        boolean success = DataManager.saveToFile(DataManager.LOANS_FILE, toSave);
-        if (success) {
-            System.out.println("Loan applications saved successfully.");
-        } else {
-            System.err.println("Failed to save loan applications!");
-        }
+    private void saveLoanRecord(LoanApplication loan) {
+        AsyncDataManager.updateAsync(DataManager.LOANS_FILE, loan.getApplicationId(), loan).thenAccept(success -> {
+            if (success) {
+                System.out.println("Loan application " + loan.getApplicationId() + " saved successfully.");
+            } else {
+                System.err.println("Failed to save loan application!");
+            }
+        });
     }
     
     /**
@@ -159,6 +169,14 @@ public class LoanApprovalController implements Initializable {
                 populateFormFromLoan(newSelection);
             }
         });
+
+        // Double-click opens the row's full risk assessment report
+        tblLoans.setOnMouseClicked(event -> {
+            LoanApplication selected = tblLoans.getSelectionModel().getSelectedItem();
+            if (event.getClickCount() == 2 && selected != null) {
+                showReport("Risk Assessment", selected.assessRisk());
+            }
+        });
     }
     
     /**
@@ -240,10 +258,9 @@ public class LoanApprovalController implements Initializable {
         colCollateral.setCellValueFactory(data -> 
             new SimpleStringProperty(formatCurrency(data.getValue().getCollateralValue())));
         
-        colRisk.setCellValueFactory(data -> {
-            String riskAssessment = data.getValue().assessRisk();
-            return new SimpleStringProperty(riskAssessment != null ? riskAssessment : "Not Assessed");
-        });
+        // Band only; the full report is built when a row is opened
+        colRisk.setCellValueFactory(data ->
+            new SimpleStringProperty(data.getValue().getRiskLevel().getLabel()));
         
         colStatus.setCellValueFactory(data -> 
             new SimpleStringProperty(data.getValue().getStatus() != null ? data.getValue().getStatus() : "Pending"));
@@ -260,8 +277,9 @@ public class LoanApprovalController implements Initializable {
      * Generates a new application ID.
      */
     private void generateNewApplicationID() {
-        String id = "LOAN-" + LocalDate.now().getYear() + "-" + 
-                    String.format("%03d", loanApplications.size() + 1);
+        String id = IdSequence.nextId("LOAN-" + LocalDate.now().getYear() + "-", 3,
+                () -> DataRepository.<LoanApplication>get(DataManager.LOANS_FILE).stream()
+                        .map(LoanApplication::getApplicationId).collect(Collectors.toList()));
         txtApplicationID.setText(id);
     }
 
@@ -332,7 +350,7 @@ public class LoanApprovalController implements Initializable {
             loanApplications.add(0, currentApplication);
         }
         
-        saveLoanHistory(); // Save to persistent storage
+        saveLoanRecord(currentApplication); // Save to persistent storage
         tblLoans.refresh();
         
         showInfo("✅ Loan application approved successfully!\n\n" +
@@ -363,7 +381,7 @@ public class LoanApprovalController implements Initializable {
             loanApplications.add(0, currentApplication);
         }
         
-        saveLoanHistory(); // Save to persistent storage
+        saveLoanRecord(currentApplication); // Save to persistent storage
         tblLoans.refresh();
         
         showInfo("Loan application rejected");
@@ -397,6 +415,49 @@ public class LoanApprovalController implements Initializable {
         alert.showAndWait();
     }
 
+    /**
+     * Scores the whole loan book in the background and shows portfolio-level risk.
+     */
+    @FXML
+    public void assessPortfolioRisk(ActionEvent event) {
+        List<LoanApplication> book = List.copyOf(loanApplications);
+        AsyncDataManager.supplyAsync(() -> LoanRiskEngine.assess(book)).thenAccept(risk -> {
+            StringBuilder summary = new StringBuilder();
+            summary.append("Loans assessed: ").append(risk.size()).append("\n");
+            summary.append("Total exposure: ").append(formatCurrency(risk.getTotalExposure())).append("\n");
+            summary.append(String.format("Portfolio collateral coverage: %.2f%%%n", risk.getPortfolioCoverage()));
+            summary.append("Uncollateralised exposure: ").append(formatCurrency(risk.getCollateralShortfall())).append("\n\n");
+            for (LoanApplication.RiskLevel band : LoanApplication.RiskLevel.values()) {
+                summary.append(String.format("%-12s %4d loans  %s%n", band.getLabel() + ":",
+                        risk.getCount(band), formatCurrency(risk.getExposure(band))));
+            }
+            summary.append("\nRiskiest loans (double-click a row for its full report):\n");
+            for (int row : risk.riskiestRows(10)) {
+                summary.append(String.format("%-16s %-12s score %d/9  coverage %.0f%%  %s%n",
+                        risk.getLoan(row).getApplicationId(), risk.getBand(row).getLabel(), risk.getScore(row),
+                        risk.getCoverage(row), formatCurrency(risk.getExposure(row))));
+            }
+            showReport("Portfolio Risk", summary.toString());
+        });
+    }
+
+    /**
+     * Issues sanction letters for every approved loan to output/letters.
+     * Letters already issued for unchanged loans are kept as they are.
+     */
+    @FXML
+    public void issueSanctionLetters(ActionEvent event) {
+        btnIssueLetters.setDisable(true);
+        AsyncDataManager.supplyAsync(DocumentIssuer::issueSanctionLetters).whenComplete((summary, error) -> {
+            btnIssueLetters.setDisable(false);
+            if (error != null) {
+                showError("Sanction letter issuance failed: " + error.getMessage());
+            } else {
+                showInfo("Sanction letter issuance complete.\n\n" + summary);
+            }
+        });
+    }
+
     /**
      * Refreshes the table data.
      */
@@ -470,6 +531,20 @@ public class LoanApprovalController implements Initializable {
         }
     }
 
+    private void showReport(String title, String report) {
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+
+        TextArea textArea = new TextArea(report);
+        textArea.setEditable(false);
+        textArea.setWrapText(true);
+        textArea.setPrefHeight(400);
+
+        alert.getDialogPane().setContent(textArea);
+        alert.showAndWait();
+    }
+
     private void showError(String message) {
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle("Error");
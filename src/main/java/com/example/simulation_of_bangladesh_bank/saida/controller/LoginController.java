@@ -3,6 +3,7 @@ package com.example.simulation_of_bangladesh_bank.saida.controller;
 import com.example.simulation_of_bangladesh_bank.saida.model.User;
 import com.example.simulation_of_bangladesh_bank.saida.util.DataManager;
 import com.example.simulation_of_bangladesh_bank.saida.util.SceneSwitcher;
+import com.example.simulation_of_bangladesh_bank.saida.util.ViewCache;
 import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -15,6 +16,7 @@ import javafx.stage.Stage;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.Map;
 import java.util.Optional;
 import java.util.ResourceBundle;
 
@@ -41,6 +43,28 @@ public class LoginController implements Initializable {
 
     private User authenticatedUser;
 
+    // Screens each role usually opens first; parsed in the background once the dashboard is up
+    private static final String BASE = "/com/example/simulation_of_bangladesh_bank/";
+    private static final Map<String, String[]> LIKELY_NEXT_VIEWS = Map.of(
+            "Commercial Bank Manager", new String[] {
+                    BASE + "saida/fxml/SLRComplianceView.fxml",
+                    BASE + "saida/fxml/LoanApprovalView.fxml",
+                    BASE + "saida/fxml/LiquidityManagementView.fxml"},
+            "Ministry of Finance Representative", new String[] {
+                    BASE + "saida/fxml/RevenueMonitoringView.fxml",
+                    BASE + "saida/fxml/ExpenditureControlView.fxml",
+                    BASE + "saida/fxml/CashBalanceView.fxml"},
+            "Governor", new String[] {
+                    BASE + "shifat/ManageCommercialBank.fxml",
+                    BASE + "shifat/ManageMonetaryPolicies.fxml",
+                    BASE + "shifat/ManageNational_InterestRates.fxml"},
+            "Director of Banking Regulation", new String[] {
+                    BASE + "shifat/SuperviseCommercialBanks.fxml",
+                    BASE + "shifat/ManageBankComplianceReports.fxml"},
+            "Foreign Exchange Department", new String[] {
+                    BASE + "Sara/ForeignExchangeDealer.fxml",
+                    BASE + "Sara/MaintainForeignReserveRecords.fxml"});
+
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         // Initialize user type options (including all team members' roles)
@@ -170,6 +194,8 @@ public class LoginController implements Initializable {
             stage.setMaximized(true);
             stage.show();
 
+            ViewCache.preload(getClass(), LIKELY_NEXT_VIEWS.getOrDefault(userType, new String[0]));
+
         } catch (IOException e) {
             showError("Error loading dashboard: " + e.getMessage());
             e.printStackTrace();
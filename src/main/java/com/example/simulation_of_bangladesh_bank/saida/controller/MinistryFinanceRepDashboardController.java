@@ -1,5 +1,9 @@
 package com.example.simulation_of_bangladesh_bank.saida.controller;
 
+import com.example.simulation_of_bangladesh_bank.saida.util.AsyncDataManager;
+import com.example.simulation_of_bangladesh_bank.saida.util.DataFileCorruptedException;
+import com.example.simulation_of_bangladesh_bank.saida.util.DataManager;
+import com.example.simulation_of_bangladesh_bank.saida.util.KpiSnapshot;
 import com.example.simulation_of_bangladesh_bank.saida.util.SceneSwitcher;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -111,17 +115,79 @@ public class MinistryFinanceRepDashboardController implements Initializable {
     }
 
     /**
-     * Updates dashboard statistics.
+     * Updates dashboard statistics from persistent data files.
      */
     private void updateDashboardStats() {
-        // In a real application, these would come from the database
-        lblRevenueTotal.setText("৳450B");
-        lblExpenditureTotal.setText("৳380B");
-        lblDebtTotal.setText("৳120B");
-        lblCashBalance.setText("৳85B");
-        lblAidStatus.setText("On Track");
-        lblReformCount.setText("8 Active");
-        lblPendingApprovals.setText("12 Items");
+        // Aggregated in the background over the columnar KPI snapshot
+        AsyncDataManager.supplyAsync(() -> {
+            try {
+                return new DashboardStats();
+            } catch (DataFileCorruptedException e) {
+                System.err.println("Error loading dashboard statistics: " + e.getMessage());
+                return null;
+            }
+        }).thenAccept(stats -> {
+            if (stats == null) {
+                return;
+            }
+            lblRevenueTotal.setText(formatCurrency(stats.revenue));
+            lblExpenditureTotal.setText(formatCurrency(stats.expenditure));
+            lblDebtTotal.setText(formatCurrency(stats.debt));
+            lblCashBalance.setText(stats.cashBalance != null ? formatCurrency(stats.cashBalance) : "No Data");
+            lblAidStatus.setText(stats.aidStatus);
+            lblReformCount.setText(stats.activeReforms + " Active");
+            lblPendingApprovals.setText(stats.pendingApprovals + " Items");
+        });
+    }
+
+    /**
+     * Dashboard figures gathered off the FX thread.
+     */
+    private static class DashboardStats {
+        final double revenue;
+        final double expenditure;
+        final double debt;
+        final Double cashBalance;
+        final String aidStatus;
+        final int activeReforms;
+        final int pendingApprovals;
+
+        DashboardStats() {
+            KpiSnapshot.Table expenditures = KpiSnapshot.table(DataManager.EXPENDITURE_FILE);
+            revenue = KpiSnapshot.table(DataManager.REVENUE_FILE).sum("collected");
+            expenditure = expenditures.sum("approvedAmount");
+            debt = KpiSnapshot.table(DataManager.DEBT_FILE).sum("outstandingDebt");
+            pendingApprovals = expenditures.count("status", "Pending", "Pending Approval");
+
+            // Closing balance of the most recent cash report
+            // Tables follow their files, so figures read together hold the table's lock
+            KpiSnapshot.Table cash = KpiSnapshot.table(DataManager.CASH_BALANCE_FILE);
+            synchronized (cash) {
+                int latest = cash.maxRow("reportDay");
+                cashBalance = latest >= 0 ? cash.value("closingBalance", latest) : null;
+            }
+
+            KpiSnapshot.Table aid = KpiSnapshot.table(DataManager.FOREIGN_AID_FILE);
+            synchronized (aid) {
+                int offTrack = aid.size() - aid.count("utilizationStatus", "On Track");
+                aidStatus = aid.size() == 0 ? "No Data" : offTrack == 0 ? "On Track" : offTrack + " Need Review";
+            }
+
+            KpiSnapshot.Table reforms = KpiSnapshot.table(DataManager.REFORM_FILE);
+            synchronized (reforms) {
+                activeReforms = reforms.size() - reforms.count("milestoneStatus", "Achieved", "Completed");
+            }
+        }
+    }
+
+    private String formatCurrency(double amount) {
+        if (amount >= 1000000000) {
+            return String.format("৳%.0fB", amount / 1000000000);
+        } else if (amount >= 1000000) {
+            return String.format("৳%.0fM", amount / 1000000);
+        } else {
+            return String.format("৳%.0f", amount);
+        }
     }
 
     /**
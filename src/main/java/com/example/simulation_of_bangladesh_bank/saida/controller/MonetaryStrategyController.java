@@ -1,6 +1,7 @@
 package com.example.simulation_of_bangladesh_bank.saida.controller;
 
 import com.example.simulation_of_bangladesh_bank.saida.model.MonetaryStrategy;
+import com.example.simulation_of_bangladesh_bank.saida.util.IdSequence;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -13,6 +14,7 @@ import java.net.URL;
 import java.time.LocalDate;
 import java.util.ResourceBundle;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Controller for Monetary Policy Strategy view.
@@ -184,8 +186,8 @@ public class MonetaryStrategyController implements Initializable {
      * Generates a new strategy ID.
      */
     private void generateStrategyID() {
-        String id = "MS-" + LocalDate.now().getYear() + "-" + 
-                    String.format("%03d", strategies.size() + 1);
+        String id = IdSequence.nextId("MS-" + LocalDate.now().getYear() + "-", 3,
+                () -> strategies.stream().map(MonetaryStrategy::getStrategyID).collect(Collectors.toList()));
         txtStrategyID.setText(id);
     }
 
@@ -1,7 +1,9 @@
 package com.example.simulation_of_bangladesh_bank.saida.controller;
 
 import com.example.simulation_of_bangladesh_bank.saida.model.SLRCompliance;
+import com.example.simulation_of_bangladesh_bank.saida.util.AsyncDataManager;
 import com.example.simulation_of_bangladesh_bank.saida.util.DataManager;
+import com.example.simulation_of_bangladesh_bank.saida.util.DocumentIssuer;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -42,6 +44,9 @@ public class SLRComplianceController implements Initializable {
     @FXML
     private Button btnGenerateCert;
 
+    @FXML
+    private Button btnIssueAll;
+
     @FXML
     private Label lblRequiredSLR;
 
@@ -94,14 +99,14 @@ public class SLRComplianceController implements Initializable {
      * Loads SLR compliance history from persistent storage.
      */
     private void loadSLRHistory() {
-        List<SLRCompliance> savedRecords = DataManager.loadFromFile(DataManager.SLR_DATA_FILE);
-        
-        if (savedRecords.isEmpty()) {
-            System.out.println("No previous SLR compliance history found. Starting fresh.");
-        } else {
-            slrRecords.addAll(savedRecords);
-            System.out.println("Loaded " + savedRecords.size() + " SLR compliance records from history.");
-        }
+        AsyncDataManager.<SLRCompliance>loadAsync(DataManager.SLR_DATA_FILE).thenAccept(savedRecords -> {
+            if (savedRecords.isEmpty()) {
+                System.out.println("No previous SLR compliance history found. Starting fresh.");
+            } else {
+                slrRecords.addAll(savedRecords);
+                System.out.println("Loaded " + savedRecords.size() + " SLR compliance records from history.");
+            }
+        }).exceptionally(error -> AsyncDataManager.reportLoadFailure(DataManager.SLR_DATA_FILE, error));
     }
     
     /**
@@ -109,12 +114,13 @@ public class SLRComplianceController implements Initializable {
      */
     private void saveSLRHistory() {
         List<SLRCompliance> toSave = new java.util.ArrayList<>(slrRecords);
-        boolean success = DataManager.saveToFile(DataManager.SLR_DATA_FILE, toSave);
-        if (success) {
-            System.out.println("SLR compliance records saved successfully.");
-        } else {
-            System.err.println("Failed to save SLR compliance records!");
-        }
+        AsyncDataManager.saveAsync(DataManager.SLR_DATA_FILE, toSave).thenAccept(success -> {
+            if (success) {
+                System.out.println("SLR compliance records saved successfully.");
+            } else {
+                System.err.println("Failed to save SLR compliance records!");
+            }
+        });
     }
 
     /**
@@ -300,6 +306,23 @@ public class SLRComplianceController implements Initializable {
         currentSLR = null;
     }
 
+    /**
+     * Issues certificates for every compliant SLR filing to output/certificates.
+     * Certificates already issued for unchanged filings are kept as they are.
+     */
+    @FXML
+    public void issueAllCertificates(ActionEvent event) {
+        btnIssueAll.setDisable(true);
+        AsyncDataManager.supplyAsync(DocumentIssuer::issueSLRCertificates).whenComplete((summary, error) -> {
+            btnIssueAll.setDisable(false);
+            if (error != null) {
+                showError("Certificate issuance failed: " + error.getMessage());
+            } else {
+                showInfo("Certificate issuance complete.\n\n" + summary);
+            }
+        });
+    }
+
     /**
      * Refreshes the table data.
      */
@@ -1,5 +1,7 @@
 package com.example.simulation_of_bangladesh_bank.saida.model;
 
+import com.example.simulation_of_bangladesh_bank.saida.util.ReportFormat;
+
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.time.LocalDate;
@@ -11,6 +13,20 @@ import java.util.List;
  */
 public class AMLMonitoring implements Serializable {
     private static final long serialVersionUID = 1L;
+
+    // Red flag thresholds (BDT)
+    public static final double LARGE_CASH_THRESHOLD = 1000000;
+    public static final double ROUND_FIGURE_UNIT = 100000;
+    public static final double ROUND_FIGURE_MINIMUM = 500000;
+    // Deposits between this share of the threshold and the threshold count towards structuring
+    public static final double STRUCTURING_LOWER_BOUND = 0.9 * LARGE_CASH_THRESHOLD;
+    public static final int STRUCTURING_WINDOW_DAYS = 7;
+    public static final int STRUCTURING_MIN_DEPOSITS = 3;
+
+    public static final String FLAG_LARGE_CASH = "Large Cash Transaction (> 10 Lakh BDT)";
+    public static final String FLAG_ROUND_FIGURE = "Suspicious Round Figure Transaction";
+    public static final String FLAG_HIGH_RISK_TYPE = "High-Risk Transaction Type: ";
+    public static final String FLAG_STRUCTURING = "Structured Transaction Pattern";
     
     // Additional fields
     private String caseId;
@@ -56,7 +72,7 @@ public class AMLMonitoring implements Serializable {
         // Simulate loading suspicious transaction reports
         for (String report : reports) {
             if (report.contains("large_cash") || report.contains("structured")) {
-                this.redFlags.add("Structured Transaction Pattern");
+                this.redFlags.add(FLAG_STRUCTURING);
             }
             if (report.contains("high_risk_country")) {
                 this.redFlags.add("High Risk Geographic Origin");
@@ -73,22 +89,20 @@ public class AMLMonitoring implements Serializable {
         boolean hasRedFlags = false;
         
         // Check for large cash transactions (> 10 lakh BDT)
-        if (transactionAmount > 1000000) {
-            redFlags.add("Large Cash Transaction (> 10 Lakh BDT)");
+        if (isLargeCash(transactionAmount)) {
+            redFlags.add(FLAG_LARGE_CASH);
             hasRedFlags = true;
         }
         
         // Check for round-figure transactions
-        if (transactionAmount % 100000 == 0 && transactionAmount >= 500000) {
-            redFlags.add("Suspicious Round Figure Transaction");
+        if (isRoundFigure(transactionAmount)) {
+            redFlags.add(FLAG_ROUND_FIGURE);
             hasRedFlags = true;
         }
         
         // Check transaction type
-        if (transactionType != null && 
-            (transactionType.equalsIgnoreCase("wire_international") || 
-             transactionType.equalsIgnoreCase("cash_deposit_multiple"))) {
-            redFlags.add("High-Risk Transaction Type: " + transactionType);
+        if (isHighRiskType(transactionType)) {
+            redFlags.add(FLAG_HIGH_RISK_TYPE + transactionType);
             hasRedFlags = true;
         }
         
@@ -96,6 +110,29 @@ public class AMLMonitoring implements Serializable {
         return hasRedFlags;
     }
 
+    // Red flag rules, shared with the batch screening engine
+
+    public static boolean isLargeCash(double amount) {
+        return amount > LARGE_CASH_THRESHOLD;
+    }
+
+    public static boolean isRoundFigure(double amount) {
+        return amount % ROUND_FIGURE_UNIT == 0 && amount >= ROUND_FIGURE_MINIMUM;
+    }
+
+    public static boolean isHighRiskType(String transactionType) {
+        return transactionType != null &&
+            (transactionType.equalsIgnoreCase("wire_international") ||
+             transactionType.equalsIgnoreCase("cash_deposit_multiple"));
+    }
+
+    /**
+     * A deposit just below the large-cash threshold, as used to avoid reporting.
+     */
+    public static boolean isJustBelowThreshold(double amount) {
+        return amount >= STRUCTURING_LOWER_BOUND && amount <= LARGE_CASH_THRESHOLD;
+    }
+
     private void assessRiskLevel() {
         int flagCount = redFlags.size();
         
@@ -119,7 +156,7 @@ public class AMLMonitoring implements Serializable {
         
         report.append("Transaction Details:\n");
         report.append("  Transaction ID: ").append(transactionId).append("\n");
-        report.append("  Amount: BDT ").append(String.format("%.2f", transactionAmount)).append("\n");
+        report.append("  Amount: BDT ").append(ReportFormat.fixed2(transactionAmount)).append("\n");
         report.append("  Type: ").append(transactionType).append("\n");
         report.append("  Account Holder: ").append(accountHolder != null ? accountHolder : "N/A").append("\n\n");
         
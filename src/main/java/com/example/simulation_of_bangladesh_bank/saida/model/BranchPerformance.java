@@ -1,5 +1,7 @@
 package com.example.simulation_of_bangladesh_bank.saida.model;
 
+import com.example.simulation_of_bangladesh_bank.saida.util.ReportFormat;
+
 import java.io.Serializable;
 import java.time.LocalDate;
 
@@ -150,13 +152,13 @@ public class BranchPerformance implements Serializable {
         report.append("  Bank ID: ").append(bankId).append("\n\n");
         
         report.append("Performance Metrics:\n");
-        report.append("  Deposit Growth: ").append(String.format("%.2f", depositGrowth)).append("%\n");
-        report.append("  Loan Growth: ").append(String.format("%.2f", loanGrowth)).append("%\n");
-        report.append("  NPA Ratio: ").append(String.format("%.2f", npaRatio)).append("%\n");
+        report.append("  Deposit Growth: ").append(ReportFormat.fixed2(depositGrowth)).append("%\n");
+        report.append("  Loan Growth: ").append(ReportFormat.fixed2(loanGrowth)).append("%\n");
+        report.append("  NPA Ratio: ").append(ReportFormat.fixed2(npaRatio)).append("%\n");
         report.append("  Customer Satisfaction: ").append(String.format("%.1f", customerSatisfactionScore)).append("/5\n\n");
         
         report.append("Overall Assessment:\n");
-        report.append("  KPI Score: ").append(String.format("%.2f", kpiScore)).append("/100\n");
+        report.append("  KPI Score: ").append(ReportFormat.fixed2(kpiScore)).append("/100\n");
         report.append("  Ranking: #").append(ranking).append("\n");
         report.append("  Performance Rating: ").append(performanceRating).append("\n");
         
@@ -1,5 +1,7 @@
 package com.example.simulation_of_bangladesh_bank.saida.model;
 
+import com.example.simulation_of_bangladesh_bank.saida.util.ReportFormat;
+
 import java.io.Serializable;
 import java.time.LocalDate;
 
@@ -28,6 +30,12 @@ public class CapitalAdequacy implements Serializable {
     public static final double CONSERVATION_BUFFER = 2.5;
     public static final double MIN_TIER1_RATIO = 6.0;
 
+    // Compliance levels, indexes into COMPLIANCE_LEVELS
+    public static final int COMPLIANT = 0;
+    public static final int WARNING = 1;
+    public static final int NON_COMPLIANT = 2;
+    public static final String[] COMPLIANCE_LEVELS = {"Compliant", "Warning", "Non-Compliant"};
+
     // Constructors
     public CapitalAdequacy() {
         this.reportDate = LocalDate.now();
@@ -67,18 +75,23 @@ public class CapitalAdequacy implements Serializable {
     }
 
     public boolean validateBaselIII() {
-        double tier1Ratio = calculateTier1Ratio();
-        
+        int level = complianceLevel(carValue, calculateTier1Ratio(), minimumCAR);
+        this.status = COMPLIANCE_LEVELS[level];
+        return level != NON_COMPLIANT;
+    }
+
+    /**
+     * Basel III compliance level of a CAR and Tier 1 ratio (both in percent) against a
+     * minimum CAR: COMPLIANT, WARNING (meeting the minimum but below the conservation
+     * buffer) or NON_COMPLIANT. Shared with the stress test, which classifies many banks at once.
+     */
+    public static int complianceLevel(double carValue, double tier1Ratio, double minimumCAR) {
         if (carValue >= minimumCAR && tier1Ratio >= MIN_TIER1_RATIO) {
-            this.status = "Compliant";
-            return true;
+            return COMPLIANT;
         } else if (carValue >= BASEL_III_MIN_CAR && tier1Ratio >= MIN_TIER1_RATIO) {
-            this.status = "Warning"; // Meeting minimum but below conservation buffer
-            return true;
-        } else {
-            this.status = "Non-Compliant";
-            return false;
+            return WARNING;
         }
+        return NON_COMPLIANT;
     }
 
     public String generateCARReport() {
@@ -89,15 +102,15 @@ public class CapitalAdequacy implements Serializable {
         report.append("Report Date: ").append(reportDate).append("\n\n");
         
         report.append("Capital Components:\n");
-        report.append("  Tier 1 Capital: BDT ").append(String.format("%.2f", tier1Capital)).append("\n");
-        report.append("  Tier 2 Capital: BDT ").append(String.format("%.2f", tier2Capital)).append("\n");
-        report.append("  Total Capital Base: BDT ").append(String.format("%.2f", capitalBase)).append("\n\n");
+        report.append("  Tier 1 Capital: BDT ").append(ReportFormat.fixed2(tier1Capital)).append("\n");
+        report.append("  Tier 2 Capital: BDT ").append(ReportFormat.fixed2(tier2Capital)).append("\n");
+        report.append("  Total Capital Base: BDT ").append(ReportFormat.fixed2(capitalBase)).append("\n\n");
         
-        report.append("Risk-Weighted Assets: BDT ").append(String.format("%.2f", riskWeightedAssets)).append("\n\n");
+        report.append("Risk-Weighted Assets: BDT ").append(ReportFormat.fixed2(riskWeightedAssets)).append("\n\n");
         
         report.append("Ratios:\n");
-        report.append("  Tier 1 Ratio: ").append(String.format("%.2f", calculateTier1Ratio())).append("%\n");
-        report.append("  Capital Adequacy Ratio (CAR): ").append(String.format("%.2f", carValue)).append("%\n\n");
+        report.append("  Tier 1 Ratio: ").append(ReportFormat.fixed2(calculateTier1Ratio())).append("%\n");
+        report.append("  Capital Adequacy Ratio (CAR): ").append(ReportFormat.fixed2(carValue)).append("%\n\n");
         
         report.append("Basel III Requirements:\n");
         report.append("  Minimum CAR: ").append(BASEL_III_MIN_CAR).append("%\n");
@@ -111,7 +124,7 @@ public class CapitalAdequacy implements Serializable {
             report.append("\nCapital Enhancement Required:\n");
             double requiredCapital = (minimumCAR * riskWeightedAssets / 100) - capitalBase;
             if (requiredCapital > 0) {
-                report.append("  Additional Capital Needed: BDT ").append(String.format("%.2f", requiredCapital)).append("\n");
+                report.append("  Additional Capital Needed: BDT ").append(ReportFormat.fixed2(requiredCapital)).append("\n");
             }
         }
         
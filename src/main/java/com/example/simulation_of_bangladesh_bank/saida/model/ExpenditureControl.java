@@ -1,5 +1,7 @@
 package com.example.simulation_of_bangladesh_bank.saida.model;
 
+import com.example.simulation_of_bangladesh_bank.saida.util.ReportFormat;
+
 import java.io.Serializable;
 import java.time.LocalDate;
 
@@ -110,10 +112,10 @@ public class ExpenditureControl implements Serializable {
         report.append("Priority: ").append(priority != null ? priority : "Not Set").append("\n\n");
         
         report.append("Financial Details:\n");
-        report.append("  Allocated Budget: BDT ").append(String.format("%.2f", allocatedBudget)).append("\n");
-        report.append("  Requested Amount: BDT ").append(String.format("%.2f", requestedAmount)).append("\n");
-        report.append("  Previously Spent: BDT ").append(String.format("%.2f", spentAmount - requestedAmount)).append("\n");
-        report.append("  Remaining Budget: BDT ").append(String.format("%.2f", remainingBudget)).append("\n\n");
+        report.append("  Allocated Budget: BDT ").append(ReportFormat.fixed2(allocatedBudget)).append("\n");
+        report.append("  Requested Amount: BDT ").append(ReportFormat.fixed2(requestedAmount)).append("\n");
+        report.append("  Previously Spent: BDT ").append(ReportFormat.fixed2(spentAmount - requestedAmount)).append("\n");
+        report.append("  Remaining Budget: BDT ").append(ReportFormat.fixed2(remainingBudget)).append("\n\n");
         
         report.append("Approval Details:\n");
         report.append("  Status: ").append(approvalStatus).append("\n");
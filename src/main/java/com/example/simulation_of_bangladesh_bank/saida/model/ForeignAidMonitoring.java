@@ -1,5 +1,7 @@
 package com.example.simulation_of_bangladesh_bank.saida.model;
 
+import com.example.simulation_of_bangladesh_bank.saida.util.ReportFormat;
+
 import java.io.Serializable;
 import java.time.LocalDate;
 
@@ -96,14 +98,14 @@ public class ForeignAidMonitoring implements Serializable {
         report.append("Implementing Agency: ").append(implementingAgency != null ? implementingAgency : "N/A").append("\n\n");
         
         report.append("Financial Status:\n");
-        report.append("  Total Aid Amount: USD ").append(String.format("%.2f", aidAmount)).append(" Million\n");
-        report.append("  Disbursed Amount: USD ").append(String.format("%.2f", disbursedAmount)).append(" Million\n");
-        report.append("  Utilized Amount: USD ").append(String.format("%.2f", utilizedAmount)).append(" Million\n");
-        report.append("  Remaining: USD ").append(String.format("%.2f", aidAmount - utilizedAmount)).append(" Million\n\n");
+        report.append("  Total Aid Amount: USD ").append(ReportFormat.fixed2(aidAmount)).append(" Million\n");
+        report.append("  Disbursed Amount: USD ").append(ReportFormat.fixed2(disbursedAmount)).append(" Million\n");
+        report.append("  Utilized Amount: USD ").append(ReportFormat.fixed2(utilizedAmount)).append(" Million\n");
+        report.append("  Remaining: USD ").append(ReportFormat.fixed2(aidAmount - utilizedAmount)).append(" Million\n\n");
         
         report.append("Performance Metrics:\n");
-        report.append("  Disbursement Rate: ").append(String.format("%.2f", (disbursedAmount / aidAmount) * 100)).append("%\n");
-        report.append("  Utilization Rate: ").append(String.format("%.2f", utilizationRate)).append("%\n");
+        report.append("  Disbursement Rate: ").append(ReportFormat.fixed2((disbursedAmount / aidAmount) * 100)).append("%\n");
+        report.append("  Utilization Rate: ").append(ReportFormat.fixed2(utilizationRate)).append("%\n");
         report.append("  Status: ").append(utilizationStatus).append("\n\n");
         
         report.append("Timeline:\n");
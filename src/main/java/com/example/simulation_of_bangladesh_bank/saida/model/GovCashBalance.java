@@ -1,5 +1,8 @@
 package com.example.simulation_of_bangladesh_bank.saida.model;
 
+import com.example.simulation_of_bangladesh_bank.saida.util.ReportFormat;
+import com.example.simulation_of_bangladesh_bank.saida.util.TreasuryPostings;
+
 import java.io.Serializable;
 import java.time.LocalDate;
 
@@ -68,19 +71,24 @@ public class GovCashBalance implements Serializable {
         return cashBalance >= dailyRequirement;
     }
 
+    /**
+     * Posts a receipt or payment to the TSA ledger and records it here (see TreasuryPostings).
+     * Waits for the ledger's journal, so call it off the FX thread.
+     */
     public String updateCashRecords(double amount, String transactionType) {
-        if (transactionType.equalsIgnoreCase("credit") || 
-            transactionType.equalsIgnoreCase("inflow")) {
-            this.cashBalance += amount;
+        return TreasuryPostings.updateCashRecords(this, amount, transactionType);
+    }
+
+    /**
+     * Records a receipt or payment that has been posted, with the balance after it.
+     */
+    public synchronized String recordPosting(double amount, String transactionType, double balanceAfter) {
+        if (isReceipt(transactionType)) {
             this.inflows += amount;
-        } else if (transactionType.equalsIgnoreCase("debit") || 
-                   transactionType.equalsIgnoreCase("outflow")) {
-            if (amount > cashBalance) {
-                return "Error: Insufficient cash balance for this transaction.";
-            }
-            this.cashBalance -= amount;
+        } else if (isPayment(transactionType)) {
             this.outflows += amount;
         }
+        this.cashBalance = balanceAfter;
         
         calculateProjectedBalance();
         assessBalanceStatus();
@@ -88,24 +96,36 @@ public class GovCashBalance implements Serializable {
         StringBuilder update = new StringBuilder();
         update.append("===== CASH RECORD UPDATE =====\n");
         update.append("Transaction: ").append(transactionType.toUpperCase()).append("\n");
-        update.append("Amount: BDT ").append(String.format("%.2f", amount)).append(" Crore\n");
-        update.append("New Balance: BDT ").append(String.format("%.2f", cashBalance)).append(" Crore\n");
+        update.append("Amount: BDT ").append(ReportFormat.fixed2(amount)).append(" Crore\n");
+        update.append("New Balance: BDT ").append(ReportFormat.fixed2(cashBalance)).append(" Crore\n");
         update.append("Status: ").append(balanceStatus).append("\n");
         update.append("==============================\n");
         
         return update.toString();
     }
 
+    /**
+     * Authorizes a transfer out of the TSA and records it here (see TreasuryPostings).
+     * Waits for the ledger's journal, so call it off the FX thread.
+     */
     public String authorizeTransfer(String targetAccount, double amount, String purpose) {
-        if (amount > cashBalance) {
-            return "Transfer failed: Insufficient balance.";
-        }
+        return TreasuryPostings.authorizeTransfer(this, targetAccount, amount, purpose);
+    }
+
+    /**
+     * Records a transfer that has been paid, with the balance after it, as an outflow.
+     */
+    public synchronized String recordTransfer(String targetAccount, double amount, String purpose, double balanceAfter) {
+        this.cashBalance = balanceAfter;
+        this.outflows += amount;
+        calculateProjectedBalance();
+        assessBalanceStatus();
         
         StringBuilder authorization = new StringBuilder();
         authorization.append("===== FUND TRANSFER AUTHORIZATION =====\n");
         authorization.append("From: Government Treasury Single Account\n");
         authorization.append("To: ").append(targetAccount).append("\n");
-        authorization.append("Amount: BDT ").append(String.format("%.2f", amount)).append(" Crore\n");
+        authorization.append("Amount: BDT ").append(ReportFormat.fixed2(amount)).append(" Crore\n");
         authorization.append("Purpose: ").append(purpose).append("\n");
         authorization.append("Date: ").append(LocalDate.now()).append("\n");
         authorization.append("Status: AUTHORIZED\n");
@@ -114,6 +134,14 @@ public class GovCashBalance implements Serializable {
         return authorization.toString();
     }
 
+    public static boolean isReceipt(String transactionType) {
+        return transactionType.equalsIgnoreCase("credit") || transactionType.equalsIgnoreCase("inflow");
+    }
+
+    public static boolean isPayment(String transactionType) {
+        return transactionType.equalsIgnoreCase("debit") || transactionType.equalsIgnoreCase("outflow");
+    }
+
     public String generateCashReport() {
         StringBuilder report = new StringBuilder();
         report.append("===== GOVERNMENT CASH BALANCE REPORT =====\n");
@@ -122,17 +150,17 @@ public class GovCashBalance implements Serializable {
         report.append("Report Date: ").append(reportDate).append("\n\n");
         
         report.append("Current Position:\n");
-        report.append("  Cash Balance: BDT ").append(String.format("%.2f", cashBalance)).append(" Crore\n");
-        report.append("  Minimum Balance: BDT ").append(String.format("%.2f", minimumBalance)).append(" Crore\n");
-        report.append("  Daily Requirement: BDT ").append(String.format("%.2f", dailyRequirement)).append(" Crore\n\n");
+        report.append("  Cash Balance: BDT ").append(ReportFormat.fixed2(cashBalance)).append(" Crore\n");
+        report.append("  Minimum Balance: BDT ").append(ReportFormat.fixed2(minimumBalance)).append(" Crore\n");
+        report.append("  Daily Requirement: BDT ").append(ReportFormat.fixed2(dailyRequirement)).append(" Crore\n\n");
         
         report.append("Today's Movements:\n");
-        report.append("  Inflows: BDT ").append(String.format("%.2f", inflows)).append(" Crore\n");
-        report.append("  Outflows: BDT ").append(String.format("%.2f", outflows)).append(" Crore\n");
-        report.append("  Net Movement: BDT ").append(String.format("%.2f", inflows - outflows)).append(" Crore\n\n");
+        report.append("  Inflows: BDT ").append(ReportFormat.fixed2(inflows)).append(" Crore\n");
+        report.append("  Outflows: BDT ").append(ReportFormat.fixed2(outflows)).append(" Crore\n");
+        report.append("  Net Movement: BDT ").append(ReportFormat.fixed2(inflows - outflows)).append(" Crore\n\n");
         
         report.append("Projections:\n");
-        report.append("  Projected Balance: BDT ").append(String.format("%.2f", projectedBalance)).append(" Crore\n");
+        report.append("  Projected Balance: BDT ").append(ReportFormat.fixed2(projectedBalance)).append(" Crore\n");
         report.append("  Days Coverage: ").append(getDaysCoverage()).append(" days\n\n");
         
         report.append("Status: ").append(balanceStatus).append("\n");
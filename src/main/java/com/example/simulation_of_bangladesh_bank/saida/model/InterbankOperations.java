@@ -64,7 +64,9 @@ public class InterbankOperations implements Serializable {
     public void borrow() {
         this.operationType = "Borrow";
         this.status = "Active";
-        this.maturityDate = LocalDate.now().plusDays(7);
+        if (this.maturityDate == null) {
+            this.maturityDate = LocalDate.now().plusDays(7);
+        }
     }
 
     public boolean lend(double amount, double rate, int daysToMaturity) {
@@ -79,7 +81,9 @@ public class InterbankOperations implements Serializable {
     public void lend() {
         this.operationType = "Lend";
         this.status = "Active";
-        this.maturityDate = LocalDate.now().plusDays(7);
+        if (this.maturityDate == null) {
+            this.maturityDate = LocalDate.now().plusDays(7);
+        }
     }
 
     public boolean validateCreditLimit(double requestedAmount) {
@@ -1,5 +1,7 @@
 package com.example.simulation_of_bangladesh_bank.saida.model;
 
+import com.example.simulation_of_bangladesh_bank.saida.util.ReportFormat;
+
 import java.io.Serializable;
 import java.time.LocalDate;
 
@@ -75,17 +77,17 @@ public class LiquidityManagement implements Serializable {
         result.append("===== LIQUIDITY ADJUSTMENT =====\n");
         result.append("Date: ").append(LocalDate.now()).append("\n");
         result.append("Bank ID: ").append(bankId).append("\n");
-        result.append("Current Net Position: BDT ").append(String.format("%.2f", netPosition)).append("\n");
+        result.append("Current Net Position: BDT ").append(ReportFormat.fixed2(netPosition)).append("\n");
         
         if (adjustmentType.equalsIgnoreCase("borrow")) {
             this.cashInflows += amount;
             this.actionTaken = "Borrowed";
-            result.append("Action: Borrowed BDT ").append(String.format("%.2f", amount)).append(" from interbank market\n");
+            result.append("Action: Borrowed BDT ").append(ReportFormat.fixed2(amount)).append(" from interbank market\n");
         } else if (adjustmentType.equalsIgnoreCase("lend")) {
             if (amount <= (netPosition - minThreshold)) {
                 this.cashOutflows += amount;
                 this.actionTaken = "Lent";
-                result.append("Action: Lent BDT ").append(String.format("%.2f", amount)).append(" to interbank market\n");
+                result.append("Action: Lent BDT ").append(ReportFormat.fixed2(amount)).append(" to interbank market\n");
             } else {
                 result.append("Error: Cannot lend. Would fall below minimum threshold.\n");
                 return result.toString();
@@ -93,7 +95,7 @@ public class LiquidityManagement implements Serializable {
         }
         
         calculateNetPosition();
-        result.append("New Net Position: BDT ").append(String.format("%.2f", netPosition)).append("\n");
+        result.append("New Net Position: BDT ").append(ReportFormat.fixed2(netPosition)).append("\n");
         result.append("Status: ").append(liquidityStatus).append("\n");
         result.append("================================\n");
         
@@ -108,15 +110,15 @@ public class LiquidityManagement implements Serializable {
         report.append("Date: ").append(reportDate).append("\n\n");
         
         report.append("Current Position:\n");
-        report.append("  Cash Inflows: BDT ").append(String.format("%.2f", cashInflows)).append("\n");
-        report.append("  Cash Outflows: BDT ").append(String.format("%.2f", cashOutflows)).append("\n");
-        report.append("  Net Position: BDT ").append(String.format("%.2f", netPosition)).append("\n");
-        report.append("  Minimum Threshold: BDT ").append(String.format("%.2f", minThreshold)).append("\n\n");
+        report.append("  Cash Inflows: BDT ").append(ReportFormat.fixed2(cashInflows)).append("\n");
+        report.append("  Cash Outflows: BDT ").append(ReportFormat.fixed2(cashOutflows)).append("\n");
+        report.append("  Net Position: BDT ").append(ReportFormat.fixed2(netPosition)).append("\n");
+        report.append("  Minimum Threshold: BDT ").append(ReportFormat.fixed2(minThreshold)).append("\n\n");
         
         report.append("Projected (Next 24 Hours):\n");
-        report.append("  Projected Inflows: BDT ").append(String.format("%.2f", projectedInflows)).append("\n");
-        report.append("  Projected Outflows: BDT ").append(String.format("%.2f", projectedOutflows)).append("\n");
-        report.append("  Forecasted Position: BDT ").append(String.format("%.2f", forecastTransactions())).append("\n\n");
+        report.append("  Projected Inflows: BDT ").append(ReportFormat.fixed2(projectedInflows)).append("\n");
+        report.append("  Projected Outflows: BDT ").append(ReportFormat.fixed2(projectedOutflows)).append("\n");
+        report.append("  Forecasted Position: BDT ").append(ReportFormat.fixed2(forecastTransactions())).append("\n\n");
         
         report.append("Status: ").append(liquidityStatus).append("\n");
         report.append("Action Taken: ").append(actionTaken).append("\n");
@@ -219,6 +221,10 @@ public class LiquidityManagement implements Serializable {
         return actionTaken;
     }
 
+    public void setActionTaken(String actionTaken) {
+        this.actionTaken = actionTaken;
+    }
+
     @Override
     public String toString() {
         return "LiquidityManagement{" +
@@ -1,5 +1,7 @@
 package com.example.simulation_of_bangladesh_bank.saida.model;
 
+import com.example.simulation_of_bangladesh_bank.saida.util.DocumentTemplate;
+
 import java.io.Serializable;
 import java.time.LocalDate;
 
@@ -33,6 +35,31 @@ public class LoanApplication implements Serializable {
     private String remarks;
     private String sanctionLetterNumber;
 
+    public static final DocumentTemplate<LoanApplication> SANCTION_LETTER = new DocumentTemplate.Builder<LoanApplication>()
+            .field("sanctionLetterNumber", l -> l.sanctionLetterNumber)
+            .field("approvalDate", l -> l.approvalDate)
+            .field("applicantName", l -> l.applicantName)
+            .field("businessType", l -> l.businessType)
+            .field("applicationId", l -> l.applicationId)
+            .amount("loanAmount", l -> l.loanAmount)
+            .field("interestRate", l -> l.interestRate)
+            .field("tenureMonths", l -> l.tenureMonths)
+            .amount("collateralValue", l -> l.collateralValue)
+            .compile("===== LOAN SANCTION LETTER =====\n"
+                    + "Sanction Letter No: {sanctionLetterNumber}\n"
+                    + "Date: {approvalDate}\n\n"
+                    + "To: {applicantName}\n"
+                    + "Business Type: {businessType}\n\n"
+                    + "We are pleased to inform you that your loan application has been approved.\n\n"
+                    + "Loan Details:\n"
+                    + "- Application ID: {applicationId}\n"
+                    + "- Sanctioned Amount: BDT {loanAmount}\n"
+                    + "- Interest Rate: {interestRate}% per annum\n"
+                    + "- Tenure: {tenureMonths} months\n"
+                    + "- Collateral Value: BDT {collateralValue}\n\n"
+                    + "Terms and conditions apply.\n"
+                    + "================================\n");
+
     // Constructors
     public LoanApplication() {
         this.applicationDate = LocalDate.now();
@@ -51,67 +78,137 @@ public class LoanApplication implements Serializable {
         this.status = "Pending";
     }
 
+    // ==================== RISK RATING BANDS ====================
+
+    public enum CreditRating {
+        POOR("Poor", 0), FAIR("Fair", 1), GOOD("Good", 2), EXCELLENT("Excellent", 3);
+
+        private final String label;
+        private final int points;
+
+        CreditRating(String label, int points) {
+            this.label = label;
+            this.points = points;
+        }
+
+        public static CreditRating of(double creditScore) {
+            if (creditScore >= 750) return EXCELLENT;
+            if (creditScore >= 650) return GOOD;
+            if (creditScore >= 550) return FAIR;
+            return POOR;
+        }
+
+        public String getLabel() { return label; }
+        public int getPoints() { return points; }
+    }
+
+    public enum DebtToIncomeRating {
+        HIGH_RISK("High Risk", 0), MANAGEABLE("Manageable", 2), HEALTHY("Healthy", 3);
+
+        private final String label;
+        private final int points;
+
+        DebtToIncomeRating(String label, int points) {
+            this.label = label;
+            this.points = points;
+        }
+
+        public static DebtToIncomeRating of(double debtToIncomeRatio) {
+            if (debtToIncomeRatio <= 35) return HEALTHY;
+            if (debtToIncomeRatio <= 50) return MANAGEABLE;
+            return HIGH_RISK;
+        }
+
+        public String getLabel() { return label; }
+        public int getPoints() { return points; }
+    }
+
+    /**
+     * Overall risk band; ordinal order runs from least to most risky.
+     */
+    public enum RiskLevel {
+        LOW("Low Risk"), MEDIUM("Medium Risk"), HIGH("High Risk");
+
+        private final String label;
+
+        RiskLevel(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Band for a combined score of 0-9 rating points.
+         */
+        public static RiskLevel ofScore(int riskScore) {
+            if (riskScore >= 7) return LOW;
+            if (riskScore >= 4) return MEDIUM;
+            return HIGH;
+        }
+
+        public String getLabel() { return label; }
+    }
+
+    /**
+     * Rating points for collateral coverage (in percent of the exposure).
+     */
+    public static int collateralPoints(double collateralCoverage) {
+        if (collateralCoverage >= 150) return 3;
+        if (collateralCoverage >= 100) return 2;
+        if (collateralCoverage >= 75) return 1;
+        return 0;
+    }
+
     // Business Methods
     public String assessRisk() {
         StringBuilder assessment = new StringBuilder();
         assessment.append("===== RISK ASSESSMENT REPORT =====\n");
         assessment.append("Application ID: ").append(applicationId).append("\n");
-        assessment.append("Applicant: ").append(applicantName).append("\n");
+        assessment.append("Applicant: ").append(applicantName != null ? applicantName : borrowerName).append("\n");
         
         // Credit Score Assessment
-        String creditRating;
-        if (creditScore >= 750) {
-            creditRating = "Excellent";
-        } else if (creditScore >= 650) {
-            creditRating = "Good";
-        } else if (creditScore >= 550) {
-            creditRating = "Fair";
-        } else {
-            creditRating = "Poor";
-        }
-        assessment.append("Credit Score: ").append(creditScore).append(" (").append(creditRating).append(")\n");
+        CreditRating creditRating = CreditRating.of(creditScore);
+        assessment.append("Credit Score: ").append(creditScore).append(" (").append(creditRating.getLabel()).append(")\n");
         
         // Debt-to-Income Ratio Assessment
-        String dtiRating;
-        if (debtToIncomeRatio <= 35) {
-            dtiRating = "Healthy";
-        } else if (debtToIncomeRatio <= 50) {
-            dtiRating = "Manageable";
-        } else {
-            dtiRating = "High Risk";
-        }
-        assessment.append("Debt-to-Income Ratio: ").append(debtToIncomeRatio).append("% (").append(dtiRating).append(")\n");
+        DebtToIncomeRating dtiRating = DebtToIncomeRating.of(debtToIncomeRatio);
+        assessment.append("Debt-to-Income Ratio: ").append(debtToIncomeRatio).append("% (").append(dtiRating.getLabel()).append(")\n");
         
         // Collateral Coverage
-        double collateralCoverage = (collateralValue / loanAmount) * 100;
+        double collateralCoverage = getCollateralCoverage();
         assessment.append("Collateral Coverage: ").append(String.format("%.2f", collateralCoverage)).append("%\n");
         
         // Overall Risk
-        String overallRisk = calculateOverallRisk(creditRating, dtiRating, collateralCoverage);
-        assessment.append("Overall Risk Level: ").append(overallRisk).append("\n");
+        assessment.append("Overall Risk Level: ").append(getRiskLevel().getLabel()).append("\n");
         assessment.append("==================================\n");
         
         return assessment.toString();
     }
 
-    private String calculateOverallRisk(String creditRating, String dtiRating, double collateralCoverage) {
-        int riskScore = 0;
-        
-        if (creditRating.equals("Excellent")) riskScore += 3;
-        else if (creditRating.equals("Good")) riskScore += 2;
-        else if (creditRating.equals("Fair")) riskScore += 1;
-        
-        if (dtiRating.equals("Healthy")) riskScore += 3;
-        else if (dtiRating.equals("Manageable")) riskScore += 2;
-        else riskScore += 0;
-        
-        if (collateralCoverage >= 150) riskScore += 3;
-        else if (collateralCoverage >= 100) riskScore += 2;
-        else if (collateralCoverage >= 75) riskScore += 1;
-        
-        if (riskScore >= 7) return "Low Risk";
-        else if (riskScore >= 4) return "Medium Risk";
-        else return "High Risk";
+    /**
+     * Combined rating points (0-9) for credit score, debt-to-income ratio and collateral.
+     */
+    public int getRiskPoints() {
+        return CreditRating.of(creditScore).getPoints()
+                + DebtToIncomeRating.of(debtToIncomeRatio).getPoints()
+                + collateralPoints(getCollateralCoverage());
+    }
+
+    public RiskLevel getRiskLevel() {
+        return RiskLevel.ofScore(getRiskPoints());
+    }
+
+    /**
+     * Amount at risk: the sanctioned loan amount, or the requested amount before sanction.
+     */
+    public double getExposure() {
+        return loanAmount > 0 ? loanAmount : requestedAmount;
+    }
+
+    /**
+     * Collateral value as a percentage of the exposure.
+     */
+    public double getCollateralCoverage() {
+        double exposure = getExposure();
+        return exposure > 0 ? (collateralValue / exposure) * 100 : 0;
     }
 
     public boolean approveLoan(double approvedInterestRate, int approvedTenure, String sanctionNumber) {
@@ -139,24 +236,7 @@ public class LoanApplication implements Serializable {
         if (!this.status.equals("Approved")) {
             return "Loan not approved. Cannot generate sanction letter.";
         }
-        
-        StringBuilder letter = new StringBuilder();
-        letter.append("===== LOAN SANCTION LETTER =====\n");
-        letter.append("Sanction Letter No: ").append(sanctionLetterNumber).append("\n");
-        letter.append("Date: ").append(approvalDate).append("\n\n");
-        letter.append("To: ").append(applicantName).append("\n");
-        letter.append("Business Type: ").append(businessType).append("\n\n");
-        letter.append("We are pleased to inform you that your loan application has been approved.\n\n");
-        letter.append("Loan Details:\n");
-        letter.append("- Application ID: ").append(applicationId).append("\n");
-        letter.append("- Sanctioned Amount: BDT ").append(String.format("%.2f", loanAmount)).append("\n");
-        letter.append("- Interest Rate: ").append(interestRate).append("% per annum\n");
-        letter.append("- Tenure: ").append(tenureMonths).append(" months\n");
-        letter.append("- Collateral Value: BDT ").append(String.format("%.2f", collateralValue)).append("\n\n");
-        letter.append("Terms and conditions apply.\n");
-        letter.append("================================\n");
-        
-        return letter.toString();
+        return SANCTION_LETTER.render(this);
     }
 
     // Controller-compatible methods
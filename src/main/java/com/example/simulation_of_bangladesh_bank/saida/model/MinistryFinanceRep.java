@@ -1,5 +1,7 @@
 package com.example.simulation_of_bangladesh_bank.saida.model;
 
+import com.example.simulation_of_bangladesh_bank.saida.util.ReportFormat;
+
 import java.util.ArrayList;
 import java.time.LocalDate;
 import java.util.List;
@@ -213,6 +215,7 @@ public class MinistryFinanceRep {
         return cash;
     }
 
+    // Posts to the TSA ledger, which waits for its journal: call off the FX thread
     public String updateCashPosition(String balanceId, double amount, String transactionType) {
         for (GovCashBalance cash : cashRecords) {
             if (cash.getBalanceId().equals(balanceId)) {
@@ -319,7 +322,7 @@ public class MinistryFinanceRep {
         report.append("───────────────────────────────────────────────────────────────\n");
         double totalRevenue = revenueRecords.stream()
                 .mapToDouble(RevenueMonitoring::getActualRevenue).sum();
-        report.append("Total Revenue Collected: BDT ").append(String.format("%.2f", totalRevenue)).append(" Crore\n\n");
+        report.append("Total Revenue Collected: BDT ").append(ReportFormat.fixed2(totalRevenue)).append(" Crore\n\n");
         
         // Expenditure Summary
         report.append("EXPENDITURE SUMMARY:\n");
@@ -327,14 +330,14 @@ public class MinistryFinanceRep {
         double totalExpenditure = expenditureRecords.stream()
                 .filter(e -> e.getApprovalStatus().equals("Approved"))
                 .mapToDouble(ExpenditureControl::getRequestedAmount).sum();
-        report.append("Total Approved Expenditure: BDT ").append(String.format("%.2f", totalExpenditure)).append(" Crore\n\n");
+        report.append("Total Approved Expenditure: BDT ").append(ReportFormat.fixed2(totalExpenditure)).append(" Crore\n\n");
         
         // Debt Summary
         report.append("PUBLIC DEBT SUMMARY:\n");
         report.append("───────────────────────────────────────────────────────────────\n");
         double totalDebt = debtRecords.stream()
                 .mapToDouble(PublicDebt::getOutstandingDebt).sum();
-        report.append("Total Outstanding Debt: BDT ").append(String.format("%.2f", totalDebt)).append(" Crore\n\n");
+        report.append("Total Outstanding Debt: BDT ").append(ReportFormat.fixed2(totalDebt)).append(" Crore\n\n");
         
         // Foreign Aid Summary
         report.append("FOREIGN AID SUMMARY:\n");
@@ -343,8 +346,8 @@ public class MinistryFinanceRep {
                 .mapToDouble(ForeignAidMonitoring::getAidAmount).sum();
         double utilizedAid = aidRecords.stream()
                 .mapToDouble(ForeignAidMonitoring::getUtilizedAmount).sum();
-        report.append("Total Aid Commitment: USD ").append(String.format("%.2f", totalAid)).append(" Million\n");
-        report.append("Total Aid Utilized: USD ").append(String.format("%.2f", utilizedAid)).append(" Million\n\n");
+        report.append("Total Aid Commitment: USD ").append(ReportFormat.fixed2(totalAid)).append(" Million\n");
+        report.append("Total Aid Utilized: USD ").append(ReportFormat.fixed2(utilizedAid)).append(" Million\n\n");
         
         report.append("═══════════════════════════════════════════════════════════════\n");
         
@@ -1,5 +1,7 @@
 package com.example.simulation_of_bangladesh_bank.saida.model;
 
+import com.example.simulation_of_bangladesh_bank.saida.util.ReportFormat;
+
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.time.LocalDate;
@@ -98,18 +100,18 @@ public class ReformMonitoring implements Serializable {
         report.append("╔══════════════════════════════════════════════════════════════╗\n");
         report.append("║           ECONOMIC REFORM PROGRESS REPORT                    ║\n");
         report.append("╠══════════════════════════════════════════════════════════════╣\n");
-        report.append("║ Reform ID: ").append(String.format("%-49s", reformId != null ? reformId : "N/A")).append("║\n");
-        report.append("║ Reform Name: ").append(String.format("%-47s", reformName != null ? reformName : "N/A")).append("║\n");
-        report.append("║ Category: ").append(String.format("%-50s", reformCategory != null ? reformCategory : "N/A")).append("║\n");
-        report.append("║ Responsible Agency: ").append(String.format("%-40s", responsibleAgency != null ? responsibleAgency : "N/A")).append("║\n");
+        ReportFormat.padRight(report.append("║ Reform ID: "), reformId != null ? reformId : "N/A", 49).append("║\n");
+        ReportFormat.padRight(report.append("║ Reform Name: "), reformName != null ? reformName : "N/A", 47).append("║\n");
+        ReportFormat.padRight(report.append("║ Category: "), reformCategory != null ? reformCategory : "N/A", 50).append("║\n");
+        ReportFormat.padRight(report.append("║ Responsible Agency: "), responsibleAgency != null ? responsibleAgency : "N/A", 40).append("║\n");
         report.append("╠══════════════════════════════════════════════════════════════╣\n");
         report.append("║                     PROGRESS STATUS                          ║\n");
         report.append("╠══════════════════════════════════════════════════════════════╣\n");
-        report.append("║ Status: ").append(String.format("%-52s", milestoneStatus)).append("║\n");
-        report.append("║ Progress: ").append(String.format("%-49.1f%%", progressPercentage)).append("║\n");
-        report.append("║ Target Date: ").append(String.format("%-47s", targetDate != null ? targetDate.toString() : "N/A")).append("║\n");
+        ReportFormat.padRight(report.append("║ Status: "), milestoneStatus, 52).append("║\n");
+        ReportFormat.padRight(report.append("║ Progress: "), ReportFormat.fixed1(progressPercentage), 49).append("%║\n");
+        ReportFormat.padRight(report.append("║ Target Date: "), targetDate != null ? targetDate.toString() : "N/A", 47).append("║\n");
         if (actualCompletionDate != null) {
-            report.append("║ Completion Date: ").append(String.format("%-43s", actualCompletionDate.toString())).append("║\n");
+            ReportFormat.padRight(report.append("║ Completion Date: "), actualCompletionDate.toString(), 43).append("║\n");
         }
         report.append("╠══════════════════════════════════════════════════════════════╣\n");
         report.append("║                      MILESTONES                              ║\n");
@@ -119,24 +121,24 @@ public class ReformMonitoring implements Serializable {
             String status = completedMilestones.contains(milestone) ? "[✓]" : "[ ]";
             String displayMilestone = milestone.length() > 50 ? 
                                       milestone.substring(0, 47) + "..." : milestone;
-            report.append("║ ").append(status).append(" ").append(String.format("%-56s", displayMilestone)).append("║\n");
+            ReportFormat.padRight(report.append("║ ").append(status).append(" "), displayMilestone, 56).append("║\n");
         }
         
         report.append("╠══════════════════════════════════════════════════════════════╣\n");
         report.append("║ Completed: ").append(completedMilestones.size()).append("/").append(milestones.size());
-        report.append(String.format("%49s", " ")).append("║\n");
+        ReportFormat.padRight(report, "", 49).append("║\n");
         
         if (issues != null && !issues.isEmpty()) {
             report.append("╠══════════════════════════════════════════════════════════════╣\n");
-            report.append("║ Issues: ").append(String.format("%-52s", issues.length() > 52 ? 
-                         issues.substring(0, 49) + "..." : issues)).append("║\n");
+            ReportFormat.padRight(report.append("║ Issues: "), issues.length() > 52 ?
+                         issues.substring(0, 49) + "..." : issues, 52).append("║\n");
         }
         
         if (donorConditionality != null && !donorConditionality.isEmpty()) {
             report.append("╠══════════════════════════════════════════════════════════════╣\n");
-            report.append("║ Donor Conditionality: ").append(String.format("%-38s", 
-                         donorConditionality.length() > 38 ? 
-                         donorConditionality.substring(0, 35) + "..." : donorConditionality)).append("║\n");
+            ReportFormat.padRight(report.append("║ Donor Conditionality: "),
+                         donorConditionality.length() > 38 ?
+                         donorConditionality.substring(0, 35) + "..." : donorConditionality, 38).append("║\n");
         }
         
         report.append("╚══════════════════════════════════════════════════════════════╝\n");
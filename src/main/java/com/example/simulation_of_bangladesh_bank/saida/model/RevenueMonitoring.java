@@ -1,5 +1,7 @@
 package com.example.simulation_of_bangladesh_bank.saida.model;
 
+import com.example.simulation_of_bangladesh_bank.saida.util.ReportFormat;
+
 import java.io.Serializable;
 import java.time.LocalDate;
 
@@ -80,22 +82,22 @@ public class RevenueMonitoring implements Serializable {
         report.append("Reporting Date: ").append(reportingPeriod).append("\n\n");
         
         report.append("Revenue Collection:\n");
-        report.append("  Tax Revenue: BDT ").append(String.format("%.2f", taxCollection)).append(" Crore\n");
-        report.append("  Non-Tax Revenue: BDT ").append(String.format("%.2f", nonTaxRevenue)).append(" Crore\n");
-        report.append("  Total Collection: BDT ").append(String.format("%.2f", actualRevenue)).append(" Crore\n\n");
+        report.append("  Tax Revenue: BDT ").append(ReportFormat.fixed2(taxCollection)).append(" Crore\n");
+        report.append("  Non-Tax Revenue: BDT ").append(ReportFormat.fixed2(nonTaxRevenue)).append(" Crore\n");
+        report.append("  Total Collection: BDT ").append(ReportFormat.fixed2(actualRevenue)).append(" Crore\n\n");
         
         report.append("Target & Variance:\n");
-        report.append("  Target: BDT ").append(String.format("%.2f", revenueTarget)).append(" Crore\n");
-        report.append("  Variance: BDT ").append(String.format("%.2f", actualRevenue - revenueTarget)).append(" Crore\n");
+        report.append("  Target: BDT ").append(ReportFormat.fixed2(revenueTarget)).append(" Crore\n");
+        report.append("  Variance: BDT ").append(ReportFormat.fixed2(actualRevenue - revenueTarget)).append(" Crore\n");
         
         if (shortfall > 0) {
-            report.append("  Shortfall: BDT ").append(String.format("%.2f", shortfall)).append(" Crore\n");
+            report.append("  Shortfall: BDT ").append(ReportFormat.fixed2(shortfall)).append(" Crore\n");
         } else if (surplus > 0) {
-            report.append("  Surplus: BDT ").append(String.format("%.2f", surplus)).append(" Crore\n");
+            report.append("  Surplus: BDT ").append(ReportFormat.fixed2(surplus)).append(" Crore\n");
         }
         
         report.append("\nPerformance Status: ").append(performanceStatus).append("\n");
-        report.append("Achievement Rate: ").append(String.format("%.2f", (actualRevenue / revenueTarget) * 100)).append("%\n");
+        report.append("Achievement Rate: ").append(ReportFormat.fixed2((actualRevenue / revenueTarget) * 100)).append("%\n");
         report.append("======================================\n");
         
         return report.toString();
@@ -108,8 +110,8 @@ public class RevenueMonitoring implements Serializable {
         
         StringBuilder analysis = new StringBuilder();
         analysis.append("===== SHORTFALL ANALYSIS =====\n");
-        analysis.append("Total Shortfall: BDT ").append(String.format("%.2f", shortfall)).append(" Crore\n");
-        analysis.append("Shortfall as % of Target: ").append(String.format("%.2f", (shortfall / revenueTarget) * 100)).append("%\n\n");
+        analysis.append("Total Shortfall: BDT ").append(ReportFormat.fixed2(shortfall)).append(" Crore\n");
+        analysis.append("Shortfall as % of Target: ").append(ReportFormat.fixed2((shortfall / revenueTarget) * 100)).append("%\n\n");
         
         analysis.append("Recommended Actions:\n");
         analysis.append("1. Review tax collection efficiency\n");
@@ -1,5 +1,7 @@
 package com.example.simulation_of_bangladesh_bank.saida.model;
 
+import com.example.simulation_of_bangladesh_bank.saida.util.DocumentTemplate;
+
 import java.io.Serializable;
 import java.time.LocalDate;
 
@@ -18,6 +20,25 @@ public class SLRCompliance implements Serializable {
     private LocalDate complianceDate;
     private String status; // Compliant/Non-Compliant/Pending
 
+    public static final DocumentTemplate<SLRCompliance> CERTIFICATE = new DocumentTemplate.Builder<SLRCompliance>()
+            .field("complianceId", s -> s.complianceId)
+            .field("bankId", s -> s.bankId)
+            .field("complianceDate", s -> s.complianceDate)
+            .amount("currentDeposits", s -> s.currentDeposits)
+            .field("slrPercentage", s -> s.slrPercentage)
+            .amount("requiredSLR", s -> s.requiredSLR)
+            .amount("reserveHoldings", s -> s.reserveHoldings)
+            .field("status", s -> s.status)
+            .compile("===== SLR COMPLIANCE CERTIFICATE =====\n"
+                    + "Compliance ID: {complianceId}\n"
+                    + "Bank ID: {bankId}\n"
+                    + "Date: {complianceDate}\n"
+                    + "Current Deposits: BDT {currentDeposits}\n"
+                    + "Required SLR ({slrPercentage}%): BDT {requiredSLR}\n"
+                    + "Reserve Holdings: BDT {reserveHoldings}\n"
+                    + "Status: {status}\n"
+                    + "======================================\n");
+
     // Constructors
     public SLRCompliance() {
         this.complianceDate = LocalDate.now();
@@ -52,18 +73,7 @@ public class SLRCompliance implements Serializable {
     }
 
     public String generateCertificate() {
-        StringBuilder certificate = new StringBuilder();
-        certificate.append("===== SLR COMPLIANCE CERTIFICATE =====\n");
-        certificate.append("Compliance ID: ").append(complianceId).append("\n");
-        certificate.append("Bank ID: ").append(bankId).append("\n");
-        certificate.append("Date: ").append(complianceDate).append("\n");
-        certificate.append("Current Deposits: BDT ").append(String.format("%.2f", currentDeposits)).append("\n");
-        certificate.append("Required SLR (").append(slrPercentage).append("%): BDT ")
-                   .append(String.format("%.2f", requiredSLR)).append("\n");
-        certificate.append("Reserve Holdings: BDT ").append(String.format("%.2f", reserveHoldings)).append("\n");
-        certificate.append("Status: ").append(status).append("\n");
-        certificate.append("======================================\n");
-        return certificate.toString();
+        return CERTIFICATE.render(this);
     }
 
     public double getDeficitAmount() {
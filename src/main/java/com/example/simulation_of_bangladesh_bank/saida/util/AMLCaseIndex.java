@@ -0,0 +1,122 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import com.example.simulation_of_bangladesh_bank.saida.model.AMLMonitoring;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * AMLCaseIndex - Dashboard statistics of the AML cases, maintained as counters that are
+ * updated on every change, so the statistic cards are O(1) reads instead of list scans.
+ *
+ * Cases are mutable, so call update() after changing a counted field of a stored case.
+ */
+public class AMLCaseIndex {
+
+    // Counted fields of each stored case, so an update can uncount the old values
+    private final Map<AMLMonitoring, Keys> keysOf = new IdentityHashMap<>();
+
+    private int highRisk;
+    private int mediumRisk;
+    private int underInvestigation;
+    private int resolved;
+
+    // ==================== CHANGES ====================
+
+    public synchronized void addAll(Collection<AMLMonitoring> cases) {
+        for (AMLMonitoring amlCase : cases) {
+            add(amlCase);
+        }
+    }
+
+    /**
+     * Adds a case; adding a case that is already stored re-counts it.
+     */
+    public synchronized void add(AMLMonitoring amlCase) {
+        update(amlCase);
+    }
+
+    /**
+     * Re-counts a stored case after its fields were changed.
+     */
+    public synchronized void update(AMLMonitoring amlCase) {
+        Keys keys = new Keys(amlCase);
+        Keys old = keysOf.put(amlCase, keys);
+        if (old != null) {
+            count(old, -1);
+        }
+        count(keys, 1);
+    }
+
+    public synchronized boolean remove(AMLMonitoring amlCase) {
+        Keys old = keysOf.remove(amlCase);
+        if (old == null) {
+            return false;
+        }
+        count(old, -1);
+        return true;
+    }
+
+    public synchronized void clear() {
+        keysOf.clear();
+        highRisk = mediumRisk = underInvestigation = resolved = 0;
+    }
+
+    // ==================== STATISTICS ====================
+
+    public synchronized int size() {
+        return keysOf.size();
+    }
+
+    public synchronized boolean contains(AMLMonitoring amlCase) {
+        return keysOf.containsKey(amlCase);
+    }
+
+    public synchronized int getHighRiskCount() {
+        return highRisk;
+    }
+
+    public synchronized int getMediumRiskCount() {
+        return mediumRisk;
+    }
+
+    public synchronized int getUnderInvestigationCount() {
+        return underInvestigation;
+    }
+
+    public synchronized int getResolvedCount() {
+        return resolved;
+    }
+
+    // ==================== INTERNALS ====================
+
+    // Same categories as the AML screen's statistic cards
+    private void count(Keys keys, int delta) {
+        if ("High".equals(keys.risk) || "High Risk".equals(keys.risk)) {
+            highRisk += delta;
+        }
+        if ("Medium".equals(keys.risk) || "Medium Risk".equals(keys.risk)) {
+            mediumRisk += delta;
+        }
+        if ("Under Investigation".equals(keys.status) || "Under Investigation".equals(keys.risk)) {
+            underInvestigation += delta;
+        }
+        if ("Cleared".equals(keys.status) || "Cleared".equals(keys.risk)) {
+            resolved += delta;
+        }
+    }
+
+    /**
+     * Snapshot of the counted fields of one case.
+     */
+    private static class Keys {
+        final String risk;
+        final String status;
+
+        Keys(AMLMonitoring amlCase) {
+            risk = amlCase.getRiskLevel() != null ? amlCase.getRiskLevel() : amlCase.getRiskFlag();
+            status = amlCase.getStatus();
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import com.example.simulation_of_bangladesh_bank.saida.model.AMLMonitoring;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * AMLScreeningEngine - Screens whole transaction files against the AMLMonitoring red flag rules.
+ * The file is read in chunks; each chunk is parsed in parallel into columns and then
+ * evaluated by one worker per account shard. Sharding by account keeps the sliding-window
+ * structuring state of an account on a single thread, so it needs no locking. Flagged
+ * transactions become AMLMonitoring cases and are handed to the sink one chunk at a time.
+ *
+ * Input: one transaction per line as
+ * transactionId,accountNumber,bankId,date (yyyy-MM-dd),amount,transactionType
+ * in time order, optionally preceded by a header line starting with "transactionId".
+ */
+public class AMLScreeningEngine implements AutoCloseable {
+
+    public static final int DEFAULT_CHUNK_SIZE = 50_000;
+
+    private static final String CASE_ID_PREFIX = "AML-SCR-";
+    private static final int CASE_ID_WIDTH = 7;
+
+    private final int shards;
+    private final int chunkSize;
+    private final ExecutorService workers;
+    // Per shard: account -> epoch days of recent just-below-threshold deposits, oldest first
+    private final List<Map<String, ArrayDeque<Long>>> windows = new ArrayList<>();
+
+    public AMLScreeningEngine() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public AMLScreeningEngine(int threads, int chunkSize) {
+        this.shards = Math.max(1, threads);
+        this.chunkSize = chunkSize;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(shards, task -> {
+            Thread thread = new Thread(task, "aml-screening-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < shards; i++) {
+            windows.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Screens a transaction file and appends the flagged cases to aml_cases.bin.
+     */
+    public ScreeningResult screen(Path transactionFile) throws IOException {
+        return screen(transactionFile, AMLScreeningEngine::saveCases);
+    }
+
+    /**
+     * Screens a transaction file, passing the flagged cases of each chunk to the sink.
+     */
+    public ScreeningResult screen(Path transactionFile, Consumer<List<AMLMonitoring>> sink) throws IOException {
+        long started = System.currentTimeMillis();
+        ScreeningResult result = new ScreeningResult();
+        try (BufferedReader reader = Files.newBufferedReader(transactionFile, StandardCharsets.UTF_8)) {
+            String[] lines = new String[chunkSize];
+            while (true) {
+                int count = 0;
+                String line;
+                while (count < chunkSize && (line = reader.readLine()) != null) {
+                    if (!line.isBlank() && !line.startsWith("transactionId")) {
+                        lines[count++] = line;
+                    }
+                }
+                if (count == 0) {
+                    break;
+                }
+                List<AMLMonitoring> flagged = screenChunk(lines, count, result);
+                if (!flagged.isEmpty()) {
+                    assignCaseIds(flagged);
+                    sink.accept(flagged);
+                }
+            }
+        }
+        result.elapsedMillis = System.currentTimeMillis() - started;
+        return result;
+    }
+
+    @Override
+    public void close() {
+        workers.shutdown();
+    }
+
+    // ==================== CHUNK PROCESSING ====================
+
+    private List<AMLMonitoring> screenChunk(String[] lines, int count, ScreeningResult result) throws IOException {
+        Chunk chunk = new Chunk(count);
+
+        // Phase 1: parse line ranges in parallel into columns
+        List<Callable<Void>> parseTasks = new ArrayList<>();
+        int rangeSize = (count + shards - 1) / shards;
+        for (int start = 0; start < count; start += rangeSize) {
+            int from = start;
+            int to = Math.min(count, start + rangeSize);
+            parseTasks.add(() -> {
+                for (int row = from; row < to; row++) {
+                    chunk.parse(row, lines[row], shards);
+                }
+                return null;
+            });
+        }
+        runAll(parseTasks);
+
+        // Phase 2: one task per account shard, rows in file order
+        int[][] rowsOfShard = chunk.rowsByShard(shards);
+        List<Callable<List<AMLMonitoring>>> shardTasks = new ArrayList<>();
+        for (int shard = 0; shard < shards; shard++) {
+            int[] rows = rowsOfShard[shard];
+            Map<String, ArrayDeque<Long>> window = windows.get(shard);
+            shardTasks.add(() -> evaluate(chunk, rows, window));
+        }
+
+        List<AMLMonitoring> flagged = new ArrayList<>();
+        for (List<AMLMonitoring> shardCases : runAll(shardTasks)) {
+            flagged.addAll(shardCases);
+        }
+        result.transactions += count - chunk.malformed.get();
+        result.malformed += chunk.malformed.get();
+        result.flagged += flagged.size();
+        for (AMLMonitoring amlCase : flagged) {
+            for (String flag : amlCase.getRedFlags()) {
+                String rule = flag.startsWith(AMLMonitoring.FLAG_HIGH_RISK_TYPE) ? AMLMonitoring.FLAG_HIGH_RISK_TYPE.replace(": ", "") : flag;
+                result.flagCounts.merge(rule, 1L, Long::sum);
+            }
+        }
+        return flagged;
+    }
+
+    private static List<AMLMonitoring> evaluate(Chunk chunk, int[] rows, Map<String, ArrayDeque<Long>> window) {
+        List<AMLMonitoring> flagged = new ArrayList<>();
+        long latestDay = Long.MIN_VALUE;
+        for (int row : rows) {
+            double amount = chunk.amounts[row];
+            String type = chunk.types[row];
+            long day = chunk.epochDays[row];
+            latestDay = Math.max(latestDay, day);
+
+            boolean largeCash = AMLMonitoring.isLargeCash(amount);
+            boolean roundFigure = AMLMonitoring.isRoundFigure(amount);
+            boolean highRiskType = AMLMonitoring.isHighRiskType(type);
+            boolean structuring = false;
+
+            if (AMLMonitoring.isJustBelowThreshold(amount) && isDeposit(type)) {
+                ArrayDeque<Long> recent = window.computeIfAbsent(chunk.accounts[row], a -> new ArrayDeque<>());
+                evictBefore(recent, day - AMLMonitoring.STRUCTURING_WINDOW_DAYS);
+                recent.addLast(day);
+                structuring = recent.size() >= AMLMonitoring.STRUCTURING_MIN_DEPOSITS;
+            }
+
+            if (largeCash || roundFigure || highRiskType || structuring) {
+                AMLMonitoring amlCase = new AMLMonitoring(null, chunk.banks[row], chunk.transactionIds[row], amount, type);
+                if (largeCash) amlCase.addRedFlag(AMLMonitoring.FLAG_LARGE_CASH);
+                if (roundFigure) amlCase.addRedFlag(AMLMonitoring.FLAG_ROUND_FIGURE);
+                if (highRiskType) amlCase.addRedFlag(AMLMonitoring.FLAG_HIGH_RISK_TYPE + type);
+                if (structuring) amlCase.addRedFlag(AMLMonitoring.FLAG_STRUCTURING);
+                amlCase.setAccountNumber(chunk.accounts[row]);
+                amlCase.setFlaggedDate(LocalDate.ofEpochDay(day));
+                amlCase.setRiskLevel(amlCase.getRiskFlag());
+                amlCase.setStatus("Pending Review");
+                amlCase.setDescription(String.join("; ", amlCase.getRedFlags()));
+                flagged.add(amlCase);
+            }
+        }
+
+        // Drop accounts whose window has fully expired so state stays bounded
+        if (latestDay != Long.MIN_VALUE) {
+            long cutoff = latestDay - AMLMonitoring.STRUCTURING_WINDOW_DAYS;
+            Iterator<ArrayDeque<Long>> it = window.values().iterator();
+            while (it.hasNext()) {
+                ArrayDeque<Long> recent = it.next();
+                evictBefore(recent, cutoff);
+                if (recent.isEmpty()) {
+                    it.remove();
+                }
+            }
+        }
+        return flagged;
+    }
+
+    // Removes deposits on or before the cutoff day
+    private static void evictBefore(ArrayDeque<Long> recent, long cutoff) {
+        while (!recent.isEmpty() && recent.peekFirst() <= cutoff) {
+            recent.pollFirst();
+        }
+    }
+
+    private static boolean isDeposit(String type) {
+        return type != null && type.toLowerCase().contains("deposit");
+    }
+
+    private static void assignCaseIds(List<AMLMonitoring> cases) {
+        IdSequence.Block ids = IdSequence.reserve(CASE_ID_PREFIX + LocalDate.now().getYear() + "-",
+                CASE_ID_WIDTH, cases.size());
+        for (int i = 0; i < cases.size(); i++) {
+            String id = ids.idAt(i);
+            cases.get(i).setCaseId(id);
+            cases.get(i).setMonitoringId(id);
+        }
+    }
+
+    /**
+     * Appends screened cases to aml_cases.bin in one journal write.
+     */
+    public static void saveCases(List<AMLMonitoring> cases) {
+        Map<String, AMLMonitoring> byId = new LinkedHashMap<>();
+        for (AMLMonitoring amlCase : cases) {
+            byId.put(amlCase.getCaseId(), amlCase);
+        }
+        if (!DataManager.updateRecords(DataManager.AML_CASES_FILE, byId)) {
+            System.err.println("Failed to save " + cases.size() + " screened AML cases!");
+        }
+    }
+
+    private <T> List<T> runAll(List<? extends Callable<T>> tasks) throws IOException {
+        List<T> results = new ArrayList<>();
+        try {
+            for (Future<T> future : workers.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Screening interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Screening failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * One chunk of transactions in column form.
+     */
+    private static class Chunk {
+        final String[] transactionIds;
+        final String[] accounts;
+        final String[] banks;
+        final String[] types;
+        final long[] epochDays;
+        final double[] amounts;
+        // Shard of each row, -1 for lines that could not be parsed
+        final int[] shardOf;
+        final AtomicInteger malformed = new AtomicInteger();
+
+        Chunk(int size) {
+            transactionIds = new String[size];
+            accounts = new String[size];
+            banks = new String[size];
+            types = new String[size];
+            epochDays = new long[size];
+            amounts = new double[size];
+            shardOf = new int[size];
+        }
+
+        void parse(int row, String line, int shards) {
+            try {
+                int c1 = line.indexOf(',');
+                int c2 = line.indexOf(',', c1 + 1);
+                int c3 = line.indexOf(',', c2 + 1);
+                int c4 = line.indexOf(',', c3 + 1);
+                int c5 = line.indexOf(',', c4 + 1);
+                if (c1 < 0 || c2 < 0 || c3 < 0 || c4 < 0 || c5 < 0) {
+                    throw new IllegalArgumentException("expected 6 fields");
+                }
+                transactionIds[row] = line.substring(0, c1).trim();
+                accounts[row] = line.substring(c1 + 1, c2).trim();
+                banks[row] = line.substring(c2 + 1, c3).trim();
+                epochDays[row] = LocalDate.parse(line.substring(c3 + 1, c4).trim()).toEpochDay();
+                amounts[row] = Double.parseDouble(line.substring(c4 + 1, c5).trim());
+                types[row] = line.substring(c5 + 1).trim();
+                shardOf[row] = (accounts[row].hashCode() & 0x7fffffff) % shards;
+            } catch (RuntimeException e) {
+                shardOf[row] = -1;
+                malformed.incrementAndGet();
+            }
+        }
+
+        int[][] rowsByShard(int shards) {
+            int[] counts = new int[shards];
+            for (int shard : shardOf) {
+                if (shard >= 0) counts[shard]++;
+            }
+            int[][] rows = new int[shards][];
+            for (int shard = 0; shard < shards; shard++) {
+                rows[shard] = new int[counts[shard]];
+                counts[shard] = 0;
+            }
+            for (int row = 0; row < shardOf.length; row++) {
+                int shard = shardOf[row];
+                if (shard >= 0) rows[shard][counts[shard]++] = row;
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Totals of one screening run.
+     */
+    public static class ScreeningResult {
+        private long transactions;
+        private long flagged;
+        private long malformed;
+        private long elapsedMillis;
+        private final Map<String, Long> flagCounts = new LinkedHashMap<>();
+
+        public long getTransactions() { return transactions; }
+        public long getFlagged() { return flagged; }
+        public long getMalformed() { return malformed; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public Map<String, Long> getFlagCounts() { return flagCounts; }
+
+        @Override
+        public String toString() {
+            return String.format("Screened %,d transactions in %,d ms: %,d flagged, %,d malformed lines",
+                    transactions, elapsedMillis, flagged, malformed);
+        }
+    }
+}
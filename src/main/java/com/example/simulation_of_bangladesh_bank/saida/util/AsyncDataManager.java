@@ -0,0 +1,258 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import javafx.application.Platform;
+import javafx.scene.control.Alert;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * AsyncDataManager - Runs DataRepository reads and writes off the JavaFX application thread.
+ * Every returned future completes on the FX thread, so callers can touch controls directly
+ * in thenAccept(). Writes to the same file that arrive within a short window are coalesced
+ * into one physical write: a later saveAsync() replaces an earlier pending snapshot, and
+ * appendAsync()/updateAsync() calls are batched into a single journal write.
+ */
+public class AsyncDataManager {
+
+    // Maximum number of files read or written at the same time
+    private static final int IO_PARALLELISM = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    // How long a write waits for further writes to the same file before hitting the disk
+    private static final long COALESCE_WINDOW_MS = 50;
+
+    private static final Semaphore IO_PERMITS = new Semaphore(IO_PARALLELISM);
+    private static final ExecutorService IO_EXECUTOR = createExecutor();
+    private static final Executor FX_EXECUTOR = AsyncDataManager::runOnFxThread;
+
+    private static final Map<String, PendingWrite> PENDING_WRITES = new ConcurrentHashMap<>();
+    private static final Map<String, ReentrantLock> WRITE_LOCKS = new ConcurrentHashMap<>();
+    // Files whose last load failed; the screens hold only part of their records
+    private static final Set<String> UNREADABLE_FILES = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Loads the records of a data file in the background, as the caller's own copies that
+     * it may edit freely; edits reach other screens once saved.
+     * A file that cannot be read completes the future exceptionally (with
+     * DataFileCorruptedException for a damaged file); callers handle it with
+     * exceptionally(error -> reportLoadFailure(filename, error)).
+     */
+    public static <T extends Serializable> CompletableFuture<List<T>> loadAsync(String filename) {
+        return supplyAsync(() -> {
+            try {
+                List<T> records = DataRepository.<T>getCopy(filename);
+                UNREADABLE_FILES.remove(filename);
+                return records;
+            } catch (DataFileCorruptedException e) {
+                // Already moved aside, so saving a fresh file over it loses nothing
+                throw e;
+            } catch (RuntimeException e) {
+                UNREADABLE_FILES.add(filename);
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Tells the user that loadAsync() failed; for use in exceptionally(), returns null.
+     * Until the file loads again, saveAsync() refuses to replace it with the partial
+     * records of the screen.
+     */
+    public static <T> T reportLoadFailure(String filename, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        System.err.println("Error loading " + filename + ": " + cause.getMessage());
+        runOnFxThread(() -> {
+            if (cause instanceof DataFileCorruptedException) {
+                reportCorruption((DataFileCorruptedException) cause);
+            } else {
+                showError("Data File Unreadable", filename + " could not be loaded",
+                        cause.getMessage() + "\nThe screen starts without its records and will not overwrite the file.");
+            }
+        });
+        return null;
+    }
+
+    /**
+     * Runs any blocking data task in the background and delivers its result on the FX thread.
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(() -> withPermit(task), IO_EXECUTOR)
+                .thenApplyAsync(Function.identity(), FX_EXECUTOR);
+    }
+
+    /**
+     * Replaces all records of a data file. If another save of the same file is still
+     * pending, only the newest list is written and both callers share its result.
+     */
+    public static <T extends Serializable> CompletableFuture<Boolean> saveAsync(String filename, List<T> records) {
+        if (UNREADABLE_FILES.contains(filename)) {
+            System.err.println("Not saving " + filename + ": it could not be loaded, so the records on screen are incomplete");
+            return CompletableFuture.completedFuture(false);
+        }
+        List<Serializable> snapshot = new ArrayList<>(records);
+        return enqueue(filename, pending -> {
+            pending.snapshot = snapshot;
+            pending.appends.clear();
+            pending.records.clear();
+        });
+    }
+
+    /**
+     * Appends a new keyed record; appends queued for the same file are written together.
+     * Unlike updateAsync() the key is not looked up, so the record must be new.
+     */
+    public static <T extends Serializable> CompletableFuture<Boolean> appendAsync(String filename, String key, T record) {
+        if (key == null) {
+            throw new IllegalArgumentException("Record key is required for " + filename);
+        }
+        return enqueue(filename, pending -> pending.appends.put(key, record));
+    }
+
+    /**
+     * Replaces (or adds) the record stored under the given key.
+     */
+    public static <T extends Serializable> CompletableFuture<Boolean> updateAsync(String filename, String key, T record) {
+        if (key == null) {
+            throw new IllegalArgumentException("Record key is required for " + filename);
+        }
+        return enqueue(filename, pending -> {
+            // A record appended in the same batch is still new: append its latest version
+            if (pending.appends.containsKey(key)) {
+                pending.appends.put(key, record);
+            } else {
+                pending.records.put(key, record);
+            }
+        });
+    }
+
+    /**
+     * Writes every pending change immediately and waits for it, e.g. before the application exits.
+     */
+    public static void flushAll() {
+        for (Map.Entry<String, PendingWrite> entry : PENDING_WRITES.entrySet()) {
+            flush(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static CompletableFuture<Boolean> enqueue(String filename, Consumer<PendingWrite> change) {
+        PendingWrite[] created = new PendingWrite[1];
+        PendingWrite pending = PENDING_WRITES.compute(filename, (f, existing) -> {
+            PendingWrite target = existing != null ? existing : (created[0] = new PendingWrite());
+            change.accept(target);
+            return target;
+        });
+        if (created[0] != null) {
+            PendingWrite scheduled = created[0];
+            CompletableFuture.delayedExecutor(COALESCE_WINDOW_MS, TimeUnit.MILLISECONDS, IO_EXECUTOR)
+                    .execute(() -> flush(filename, scheduled));
+        }
+        return pending.result.thenApplyAsync(Function.identity(), FX_EXECUTOR);
+    }
+
+    private static void flush(String filename, PendingWrite pending) {
+        ReentrantLock lock = WRITE_LOCKS.computeIfAbsent(filename, f -> new ReentrantLock());
+        lock.lock();
+        try {
+            // Detach the batch first; changes arriving from now on start a new one
+            if (pending.result.isDone() || !PENDING_WRITES.remove(filename, pending)) {
+                return;
+            }
+            pending.result.complete(withPermit(() -> pending.writeTo(filename)));
+        } catch (RuntimeException e) {
+            System.err.println("Error writing " + filename + ": " + e.getMessage());
+            pending.result.completeExceptionally(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static <T> T withPermit(Supplier<T> task) {
+        IO_PERMITS.acquireUninterruptibly();
+        try {
+            return task.get();
+        } finally {
+            IO_PERMITS.release();
+        }
+    }
+
+    private static void reportCorruption(DataFileCorruptedException e) {
+        showError("Data File Damaged", e.getFilename() + " could not be read", e.getMessage()
+                + "\nThe damaged file was kept as " + e.getFilename() + ".corrupt; the screen starts without its records.");
+    }
+
+    private static void showError(String title, String header, String content) {
+        try {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle(title);
+            alert.setHeaderText(header);
+            alert.setContentText(content);
+            alert.show();
+        } catch (IllegalStateException notOnFxThread) {
+            // Already logged
+        }
+    }
+
+    // Falls back to the calling thread when the FX toolkit is not running (startup, shutdown)
+    static void runOnFxThread(Runnable command) {
+        try {
+            Platform.runLater(command);
+        } catch (IllegalStateException e) {
+            command.run();
+        }
+    }
+
+    // Virtual threads by default; -Dbb.io.virtualThreads=false uses a small daemon pool instead
+    private static ExecutorService createExecutor() {
+        if (Boolean.parseBoolean(System.getProperty("bb.io.virtualThreads", "true"))) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("data-io-", 0).factory());
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(IO_PARALLELISM, task -> {
+            Thread thread = new Thread(task, "data-io-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Changes queued for one file: an optional full snapshot, then new records, then
+     * keyed record updates.
+     */
+    private static class PendingWrite {
+        List<Serializable> snapshot;
+        final Map<String, Serializable> appends = new LinkedHashMap<>();
+        final Map<String, Serializable> records = new LinkedHashMap<>();
+        final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        boolean writeTo(String filename) {
+            boolean success = true;
+            if (snapshot != null) {
+                success = DataRepository.saveAll(filename, snapshot);
+            }
+            if (!appends.isEmpty()) {
+                success &= DataRepository.appendAll(filename, appends);
+            }
+            if (!records.isEmpty()) {
+                success &= DataRepository.updateAll(filename, records);
+            }
+            return success;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import com.example.simulation_of_bangladesh_bank.saida.model.CapitalAdequacy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * CarStressBenchmark - Measures CarStressTest throughput in scenarios per second.
+ * Builds a synthetic portfolio of banks around the Basel III thresholds and a set of
+ * per-bank shock scenarios, then times the scenarios run one after another and in
+ * parallel. The first rounds are discarded as JIT warm-up; the best timed round is reported.
+ *
+ * Command line: CarStressBenchmark [banks] [scenarios] [rounds]
+ */
+public class CarStressBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+
+    public static void main(String[] args) {
+        int banks = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int scenarios = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        SplittableRandom random = new SplittableRandom(42);
+        CarStressTest.Portfolio portfolio = syntheticPortfolio(banks, random);
+        List<CarStressTest.Scenario> shocks = syntheticScenarios(banks, scenarios, random);
+
+        System.out.printf("Portfolio: %,d banks (%,d compliant, %,d warning, %,d non-compliant), %,d scenarios%n",
+                banks, portfolio.getBaselineCount(CapitalAdequacy.COMPLIANT),
+                portfolio.getBaselineCount(CapitalAdequacy.WARNING),
+                portfolio.getBaselineCount(CapitalAdequacy.NON_COMPLIANT), scenarios);
+        System.out.println(measure("Sequential", portfolio, shocks, rounds, false));
+        System.out.println(measure("Parallel  ", portfolio, shocks, rounds, true));
+    }
+
+    private static String measure(String label, CarStressTest.Portfolio portfolio,
+                                  List<CarStressTest.Scenario> scenarios, int rounds, boolean parallel) {
+        long best = Long.MAX_VALUE;
+        int downgraded = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + rounds; round++) {
+            long began = System.nanoTime();
+            List<CarStressTest.ScenarioResult> results = CarStressTest.run(portfolio, scenarios, parallel);
+            long elapsed = System.nanoTime() - began;
+            if (round >= WARMUP_ROUNDS) {
+                best = Math.min(best, elapsed);
+            }
+            downgraded = results.stream().mapToInt(CarStressTest.ScenarioResult::getDowngraded).sum();
+        }
+        double perSecond = scenarios.size() * 1e9 / Math.max(1, best);
+        return String.format("%s: %,d ms for %,d scenarios: %,.0f scenarios/s, %,.0f bank evaluations/s "
+                        + "(%,d downgrades in total)",
+                label, best / 1_000_000, scenarios.size(), perSecond, perSecond * portfolio.size(), downgraded);
+    }
+
+    // CARs spread between 8% and 18% so the shocks move banks across every threshold
+    private static CarStressTest.Portfolio syntheticPortfolio(int banks, SplittableRandom random) {
+        String[] bankIds = new String[banks];
+        double[] rwa = new double[banks];
+        double[] tier1 = new double[banks];
+        double[] tier2 = new double[banks];
+        double[] minimumCar = new double[banks];
+        for (int i = 0; i < banks; i++) {
+            bankIds[i] = String.format("BANK-%05d", i + 1);
+            rwa[i] = 1e9 + random.nextDouble() * 1e11;
+            double capital = rwa[i] * (0.08 + random.nextDouble() * 0.10);
+            double tier1Share = 0.6 + random.nextDouble() * 0.3;
+            tier1[i] = capital * tier1Share;
+            tier2[i] = capital - tier1[i];
+            minimumCar[i] = CapitalAdequacy.BASEL_III_MIN_CAR + CapitalAdequacy.CONSERVATION_BUFFER;
+        }
+        return new CarStressTest.Portfolio(bankIds, rwa, tier1, tier2, minimumCar);
+    }
+
+    // Each scenario has a severity shared by all banks plus a per-bank spread
+    private static List<CarStressTest.Scenario> syntheticScenarios(int banks, int count, SplittableRandom random) {
+        List<CarStressTest.Scenario> scenarios = new ArrayList<>(count);
+        for (int s = 0; s < count; s++) {
+            double severity = random.nextDouble();
+            double[] rwaShock = new double[banks];
+            double[] tier1Shock = new double[banks];
+            double[] tier2Shock = new double[banks];
+            for (int i = 0; i < banks; i++) {
+                rwaShock[i] = 1 + severity * 0.5 * random.nextDouble();
+                tier1Shock[i] = 1 - severity * 0.4 * random.nextDouble();
+                tier2Shock[i] = 1 - severity * 0.5 * random.nextDouble();
+            }
+            scenarios.add(CarStressTest.Scenario.perBank("Scenario " + (s + 1), rwaShock, tier1Shock, tier2Shock));
+        }
+        return scenarios;
+    }
+}
@@ -0,0 +1,287 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import com.example.simulation_of_bangladesh_bank.saida.model.CapitalAdequacy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.example.simulation_of_bangladesh_bank.saida.model.CapitalAdequacy.COMPLIANCE_LEVELS;
+import static com.example.simulation_of_bangladesh_bank.saida.model.CapitalAdequacy.NON_COMPLIANT;
+
+/**
+ * CarStressTest - What-if stress testing of Capital Adequacy across every bank at once.
+ * The CAR records are copied once into primitive columns (RWA, Tier 1, Tier 2, minimum CAR).
+ * A scenario is a vector of multiplicative shocks to those columns, either one factor for all
+ * banks or one per bank. Each scenario is a single tight loop over the columns that classifies
+ * every bank with the CapitalAdequacy Basel III rule; scenarios run in parallel with each other.
+ * The result of a scenario counts how many banks moved between Compliant, Warning and
+ * Non-Compliant compared with the unshocked baseline.
+ */
+public class CarStressTest {
+
+    private static final int LEVELS = COMPLIANCE_LEVELS.length;
+
+    /**
+     * Portfolio of every CAR record in car_data.bin.
+     */
+    public static Portfolio loadPortfolio() {
+        return portfolio(DataRepository.get(DataManager.CAR_DATA_FILE));
+    }
+
+    public static Portfolio portfolio(List<CapitalAdequacy> records) {
+        int size = records.size();
+        String[] bankIds = new String[size];
+        double[] rwa = new double[size];
+        double[] tier1 = new double[size];
+        double[] tier2 = new double[size];
+        double[] minimumCar = new double[size];
+        for (int i = 0; i < size; i++) {
+            CapitalAdequacy car = records.get(i);
+            bankIds[i] = car.getBankId();
+            rwa[i] = car.getRiskWeightedAssets();
+            tier1[i] = car.getTier1Capital();
+            tier2[i] = car.getTier2Capital();
+            minimumCar[i] = car.getMinimumCAR();
+        }
+        return new Portfolio(bankIds, rwa, tier1, tier2, minimumCar);
+    }
+
+    /**
+     * Runs every scenario against the portfolio, scenarios in parallel.
+     */
+    public static List<ScenarioResult> run(Portfolio portfolio, List<Scenario> scenarios) {
+        return run(portfolio, scenarios, true);
+    }
+
+    static List<ScenarioResult> run(Portfolio portfolio, List<Scenario> scenarios, boolean parallel) {
+        ScenarioResult[] results = new ScenarioResult[scenarios.size()];
+        IntStream range = IntStream.range(0, results.length);
+        (parallel ? range.parallel() : range).forEach(s -> results[s] = apply(portfolio, scenarios.get(s)));
+        return Arrays.asList(results);
+    }
+
+    // One pass over the columns; no objects are created per bank
+    private static ScenarioResult apply(Portfolio portfolio, Scenario scenario) {
+        int size = portfolio.size();
+        double[] rwaShock = scenario.expand(scenario.rwaShock, size);
+        double[] tier1Shock = scenario.expand(scenario.tier1Shock, size);
+        double[] tier2Shock = scenario.expand(scenario.tier2Shock, size);
+
+        ScenarioResult result = new ScenarioResult(scenario, size);
+        double[] rwa = portfolio.rwa;
+        double[] tier1 = portfolio.tier1;
+        double[] tier2 = portfolio.tier2;
+        double[] minimumCar = portfolio.minimumCar;
+        byte[] baseline = portfolio.baseline;
+        for (int i = 0; i < size; i++) {
+            double shockedRwa = rwa[i] * rwaShock[i];
+            double shockedTier1 = tier1[i] * tier1Shock[i];
+            double capital = shockedTier1 + tier2[i] * tier2Shock[i];
+            int level = classify(shockedRwa, shockedTier1, capital, minimumCar[i]);
+            result.levels[i] = (byte) level;
+            result.transitions[baseline[i] * LEVELS + level]++;
+            result.capitalShortfall += Math.max(0, minimumCar[i] * shockedRwa / 100 - capital);
+        }
+        return result;
+    }
+
+    private static int classify(double rwa, double tier1, double capital, double minimumCar) {
+        double car = rwa > 0 ? capital / rwa * 100 : 0;
+        double tier1Ratio = rwa > 0 ? tier1 / rwa * 100 : 0;
+        return CapitalAdequacy.complianceLevel(car, tier1Ratio, minimumCar);
+    }
+
+    /**
+     * Grid of uniform shocks: RWA growth 0-50% in steps of 5, Tier 1 capital loss 0-40%
+     * in steps of 5 and Tier 2 capital loss of 0, 25 or 50% (297 scenarios).
+     */
+    public static List<Scenario> standardScenarios() {
+        List<Scenario> scenarios = new ArrayList<>();
+        for (int rwaGrowth = 0; rwaGrowth <= 50; rwaGrowth += 5) {
+            for (int tier1Loss = 0; tier1Loss <= 40; tier1Loss += 5) {
+                for (int tier2Loss = 0; tier2Loss <= 50; tier2Loss += 25) {
+                    scenarios.add(Scenario.uniform(
+                            String.format("RWA +%d%% / Tier 1 -%d%% / Tier 2 -%d%%", rwaGrowth, tier1Loss, tier2Loss),
+                            1 + rwaGrowth / 100.0, 1 - tier1Loss / 100.0, 1 - tier2Loss / 100.0));
+                }
+            }
+        }
+        return scenarios;
+    }
+
+    /**
+     * Scenarios ordered by the number of banks downgraded, most first.
+     */
+    public static List<ScenarioResult> mostSevere(List<ScenarioResult> results, int limit) {
+        List<ScenarioResult> ordered = new ArrayList<>(results);
+        ordered.sort(Comparator.comparingInt(ScenarioResult::getDowngraded).reversed()
+                .thenComparing(Comparator.comparingDouble(ScenarioResult::getCapitalShortfall).reversed()));
+        return ordered.subList(0, Math.min(limit, ordered.size()));
+    }
+
+    // ==================== PORTFOLIO ====================
+
+    /**
+     * Columnar copy of the banks' capital positions and their unshocked compliance levels.
+     */
+    public static class Portfolio {
+        private final String[] bankIds;
+        private final double[] rwa;
+        private final double[] tier1;
+        private final double[] tier2;
+        private final double[] minimumCar;
+        private final byte[] baseline;
+        private final int[] baselineCounts = new int[LEVELS];
+
+        public Portfolio(String[] bankIds, double[] rwa, double[] tier1, double[] tier2, double[] minimumCar) {
+            int size = bankIds.length;
+            if (rwa.length != size || tier1.length != size || tier2.length != size || minimumCar.length != size) {
+                throw new IllegalArgumentException("Portfolio columns must all have " + size + " rows");
+            }
+            this.bankIds = bankIds;
+            this.rwa = rwa;
+            this.tier1 = tier1;
+            this.tier2 = tier2;
+            this.minimumCar = minimumCar;
+            this.baseline = new byte[size];
+            for (int i = 0; i < size; i++) {
+                baseline[i] = (byte) classify(rwa[i], tier1[i], tier1[i] + tier2[i], minimumCar[i]);
+                baselineCounts[baseline[i]]++;
+            }
+        }
+
+        public int size() {
+            return bankIds.length;
+        }
+
+        public String getBankId(int row) {
+            return bankIds[row];
+        }
+
+        public String getBaseline(int row) {
+            return COMPLIANCE_LEVELS[baseline[row]];
+        }
+
+        public int getBaselineCount(int level) {
+            return baselineCounts[level];
+        }
+    }
+
+    // ==================== SCENARIOS ====================
+
+    /**
+     * Multiplicative shocks to RWA, Tier 1 and Tier 2 capital; 1.2 means +20%.
+     * Each shock vector holds either one factor for every bank or one factor per bank.
+     */
+    public static class Scenario {
+        private final String name;
+        private final double[] rwaShock;
+        private final double[] tier1Shock;
+        private final double[] tier2Shock;
+
+        private Scenario(String name, double[] rwaShock, double[] tier1Shock, double[] tier2Shock) {
+            this.name = name;
+            this.rwaShock = rwaShock;
+            this.tier1Shock = tier1Shock;
+            this.tier2Shock = tier2Shock;
+        }
+
+        public static Scenario uniform(String name, double rwaFactor, double tier1Factor, double tier2Factor) {
+            return new Scenario(name, new double[]{rwaFactor}, new double[]{tier1Factor}, new double[]{tier2Factor});
+        }
+
+        /**
+         * Scenario with a separate factor for every bank, in portfolio row order.
+         */
+        public static Scenario perBank(String name, double[] rwaFactors, double[] tier1Factors, double[] tier2Factors) {
+            return new Scenario(name, rwaFactors.clone(), tier1Factors.clone(), tier2Factors.clone());
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        // Broadcasts a single factor so the stress loop never branches on the vector shape
+        private double[] expand(double[] shock, int size) {
+            if (shock.length == size) {
+                return shock;
+            }
+            if (shock.length != 1) {
+                throw new IllegalArgumentException("Scenario '" + name + "' has " + shock.length
+                        + " shocks for " + size + " banks");
+            }
+            double[] expanded = new double[size];
+            Arrays.fill(expanded, shock[0]);
+            return expanded;
+        }
+    }
+
+    // ==================== RESULTS ====================
+
+    /**
+     * Compliance of every bank under one scenario and the transitions from the baseline.
+     */
+    public static class ScenarioResult {
+        private final Scenario scenario;
+        private final byte[] levels;
+        // transitions[from * LEVELS + to]: banks moving from the baseline level to the stressed level
+        private final int[] transitions = new int[LEVELS * LEVELS];
+        private double capitalShortfall;
+
+        ScenarioResult(Scenario scenario, int size) {
+            this.scenario = scenario;
+            this.levels = new byte[size];
+        }
+
+        public Scenario getScenario() {
+            return scenario;
+        }
+
+        public String getLevel(int row) {
+            return COMPLIANCE_LEVELS[levels[row]];
+        }
+
+        /**
+         * Number of banks that moved from one compliance level to another
+         * (CapitalAdequacy.COMPLIANT, WARNING or NON_COMPLIANT).
+         */
+        public int getTransitions(int from, int to) {
+            return transitions[from * LEVELS + to];
+        }
+
+        public int getCount(int level) {
+            int count = 0;
+            for (int from = 0; from < LEVELS; from++) {
+                count += transitions[from * LEVELS + level];
+            }
+            return count;
+        }
+
+        /**
+         * Banks whose compliance level is worse than in the baseline.
+         */
+        public int getDowngraded() {
+            int count = 0;
+            for (int from = 0; from < LEVELS; from++) {
+                for (int to = from + 1; to < LEVELS; to++) {
+                    count += transitions[from * LEVELS + to];
+                }
+            }
+            return count;
+        }
+
+        public int getNonCompliant() {
+            return getCount(NON_COMPLIANT);
+        }
+
+        /**
+         * Capital the banks would need to raise to meet their minimum CAR, summed over banks.
+         */
+        public double getCapitalShortfall() {
+            return capitalShortfall;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.TableColumn;
+import javafx.util.Callback;
+
+import java.util.function.Function;
+
+/**
+ * CellValues - Cell value factories built from getter method references.
+ * PropertyValueFactory looks the getter up by name through reflection and shows an empty
+ * column for a misspelled property; a method reference is checked by the compiler and
+ * called directly for every cell.
+ *
+ * Usage: nameColumn.setCellValueFactory(CellValues.of(ManageCommercialBank::getName));
+ */
+public class CellValues {
+
+    /**
+     * Returns a factory that shows the getter's value for each row.
+     * Empty rows (a null item, e.g. a paged row not yet available) show nothing.
+     */
+    public static <S, T> Callback<TableColumn.CellDataFeatures<S, T>, ObservableValue<T>> of(Function<S, T> getter) {
+        return features -> {
+            S row = features.getValue();
+            return new ReadOnlyObjectWrapper<>(row != null ? getter.apply(row) : null);
+        };
+    }
+}
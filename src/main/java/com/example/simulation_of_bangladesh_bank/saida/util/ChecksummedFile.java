@@ -0,0 +1,102 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * ChecksummedFile - Crash-safe reads and writes of a single serialized object.
+ * Writes go to a temp file that replaces the target atomically via GroupCommit,
+ * so a crash leaves either the old or the new file, never a truncated one.
+ *
+ * File layout: [magic int][payload length long][CRC32C long] followed by the serialized object.
+ * Plain ObjectOutputStream files written before checksums were added are still readable.
+ */
+class ChecksummedFile {
+
+    // "BBCK" - Bangladesh Bank checksummed
+    private static final int MAGIC = 0x4242434B;
+    private static final int HEADER_SIZE = 20;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Writes an object to the file atomically and durably.
+     */
+    static void write(File target, Serializable data) throws IOException {
+        Path targetPath = target.toPath();
+        Path temp = GroupCommit.newTempFile(targetPath);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.position(HEADER_SIZE);
+                CheckedOutputStream checked = new CheckedOutputStream(
+                        new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE), new CRC32C());
+                ObjectOutputStream oos = new ObjectOutputStream(checked);
+                oos.writeObject(data);
+                oos.flush();
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putLong(channel.position() - HEADER_SIZE).putLong(checked.getChecksum().getValue());
+                header.flip();
+                channel.write(header, 0);
+            }
+            GroupCommit.commit(temp, targetPath);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads the object stored in the file, verifying its checksum.
+     * Throws DataFileCorruptedException if the file is truncated or damaged.
+     */
+    static Object read(File file) throws IOException, ClassNotFoundException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(file), BUFFER_SIZE))) {
+            in.mark(HEADER_SIZE);
+            if (file.length() < HEADER_SIZE || in.readInt() != MAGIC) {
+                // Written before checksums were added
+                in.reset();
+                try (ObjectInputStream ois = new ObjectInputStream(in)) {
+                    return ois.readObject();
+                } catch (EOFException e) {
+                    throw new DataFileCorruptedException(file.getName(), "file ends unexpectedly");
+                } catch (StreamCorruptedException e) {
+                    throw new DataFileCorruptedException(file.getName(), e.getMessage());
+                }
+            }
+
+            long length = in.readLong();
+            long expected = in.readLong();
+            if (length != file.length() - HEADER_SIZE) {
+                throw new DataFileCorruptedException(file.getName(),
+                        "expected " + length + " bytes of data, found " + (file.length() - HEADER_SIZE));
+            }
+            // Verify before deserializing, so damaged bytes never reach ObjectInputStream
+            if (checksumOf(file) != expected) {
+                throw new DataFileCorruptedException(file.getName(), "checksum mismatch");
+            }
+            try (ObjectInputStream ois = new ObjectInputStream(in)) {
+                return ois.readObject();
+            }
+        }
+    }
+
+    private static long checksumOf(File file) throws IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            in.skipNBytes(HEADER_SIZE);
+            CheckedInputStream checked = new CheckedInputStream(in, new CRC32C());
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (checked.read(buffer) != -1) {
+                // Reading updates the checksum
+            }
+            return checked.getChecksum().getValue();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+/**
+ * DataFileCorruptedException - Thrown when a data file exists but its contents are
+ * truncated or fail their checksum. The damaged file is kept as &lt;file&gt;.corrupt.
+ */
+public class DataFileCorruptedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String filename;
+
+    public DataFileCorruptedException(String filename, String reason) {
+        super("Data file " + filename + " is damaged: " + reason);
+        this.filename = filename;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+}
@@ -2,44 +2,138 @@ package com.example.simulation_of_bangladesh_bank.saida.util;
 
 import com.example.simulation_of_bangladesh_bank.saida.model.*;
 
+import java.io.File;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * DataInitializer - Creates realistic initial data for the Bangladesh Bank Simulation.
  * This data represents a realistic starting scenario for a commercial bank.
+ *
+ * At startup the journals are recovered and the seed files written on a background pool,
+ * one task per file, so the login window does not wait for them. Any DataManager access to
+ * a file waits for that file's seeding only (awaitSeeded), and nothing is loaded until a
+ * screen asks for it.
  */
 public class DataInitializer {
 
+    private static final int STARTUP_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    // Seeding of each data file by the latest startup
+    private static final Map<String, CompletableFuture<Void>> SEEDING = new ConcurrentHashMap<>();
+    // Set on the startup threads: they write the seed files and must never wait for them
+    private static final ThreadLocal<Boolean> STARTUP_THREAD = ThreadLocal.withInitial(() -> false);
+    private static volatile CompletableFuture<Void> startup = CompletableFuture.completedFuture(null);
+
     /**
-     * Initializes all data files with realistic startup data if they don't exist.
+     * Initializes all data files with realistic startup data if they don't exist,
+     * and returns once they are all written.
      */
     public static void initializeAllData() {
+        startInBackground().join();
+    }
+
+    /**
+     * Writes a production-scale synthetic dataset (banks × branches × transactions per branch)
+     * into the given directory instead of the hand-built seed records.
+     * See SyntheticDataGenerator; the same seed always produces the same files.
+     */
+    public static Map<String, Long> generateSyntheticData(int banks, int branchesPerBank, int transactionsPerBranch,
+                                                          long seed, File outputDir) throws IOException {
+        return new SyntheticDataGenerator(banks, branchesPerBank, transactionsPerBranch, seed).generate(outputDir);
+    }
+
+    /**
+     * Recovers the journals, then seeds every missing data file in parallel on a background pool.
+     * Returns at once; the future completes when all files are ready.
+     */
+    public static synchronized CompletableFuture<Void> startInBackground() {
         System.out.println("╔══════════════════════════════════════════════════════════════╗");
         System.out.println("║        Bangladesh Bank Simulation - Data Initialization      ║");
         System.out.println("╚══════════════════════════════════════════════════════════════╝");
-        
-        initializeSLRData();
-        initializeLoanData();
-        initializeInterbankData();
-        initializeLiquidityData();
-        initializeCARData();
-        initializeAMLData();
-        initializeBranchData();
-        initializeMonetaryStrategyData();
-        
+
+        long started = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(STARTUP_THREADS, task -> {
+            Thread thread = new Thread(task, "data-init");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // A previous session's changes must be in the snapshots before a seed checks for its file
+        CompletableFuture<Void> journals = CompletableFuture.runAsync(startupTask(DataManager::recoverJournals), pool);
+
+        Map<String, Runnable> seeds = new LinkedHashMap<>();
+        seeds.put(DataManager.USERS_FILE, DataManager::initializeDefaultUsers);
+        seeds.put(DataManager.SLR_DATA_FILE, DataInitializer::initializeSLRData);
+        seeds.put(DataManager.LOANS_FILE, DataInitializer::initializeLoanData);
+        seeds.put(DataManager.INTERBANK_FILE, DataInitializer::initializeInterbankData);
+        seeds.put(DataManager.LIQUIDITY_FILE, DataInitializer::initializeLiquidityData);
+        seeds.put(DataManager.CAR_DATA_FILE, DataInitializer::initializeCARData);
+        seeds.put(DataManager.AML_CASES_FILE, DataInitializer::initializeAMLData);
+        seeds.put(DataManager.BRANCHES_FILE, DataInitializer::initializeBranchData);
+        seeds.put(DataManager.MONETARY_STRATEGY_FILE, DataInitializer::initializeMonetaryStrategyData);
+
         // Ministry of Finance data
-        initializeRevenueData();
-        initializeExpenditureData();
-        initializePublicDebtData();
-        initializeBudgetData();
-        initializeForeignAidData();
-        initializeReformData();
-        initializeCashBalanceData();
-        
-        System.out.println("════════════════════════════════════════════════════════════════");
-        System.out.println("Data initialization complete!");
+        seeds.put(DataManager.REVENUE_FILE, DataInitializer::initializeRevenueData);
+        seeds.put(DataManager.EXPENDITURE_FILE, DataInitializer::initializeExpenditureData);
+        seeds.put(DataManager.DEBT_FILE, DataInitializer::initializePublicDebtData);
+        seeds.put(DataManager.BUDGET_FILE, DataInitializer::initializeBudgetData);
+        seeds.put(DataManager.FOREIGN_AID_FILE, DataInitializer::initializeForeignAidData);
+        seeds.put(DataManager.REFORM_FILE, DataInitializer::initializeReformData);
+        seeds.put(DataManager.CASH_BALANCE_FILE, DataInitializer::initializeCashBalanceData);
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (Map.Entry<String, Runnable> seed : seeds.entrySet()) {
+            CompletableFuture<Void> task = journals.thenRunAsync(startupTask(seed.getValue()), pool);
+            SEEDING.put(seed.getKey(), task);
+            tasks.add(task);
+        }
+        startup = CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).whenComplete((done, error) -> {
+            pool.shutdown();
+            System.out.println("════════════════════════════════════════════════════════════════");
+            System.out.println("Data initialization complete in " + (System.nanoTime() - started) / 1_000_000 + " ms");
+        });
+        return startup;
+    }
+
+    /**
+     * Blocks until the given file has been seeded by a running startup, if any.
+     * Called by DataManager before touching a file, outside of its file locks.
+     */
+    public static void awaitSeeded(String filename) {
+        CompletableFuture<Void> seeding = SEEDING.get(filename);
+        if (seeding != null && !seeding.isDone() && !STARTUP_THREAD.get()) {
+            seeding.join();
+        }
+    }
+
+    /**
+     * Blocks until the whole startup has finished, e.g. before the application exits.
+     */
+    public static void awaitStartup() {
+        startup.join();
+    }
+
+    // A failing seed is reported and must not keep the other files (or their readers) waiting
+    private static Runnable startupTask(Runnable task) {
+        return () -> {
+            STARTUP_THREAD.set(true);
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.err.println("Error during data initialization: " + e.getMessage());
+                e.printStackTrace();
+            } finally {
+                STARTUP_THREAD.set(false);
+            }
+        };
     }
 
     // ==================== COMMERCIAL BANK MANAGER DATA ====================
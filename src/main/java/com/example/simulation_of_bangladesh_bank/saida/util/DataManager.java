@@ -1,11 +1,18 @@
 package com.example.simulation_of_bangladesh_bank.saida.util;
 
-import com.example.simulation_of_bangladesh_bank.saida.model.User;
+import com.example.simulation_of_bangladesh_bank.saida.model.*;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * DataManager - Utility class for binary file operations.
@@ -29,6 +36,50 @@ public class DataManager {
     public static final String DEBT_FILE = "public_debt.bin";
     public static final String BUDGET_FILE = "budget.bin";
     public static final String REFORM_FILE = "reforms.bin";
+    public static final String CAR_DATA_FILE = "car_data.bin";
+    public static final String MONETARY_STRATEGY_FILE = "monetary_strategy.bin";
+    public static final String FOREIGN_AID_FILE = "foreign_aid.bin";
+    public static final String CASH_BALANCE_FILE = "cash_balance.bin";
+
+    // Journal is folded back into its snapshot once it grows past this size and past the
+    // snapshot itself, so rewriting the snapshot stays amortized linear in bulk loads
+    private static final long JOURNAL_COMPACTION_BYTES = 4L * 1024 * 1024;
+
+    // Record key extractors used to replay journal updates/deletes onto a snapshot
+    private static final Map<String, Function<Object, String>> RECORD_KEYS = new ConcurrentHashMap<>();
+    private static final Map<String, RecordJournal> JOURNALS = new ConcurrentHashMap<>();
+
+    // Files stored as memory-mapped fixed-width rows instead of Java serialization
+    private static final Map<String, FixedWidthCodec<?>> FIXED_WIDTH_CODECS = new ConcurrentHashMap<>();
+    private static final Map<String, MappedRecordStore<?>> RECORD_STORES = new ConcurrentHashMap<>();
+
+    static {
+        registerRecordKey(USERS_FILE, r -> ((User) r).getUsername().toLowerCase());
+        registerRecordKey(SLR_DATA_FILE, r -> ((SLRCompliance) r).getComplianceId());
+        registerRecordKey(LOANS_FILE, r -> ((LoanApplication) r).getApplicationId());
+        registerRecordKey(AML_CASES_FILE, r -> {
+            AMLMonitoring c = (AMLMonitoring) r;
+            return c.getCaseId() != null ? c.getCaseId() : c.getTransactionId();
+        });
+        registerRecordKey(BRANCHES_FILE, r -> ((BranchPerformance) r).getBranchId());
+        registerRecordKey(INTERBANK_FILE, r -> ((InterbankOperations) r).getOperationId());
+        registerRecordKey(LIQUIDITY_FILE, r -> ((LiquidityManagement) r).getLiquidityId());
+        registerRecordKey(REVENUE_FILE, r -> ((RevenueMonitoring) r).getRevenueId());
+        registerRecordKey(EXPENDITURE_FILE, r -> ((ExpenditureControl) r).getExpenditureId());
+        registerRecordKey(DEBT_FILE, r -> ((PublicDebt) r).getDebtId());
+        registerRecordKey(BUDGET_FILE, r -> ((BudgetManagement) r).getBudgetId());
+        registerRecordKey(REFORM_FILE, r -> ((ReformMonitoring) r).getReformId());
+        registerRecordKey(CAR_DATA_FILE, r -> {
+            CapitalAdequacy c = (CapitalAdequacy) r;
+            return c.getCapitalId() != null ? c.getCapitalId() : c.getCarId();
+        });
+        registerRecordKey(MONETARY_STRATEGY_FILE, r -> ((MonetaryStrategy) r).getStrategyId());
+        registerRecordKey(FOREIGN_AID_FILE, r -> ((ForeignAidMonitoring) r).getAidId());
+        registerRecordKey(CASH_BALANCE_FILE, r -> ((GovCashBalance) r).getBalanceId());
+
+        useFixedWidthFormat(INTERBANK_FILE, RecordCodecs.INTERBANK);
+        useFixedWidthFormat(LIQUIDITY_FILE, RecordCodecs.LIQUIDITY);
+    }
 
     /**
      * Gets the full path to a data file.
@@ -51,45 +102,440 @@ public class DataManager {
      * Saves a list of objects to a binary file.
      */
     public static <T extends Serializable> boolean saveToFile(String filename, List<T> data) {
+        DataInitializer.awaitSeeded(filename);
         ensureDataDirectory();
-        try (ObjectOutputStream oos = new ObjectOutputStream(
-                new FileOutputStream(getFilePath(filename)))) {
-            oos.writeObject(data);
+        RecordJournal journal = journalFor(filename);
+        synchronized (journal) {
+            MappedRecordStore<T> store = openRecordStore(filename);
+            try {
+                if (store != null) {
+                    rewriteRecordStore(filename, store, data);
+                } else {
+                    // Written to a temp file and renamed, so a crash never leaves a truncated file
+                    ChecksummedFile.write(new File(getFilePath(filename)), new ArrayList<>(data));
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Error saving to file " + filename + ": " + e.getMessage());
+                e.printStackTrace();
+                return false;
+            }
+            // The snapshot now contains every journaled change
+            journal.clear();
+            DataRepository.invalidate(filename);
             return true;
-        } catch (IOException e) {
-            System.err.println("Error saving to file " + filename + ": " + e.getMessage());
-            e.printStackTrace();
-            return false;
         }
     }
 
     /**
      * Loads a list of objects from a binary file.
+     * Any journaled changes recorded after the last snapshot are replayed on top.
      */
-    @SuppressWarnings("unchecked")
     public static <T extends Serializable> List<T> loadFromFile(String filename) {
+        DataInitializer.awaitSeeded(filename);
+        RecordJournal journal = journalFor(filename);
+        synchronized (journal) {
+            List<T> snapshot = loadSnapshot(filename);
+            return journal.replay(snapshot, record -> recordKey(filename, record));
+        }
+    }
+
+    /**
+     * Reads the snapshot part of a data file, ignoring its journal.
+     */
+    private static <T extends Serializable> List<T> loadSnapshot(String filename) {
+        MappedRecordStore<T> store = openRecordStore(filename);
+        if (store != null) {
+            return store.readAll();
+        }
+        return readSerializedList(filename);
+    }
+
+    /**
+     * Reads a data file written with Java serialization.
+     * A damaged file is reported with DataFileCorruptedException instead of reading as empty.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Serializable> List<T> readSerializedList(String filename) {
         File file = new File(getFilePath(filename));
         if (!file.exists()) {
             return new ArrayList<>();
         }
         
-        try (ObjectInputStream ois = new ObjectInputStream(
-                new FileInputStream(file))) {
-            return (List<T>) ois.readObject();
-        } catch (IOException | ClassNotFoundException e) {
-            System.err.println("Error loading from file " + filename + ": " + e.getMessage());
-            return new ArrayList<>();
+        try {
+            return (List<T>) readVerified(filename);
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            // Also an unreadable class version: reading it as empty would let the next save erase it
+            throw moveAside(filename, new DataFileCorruptedException(filename, e.toString()));
+        }
+    }
+
+    /**
+     * Reads and checksum-verifies a data file. A damaged file is moved aside
+     * as <file>.corrupt, so it is reported once and never overwritten.
+     */
+    private static Object readVerified(String filename) throws IOException, ClassNotFoundException {
+        try {
+            return ChecksummedFile.read(new File(getFilePath(filename)));
+        } catch (DataFileCorruptedException e) {
+            throw moveAside(filename, e);
         }
     }
 
+    // Keeps an unreadable file as <file>.corrupt; if it cannot be moved, fails without claiming it was
+    private static RuntimeException moveAside(String filename, DataFileCorruptedException e) {
+        File file = new File(getFilePath(filename));
+        File corruptFile = new File(getFilePath(filename + ".corrupt"));
+        try {
+            Files.move(file.toPath(), corruptFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException moveError) {
+            return new UncheckedIOException("Cannot read " + filename + " (" + e.getMessage()
+                    + ") nor move it aside", moveError);
+        }
+        System.err.println("⚠️  " + e.getMessage() + ". Damaged file kept as: " + corruptFile.getName());
+        return e;
+    }
+
+    // ==================== FIXED-WIDTH RECORD FILES ====================
+
+    /**
+     * Switches a data file to the memory-mapped fixed-width format.
+     * loadFromFile/saveToFile keep working; an existing serialized file is
+     * converted the first time it is opened.
+     */
+    public static <T> void useFixedWidthFormat(String filename, FixedWidthCodec<T> codec) {
+        FIXED_WIDTH_CODECS.put(filename, codec);
+    }
+
+    /**
+     * Returns the open record store for a fixed-width file, for random access
+     * and column scans. Returns null if the file does not use the fixed-width format.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> MappedRecordStore<T> openRecordStore(String filename) {
+        FixedWidthCodec<T> codec = (FixedWidthCodec<T>) FIXED_WIDTH_CODECS.get(filename);
+        if (codec == null) {
+            return null;
+        }
+        DataInitializer.awaitSeeded(filename);
+        synchronized (journalFor(filename)) {
+            MappedRecordStore<T> store = (MappedRecordStore<T>) RECORD_STORES.get(filename);
+            if (store != null) {
+                return store;
+            }
+            ensureDataDirectory();
+            File file = new File(getFilePath(filename));
+            try {
+                if (file.exists() && file.length() > 0 && !MappedRecordStore.isFixedWidthFile(file)) {
+                    migrateToFixedWidth(filename, codec);
+                }
+                store = MappedRecordStore.open(file, codec);
+                RECORD_STORES.put(filename, store);
+                return store;
+            } catch (IOException e) {
+                System.err.println("Error opening record store " + filename + ": " + e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Converts a serialized data file to fixed-width rows via a temp file.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> void migrateToFixedWidth(String filename, FixedWidthCodec<T> codec) throws IOException {
+        File target = new File(getFilePath(filename));
+        List<Serializable> legacy;
+        try {
+            legacy = (List<Serializable>) ChecksummedFile.read(target);
+        } catch (IOException | ClassNotFoundException | ClassCastException | DataFileCorruptedException e) {
+            // Unreadable legacy data is kept aside instead of being overwritten
+            File backupFile = new File(getFilePath(filename + ".backup"));
+            Files.move(target.toPath(), backupFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            System.err.println("⚠️  Could not convert " + filename + " (" + e.getMessage()
+                    + "). Old file backed up as: " + backupFile.getName());
+            return;
+        }
+        File temp = new File(getFilePath(filename + ".tmp"));
+        Files.deleteIfExists(temp.toPath());
+        try (MappedRecordStore<T> converted = MappedRecordStore.open(temp, codec)) {
+            converted.rewrite((List<T>) (List<?>) legacy);
+        } catch (IllegalArgumentException e) {
+            Files.deleteIfExists(temp.toPath());
+            throw new IOException("Cannot convert " + filename + " to fixed-width format: " + e.getMessage());
+        }
+        Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        System.out.println("✓ Converted " + filename + " to fixed-width format (" + legacy.size() + " records)");
+    }
+
+    /**
+     * Replaces a fixed-width file by building the new rows in a temp store and
+     * renaming it over the old file; the open store is closed and reopened on next use.
+     */
+    private static <T> void rewriteRecordStore(String filename, MappedRecordStore<T> store, List<T> data)
+            throws IOException {
+        Path target = new File(getFilePath(filename)).toPath();
+        Path temp = GroupCommit.newTempFile(target);
+        try {
+            try (MappedRecordStore<T> rewritten = MappedRecordStore.open(temp.toFile(), store.getCodec())) {
+                rewritten.rewrite(data);
+            }
+            RECORD_STORES.remove(filename);
+            store.close();
+            GroupCommit.commit(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // ==================== JOURNALED RECORD OPERATIONS ====================
+
+    /**
+     * Registers how records of a data file are keyed, so journaled
+     * updates and deletes can be matched against snapshot records.
+     */
+    public static void registerRecordKey(String filename, Function<Object, String> keyExtractor) {
+        RECORD_KEYS.put(filename, keyExtractor);
+    }
+
+    /**
+     * Appends a new record without rewriting the data file.
+     */
+    public static <T extends Serializable> boolean appendRecord(String filename, String key, T record) {
+        return writeJournal(filename, RecordJournal.OP_APPEND, key, record);
+    }
+
+    /**
+     * Replaces the record stored under the given key (or adds it if missing).
+     */
+    public static <T extends Serializable> boolean updateRecord(String filename, String key, T record) {
+        return writeJournal(filename, RecordJournal.OP_UPDATE, key, record);
+    }
+
+    /**
+     * Appends several new records in one journal write; fixed-width files append their rows
+     * without looking the keys up.
+     */
+    public static <T extends Serializable> boolean appendRecords(String filename, Map<String, T> records) {
+        return writeJournalBatch(filename, RecordJournal.OP_APPEND, records);
+    }
+
+    /**
+     * Replaces several records in one journal write (a batch of small deltas).
+     */
+    public static <T extends Serializable> boolean updateRecords(String filename, Map<String, T> records) {
+        return writeJournalBatch(filename, RecordJournal.OP_UPDATE, records);
+    }
+
+    private static <T extends Serializable> boolean writeJournalBatch(String filename, byte op, Map<String, T> records) {
+        if (records.isEmpty()) {
+            return true;
+        }
+        DataInitializer.awaitSeeded(filename);
+        ensureDataDirectory();
+        DataRepository.invalidate(filename);
+        RecordJournal journal = journalFor(filename);
+        synchronized (journal) {
+            MappedRecordStore<Serializable> store = openRecordStore(filename);
+            if (store != null) {
+                return writeRecordStore(filename, store, journal, op, records);
+            }
+            try {
+                journal.writeAll(op, records);
+            } catch (IOException e) {
+                System.err.println("Error writing journal for " + filename + ": " + e.getMessage());
+                return false;
+            }
+            if (needsCompaction(filename, journal)) {
+                compact(filename);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Deletes the record stored under the given key.
+     */
+    public static boolean deleteRecord(String filename, String key) {
+        return writeJournal(filename, RecordJournal.OP_DELETE, key, null);
+    }
+
+    /**
+     * Folds a file's journal into a fresh snapshot and removes the journal.
+     */
+    public static <T extends Serializable> boolean compact(String filename) {
+        RecordJournal journal = journalFor(filename);
+        synchronized (journal) {
+            if (!journal.exists()) {
+                return true;
+            }
+            try {
+                List<T> records = loadFromFile(filename);
+                return saveToFile(filename, records);
+            } catch (DataFileCorruptedException e) {
+                // Keep the journal so its changes are not lost with the damaged snapshot
+                System.err.println("Could not compact " + filename + ": " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Replays and compacts every journal left in the data directory.
+     * Called at startup so a previous session's changes land in the snapshots.
+     */
+    public static void recoverJournals() {
+        File[] journals = new File(DATA_DIR).listFiles(
+                (dir, name) -> name.endsWith(RecordJournal.JOURNAL_SUFFIX));
+        if (journals == null) {
+            return;
+        }
+        for (File journalFile : journals) {
+            String name = journalFile.getName();
+            String filename = name.substring(0, name.length() - RecordJournal.JOURNAL_SUFFIX.length());
+            if (compact(filename)) {
+                System.out.println("✓ Recovered journal for " + filename);
+            }
+        }
+    }
+
+    /**
+     * Returns the key of a record as used by the journal, or null if the file has no key.
+     */
+    @SuppressWarnings("unchecked")
+    static String recordKey(String filename, Object record) {
+        Function<Object, String> keyFn = RECORD_KEYS.get(filename);
+        if (keyFn != null) {
+            return keyFn.apply(record);
+        }
+        FixedWidthCodec<Object> codec = (FixedWidthCodec<Object>) FIXED_WIDTH_CODECS.get(filename);
+        return codec != null ? codec.keyOf(record) : null;
+    }
+
+    private static RecordJournal journalFor(String filename) {
+        return JOURNALS.computeIfAbsent(filename,
+                f -> new RecordJournal(new File(getFilePath(f + RecordJournal.JOURNAL_SUFFIX))));
+    }
+
+    private static boolean writeJournal(String filename, byte op, String key, Serializable record) {
+        if (key == null) {
+            System.err.println("Cannot journal a record without a key in " + filename);
+            return false;
+        }
+        DataInitializer.awaitSeeded(filename);
+        ensureDataDirectory();
+        DataRepository.invalidate(filename);
+        RecordJournal journal = journalFor(filename);
+        synchronized (journal) {
+            MappedRecordStore<Serializable> store = openRecordStore(filename);
+            if (store != null) {
+                return writeRecordStore(filename, store, journal, op, Collections.singletonMap(key, record));
+            }
+            try {
+                journal.write(op, key, record);
+            } catch (IOException e) {
+                System.err.println("Error writing journal for " + filename + ": " + e.getMessage());
+                return false;
+            }
+            if (needsCompaction(filename, journal)) {
+                compact(filename);
+            }
+            return true;
+        }
+    }
+
+    private static boolean needsCompaction(String filename, RecordJournal journal) {
+        long size = journal.size();
+        return size > JOURNAL_COMPACTION_BYTES && size > new File(getFilePath(filename)).length();
+    }
+
+    /**
+     * Applies changes to a fixed-width file in place. The changes are journaled and synced
+     * first, and the journal is dropped once the mapping is forced to disk, so a crash in
+     * between is repaired by recoverJournals() at the next start. Once journaled the changes
+     * count as saved: if applying them fails the journal is kept, and folded into the file by
+     * the next write or replayed (by key) at the next start. Deletes rewrite the file through a
+     * temp file instead.
+     */
+    private static boolean writeRecordStore(String filename, MappedRecordStore<Serializable> store,
+                                            RecordJournal journal, byte op,
+                                            Map<String, ? extends Serializable> records) {
+        if (journal.exists()) {
+            // Left by an earlier write that was journaled but not fully applied
+            store = compact(filename) ? openRecordStore(filename) : null;
+            if (store == null) {
+                System.err.println("Not writing " + filename + ": its pending journal could not be applied");
+                return false;
+            }
+        }
+        try {
+            if (op == RecordJournal.OP_DELETE) {
+                List<Serializable> remaining = store.readAll();
+                int before = remaining.size();
+                for (String key : records.keySet()) {
+                    int index = indexOfKey(filename, remaining, key);
+                    if (index >= 0) {
+                        remaining.remove(index);
+                    }
+                }
+                if (remaining.size() != before) {
+                    rewriteRecordStore(filename, store, remaining);
+                }
+                return true;
+            }
+            // Rejected before anything is journaled or written
+            int appends = 0;
+            for (Map.Entry<String, ? extends Serializable> entry : records.entrySet()) {
+                store.getCodec().checkFits(entry.getValue());
+                if (op == RecordJournal.OP_APPEND || store.indexOf(entry.getKey()) < 0) {
+                    appends++;
+                }
+            }
+            // Grown up front so applying the changes cannot fail half-way
+            store.ensureCapacity(store.size() + appends);
+            journal.writeAll(op, records);
+        } catch (IOException | IllegalArgumentException e) {
+            // IllegalArgumentException: a value too long for its fixed-width column.
+            // Nothing was applied, so a half-written journal must not be replayed later
+            journal.clear();
+            System.err.println("Error writing record store " + filename + ": " + e.getMessage());
+            return false;
+        }
+        try {
+            for (Map.Entry<String, ? extends Serializable> entry : records.entrySet()) {
+                int index = op == RecordJournal.OP_APPEND ? -1 : store.indexOf(entry.getKey());
+                if (index >= 0) {
+                    store.set(index, entry.getValue());
+                } else {
+                    store.append(entry.getValue());
+                }
+            }
+            store.force();
+            journal.clear();
+        } catch (IOException | RuntimeException e) {
+            // The rows may be partly applied; the journal completes them at the next start
+            System.err.println("Record store " + filename + " not fully updated, keeping its journal: "
+                    + e.getMessage());
+        }
+        return true;
+    }
+
+    private static int indexOfKey(String filename, List<Serializable> records, String key) {
+        for (int i = 0; i < records.size(); i++) {
+            if (key.equals(recordKey(filename, records.get(i)))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Saves a single object to a binary file.
      */
     public static <T extends Serializable> boolean saveObjectToFile(String filename, T data) {
         ensureDataDirectory();
-        try (ObjectOutputStream oos = new ObjectOutputStream(
-                new FileOutputStream(getFilePath(filename)))) {
-            oos.writeObject(data);
+        try {
+            ChecksummedFile.write(new File(getFilePath(filename)), data);
+            DataRepository.invalidate(filename);
             return true;
         } catch (IOException e) {
             System.err.println("Error saving object to file " + filename + ": " + e.getMessage());
@@ -107,9 +553,8 @@ public class DataManager {
             return null;
         }
         
-        try (ObjectInputStream ois = new ObjectInputStream(
-                new FileInputStream(file))) {
-            return (T) ois.readObject();
+        try {
+            return (T) readVerified(filename);
         } catch (IOException | ClassNotFoundException e) {
             System.err.println("Error loading object from file " + filename + ": " + e.getMessage());
             return null;
@@ -122,7 +567,11 @@ public class DataManager {
      * Saves users to binary file.
      */
     public static boolean saveUsers(List<User> users) {
-        return saveToFile(USERS_FILE, users);
+        boolean saved = saveToFile(USERS_FILE, users);
+        if (saved) {
+            UserDirectory.reload(users);
+        }
+        return saved;
     }
 
     /**
@@ -131,17 +580,20 @@ public class DataManager {
      */
     @SuppressWarnings("unchecked")
     public static List<User> loadUsers() {
+        DataInitializer.awaitSeeded(USERS_FILE);
+        // Make sure batched last-login updates are on disk before reading
+        UserDirectory.flushLogins();
         File file = new File(getFilePath(USERS_FILE));
         if (!file.exists()) {
             return new ArrayList<>();
         }
         
-        try (ObjectInputStream ois = new ObjectInputStream(
-                new FileInputStream(file))) {
-            return (List<User>) ois.readObject();
-        } catch (ClassNotFoundException e) {
-            // Handle package name mismatch - old data with different package structure
-            System.err.println("⚠️  Detected incompatible user data format. Recreating users file...");
+        try {
+            List<User> snapshot = (List<User>) readVerified(USERS_FILE);
+            return journalFor(USERS_FILE).replay(snapshot, RECORD_KEYS.get(USERS_FILE));
+        } catch (ClassNotFoundException | DataFileCorruptedException e) {
+            // Handle package name mismatch (old data with different package structure) or a damaged file
+            System.err.println("⚠️  Detected unreadable user data. Recreating users file...");
             System.err.println("   Error: " + e.getMessage());
             
             // Backup old file
@@ -155,10 +607,9 @@ public class DataManager {
             initializeDefaultUsers();
             
             // Try loading again after recreation
-            try (ObjectInputStream ois2 = new ObjectInputStream(
-                    new FileInputStream(new File(getFilePath(USERS_FILE))))) {
-                return (List<User>) ois2.readObject();
-            } catch (IOException | ClassNotFoundException e2) {
+            try {
+                return (List<User>) readVerified(USERS_FILE);
+            } catch (IOException | ClassNotFoundException | DataFileCorruptedException e2) {
                 System.err.println("Error loading recreated users file: " + e2.getMessage());
                 return new ArrayList<>();
             }
@@ -172,10 +623,7 @@ public class DataManager {
      * Finds a user by username.
      */
     public static Optional<User> findUserByUsername(String username) {
-        List<User> users = loadUsers();
-        return users.stream()
-                .filter(u -> u.getUsername().equalsIgnoreCase(username))
-                .findFirst();
+        return UserDirectory.find(username);
     }
 
     /**
@@ -184,17 +632,10 @@ public class DataManager {
     public static Optional<User> authenticateUser(String username, String password) {
         Optional<User> userOpt = findUserByUsername(username);
         if (userOpt.isPresent() && userOpt.get().authenticate(password)) {
-            // Update last login time
+            // Update last login time (persisted in the next batch flush)
             User user = userOpt.get();
             user.recordLogin();
-            
-            // Save updated user data
-            List<User> users = loadUsers();
-            users.stream()
-                    .filter(u -> u.getUsername().equalsIgnoreCase(username))
-                    .findFirst()
-                    .ifPresent(u -> u.setLastLogin(user.getLastLogin()));
-            saveUsers(users);
+            UserDirectory.recordLogin(user);
             
             return Optional.of(user);
         }
@@ -205,15 +646,17 @@ public class DataManager {
      * Adds a new user.
      */
     public static boolean addUser(User user) {
-        List<User> users = loadUsers();
-        
         // Check if username already exists
-        if (users.stream().anyMatch(u -> u.getUsername().equalsIgnoreCase(user.getUsername()))) {
+        if (UserDirectory.find(user.getUsername()).isPresent()) {
             return false; // Username already exists
         }
         
-        users.add(user);
-        return saveUsers(users);
+        String key = user.getUsername().toLowerCase();
+        if (!appendRecord(USERS_FILE, key, user)) {
+            return false;
+        }
+        UserDirectory.add(user);
+        return true;
     }
 
     /**
@@ -349,6 +792,18 @@ public class DataManager {
      * Deletes a file.
      */
     public static boolean deleteFile(String filename) {
+        MappedRecordStore<?> store = RECORD_STORES.remove(filename);
+        if (store != null) {
+            try {
+                store.close();
+            } catch (IOException e) {
+                System.err.println("Error closing record store " + filename + ": " + e.getMessage());
+            }
+        }
+        if (USERS_FILE.equals(filename)) {
+            UserDirectory.invalidate();
+        }
+        DataRepository.invalidate(filename);
         File file = new File(getFilePath(filename));
         return file.delete();
     }
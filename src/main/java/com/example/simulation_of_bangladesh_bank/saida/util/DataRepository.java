@@ -0,0 +1,391 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DataRepository - Process-wide cache of the data files, keyed by the DataManager *_FILE constants.
+ * Each file is loaded once; writes made through the repository update the cached records in
+ * place (append and update in O(1) via a key index) without re-reading the file, and writes
+ * made directly through DataManager invalidate it.
+ *
+ * The cache keeps its own copies of the records. get() shares them read-only with code that
+ * only reads (engines, exports, KPIs); getCopy() hands a screen its own records to edit, so an
+ * edit reaches the cache only once it is saved.
+ *
+ * Each cached file also logs the rows its writes touched, so readers that keep derived copies
+ * (KpiSnapshot) can apply just those rows instead of re-reading the whole file.
+ */
+public class DataRepository {
+
+    private static final Map<String, CachedFile<?>> CACHE = new ConcurrentHashMap<>();
+    private static final Map<String, Object> LOCKS = new ConcurrentHashMap<>();
+    // Bumped on every invalidation so a load racing with a write is not cached
+    private static final Map<String, AtomicLong> VERSIONS = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the records of a data file, loading it on first access only.
+     * The list and its records are shared: do not modify them, use getCopy() to edit.
+     */
+    public static <T extends Serializable> List<T> get(String filename) {
+        CachedFile<T> cached = cached(filename);
+        synchronized (cached) {
+            return cached.view();
+        }
+    }
+
+    /**
+     * Returns a private, modifiable copy of the records of a data file, for screens that edit
+     * them and save the changes back through the repository.
+     */
+    public static <T extends Serializable> List<T> getCopy(String filename) {
+        return copyOf(new ArrayList<>(DataRepository.<T>get(filename)));
+    }
+
+    /**
+     * Replaces all records of a data file.
+     */
+    public static <T extends Serializable> boolean saveAll(String filename, List<T> records) {
+        synchronized (lockFor(filename)) {
+            boolean success = DataManager.saveToFile(filename, records);
+            if (success) {
+                CACHE.put(filename, new CachedFile<>(filename, copyOf(new ArrayList<>(records))));
+            }
+            return success;
+        }
+    }
+
+    /**
+     * Appends a record to a data file.
+     */
+    public static <T extends Serializable> boolean append(String filename, String key, T record) {
+        synchronized (lockFor(filename)) {
+            CachedFile<T> cached = cached(filename);
+            boolean success = DataManager.appendRecord(filename, key, record);
+            if (success) {
+                synchronized (cached) {
+                    cached.append(key, copyOf(record));
+                }
+                keep(filename, cached);
+            }
+            return success;
+        }
+    }
+
+    /**
+     * Replaces the record stored under the given key (or adds it if missing).
+     */
+    public static <T extends Serializable> boolean update(String filename, String key, T record) {
+        synchronized (lockFor(filename)) {
+            CachedFile<T> cached = cached(filename);
+            boolean success = DataManager.updateRecord(filename, key, record);
+            if (success) {
+                synchronized (cached) {
+                    cached.put(key, copyOf(record));
+                }
+                keep(filename, cached);
+            }
+            return success;
+        }
+    }
+
+    /**
+     * Appends several new keyed records in one journal write.
+     */
+    public static <T extends Serializable> boolean appendAll(String filename, Map<String, T> records) {
+        synchronized (lockFor(filename)) {
+            CachedFile<T> cached = cached(filename);
+            boolean success = DataManager.appendRecords(filename, records);
+            if (success) {
+                synchronized (cached) {
+                    for (Map.Entry<String, T> entry : records.entrySet()) {
+                        cached.append(entry.getKey(), copyOf(entry.getValue()));
+                    }
+                }
+                keep(filename, cached);
+            }
+            return success;
+        }
+    }
+
+    /**
+     * Replaces (or adds) several keyed records in one journal write.
+     */
+    public static <T extends Serializable> boolean updateAll(String filename, Map<String, T> records) {
+        synchronized (lockFor(filename)) {
+            CachedFile<T> cached = cached(filename);
+            boolean success = DataManager.updateRecords(filename, records);
+            if (success) {
+                synchronized (cached) {
+                    for (Map.Entry<String, T> entry : records.entrySet()) {
+                        cached.put(entry.getKey(), copyOf(entry.getValue()));
+                    }
+                }
+                keep(filename, cached);
+            }
+            return success;
+        }
+    }
+
+    /**
+     * Deletes the record stored under the given key.
+     */
+    public static <T extends Serializable> boolean delete(String filename, String key) {
+        synchronized (lockFor(filename)) {
+            CachedFile<T> cached = cached(filename);
+            boolean success = DataManager.deleteRecord(filename, key);
+            if (success) {
+                synchronized (cached) {
+                    cached.remove(key);
+                }
+                keep(filename, cached);
+            }
+            return success;
+        }
+    }
+
+    /**
+     * Rows written to a data file since a reader last looked. Pass back the changes returned
+     * last time, or null on the first call. If the file was reloaded or replaced, rows were
+     * removed, or the reader fell too far behind, every record is returned instead (isFull()).
+     */
+    public static <T extends Serializable> Changes<T> changesSince(String filename, Changes<T> last) {
+        CachedFile<T> cached = cached(filename);
+        synchronized (cached) {
+            return cached.changesSince(last);
+        }
+    }
+
+    /**
+     * Drops the cached copy of a data file; the next get() reloads it.
+     * Lock-free, so DataManager can call it while holding its own file locks.
+     */
+    public static void invalidate(String filename) {
+        versionOf(filename).incrementAndGet();
+        CACHE.remove(filename);
+    }
+
+    /**
+     * Drops every cached data file.
+     */
+    public static void invalidateAll() {
+        CACHE.keySet().forEach(DataRepository::invalidate);
+    }
+
+    /**
+     * Deep copy of a record (or a list of records) through serialization.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Serializable> T copyOf(T record) {
+        if (record == null) {
+            return null;
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(record);
+            }
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                return (T) in.readObject();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot copy " + record.getClass().getSimpleName(), e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Loads the file on first access only
+    @SuppressWarnings("unchecked")
+    private static <T extends Serializable> CachedFile<T> cached(String filename) {
+        CachedFile<T> cached = (CachedFile<T>) CACHE.get(filename);
+        if (cached != null) {
+            return cached;
+        }
+        // Wait for startup seeding first, so its write does not keep this load out of the cache
+        DataInitializer.awaitSeeded(filename);
+        synchronized (lockFor(filename)) {
+            cached = (CachedFile<T>) CACHE.get(filename);
+            if (cached == null) {
+                long version = versionOf(filename).get();
+                List<T> loaded = DataManager.loadFromFile(filename);
+                cached = new CachedFile<>(filename, new ArrayList<>(loaded));
+                if (versionOf(filename).get() == version) {
+                    CACHE.put(filename, cached);
+                }
+            }
+            return cached;
+        }
+    }
+
+    // DataManager invalidates the file on every write; the records just updated are current
+    private static void keep(String filename, CachedFile<?> cached) {
+        CACHE.put(filename, cached);
+    }
+
+    private static AtomicLong versionOf(String filename) {
+        return VERSIONS.computeIfAbsent(filename, f -> new AtomicLong());
+    }
+
+    private static Object lockFor(String filename) {
+        return LOCKS.computeIfAbsent(filename, f -> new Object());
+    }
+
+    // ==================== CHANGES ====================
+
+    /**
+     * The rows of one file written since a reader's last look, each with its current record.
+     * A full set lists every row of the file.
+     */
+    public static class Changes<T> {
+        private final Object file;
+        private final long position;
+        private final boolean full;
+        private final int[] rows;
+        private final List<T> records;
+
+        Changes(Object file, long position, boolean full, int[] rows, List<T> records) {
+            this.file = file;
+            this.position = position;
+            this.full = full;
+            this.rows = rows;
+            this.records = records;
+        }
+
+        public boolean isFull() {
+            return full;
+        }
+
+        public int size() {
+            return records.size();
+        }
+
+        public int rowAt(int index) {
+            return rows[index];
+        }
+
+        public T recordAt(int index) {
+            return records.get(index);
+        }
+    }
+
+    // ==================== CACHED FILE ====================
+
+    /**
+     * The records of one file plus a key index. Writes change the records in place; readers
+     * get a read-only snapshot, copied once after each run of writes rather than per write.
+     * Guarded by its own monitor.
+     */
+    private static class CachedFile<T> {
+        // Readers further behind than this (or than the file size) start over
+        private static final int MAX_LOGGED = 4096;
+
+        private final String filename;
+        private final ArrayList<T> records;
+        // Built on the first keyed write; the first record wins for duplicate keys, as in the journal
+        private Map<String, Integer> positions;
+        private List<T> view;
+        // Rows written, in order; the first 'dropped' writes are no longer logged
+        private int[] log = new int[16];
+        private int logged;
+        private long dropped;
+
+        CachedFile(String filename, ArrayList<T> records) {
+            this.filename = filename;
+            this.records = records;
+        }
+
+        List<T> view() {
+            if (view == null) {
+                view = Collections.unmodifiableList(new ArrayList<>(records));
+            }
+            return view;
+        }
+
+        void append(String key, T record) {
+            if (key != null) {
+                positions().putIfAbsent(key, records.size());
+            }
+            records.add(record);
+            view = null;
+            logged(records.size() - 1);
+        }
+
+        void put(String key, T record) {
+            Integer position = positions().get(key);
+            if (position != null) {
+                records.set(position, record);
+                view = null;
+                logged(position);
+            } else {
+                append(key, record);
+            }
+        }
+
+        // O(n): the rows after the removed one move up
+        void remove(String key) {
+            Integer position = positions().remove(key);
+            if (position == null) {
+                return;
+            }
+            records.remove((int) position);
+            positions.replaceAll((k, index) -> index > position ? index - 1 : index);
+            view = null;
+            // Row numbers shifted, so every reader starts over
+            dropped += logged + 1;
+            logged = 0;
+        }
+
+        Changes<T> changesSince(Changes<T> last) {
+            long position = dropped + logged;
+            if (last == null || last.file != this || last.position < dropped) {
+                return new Changes<>(this, position, true, null, view());
+            }
+            int from = (int) (last.position - dropped);
+            int[] rows = Arrays.copyOfRange(log, from, logged);
+            List<T> changed = new ArrayList<>(rows.length);
+            for (int row : rows) {
+                changed.add(records.get(row));
+            }
+            return new Changes<>(this, position, false, rows, changed);
+        }
+
+        private void logged(int row) {
+            if (logged == log.length) {
+                if (logged >= Math.max(MAX_LOGGED, records.size())) {
+                    dropped += logged;
+                    logged = 0;
+                } else {
+                    log = Arrays.copyOf(log, logged * 2);
+                }
+            }
+            log[logged++] = row;
+        }
+
+        private Map<String, Integer> positions() {
+            if (positions == null) {
+                positions = new HashMap<>();
+                for (int i = 0; i < records.size(); i++) {
+                    String key = DataManager.recordKey(filename, records.get(i));
+                    if (key != null) {
+                        positions.putIfAbsent(key, i);
+                    }
+                }
+            }
+            return positions;
+        }
+    }
+}
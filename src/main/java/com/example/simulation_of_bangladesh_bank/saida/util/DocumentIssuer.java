@@ -0,0 +1,330 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import com.example.simulation_of_bangladesh_bank.saida.model.LoanApplication;
+import com.example.simulation_of_bangladesh_bank.saida.model.SLRCompliance;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * DocumentIssuer - Bulk issuance of SLR compliance certificates and loan sanction letters.
+ * Eligible records (Compliant SLR filings, Approved loans) are rendered from their
+ * precompiled DocumentTemplate on a bounded worker pool and written one file per document
+ * to output/certificates and output/letters. Each directory keeps a manifest.csv of
+ * document ID, file, template fingerprint and issue time; a re-run skips every document
+ * whose fingerprint is unchanged and withdraws documents whose record is no longer eligible.
+ * A document that fails to render keeps its previous file and manifest entry, and an
+ * interrupted run withdraws nothing. Runs on the same directory are serialized.
+ */
+public class DocumentIssuer {
+
+    public static final Path CERTIFICATES_DIR = Paths.get("output", "certificates");
+    public static final Path LETTERS_DIR = Paths.get("output", "letters");
+
+    private static final String MANIFEST = "manifest.csv";
+    private static final String MANIFEST_HEADER = "documentId,file,fingerprint,issuedAt";
+
+    private static final int WORKERS = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+
+    private static final Map<Path, Object> LOCKS = new ConcurrentHashMap<>();
+
+    /**
+     * Issues a certificate for every Compliant SLR filing in slr_data.bin.
+     */
+    public static IssueSummary issueSLRCertificates() {
+        List<SLRCompliance> filings = DataRepository.get(DataManager.SLR_DATA_FILE);
+        return issue("SLR certificates", CERTIFICATES_DIR, filings,
+                s -> "Compliant".equals(s.getStatus()),
+                SLRCompliance::getComplianceId,
+                SLRCompliance.CERTIFICATE);
+    }
+
+    /**
+     * Issues a sanction letter for every Approved loan in loans.bin.
+     */
+    public static IssueSummary issueSanctionLetters() {
+        List<LoanApplication> loans = DataRepository.get(DataManager.LOANS_FILE);
+        return issue("sanction letters", LETTERS_DIR, loans,
+                l -> "Approved".equals(l.getStatus()),
+                LoanApplication::getApplicationId,
+                LoanApplication.SANCTION_LETTER);
+    }
+
+    /**
+     * Renders and writes the documents of the eligible records that are new or changed
+     * since the last run recorded in the directory's manifest.
+     */
+    public static <T> IssueSummary issue(String kind, Path directory, List<T> records, Predicate<T> eligible,
+                                         Function<T, String> documentId, DocumentTemplate<T> template) {
+        synchronized (LOCKS.computeIfAbsent(directory.toAbsolutePath().normalize(), d -> new Object())) {
+            return issueLocked(kind, directory, records, eligible, documentId, template);
+        }
+    }
+
+    private static <T> IssueSummary issueLocked(String kind, Path directory, List<T> records, Predicate<T> eligible,
+                                                Function<T, String> documentId, DocumentTemplate<T> template) {
+        long started = System.currentTimeMillis();
+        IssueSummary summary = new IssueSummary(kind, directory);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            System.err.println("Cannot create " + directory + ": " + e.getMessage());
+            summary.failed.set(records.size());
+            return summary;
+        }
+
+        Map<String, ManifestEntry> previous = readManifest(directory.resolve(MANIFEST));
+        Map<String, ManifestEntry> current = new LinkedHashMap<>();
+        Map<String, Future<ManifestEntry>> pending = new LinkedHashMap<>();
+        Set<String> seen = new HashSet<>();
+        // File name -> document ID; distinct IDs can map to the same safe file name
+        Map<String, String> owners = new HashMap<>();
+        boolean interrupted = false;
+
+        ExecutorService workers = Executors.newFixedThreadPool(WORKERS, task -> {
+            Thread thread = new Thread(task, "document-issuer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (T record : records) {
+                String id = documentId.apply(record);
+                if (id == null || !eligible.test(record) || !seen.add(id)) {
+                    continue;
+                }
+                summary.eligible++;
+                String owner = owners.putIfAbsent(fileName(id), id);
+                if (owner != null) {
+                    System.err.println("Not issuing " + kind + " for " + id + ": its file name "
+                            + fileName(id) + " is already used by " + owner);
+                    summary.failed.incrementAndGet();
+                    seen.remove(id);
+                    continue;
+                }
+                String fingerprint;
+                try {
+                    fingerprint = template.fingerprint(record);
+                } catch (RuntimeException e) {
+                    System.err.println("Error issuing " + kind + " for " + id + ": " + e.getMessage());
+                    summary.failed.incrementAndGet();
+                    continue;
+                }
+                ManifestEntry last = previous.get(id);
+                if (last != null && last.fingerprint.equals(fingerprint) && Files.exists(directory.resolve(last.file))) {
+                    current.put(id, last);
+                    summary.unchanged++;
+                    continue;
+                }
+                pending.put(id, workers.submit(() -> write(directory, id, fingerprint, template.render(record))));
+            }
+
+            for (Map.Entry<String, Future<ManifestEntry>> result : pending.entrySet()) {
+                try {
+                    ManifestEntry entry = result.getValue().get();
+                    current.put(entry.documentId, entry);
+                    summary.issued++;
+                } catch (ExecutionException e) {
+                    System.err.println("Error issuing " + kind + " for " + result.getKey() + ": " + e.getCause().getMessage());
+                    summary.failed.incrementAndGet();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            interrupted = true;
+        } finally {
+            workers.shutdownNow();
+        }
+
+        if (interrupted) {
+            // Documents not reached keep their previous entries; nothing is withdrawn
+            previous.forEach(current::putIfAbsent);
+            writeManifest(directory.resolve(MANIFEST), current);
+            summary.elapsedMillis = System.currentTimeMillis() - started;
+            return summary;
+        }
+
+        for (ManifestEntry last : previous.values()) {
+            if (current.containsKey(last.documentId)) {
+                continue;
+            }
+            if (seen.contains(last.documentId)) {
+                // Still eligible but not reissued: the previous document stays valid
+                current.put(last.documentId, last);
+            } else if (!owners.containsKey(last.file)) {
+                // Documents of records that are no longer eligible are withdrawn
+                try {
+                    Files.deleteIfExists(directory.resolve(last.file));
+                    summary.withdrawn++;
+                } catch (IOException e) {
+                    System.err.println("Cannot withdraw " + last.file + ": " + e.getMessage());
+                    current.put(last.documentId, last);
+                }
+            } else {
+                // Its file now belongs to another document, which replaced it
+                summary.withdrawn++;
+            }
+        }
+
+        writeManifest(directory.resolve(MANIFEST), current);
+        summary.elapsedMillis = System.currentTimeMillis() - started;
+        return summary;
+    }
+
+    private static ManifestEntry write(Path directory, String id, String fingerprint, String text) throws IOException {
+        String file = fileName(id);
+        Path target = directory.resolve(file);
+        Path temp = GroupCommit.newTempFile(target);
+        try {
+            Files.writeString(temp, text, StandardCharsets.UTF_8);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return new ManifestEntry(id, file, fingerprint, LocalDateTime.now().withNano(0).toString());
+    }
+
+    // Document IDs like "SLR/2024-Q3" become safe file names
+    private static String fileName(String id) {
+        return id.replaceAll("[^A-Za-z0-9._-]", "_") + ".txt";
+    }
+
+    // ==================== MANIFEST ====================
+
+    private static Map<String, ManifestEntry> readManifest(Path manifest) {
+        Map<String, ManifestEntry> entries = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(manifest, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.equals(MANIFEST_HEADER) || line.isBlank()) {
+                    continue;
+                }
+                // The document ID may contain commas; the other three columns cannot
+                int issuedAt = line.lastIndexOf(',');
+                int fingerprint = issuedAt > 0 ? line.lastIndexOf(',', issuedAt - 1) : -1;
+                int file = fingerprint > 0 ? line.lastIndexOf(',', fingerprint - 1) : -1;
+                if (file <= 0) {
+                    continue;
+                }
+                String id = line.substring(0, file);
+                entries.put(id, new ManifestEntry(id, line.substring(file + 1, fingerprint),
+                        line.substring(fingerprint + 1, issuedAt), line.substring(issuedAt + 1)));
+            }
+        } catch (NoSuchFileException e) {
+            // First run
+        } catch (IOException e) {
+            System.err.println("Cannot read " + manifest + ", reissuing all documents: " + e.getMessage());
+            entries.clear();
+        }
+        return entries;
+    }
+
+    private static void writeManifest(Path manifest, Map<String, ManifestEntry> entries) {
+        try {
+            Path temp = GroupCommit.newTempFile(manifest);
+            try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                out.write(MANIFEST_HEADER);
+                out.newLine();
+                for (ManifestEntry entry : entries.values()) {
+                    out.write(entry.documentId + "," + entry.file + "," + entry.fingerprint + "," + entry.issuedAt);
+                    out.newLine();
+                }
+            }
+            GroupCommit.commit(temp, manifest);
+        } catch (IOException e) {
+            System.err.println("Error writing " + manifest + ": " + e.getMessage());
+        }
+    }
+
+    private static class ManifestEntry {
+        final String documentId;
+        final String file;
+        final String fingerprint;
+        final String issuedAt;
+
+        ManifestEntry(String documentId, String file, String fingerprint, String issuedAt) {
+            this.documentId = documentId;
+            this.file = file;
+            this.fingerprint = fingerprint;
+            this.issuedAt = issuedAt;
+        }
+    }
+
+    // ==================== RESULT ====================
+
+    /**
+     * Counts of one issuance run.
+     */
+    public static class IssueSummary {
+        private final String kind;
+        private final Path directory;
+        private int eligible;
+        private int issued;
+        private int unchanged;
+        private int withdrawn;
+        private final AtomicInteger failed = new AtomicInteger();
+        private long elapsedMillis;
+
+        IssueSummary(String kind, Path directory) {
+            this.kind = kind;
+            this.directory = directory;
+        }
+
+        public int getEligible() {
+            return eligible;
+        }
+
+        public int getIssued() {
+            return issued;
+        }
+
+        public int getUnchanged() {
+            return unchanged;
+        }
+
+        public int getWithdrawn() {
+            return withdrawn;
+        }
+
+        public int getFailed() {
+            return failed.get();
+        }
+
+        public Path getDirectory() {
+            return directory;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d eligible %s: %d issued, %d unchanged, %d withdrawn, %d failed in %,d ms%nOutput: %s",
+                    eligible, kind, issued, unchanged, withdrawn, failed.get(), elapsedMillis,
+                    directory.toAbsolutePath());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * DocumentTemplate - Text template compiled once into literal and field segments.
+ * Placeholders are written as {fieldName} and bound to getters when the template is built,
+ * so an unknown placeholder fails at class load instead of at render time, and rendering
+ * is a single pass of appends with no parsing.
+ *
+ * Example:
+ *   new DocumentTemplate.Builder<SLRCompliance>()
+ *       .field("bankId", SLRCompliance::getBankId)
+ *       .amount("reserveHoldings", SLRCompliance::getReserveHoldings)
+ *       .compile("Bank: {bankId}\nReserves: BDT {reserveHoldings}\n");
+ */
+public class DocumentTemplate<T> {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final String[] literals;
+    private final List<Function<T, String>> fields;
+    private final int sizeHint;
+    private final long textHash;
+
+    private DocumentTemplate(String[] literals, List<Function<T, String>> fields, String text) {
+        this.literals = literals;
+        this.fields = fields;
+        this.sizeHint = text.length() + fields.size() * 16;
+        this.textHash = fnv(FNV_OFFSET, text);
+    }
+
+    public String render(T record) {
+        StringBuilder out = new StringBuilder(sizeHint);
+        out.append(literals[0]);
+        for (int i = 0; i < fields.size(); i++) {
+            out.append(fields.get(i).apply(record)).append(literals[i + 1]);
+        }
+        return out.toString();
+    }
+
+    /**
+     * 64-bit hash of the template text and every field value of the record. Two records with
+     * the same fingerprint render the same document, so it is used to skip unchanged documents.
+     */
+    public String fingerprint(T record) {
+        long hash = textHash;
+        for (Function<T, String> field : fields) {
+            hash = fnv(hash, field.apply(record));
+            hash = (hash ^ 0xff) * FNV_PRIME;
+        }
+        return Long.toHexString(hash);
+    }
+
+    private static long fnv(long hash, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    // ==================== BUILDER ====================
+
+    /**
+     * Binds placeholder names to getters, then compiles template text against them.
+     */
+    public static class Builder<T> {
+        private final Map<String, Function<T, String>> bindings = new LinkedHashMap<>();
+
+        /**
+         * Binds a placeholder to a value printed like StringBuilder.append(Object).
+         */
+        public Builder<T> field(String name, Function<T, ?> getter) {
+            bindings.put(name, record -> String.valueOf(getter.apply(record)));
+            return this;
+        }
+
+        /**
+         * Binds a placeholder to an amount printed with two decimals.
+         */
+        public Builder<T> amount(String name, ToDoubleFunction<T> getter) {
+            bindings.put(name, record -> ReportFormat.fixed2(getter.applyAsDouble(record)));
+            return this;
+        }
+
+        public DocumentTemplate<T> compile(String text) {
+            List<String> literals = new ArrayList<>();
+            List<Function<T, String>> fields = new ArrayList<>();
+            int start = 0;
+            int open;
+            while ((open = text.indexOf('{', start)) >= 0) {
+                int close = text.indexOf('}', open);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Unclosed placeholder at " + open);
+                }
+                String name = text.substring(open + 1, close);
+                Function<T, String> field = bindings.get(name);
+                if (field == null) {
+                    throw new IllegalArgumentException("No field bound for placeholder {" + name + "}");
+                }
+                literals.add(text.substring(start, open));
+                fields.add(field);
+                start = close + 1;
+            }
+            literals.add(text.substring(start));
+            return new DocumentTemplate<>(literals.toArray(new String[0]), fields, text);
+        }
+    }
+}
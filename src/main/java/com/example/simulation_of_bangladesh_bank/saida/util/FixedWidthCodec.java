@@ -0,0 +1,206 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * FixedWidthCodec - Schema describing how a record maps onto a fixed-width binary row.
+ * Numbers are stored as 8-byte doubles, dates as epoch days and text as a
+ * length-prefixed UTF-8 slot of fixed size. The first field is the record key.
+ */
+public class FixedWidthCodec<T> {
+
+    public enum FieldType { NUMBER, DATE, TEXT }
+
+    // Stored in a DATE slot when the value is null
+    private static final long NULL_DATE = Long.MIN_VALUE;
+
+    private final Supplier<T> factory;
+    private final List<Field<T>> fields = new ArrayList<>();
+    private Function<T, String> keyGetter;
+    private int recordSize = 0;
+
+    public FixedWidthCodec(Supplier<T> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Adds a text field holding at most maxBytes of UTF-8.
+     * Longer values are rejected by encode() rather than cut, since a cut key could collide.
+     */
+    public FixedWidthCodec<T> text(String name, int maxBytes,
+                                   Function<T, String> getter, BiConsumer<T, String> setter) {
+        if (fields.isEmpty()) {
+            keyGetter = getter;
+        }
+        Field<T> field = new Field<>(name, FieldType.TEXT, 2 + maxBytes,
+                (record, buf, pos) -> writeText(buf, pos, getter.apply(record)),
+                (record, buf, pos) -> setter.accept(record, readText(buf, pos)));
+        field.check = record -> checkText(name, maxBytes, getter.apply(record));
+        return addField(field);
+    }
+
+    /**
+     * Adds a numeric (double) field.
+     */
+    public FixedWidthCodec<T> number(String name, ToDoubleFunction<T> getter, ObjDoubleConsumer<T> setter) {
+        return addField(new Field<>(name, FieldType.NUMBER, Double.BYTES,
+                (record, buf, pos) -> buf.putDouble(pos, getter.applyAsDouble(record)),
+                (record, buf, pos) -> setter.accept(record, buf.getDouble(pos))));
+    }
+
+    /**
+     * Adds a date field stored as epoch days.
+     */
+    public FixedWidthCodec<T> date(String name, Function<T, LocalDate> getter, BiConsumer<T, LocalDate> setter) {
+        return addField(new Field<>(name, FieldType.DATE, Long.BYTES,
+                (record, buf, pos) -> {
+                    LocalDate date = getter.apply(record);
+                    buf.putLong(pos, date != null ? date.toEpochDay() : NULL_DATE);
+                },
+                (record, buf, pos) -> {
+                    long epochDay = buf.getLong(pos);
+                    setter.accept(record, epochDay != NULL_DATE ? LocalDate.ofEpochDay(epochDay) : null);
+                }));
+    }
+
+    public int getRecordSize() {
+        return recordSize;
+    }
+
+    /**
+     * Returns the byte offset of a field inside a row.
+     */
+    public int offsetOf(String fieldName) {
+        return field(fieldName).offset;
+    }
+
+    public FieldType typeOf(String fieldName) {
+        return field(fieldName).type;
+    }
+
+    /**
+     * Returns the key (first field) of a record.
+     */
+    public String keyOf(T record) {
+        return keyGetter != null ? keyGetter.apply(record) : null;
+    }
+
+    /**
+     * Throws IllegalArgumentException if a text value of the record does not fit its slot.
+     */
+    public void checkFits(T record) {
+        for (Field<T> field : fields) {
+            if (field.check != null) {
+                field.check.accept(record);
+            }
+        }
+    }
+
+    /**
+     * Writes a record into the buffer at the given absolute position.
+     * Throws IllegalArgumentException, before writing anything, if a text value does not fit its slot.
+     */
+    public void encode(T record, ByteBuffer buffer, int position) {
+        checkFits(record);
+        for (Field<T> field : fields) {
+            field.writer.write(record, buffer, position + field.offset);
+        }
+    }
+
+    /**
+     * Reads a record from the buffer at the given absolute position.
+     */
+    public T decode(ByteBuffer buffer, int position) {
+        T record = factory.get();
+        for (Field<T> field : fields) {
+            field.reader.read(record, buffer, position + field.offset);
+        }
+        return record;
+    }
+
+    /**
+     * Reads a text slot without materializing the rest of the row.
+     */
+    public static String readText(ByteBuffer buffer, int position) {
+        int length = buffer.getShort(position);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(position + 2 + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void checkText(String name, int maxBytes, String value) {
+        if (value != null && value.getBytes(StandardCharsets.UTF_8).length > maxBytes) {
+            throw new IllegalArgumentException(name + " is longer than " + maxBytes + " bytes: " + value);
+        }
+    }
+
+    private static void writeText(ByteBuffer buffer, int position, String value) {
+        if (value == null) {
+            buffer.putShort(position, (short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort(position, (short) bytes.length);
+        for (int i = 0; i < bytes.length; i++) {
+            buffer.put(position + 2 + i, bytes[i]);
+        }
+    }
+
+    private FixedWidthCodec<T> addField(Field<T> field) {
+        field.offset = recordSize;
+        recordSize += field.width;
+        fields.add(field);
+        return this;
+    }
+
+    private Field<T> field(String name) {
+        for (Field<T> field : fields) {
+            if (field.name.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field: " + name);
+    }
+
+    private interface Writer<T> {
+        void write(T record, ByteBuffer buffer, int position);
+    }
+
+    private interface Reader<T> {
+        void read(T record, ByteBuffer buffer, int position);
+    }
+
+    private static class Field<T> {
+        final String name;
+        final FieldType type;
+        final int width;
+        final Writer<T> writer;
+        final Reader<T> reader;
+        int offset;
+        // Rejects values that do not fit, for text fields
+        Consumer<T> check;
+
+        Field(String name, FieldType type, int width, Writer<T> writer, Reader<T> reader) {
+            this.name = name;
+            this.type = type;
+            this.width = width;
+            this.writer = writer;
+            this.reader = reader;
+        }
+    }
+}
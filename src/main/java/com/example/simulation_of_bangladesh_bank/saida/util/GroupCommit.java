@@ -0,0 +1,156 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * GroupCommit - Makes finished temp files durable and moves them over their targets.
+ * The first writer to arrive opens a batch and waits a short window; writers arriving
+ * meanwhile join it, and the whole batch is synced, renamed and made durable with one
+ * directory sync per folder. The window is set with -Dbb.io.groupCommitMs (0 syncs each
+ * write on its own).
+ */
+public class GroupCommit {
+
+    private static final long WINDOW_MS = Long.getLong("bb.io.groupCommitMs", 5);
+
+    private static Batch openBatch;
+
+    /**
+     * Syncs temp, atomically replaces target with it and waits until the rename is durable.
+     */
+    public static void commit(Path temp, Path target) throws IOException {
+        Batch batch;
+        boolean leader = false;
+        synchronized (GroupCommit.class) {
+            if (openBatch == null || WINDOW_MS <= 0) {
+                openBatch = new Batch();
+                leader = true;
+            }
+            batch = openBatch;
+            batch.entries.add(new Entry(temp, target));
+        }
+
+        if (leader) {
+            if (WINDOW_MS > 0) {
+                try {
+                    Thread.sleep(WINDOW_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            synchronized (GroupCommit.class) {
+                if (openBatch == batch) {
+                    openBatch = null;
+                }
+            }
+            batch.run();
+        }
+        batch.await(temp);
+    }
+
+    /**
+     * Creates an empty temp file next to target. Unlike Files.createTempFile it keeps the
+     * default permissions, which the target inherits once the temp file is renamed over it.
+     */
+    public static Path newTempFile(Path target) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        while (true) {
+            Path temp = directory.resolve(target.getFileName() + "." + ThreadLocalRandom.current().nextInt(1 << 30) + ".tmp");
+            try {
+                return Files.createFile(temp);
+            } catch (FileAlreadyExistsException e) {
+                // Name taken by a concurrent write, try another
+            }
+        }
+    }
+
+    private static void sync(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    // Directory syncs are not supported everywhere (e.g. Windows); the rename is still atomic there
+    static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Best effort
+        }
+    }
+
+    private static void move(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static class Entry {
+        final Path temp;
+        final Path target;
+        IOException failure;
+
+        Entry(Path temp, Path target) {
+            this.temp = temp;
+            this.target = target;
+        }
+    }
+
+    private static class Batch {
+        final List<Entry> entries = new ArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+
+        void run() {
+            List<Entry> toCommit;
+            synchronized (GroupCommit.class) {
+                toCommit = new ArrayList<>(entries);
+            }
+            Set<Path> directories = new HashSet<>();
+            for (Entry entry : toCommit) {
+                try {
+                    sync(entry.temp);
+                    move(entry.temp, entry.target);
+                    Path parent = entry.target.toAbsolutePath().getParent();
+                    if (parent != null) {
+                        directories.add(parent);
+                    }
+                } catch (IOException e) {
+                    entry.failure = e;
+                }
+            }
+            directories.forEach(GroupCommit::syncDirectory);
+            done.countDown();
+        }
+
+        void await(Path temp) throws IOException {
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while committing " + temp.getFileName());
+            }
+            synchronized (GroupCommit.class) {
+                for (Entry entry : entries) {
+                    if (entry.temp.equals(temp) && entry.failure != null) {
+                        throw entry.failure;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * IdSequence - Central source of record IDs such as "LOAN-2025-007" or "USR012".
+ * Each prefix has its own atomic counter, so IDs never collide after deletions and
+ * minting one never needs the data file. Counters are reserved ahead in blocks and
+ * only the block limits are persisted (id_sequences.bin); after a crash a sequence
+ * skips the unused rest of its block but never repeats a number.
+ */
+public class IdSequence {
+
+    public static final String SEQUENCE_FILE = "id_sequences.bin";
+
+    // Numbers reserved per sidecar write
+    private static final int BLOCK_SIZE = 1000;
+
+    private static final Map<String, Sequence> SEQUENCES = new ConcurrentHashMap<>();
+    private static Map<String, Long> persistedLimits;
+
+    /**
+     * Returns the next ID for a prefix, zero-padded to at least the given width.
+     */
+    public static String nextId(String prefix, int width) {
+        return nextId(prefix, width, null);
+    }
+
+    /**
+     * Returns the next ID for a prefix. The first time a prefix is seen, existingIds
+     * is consulted so the sequence starts above every ID already on file, even when
+     * a persisted limit exists.
+     */
+    public static String nextId(String prefix, int width, Supplier<? extends Collection<String>> existingIds) {
+        return format(prefix, width, sequenceFor(prefix, existingIds).next(1));
+    }
+
+    /**
+     * Reserves count consecutive numbers in one step, e.g. for bulk imports.
+     */
+    public static Block reserve(String prefix, int width, long count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Block size must be positive: " + count);
+        }
+        long first = sequenceFor(prefix, null).next(count);
+        return new Block(prefix, width, first, first + count);
+    }
+
+    /**
+     * Formats a sequence number the way nextId() does.
+     */
+    public static String format(String prefix, int width, long number) {
+        return prefix + String.format("%0" + width + "d", number);
+    }
+
+    private static Sequence sequenceFor(String prefix, Supplier<? extends Collection<String>> existingIds) {
+        Sequence sequence = SEQUENCES.get(prefix);
+        if (sequence != null) {
+            return sequence;
+        }
+        // Read the existing records before locking, so other prefixes never wait on the file
+        long highest = highestExisting(prefix, existingIds);
+        synchronized (IdSequence.class) {
+            sequence = SEQUENCES.get(prefix);
+            if (sequence == null) {
+                // The limit can lag records written by a build that did not persist it
+                Long limit = limits().get(prefix);
+                long start = Math.max(limit != null ? limit : 0, highest + 1);
+                sequence = new Sequence(prefix, start);
+                SEQUENCES.put(prefix, sequence);
+            }
+            return sequence;
+        }
+    }
+
+    private static long highestExisting(String prefix, Supplier<? extends Collection<String>> existingIds) {
+        long highest = 0;
+        if (existingIds == null) {
+            return highest;
+        }
+        for (String id : existingIds.get()) {
+            if (id == null || !id.startsWith(prefix)) {
+                continue;
+            }
+            try {
+                highest = Math.max(highest, Long.parseLong(id.substring(prefix.length())));
+            } catch (NumberFormatException e) {
+                // Not minted from this prefix
+            }
+        }
+        return highest;
+    }
+
+    private static synchronized Map<String, Long> limits() {
+        if (persistedLimits == null) {
+            Map<String, Long> loaded = null;
+            try {
+                loaded = DataManager.loadObjectFromFile(SEQUENCE_FILE);
+            } catch (DataFileCorruptedException e) {
+                System.err.println("ID sequences will restart from existing records: " + e.getMessage());
+            }
+            persistedLimits = loaded != null ? new HashMap<>(loaded) : new HashMap<>();
+        }
+        return persistedLimits;
+    }
+
+    private static synchronized void persistLimit(String prefix, long limit) {
+        limits().put(prefix, limit);
+        if (!DataManager.saveObjectToFile(SEQUENCE_FILE, new HashMap<>(persistedLimits))) {
+            System.err.println("Failed to save ID sequences!");
+        }
+    }
+
+    /**
+     * Counter for one prefix. next() is a single atomic add; only the thread that
+     * crosses the reserved limit takes the lock to persist a new block.
+     */
+    private static class Sequence {
+        final String prefix;
+        final AtomicLong next;
+        volatile long limit;
+
+        Sequence(String prefix, long start) {
+            this.prefix = prefix;
+            this.next = new AtomicLong(start);
+            this.limit = start;
+        }
+
+        long next(long count) {
+            long first = next.getAndAdd(count);
+            if (first + count > limit) {
+                reserveThrough(first + count);
+            }
+            return first;
+        }
+
+        private synchronized void reserveThrough(long end) {
+            if (end <= limit) {
+                return;
+            }
+            long newLimit = end + BLOCK_SIZE;
+            persistLimit(prefix, newLimit);
+            limit = newLimit;
+        }
+    }
+
+    /**
+     * A reserved range of sequence numbers, [first, end).
+     */
+    public static class Block {
+        private final String prefix;
+        private final int width;
+        private final long first;
+        private final long end;
+
+        Block(String prefix, int width, long first, long end) {
+            this.prefix = prefix;
+            this.width = width;
+            this.first = first;
+            this.end = end;
+        }
+
+        public long getFirst() {
+            return first;
+        }
+
+        public long size() {
+            return end - first;
+        }
+
+        /**
+         * Returns the ID at the given position in the block.
+         */
+        public String idAt(long index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("ID " + index + " of " + size());
+            }
+            return format(prefix, width, first + index);
+        }
+    }
+}
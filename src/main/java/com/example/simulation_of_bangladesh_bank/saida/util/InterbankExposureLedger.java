@@ -0,0 +1,170 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import com.example.simulation_of_bangladesh_bank.saida.model.InterbankOperations;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * InterbankExposureLedger - Running exposure to each interbank counterparty.
+ * Open deals add their principal to the counterparty's adder when they are booked and
+ * subtract it once when they are settled or matured, so a credit-limit check reads one
+ * adder instead of summing the whole operations history. Matured deals are aged out from
+ * a maturity-ordered heap as checks come in. Amounts are kept in paisa.
+ */
+public class InterbankExposureLedger {
+
+    private static InterbankExposureLedger shared;
+
+    private final Map<String, LongAdder> exposure = new ConcurrentHashMap<>();
+    private final Map<String, Position> open = new ConcurrentHashMap<>();
+    private final PriorityQueue<Position> byMaturity =
+            new PriorityQueue<>(Comparator.comparing((Position p) -> p.maturityDate));
+
+    /**
+     * Ledger of every open deal in interbank_operations.bin, built on first use.
+     */
+    public static synchronized InterbankExposureLedger shared() {
+        if (shared == null) {
+            shared = new InterbankExposureLedger();
+            try {
+                List<InterbankOperations> operations = DataRepository.get(DataManager.INTERBANK_FILE);
+                for (InterbankOperations operation : operations) {
+                    shared.book(operation);
+                }
+            } catch (DataFileCorruptedException e) {
+                System.err.println("Interbank exposure ledger started empty: " + e.getMessage());
+            }
+        }
+        return shared;
+    }
+
+    // ==================== UPDATES ====================
+
+    /**
+     * Books a deal's principal against its counterparty. Deals that are not active or
+     * have already matured are ignored; booking an operation ID again replaces the old entry,
+     * with one change to the exposure when the counterparty stays the same.
+     */
+    public void book(InterbankOperations operation) {
+        if (operation.getOperationId() == null || operation.getCounterpartyBank() == null) {
+            return;
+        }
+        if (!isOpen(operation, LocalDate.now())) {
+            close(operation.getOperationId());
+            return;
+        }
+
+        long amount = toPaisa(operation.getBorrowAmount() + operation.getLendingAmount());
+        Position position = new Position(operation.getOperationId(), operation.getCounterpartyBank(),
+                amount, operation.getMaturityDate());
+        Position replaced = open.put(position.operationId, position);
+        if (replaced != null && replaced.counterparty.equals(position.counterparty)
+                && replaced.released.compareAndSet(false, true)) {
+            // Readers see the old amount or the new one, never the exposure without the deal
+            exposureOf(position.counterparty).add(amount - replaced.amount);
+        } else {
+            exposureOf(position.counterparty).add(amount);
+            if (replaced != null) {
+                replaced.release();
+            }
+        }
+        if (position.maturityDate != null) {
+            synchronized (byMaturity) {
+                byMaturity.add(position);
+            }
+        }
+    }
+
+    /**
+     * Releases a settled deal's exposure.
+     */
+    public void settle(InterbankOperations operation) {
+        if (operation.getOperationId() != null) {
+            close(operation.getOperationId());
+        }
+    }
+
+    private void close(String operationId) {
+        Position position = open.remove(operationId);
+        if (position != null) {
+            position.release();
+        }
+    }
+
+    // ==================== QUERIES ====================
+
+    /**
+     * Current exposure (BDT) to a counterparty over its active, unmatured deals.
+     */
+    public double getExposure(String counterparty) {
+        ageOut(LocalDate.now());
+        LongAdder adder = exposure.get(counterparty);
+        return adder != null ? adder.sum() / 100.0 : 0;
+    }
+
+    public int getOpenPositions() {
+        return open.size();
+    }
+
+    /**
+     * Drops deals whose maturity date is before the given day. A deal still counts on
+     * its maturity date, when its repayment is due.
+     */
+    void ageOut(LocalDate today) {
+        synchronized (byMaturity) {
+            Position next;
+            while ((next = byMaturity.peek()) != null && next.maturityDate.isBefore(today)) {
+                byMaturity.poll();
+                open.remove(next.operationId, next);
+                next.release();
+            }
+        }
+    }
+
+    private LongAdder exposureOf(String counterparty) {
+        return exposure.computeIfAbsent(counterparty, c -> new LongAdder());
+    }
+
+    private static boolean isOpen(InterbankOperations operation, LocalDate today) {
+        String status = operation.getStatus();
+        if (status != null && !status.equals("Active")) {
+            return false;
+        }
+        return operation.getMaturityDate() == null || !operation.getMaturityDate().isBefore(today);
+    }
+
+    private static long toPaisa(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    /**
+     * One booked deal; its exposure is released at most once, by settlement or maturity.
+     */
+    private class Position {
+        private final String operationId;
+        private final String counterparty;
+        private final long amount;
+        private final LocalDate maturityDate;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Position(String operationId, String counterparty, long amount, LocalDate maturityDate) {
+            this.operationId = operationId;
+            this.counterparty = counterparty;
+            this.amount = amount;
+            this.maturityDate = maturityDate;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                exposureOf(counterparty).add(-amount);
+            }
+        }
+    }
+}
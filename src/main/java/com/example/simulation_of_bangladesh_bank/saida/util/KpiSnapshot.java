@@ -0,0 +1,359 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import com.example.simulation_of_bangladesh_bank.saida.model.*;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * KpiSnapshot - Columnar copies of the data files for dashboard aggregates.
+ * Each registered file is flattened into primitive columns: numbers into double[] and
+ * status-like strings into int[] codes over a small dictionary. Sums, counts and group-bys
+ * are then plain loops over arrays instead of streams over model objects.
+ * The rows written through DataRepository since the last read are applied to the columns in
+ * place; a file is only rebuilt when it was reloaded, replaced or had rows removed.
+ */
+public class KpiSnapshot {
+
+    private static final Map<String, Columns<?>> SCHEMAS = new ConcurrentHashMap<>();
+    private static final Map<String, Table> TABLES = new ConcurrentHashMap<>();
+
+    // ==================== SCHEMAS ====================
+
+    static {
+        register(DataManager.INTERBANK_FILE, new Columns<InterbankOperations>()
+                .number("borrowAmount", InterbankOperations::getBorrowAmount)
+                .number("lendingAmount", InterbankOperations::getLendingAmount)
+                .label("status", InterbankOperations::getStatus)
+                .label("counterparty", InterbankOperations::getCounterpartyBank));
+        register(DataManager.LIQUIDITY_FILE, new Columns<LiquidityManagement>()
+                .number("netPosition", LiquidityManagement::getNetPosition)
+                .number("minThreshold", LiquidityManagement::getMinThreshold));
+        register(DataManager.REVENUE_FILE, new Columns<RevenueMonitoring>()
+                // Seeded records carry collectedAmount, records entered on screen carry tax + non-tax
+                .number("collected", r -> Math.max(r.getCollectedAmount(), r.getTaxCollection() + r.getNonTaxRevenue()))
+                .number("target", r -> Math.max(r.getTargetAmount(), r.getRevenueTarget()))
+                .label("revenueType", RevenueMonitoring::getRevenueType));
+        register(DataManager.EXPENDITURE_FILE, new Columns<ExpenditureControl>()
+                .number("requestedAmount", ExpenditureControl::getRequestedAmount)
+                // Approvals made on screen are recorded as spent amount rather than approvedAmount
+                .number("approvedAmount", e -> Math.max(e.getApprovedAmount(), e.getSpentAmount()))
+                .number("disbursedAmount", ExpenditureControl::getDisbursedAmount)
+                .label("status", e -> e.getStatus() != null ? e.getStatus() : e.getApprovalStatus())
+                .label("ministry", ExpenditureControl::getMinistry));
+        register(DataManager.DEBT_FILE, new Columns<PublicDebt>()
+                .number("outstandingDebt", PublicDebt::getOutstandingDebt)
+                .label("debtType", PublicDebt::getDebtType));
+        register(DataManager.CASH_BALANCE_FILE, new Columns<GovCashBalance>()
+                .number("closingBalance", GovCashBalance::getClosingBalance)
+                .number("reportDay", c -> c.getReportDate() != null ? c.getReportDate().toEpochDay() : Long.MIN_VALUE)
+                .label("accountType", GovCashBalance::getAccountType));
+        register(DataManager.FOREIGN_AID_FILE, new Columns<ForeignAidMonitoring>()
+                .number("committedAmount", ForeignAidMonitoring::getCommittedAmount)
+                .number("disbursedAmount", ForeignAidMonitoring::getDisbursedAmount)
+                .label("utilizationStatus", ForeignAidMonitoring::getUtilizationStatus));
+        register(DataManager.REFORM_FILE, new Columns<ReformMonitoring>()
+                .number("progress", ReformMonitoring::getProgressPercentage)
+                .label("milestoneStatus", ReformMonitoring::getMilestoneStatus));
+    }
+
+    /**
+     * Declares the columns kept for a data file. Files without a schema still report their size.
+     */
+    public static <T extends Serializable> void register(String filename, Columns<T> columns) {
+        SCHEMAS.put(filename, columns);
+        TABLES.remove(filename);
+    }
+
+    /**
+     * Current columnar table of a data file, with the rows written since the last read applied.
+     * The table keeps following the file, so read the figures needed together in one go.
+     */
+    @SuppressWarnings("unchecked")
+    public static Table table(String filename) {
+        Columns<Serializable> columns = (Columns<Serializable>) SCHEMAS.getOrDefault(filename, new Columns<>());
+        Table table = TABLES.computeIfAbsent(filename, f -> new Table(columns));
+        table.refresh(filename);
+        return table;
+    }
+
+    // ==================== COLUMNS ====================
+
+    /**
+     * Column definitions of one record type.
+     */
+    public static class Columns<T> {
+        private final Map<String, ToDoubleFunction<T>> numbers = new LinkedHashMap<>();
+        private final Map<String, Function<T, String>> labels = new LinkedHashMap<>();
+
+        public Columns<T> number(String name, ToDoubleFunction<T> getter) {
+            numbers.put(name, getter);
+            return this;
+        }
+
+        public Columns<T> label(String name, Function<T, String> getter) {
+            labels.put(name, getter);
+            return this;
+        }
+
+        // Writes one row of every column; a row equal to the size is appended
+        void write(Table table, int row, T record) {
+            if (row == table.size) {
+                table.grow();
+            }
+            for (Map.Entry<String, ToDoubleFunction<T>> column : numbers.entrySet()) {
+                table.numbers.get(column.getKey())[row] = column.getValue().applyAsDouble(record);
+            }
+            for (Map.Entry<String, Function<T, String>> column : labels.entrySet()) {
+                table.labels.get(column.getKey()).set(row, row == table.size, column.getValue().apply(record));
+            }
+            if (row == table.size) {
+                table.size++;
+            }
+        }
+    }
+
+    /**
+     * Dictionary-encoded string column; null is stored as the empty label.
+     * Labels no row uses any more (after updates) keep their code but are not reported.
+     */
+    private static class LabelColumn {
+        int[] codes;
+        final List<String> dictionary = new ArrayList<>();
+        final Map<String, Integer> codeOf = new HashMap<>();
+        // Rows per code
+        int[] uses = new int[8];
+
+        LabelColumn(int capacity) {
+            codes = new int[capacity];
+        }
+
+        void set(int row, boolean added, String label) {
+            if (!added) {
+                uses[codes[row]]--;
+            }
+            int code = encode(label);
+            codes[row] = code;
+            uses[code]++;
+        }
+
+        int encode(String label) {
+            String key = label != null ? label : "";
+            Integer code = codeOf.get(key);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(key);
+                codeOf.put(key, code);
+                if (code == uses.length) {
+                    uses = Arrays.copyOf(uses, code * 2);
+                }
+            }
+            return code;
+        }
+
+        // Per-code match flags for a set of labels; unknown labels match nothing
+        boolean[] matching(String... labels) {
+            boolean[] match = new boolean[dictionary.size()];
+            for (String label : labels) {
+                Integer code = codeOf.get(label);
+                if (code != null) {
+                    match[code] = true;
+                }
+            }
+            return match;
+        }
+    }
+
+    // ==================== AGGREGATION ====================
+
+    /**
+     * Columnar copy of one data file, kept up to date by table(). Guarded by its own monitor.
+     */
+    public static class Table {
+        private final Columns<Serializable> columns;
+        private final Map<String, double[]> numbers = new HashMap<>();
+        private final Map<String, LabelColumn> labels = new HashMap<>();
+        private DataRepository.Changes<Serializable> seen;
+        private int size;
+
+        Table(Columns<Serializable> columns) {
+            this.columns = columns;
+            reset(0);
+        }
+
+        public synchronized int size() {
+            return size;
+        }
+
+        public synchronized double sum(String column) {
+            double[] values = number(column);
+            double total = 0;
+            for (int row = 0; row < size; row++) {
+                total += values[row];
+            }
+            return total;
+        }
+
+        /**
+         * Sum of a number column over the rows whose label is one of the given values.
+         */
+        public synchronized double sum(String column, String label, String... values) {
+            double[] numbers = number(column);
+            LabelColumn labelColumn = label(label);
+            boolean[] match = labelColumn.matching(values);
+            int[] codes = labelColumn.codes;
+            double total = 0;
+            for (int row = 0; row < size; row++) {
+                if (match[codes[row]]) {
+                    total += numbers[row];
+                }
+            }
+            return total;
+        }
+
+        public synchronized double average(String column) {
+            return size() > 0 ? sum(column) / size() : 0;
+        }
+
+        /**
+         * Number of rows whose label is one of the given values.
+         */
+        public synchronized int count(String label, String... values) {
+            LabelColumn labelColumn = label(label);
+            boolean[] match = labelColumn.matching(values);
+            int count = 0;
+            for (int code = 0; code < match.length; code++) {
+                if (match[code]) {
+                    count += labelColumn.uses[code];
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Row counts per distinct label, in first-seen order.
+         */
+        public synchronized Map<String, Integer> countBy(String label) {
+            LabelColumn labelColumn = label(label);
+            Map<String, Integer> result = new LinkedHashMap<>();
+            for (int code = 0; code < labelColumn.dictionary.size(); code++) {
+                if (labelColumn.uses[code] > 0) {
+                    result.put(labelColumn.dictionary.get(code), labelColumn.uses[code]);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Sums of a number column per distinct label, in first-seen order.
+         */
+        public synchronized Map<String, Double> sumBy(String label, String column) {
+            LabelColumn labelColumn = label(label);
+            double[] numbers = number(column);
+            double[] sums = new double[labelColumn.dictionary.size()];
+            int[] codes = labelColumn.codes;
+            for (int row = 0; row < size; row++) {
+                sums[codes[row]] += numbers[row];
+            }
+            Map<String, Double> result = new LinkedHashMap<>();
+            for (int code = 0; code < sums.length; code++) {
+                if (labelColumn.uses[code] > 0) {
+                    result.put(labelColumn.dictionary.get(code), sums[code]);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Row with the largest value in a column (the first one on ties), or -1 if empty.
+         */
+        public synchronized int maxRow(String column) {
+            double[] numbers = number(column);
+            int best = -1;
+            for (int row = 0; row < size; row++) {
+                if (best < 0 || numbers[row] > numbers[best]) {
+                    best = row;
+                }
+            }
+            return best;
+        }
+
+        public synchronized double value(String column, int row) {
+            checkRow(row);
+            return number(column)[row];
+        }
+
+        public synchronized String labelAt(String label, int row) {
+            checkRow(row);
+            LabelColumn labelColumn = label(label);
+            return labelColumn.dictionary.get(labelColumn.codes[row]);
+        }
+
+        // Applies the rows written since the last refresh, or rebuilds if the file started over
+        synchronized void refresh(String filename) {
+            DataRepository.Changes<Serializable> changes = DataRepository.changesSince(filename, seen);
+            if (changes.isFull()) {
+                reset(changes.size());
+            }
+            for (int i = 0; i < changes.size(); i++) {
+                columns.write(this, changes.isFull() ? i : changes.rowAt(i), changes.recordAt(i));
+            }
+            seen = changes;
+        }
+
+        private void reset(int capacity) {
+            size = 0;
+            for (String column : columns.numbers.keySet()) {
+                numbers.put(column, new double[capacity]);
+            }
+            for (String column : columns.labels.keySet()) {
+                labels.put(column, new LabelColumn(capacity));
+            }
+        }
+
+        // Doubles every column when the next append would not fit
+        private void grow() {
+            int capacity = Math.max(16, size * 2);
+            for (Map.Entry<String, double[]> column : numbers.entrySet()) {
+                if (column.getValue().length == size) {
+                    column.setValue(Arrays.copyOf(column.getValue(), capacity));
+                }
+            }
+            for (LabelColumn column : labels.values()) {
+                if (column.codes.length == size) {
+                    column.codes = Arrays.copyOf(column.codes, capacity);
+                }
+            }
+        }
+
+        private void checkRow(int row) {
+            if (row < 0 || row >= size) {
+                throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+            }
+        }
+
+        private double[] number(String column) {
+            double[] values = numbers.get(column);
+            if (values == null) {
+                throw new IllegalArgumentException("No number column '" + column + "'");
+            }
+            return values;
+        }
+
+        private LabelColumn label(String label) {
+            LabelColumn column = labels.get(label);
+            if (column == null) {
+                throw new IllegalArgumentException("No label column '" + label + "'");
+            }
+            return column;
+        }
+    }
+}
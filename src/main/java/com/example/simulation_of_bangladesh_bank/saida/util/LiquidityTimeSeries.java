@@ -0,0 +1,568 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import com.example.simulation_of_bangladesh_bank.saida.model.LiquidityManagement;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * LiquidityTimeSeries - Daily liquidity history per bank with rolling forecasts.
+ * Every bank (and the total over all banks) has one point per report day, holding the day's
+ * inflows, outflows and net position. Days and amounts (in paisa) are stored as zigzag varint
+ * deltas from the previous day in a growable byte array, so years of daily history take a
+ * few bytes per day. Several records for the same day are added up into one point.
+ *
+ * Moving averages and exponential smoothing of each measure are updated as each day is
+ * appended, and kept per day, so charting the history never recomputes them. A record for
+ * a day before the latest one rebuilds that one series.
+ *
+ * The series follow liquidity_management.bin through DataRepository: records written since
+ * the last use are added when shared() is next called, and a record that was edited or
+ * deleted rebuilds the series it belonged to.
+ */
+public class LiquidityTimeSeries {
+
+    public static final String ALL_BANKS = "All Banks";
+
+    // Smoothing factor of a 20-day exponential moving average
+    private static final double EWMA_ALPHA = 2.0 / (20 + 1);
+
+    private static LiquidityTimeSeries shared;
+
+    private final Map<String, Series> seriesByBank = new TreeMap<>();
+    // What each record added, by liquidity ID (or "#row" for records without one)
+    private final Map<String, Point> points = new HashMap<>();
+    private DataRepository.Changes<LiquidityManagement> seen;
+
+    /**
+     * Measures kept for every day.
+     */
+    public enum Measure {
+        INFLOWS, OUTFLOWS, NET_POSITION
+    }
+
+    /**
+     * Forecasts of the next day's value, updated as days are appended.
+     */
+    public enum Forecast {
+        MOVING_AVERAGE_7("7-day average"),
+        MOVING_AVERAGE_30("30-day average"),
+        EXPONENTIAL("Exponential smoothing");
+
+        private final String label;
+
+        Forecast(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * Store built from liquidity_management.bin on first use, with the records written
+     * since the last call applied. Reads the file, so call it off the FX thread.
+     */
+    public static synchronized LiquidityTimeSeries shared() {
+        if (shared == null) {
+            shared = new LiquidityTimeSeries();
+        }
+        try {
+            shared.refresh();
+        } catch (DataFileCorruptedException e) {
+            System.err.println("Liquidity history unavailable: " + e.getMessage());
+        }
+        return shared;
+    }
+
+    private synchronized void refresh() {
+        DataRepository.Changes<LiquidityManagement> changes =
+                DataRepository.changesSince(DataManager.LIQUIDITY_FILE, seen);
+        Map<String, Point> written = new LinkedHashMap<>();
+        for (int i = 0; i < changes.size(); i++) {
+            LiquidityManagement record = changes.recordAt(i);
+            int row = changes.isFull() ? i : changes.rowAt(i);
+            String key = record.getLiquidityId() != null ? record.getLiquidityId() : "#" + row;
+            // In a full read the first record wins for duplicate IDs, as in the journal;
+            // otherwise a later write of the same record is the newer one
+            if (!changes.isFull() || !written.containsKey(key)) {
+                written.put(key, Point.of(record));
+            }
+        }
+        Set<String> removed = new HashSet<>();
+        if (changes.isFull()) {
+            for (String key : points.keySet()) {
+                if (!written.containsKey(key)) {
+                    removed.add(key);
+                }
+            }
+        }
+        apply(written, removed);
+        seen = changes;
+    }
+
+    // New records are appended; edited or deleted ones rebuild the series they touched
+    private void apply(Map<String, Point> written, Set<String> removed) {
+        Set<String> rebuild = new HashSet<>();
+        List<Point> added = new ArrayList<>();
+        for (String key : removed) {
+            Point old = points.remove(key);
+            if (old != null) {
+                rebuild.add(old.bankId);
+            }
+        }
+        for (Map.Entry<String, Point> entry : written.entrySet()) {
+            Point point = entry.getValue();
+            Point old = point != null ? points.put(entry.getKey(), point) : points.remove(entry.getKey());
+            if (old == null) {
+                if (point != null) {
+                    added.add(point);
+                }
+            } else if (!old.equals(point)) {
+                rebuild.add(old.bankId);
+                if (point != null) {
+                    rebuild.add(point.bankId);
+                }
+            }
+        }
+
+        if (!rebuild.isEmpty()) {
+            rebuild.add(ALL_BANKS);
+            rebuild(rebuild);
+            added.removeIf(point -> rebuild.contains(point.bankId));
+        }
+        added.sort(Comparator.comparingLong(point -> point.day));
+        for (Point point : added) {
+            seriesByBank.computeIfAbsent(point.bankId, id -> new Series()).add(point.day, point.inflows, point.outflows);
+            if (!rebuild.contains(ALL_BANKS)) {
+                seriesByBank.computeIfAbsent(ALL_BANKS, id -> new Series()).add(point.day, point.inflows, point.outflows);
+            }
+        }
+    }
+
+    // Builds the given series again, in date order, from the points recorded for them
+    private void rebuild(Set<String> bankIds) {
+        List<Point> ordered = new ArrayList<>(points.values());
+        ordered.sort(Comparator.comparingLong(point -> point.day));
+        for (String bankId : bankIds) {
+            seriesByBank.remove(bankId);
+        }
+        for (Point point : ordered) {
+            if (bankIds.contains(point.bankId)) {
+                seriesByBank.computeIfAbsent(point.bankId, id -> new Series()).add(point.day, point.inflows, point.outflows);
+            }
+            if (bankIds.contains(ALL_BANKS)) {
+                seriesByBank.computeIfAbsent(ALL_BANKS, id -> new Series()).add(point.day, point.inflows, point.outflows);
+            }
+        }
+    }
+
+    public synchronized Set<String> getBankIds() {
+        return Set.copyOf(seriesByBank.keySet());
+    }
+
+    /**
+     * The last days of a bank's history with the forecasts made on each day; an empty
+     * history if the bank has no records.
+     */
+    public synchronized History history(String bankId, int lastDays) {
+        Series series = seriesByBank.get(bankId);
+        if (series == null) {
+            return new History(0);
+        }
+        return series.history(Math.max(0, series.size() - lastDays));
+    }
+
+    /**
+     * Forecast of a bank's next-day value, or 0 if the bank has no records.
+     */
+    public synchronized double forecast(String bankId, Measure measure, Forecast forecast) {
+        Series series = seriesByBank.get(bankId);
+        return series != null && series.size() > 0 ? series.forecasts[measure.ordinal()][forecast.ordinal()].last() : 0;
+    }
+
+    private static long toPaisa(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    // ==================== SERIES ====================
+
+    /**
+     * What one record adds to its bank's series: its day and amounts in paisa.
+     */
+    private static class Point {
+        final String bankId;
+        final long day;
+        final long inflows;
+        final long outflows;
+
+        private Point(String bankId, long day, long inflows, long outflows) {
+            this.bankId = bankId;
+            this.day = day;
+            this.inflows = inflows;
+            this.outflows = outflows;
+        }
+
+        // Null for a record without a report date, which is not charted
+        static Point of(LiquidityManagement record) {
+            if (record.getReportDate() == null) {
+                return null;
+            }
+            return new Point(record.getBankId() != null ? record.getBankId() : "Unknown",
+                    record.getReportDate().toEpochDay(),
+                    toPaisa(record.getCashInflows()), toPaisa(record.getCashOutflows()));
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Point)) {
+                return false;
+            }
+            Point point = (Point) other;
+            return bankId.equals(point.bankId) && day == point.day
+                    && inflows == point.inflows && outflows == point.outflows;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(bankId, day, inflows, outflows);
+        }
+    }
+
+    private static class Series {
+        private final DeltaColumn days = new DeltaColumn();
+        private final DeltaColumn inflows = new DeltaColumn();
+        private final DeltaColumn outflows = new DeltaColumn();
+        // forecasts[measure][forecast]
+        private final Forecaster[][] forecasts = new Forecaster[Measure.values().length][];
+
+        Series() {
+            for (int m = 0; m < forecasts.length; m++) {
+                forecasts[m] = new Forecaster[]{new MovingAverage(7), new MovingAverage(30), new Exponential(EWMA_ALPHA)};
+            }
+        }
+
+        int size() {
+            return days.size();
+        }
+
+        void add(long day, long dayInflows, long dayOutflows) {
+            int size = size();
+            long lastDay = size > 0 ? days.last() : Long.MIN_VALUE;
+            if (day > lastDay) {
+                days.append(day);
+                inflows.append(dayInflows);
+                outflows.append(dayOutflows);
+                update(false);
+            } else if (day == lastDay) {
+                inflows.replaceLast(inflows.last() + dayInflows);
+                outflows.replaceLast(outflows.last() + dayOutflows);
+                update(true);
+            } else {
+                insertEarlier(day, dayInflows, dayOutflows);
+            }
+        }
+
+        private void update(boolean sameDay) {
+            double[] values = {inflows.last() / 100.0, outflows.last() / 100.0,
+                    (inflows.last() - outflows.last()) / 100.0};
+            for (int m = 0; m < values.length; m++) {
+                for (Forecaster forecaster : forecasts[m]) {
+                    if (sameDay) {
+                        forecaster.replaceLast(values[m]);
+                    } else {
+                        forecaster.add(values[m]);
+                    }
+                }
+            }
+        }
+
+        // Late record for an earlier day: decode, merge and append everything again
+        private void insertEarlier(long day, long dayInflows, long dayOutflows) {
+            long[] oldDays = days.toArray(0);
+            long[] oldInflows = inflows.toArray(0);
+            long[] oldOutflows = outflows.toArray(0);
+            Series rebuilt = new Series();
+            boolean inserted = false;
+            for (int i = 0; i < oldDays.length; i++) {
+                if (!inserted && day <= oldDays[i]) {
+                    rebuilt.add(day, dayInflows, dayOutflows);
+                    inserted = true;
+                }
+                rebuilt.add(oldDays[i], oldInflows[i], oldOutflows[i]);
+            }
+            days.copyFrom(rebuilt.days);
+            inflows.copyFrom(rebuilt.inflows);
+            outflows.copyFrom(rebuilt.outflows);
+            for (int m = 0; m < forecasts.length; m++) {
+                System.arraycopy(rebuilt.forecasts[m], 0, forecasts[m], 0, forecasts[m].length);
+            }
+        }
+
+        History history(int from) {
+            int count = size() - from;
+            History history = new History(count);
+            long[] dayValues = days.toArray(from);
+            long[] in = inflows.toArray(from);
+            long[] out = outflows.toArray(from);
+            for (int i = 0; i < count; i++) {
+                history.days[i] = LocalDate.ofEpochDay(dayValues[i]);
+                history.values[Measure.INFLOWS.ordinal()][i] = in[i] / 100.0;
+                history.values[Measure.OUTFLOWS.ordinal()][i] = out[i] / 100.0;
+                history.values[Measure.NET_POSITION.ordinal()][i] = (in[i] - out[i]) / 100.0;
+            }
+            for (int m = 0; m < forecasts.length; m++) {
+                for (int f = 0; f < forecasts[m].length; f++) {
+                    history.forecasts[m][f] = forecasts[m][f].copy(from, count);
+                }
+            }
+            return history;
+        }
+    }
+
+    /**
+     * Long values stored as zigzag varint deltas from the previous value. Every 64th value
+     * records its byte offset and the value before it, so reading from any index decodes at
+     * most 63 values before it.
+     */
+    private static class DeltaColumn {
+        private static final int CHECKPOINT_SHIFT = 6;
+
+        private byte[] bytes = new byte[64];
+        private int length;
+        private int size;
+        private long last;
+        private long previous;
+        private int lastOffset;
+        private int[] checkpointOffsets = new int[4];
+        private long[] checkpointBases = new long[4];
+
+        int size() {
+            return size;
+        }
+
+        long last() {
+            return last;
+        }
+
+        void append(long value) {
+            if ((size & ((1 << CHECKPOINT_SHIFT) - 1)) == 0) {
+                int checkpoint = size >> CHECKPOINT_SHIFT;
+                if (checkpoint == checkpointOffsets.length) {
+                    checkpointOffsets = Arrays.copyOf(checkpointOffsets, checkpoint * 2);
+                    checkpointBases = Arrays.copyOf(checkpointBases, checkpoint * 2);
+                }
+                checkpointOffsets[checkpoint] = length;
+                checkpointBases[checkpoint] = last;
+            }
+            previous = last;
+            lastOffset = length;
+            writeVarint(zigzag(value - last));
+            last = value;
+            size++;
+        }
+
+        void replaceLast(long value) {
+            length = lastOffset;
+            size--;
+            last = previous;
+            append(value);
+        }
+
+        long[] toArray(int from) {
+            long[] values = new long[size - from];
+            if (values.length == 0) {
+                return values;
+            }
+            int checkpoint = from >> CHECKPOINT_SHIFT;
+            int[] offset = {checkpointOffsets[checkpoint]};
+            long value = checkpointBases[checkpoint];
+            for (int i = checkpoint << CHECKPOINT_SHIFT; i < size; i++) {
+                value += unzigzag(readVarint(offset));
+                if (i >= from) {
+                    values[i - from] = value;
+                }
+            }
+            return values;
+        }
+
+        void copyFrom(DeltaColumn other) {
+            bytes = other.bytes;
+            length = other.length;
+            size = other.size;
+            last = other.last;
+            previous = other.previous;
+            lastOffset = other.lastOffset;
+            checkpointOffsets = other.checkpointOffsets;
+            checkpointBases = other.checkpointBases;
+        }
+
+        private void writeVarint(long value) {
+            if (length + 10 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            while ((value & ~0x7FL) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        private long readVarint(int[] offset) {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[offset[0]++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        private static long zigzag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+
+        private static long unzigzag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+
+    // ==================== FORECASTS ====================
+
+    /**
+     * Forecast of the next value made after each value is added; forecast i is made on day i.
+     */
+    private abstract static class Forecaster {
+        private double[] forecasts = new double[16];
+        private int size;
+
+        abstract double next(double value);
+
+        abstract double redoLast(double value);
+
+        void add(double value) {
+            if (size == forecasts.length) {
+                forecasts = Arrays.copyOf(forecasts, size * 2);
+            }
+            forecasts[size++] = next(value);
+        }
+
+        // The last day's value changed: undo its effect and add the new value instead
+        void replaceLast(double value) {
+            forecasts[size - 1] = redoLast(value);
+        }
+
+        double last() {
+            return forecasts[size - 1];
+        }
+
+        double[] copy(int from, int count) {
+            return Arrays.copyOfRange(forecasts, from, from + count);
+        }
+    }
+
+    private static class MovingAverage extends Forecaster {
+        private final double[] window;
+        private int count;
+        private double sum;
+
+        MovingAverage(int days) {
+            window = new double[days];
+        }
+
+        @Override
+        double next(double value) {
+            int slot = count % window.length;
+            if (count >= window.length) {
+                sum -= window[slot];
+            }
+            window[slot] = value;
+            sum += value;
+            count++;
+            return sum / Math.min(count, window.length);
+        }
+
+        @Override
+        double redoLast(double value) {
+            int slot = (count - 1) % window.length;
+            sum += value - window[slot];
+            window[slot] = value;
+            return sum / Math.min(count, window.length);
+        }
+    }
+
+    private static class Exponential extends Forecaster {
+        private final double alpha;
+        private double level;
+        private double levelBefore;
+        private int count;
+
+        Exponential(double alpha) {
+            this.alpha = alpha;
+        }
+
+        // The first value starts the level as is
+        @Override
+        double next(double value) {
+            levelBefore = level;
+            count++;
+            return redoLast(value);
+        }
+
+        @Override
+        double redoLast(double value) {
+            level = count == 1 ? value : alpha * value + (1 - alpha) * levelBefore;
+            return level;
+        }
+    }
+
+    // ==================== HISTORY ====================
+
+    /**
+     * Copy of a stretch of one series for charting: per day the three measures and the
+     * forecasts made on that day for the next day.
+     */
+    public static class History {
+        private final LocalDate[] days;
+        private final double[][] values;
+        private final double[][][] forecasts;
+
+        History(int size) {
+            days = new LocalDate[size];
+            values = new double[Measure.values().length][size];
+            forecasts = new double[Measure.values().length][Forecast.values().length][];
+            for (double[][] measure : forecasts) {
+                Arrays.fill(measure, new double[size]);
+            }
+        }
+
+        public int size() {
+            return days.length;
+        }
+
+        public LocalDate getDay(int i) {
+            return days[i];
+        }
+
+        public double getValue(Measure measure, int i) {
+            return values[measure.ordinal()][i];
+        }
+
+        public double getForecast(Measure measure, Forecast forecast, int i) {
+            return forecasts[measure.ordinal()][forecast.ordinal()][i];
+        }
+    }
+}
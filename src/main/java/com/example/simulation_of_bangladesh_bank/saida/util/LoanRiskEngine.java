@@ -0,0 +1,158 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import com.example.simulation_of_bangladesh_bank.saida.model.LoanApplication;
+import com.example.simulation_of_bangladesh_bank.saida.model.LoanApplication.RiskLevel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * LoanRiskEngine - Scores a whole loan book in parallel with the LoanApplication.assessRisk rules.
+ * Each loan's rating points, risk band and collateral coverage are written into primitive
+ * columns by row number, and portfolio aggregates are summed from those columns. No report
+ * text is built while scoring.
+ */
+public class LoanRiskEngine {
+
+    private static final RiskLevel[] BANDS = RiskLevel.values();
+
+    /**
+     * Scores the given loans; row i of the result is loans.get(i).
+     */
+    public static PortfolioRisk assess(List<LoanApplication> loans) {
+        List<LoanApplication> book = new ArrayList<>(loans);
+        int size = book.size();
+        PortfolioRisk risk = new PortfolioRisk(book);
+
+        IntStream.range(0, size).parallel().forEach(row -> {
+            LoanApplication loan = book.get(row);
+            int points = loan.getRiskPoints();
+            risk.scores[row] = (byte) points;
+            risk.bands[row] = (byte) RiskLevel.ofScore(points).ordinal();
+            risk.coverage[row] = loan.getCollateralCoverage();
+            risk.exposure[row] = loan.getExposure();
+            risk.collateral[row] = loan.getCollateralValue();
+        });
+
+        for (int row = 0; row < size; row++) {
+            int band = risk.bands[row];
+            risk.countByBand[band]++;
+            risk.exposureByBand[band] += risk.exposure[row];
+            risk.totalExposure += risk.exposure[row];
+            risk.totalCollateral += risk.collateral[row];
+            risk.collateralShortfall += Math.max(0, risk.exposure[row] - risk.collateral[row]);
+        }
+        return risk;
+    }
+
+    /**
+     * Columnar scoring result of a loan book plus portfolio aggregates.
+     */
+    public static class PortfolioRisk {
+        private final List<LoanApplication> loans;
+        private final byte[] scores;
+        private final byte[] bands;
+        private final double[] coverage;
+        private final double[] exposure;
+        private final double[] collateral;
+
+        private final int[] countByBand = new int[BANDS.length];
+        private final double[] exposureByBand = new double[BANDS.length];
+        private double totalExposure;
+        private double totalCollateral;
+        private double collateralShortfall;
+
+        PortfolioRisk(List<LoanApplication> loans) {
+            int size = loans.size();
+            this.loans = loans;
+            this.scores = new byte[size];
+            this.bands = new byte[size];
+            this.coverage = new double[size];
+            this.exposure = new double[size];
+            this.collateral = new double[size];
+        }
+
+        public int size() {
+            return loans.size();
+        }
+
+        public LoanApplication getLoan(int row) {
+            return loans.get(row);
+        }
+
+        /**
+         * Combined rating points, 0 (worst) to 9 (best).
+         */
+        public int getScore(int row) {
+            return scores[row];
+        }
+
+        public RiskLevel getBand(int row) {
+            return BANDS[bands[row]];
+        }
+
+        /**
+         * Collateral coverage in percent of the exposure.
+         */
+        public double getCoverage(int row) {
+            return coverage[row];
+        }
+
+        public double getExposure(int row) {
+            return exposure[row];
+        }
+
+        public int getCount(RiskLevel band) {
+            return countByBand[band.ordinal()];
+        }
+
+        public double getExposure(RiskLevel band) {
+            return exposureByBand[band.ordinal()];
+        }
+
+        public double getTotalExposure() {
+            return totalExposure;
+        }
+
+        /**
+         * Portfolio collateral coverage: total collateral over total exposure, in percent.
+         */
+        public double getPortfolioCoverage() {
+            return totalExposure > 0 ? totalCollateral / totalExposure * 100 : 0;
+        }
+
+        /**
+         * Exposure not backed by collateral, summed loan by loan.
+         */
+        public double getCollateralShortfall() {
+            return collateralShortfall;
+        }
+
+        /**
+         * Rows ordered from riskiest (lowest score, then largest exposure), at most limit rows.
+         * One pass keeps the riskiest rows seen so far in a small sorted array, so only rows
+         * riskier than the current last one cost more than a comparison.
+         */
+        public int[] riskiestRows(int limit) {
+            int[] top = new int[Math.max(0, Math.min(limit, size()))];
+            int count = 0;
+            for (int row = 0; row < size(); row++) {
+                if (count == top.length && (count == 0 || !riskier(row, top[count - 1]))) {
+                    continue;
+                }
+                int at = count < top.length ? count++ : count - 1;
+                while (at > 0 && riskier(row, top[at - 1])) {
+                    top[at] = top[at - 1];
+                    at--;
+                }
+                top[at] = row;
+            }
+            return top;
+        }
+
+        private boolean riskier(int a, int b) {
+            return scores[a] != scores[b] ? scores[a] < scores[b] : exposure[a] > exposure[b];
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoublePredicate;
+
+/**
+ * MappedRecordStore - Memory-mapped file of fixed-width rows described by a FixedWidthCodec.
+ * Rows can be read by index, appended in O(1) and scanned column-wise straight
+ * from the mapping without deserializing whole records.
+ *
+ * File layout: [magic int][record size int][record count long] followed by the rows.
+ */
+public class MappedRecordStore<T> implements AutoCloseable {
+
+    // "BBFW" - Bangladesh Bank fixed-width
+    static final int MAGIC = 0x42424657;
+    private static final int HEADER_SIZE = 16;
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final File file;
+    private final FixedWidthCodec<T> codec;
+    private final int recordSize;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int count;
+    private int capacity;
+
+    private MappedRecordStore(File file, FixedWidthCodec<T> codec) {
+        this.file = file;
+        this.codec = codec;
+        this.recordSize = codec.getRecordSize();
+    }
+
+    /**
+     * Opens (or creates) a store file for the given codec.
+     */
+    public static <T> MappedRecordStore<T> open(File file, FixedWidthCodec<T> codec) throws IOException {
+        MappedRecordStore<T> store = new MappedRecordStore<>(file, codec);
+        store.channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (store.channel.size() < HEADER_SIZE) {
+            store.remap(INITIAL_CAPACITY);
+            store.writeHeader();
+        } else {
+            int rows = (int) ((store.channel.size() - HEADER_SIZE) / store.recordSize);
+            store.remap(Math.max(rows, INITIAL_CAPACITY));
+            if (store.buffer.getInt(0) != MAGIC || store.buffer.getInt(4) != store.recordSize) {
+                store.close();
+                throw new IOException("Not a fixed-width record file for this schema: " + file.getName());
+            }
+            store.count = (int) store.buffer.getLong(8);
+        }
+        return store;
+    }
+
+    /**
+     * Checks whether a file starts with the fixed-width header.
+     */
+    public static boolean isFixedWidthFile(File file) {
+        if (!file.exists() || file.length() < HEADER_SIZE) {
+            return false;
+        }
+        try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return ch.map(FileChannel.MapMode.READ_ONLY, 0, 4).getInt(0) == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    public FixedWidthCodec<T> getCodec() {
+        return codec;
+    }
+
+    /**
+     * Reads the record at the given index.
+     */
+    public synchronized T get(int index) {
+        checkIndex(index);
+        return codec.decode(buffer, rowOffset(index));
+    }
+
+    /**
+     * Reads the records in [from, to), clipped to the current size.
+     */
+    public synchronized List<T> read(int from, int to) {
+        to = Math.min(to, count);
+        List<T> records = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            records.add(codec.decode(buffer, rowOffset(i)));
+        }
+        return records;
+    }
+
+    /**
+     * Overwrites the record at the given index in place.
+     */
+    public synchronized void set(int index, T record) {
+        checkIndex(index);
+        codec.encode(record, buffer, rowOffset(index));
+    }
+
+    /**
+     * Appends a record at the end of the file.
+     */
+    public synchronized void append(T record) throws IOException {
+        if (count == capacity) {
+            remap(capacity * 2);
+        }
+        codec.encode(record, buffer, rowOffset(count));
+        count++;
+        writeHeader();
+    }
+
+    /**
+     * Grows the file to hold at least the given number of records, so a bulk load of a known
+     * size maps the file once instead of doubling it along the way.
+     */
+    public synchronized void ensureCapacity(int records) throws IOException {
+        if (records > capacity) {
+            remap(records);
+        }
+    }
+
+    /**
+     * Finds the index of the record with the given key, or -1.
+     */
+    public synchronized int indexOf(String key) {
+        for (int i = 0; i < count; i++) {
+            if (key.equals(FixedWidthCodec.readText(buffer, rowOffset(i)))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reads the key column of every record without decoding the rows.
+     */
+    public synchronized List<String> keys() {
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            keys.add(FixedWidthCodec.readText(buffer, rowOffset(i)));
+        }
+        return keys;
+    }
+
+    /**
+     * Finds the indexes of all records whose text column equals the value,
+     * comparing the stored bytes without decoding the rows.
+     */
+    public synchronized int[] indexesOf(String field, String value) {
+        if (codec.typeOf(field) != FixedWidthCodec.FieldType.TEXT) {
+            throw new IllegalArgumentException(field + " is not a text column");
+        }
+        byte[] wanted = value.getBytes(StandardCharsets.UTF_8);
+        int offset = codec.offsetOf(field);
+        int[] matches = new int[16];
+        int found = 0;
+        for (int i = 0, pos = HEADER_SIZE + offset; i < count; i++, pos += recordSize) {
+            if (buffer.getShort(pos) != wanted.length) {
+                continue;
+            }
+            int b = 0;
+            while (b < wanted.length && buffer.get(pos + 2 + b) == wanted[b]) {
+                b++;
+            }
+            if (b == wanted.length) {
+                if (found == matches.length) {
+                    matches = Arrays.copyOf(matches, found * 2);
+                }
+                matches[found++] = i;
+            }
+        }
+        return Arrays.copyOf(matches, found);
+    }
+
+    /**
+     * Replaces every record in the file.
+     */
+    public synchronized void rewrite(List<T> records) throws IOException {
+        // Rejected before the first row is overwritten
+        for (T record : records) {
+            codec.checkFits(record);
+        }
+        remap(Math.max(records.size(), INITIAL_CAPACITY));
+        for (int i = 0; i < records.size(); i++) {
+            codec.encode(records.get(i), buffer, rowOffset(i));
+        }
+        count = records.size();
+        writeHeader();
+        channel.truncate(HEADER_SIZE + (long) capacity * recordSize);
+    }
+
+    /**
+     * Decodes every record into a list.
+     */
+    public synchronized List<T> readAll() {
+        List<T> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            records.add(codec.decode(buffer, rowOffset(i)));
+        }
+        return records;
+    }
+
+    /**
+     * Sums a numeric column directly from the mapping.
+     */
+    public double sum(String field) {
+        return sum(field, null, null);
+    }
+
+    /**
+     * Sums a numeric column over rows whose filter column matches the predicate.
+     */
+    public synchronized double sum(String field, String filterField, DoublePredicate filter) {
+        int offset = numberOffset(field);
+        int filterOffset = filterField != null ? numberOffset(filterField) : -1;
+        double total = 0;
+        for (int i = 0, pos = HEADER_SIZE; i < count; i++, pos += recordSize) {
+            if (filterOffset < 0 || filter.test(buffer.getDouble(pos + filterOffset))) {
+                total += buffer.getDouble(pos + offset);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Counts rows whose numeric column matches the predicate.
+     */
+    public synchronized int count(String field, DoublePredicate filter) {
+        int offset = numberOffset(field);
+        int matches = 0;
+        for (int i = 0, pos = HEADER_SIZE; i < count; i++, pos += recordSize) {
+            if (filter.test(buffer.getDouble(pos + offset))) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Flushes the mapping to disk.
+     */
+    public synchronized void force() {
+        buffer.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (buffer != null) {
+            buffer.force();
+        }
+        channel.close();
+    }
+
+    private int numberOffset(String field) {
+        if (codec.typeOf(field) != FixedWidthCodec.FieldType.NUMBER) {
+            throw new IllegalArgumentException(field + " is not a numeric column");
+        }
+        return codec.offsetOf(field);
+    }
+
+    private int rowOffset(int index) {
+        return HEADER_SIZE + index * recordSize;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + count + " in " + file.getName());
+        }
+    }
+
+    private void remap(int newCapacity) throws IOException {
+        long bytes = HEADER_SIZE + (long) newCapacity * recordSize;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IOException("Record file exceeds mappable size: " + file.getName());
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+        capacity = newCapacity;
+    }
+
+    private void writeHeader() {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, recordSize);
+        buffer.putLong(8, count);
+    }
+}
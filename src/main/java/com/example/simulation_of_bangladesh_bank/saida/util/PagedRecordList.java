@@ -0,0 +1,105 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import javafx.collections.ObservableListBase;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PagedRecordList - Read-only ObservableList over a fixed-width data file, for TableView items.
+ * A TableView only asks for the rows it is drawing, so rows are decoded from the record store
+ * a page at a time as the user scrolls, and only the most recently used pages are kept.
+ * Opening a table over millions of rows costs one header read, and the heap holds at most
+ * pageSize * maxPages records whatever the file size.
+ *
+ * The list does not see writes by itself: call refresh() once they have reached the file.
+ */
+public class PagedRecordList<T> extends ObservableListBase<T> {
+
+    public static final int DEFAULT_PAGE_SIZE = 256;
+    public static final int DEFAULT_MAX_PAGES = 16;
+
+    private final String filename;
+    private final int pageSize;
+    private final Map<Integer, List<T>> pages;
+    private int size;
+
+    public PagedRecordList(String filename) {
+        this(filename, DEFAULT_PAGE_SIZE, DEFAULT_MAX_PAGES);
+    }
+
+    public PagedRecordList(String filename, int pageSize, int maxPages) {
+        this.filename = filename;
+        this.pageSize = pageSize;
+        // Access-ordered, so the least recently drawn page is dropped first
+        this.pages = new LinkedHashMap<>(maxPages * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > maxPages;
+            }
+        };
+        this.size = storeSize();
+    }
+
+    /**
+     * Returns the row at the given index, or null if it left the file since the last refresh().
+     */
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Row " + index + " of " + size + " in " + filename);
+        }
+        List<T> page = pages.get(index / pageSize);
+        if (page == null) {
+            page = loadPage(index / pageSize);
+        }
+        int offset = index % pageSize;
+        return offset < page.size() ? page.get(offset) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Drops the cached pages and picks up rows added or removed since the last call.
+     * Rows changed in place show up the next time the table redraws them, e.g. after TableView.refresh().
+     */
+    public void refresh() {
+        pages.clear();
+        int oldSize = size;
+        int newSize = storeSize();
+        if (newSize == oldSize) {
+            return;
+        }
+        size = newSize;
+        beginChange();
+        if (newSize > oldSize) {
+            nextAdd(oldSize, newSize);
+        } else {
+            // The removed rows can no longer be read back from the file
+            nextRemove(newSize, Collections.nCopies(oldSize - newSize, null));
+        }
+        endChange();
+    }
+
+    private List<T> loadPage(int page) {
+        MappedRecordStore<T> store = DataManager.openRecordStore(filename);
+        List<T> rows = store != null ? store.read(page * pageSize, (page + 1) * pageSize) : List.of();
+        pages.put(page, rows);
+        return rows;
+    }
+
+    private int storeSize() {
+        // Looked up on every use: a full rewrite replaces the open store
+        MappedRecordStore<T> store = DataManager.openRecordStore(filename);
+        if (store == null) {
+            System.err.println("Cannot page " + filename + ": not a fixed-width data file");
+            return 0;
+        }
+        return store.size();
+    }
+}
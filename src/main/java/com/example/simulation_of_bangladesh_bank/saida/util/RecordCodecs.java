@@ -0,0 +1,45 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import com.example.simulation_of_bangladesh_bank.saida.model.InterbankOperations;
+import com.example.simulation_of_bangladesh_bank.saida.model.LiquidityManagement;
+
+/**
+ * RecordCodecs - Fixed-width schemas for the high-volume ledger files.
+ * Field order is part of the file format; append new fields at the end only.
+ */
+public class RecordCodecs {
+
+    /**
+     * Interbank borrowing/lending deals (interbank_operations.bin).
+     */
+    public static final FixedWidthCodec<InterbankOperations> INTERBANK =
+            new FixedWidthCodec<>(InterbankOperations::new)
+                    .text("operationId", 32, InterbankOperations::getOperationId, InterbankOperations::setOperationId)
+                    .text("bankId", 48, InterbankOperations::getBankId, InterbankOperations::setBankId)
+                    .text("counterpartyBank", 64, InterbankOperations::getCounterpartyBank, InterbankOperations::setCounterpartyBank)
+                    .number("borrowAmount", InterbankOperations::getBorrowAmount, InterbankOperations::setBorrowAmount)
+                    .number("lendingAmount", InterbankOperations::getLendingAmount, InterbankOperations::setLendingAmount)
+                    .number("interestRate", InterbankOperations::getInterestRate, InterbankOperations::setInterestRate)
+                    .number("creditLimit", InterbankOperations::getCreditLimit, InterbankOperations::setCreditLimit)
+                    .number("currentExposure", InterbankOperations::getCurrentExposure, InterbankOperations::setCurrentExposure)
+                    .date("transactionDate", InterbankOperations::getTransactionDate, InterbankOperations::setTransactionDate)
+                    .date("maturityDate", InterbankOperations::getMaturityDate, InterbankOperations::setMaturityDate)
+                    .text("operationType", 16, InterbankOperations::getOperationType, InterbankOperations::setOperationType)
+                    .text("status", 16, InterbankOperations::getStatus, InterbankOperations::setStatus);
+
+    /**
+     * Daily liquidity positions (liquidity_management.bin).
+     * Net position and status are derived, so only their inputs are stored.
+     */
+    public static final FixedWidthCodec<LiquidityManagement> LIQUIDITY =
+            new FixedWidthCodec<>(LiquidityManagement::new)
+                    .text("liquidityId", 32, LiquidityManagement::getLiquidityId, LiquidityManagement::setLiquidityId)
+                    .text("bankId", 48, LiquidityManagement::getBankId, LiquidityManagement::setBankId)
+                    .number("cashInflows", LiquidityManagement::getCashInflows, LiquidityManagement::setCashInflows)
+                    .number("cashOutflows", LiquidityManagement::getCashOutflows, LiquidityManagement::setCashOutflows)
+                    .number("minThreshold", LiquidityManagement::getMinThreshold, LiquidityManagement::setMinThreshold)
+                    .number("projectedInflows", LiquidityManagement::getProjectedInflows, LiquidityManagement::setProjectedInflows)
+                    .number("projectedOutflows", LiquidityManagement::getProjectedOutflows, LiquidityManagement::setProjectedOutflows)
+                    .date("reportDate", LiquidityManagement::getReportDate, LiquidityManagement::setReportDate)
+                    .text("actionTaken", 16, LiquidityManagement::getActionTaken, LiquidityManagement::setActionTaken);
+}
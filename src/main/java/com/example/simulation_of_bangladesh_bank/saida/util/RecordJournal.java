@@ -0,0 +1,196 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * RecordJournal - Append-only write-ahead journal for a single data file.
+ * Each change (append, update or delete of one record) is written as a small
+ * frame next to the .bin snapshot, so a save costs O(record) instead of O(file).
+ *
+ * Frame layout: [op byte][key UTF][payload length int][serialized record bytes]
+ */
+class RecordJournal {
+
+    static final byte OP_APPEND = 1;
+    static final byte OP_UPDATE = 2;
+    static final byte OP_DELETE = 3;
+
+    // Journal suffix appended to the snapshot file name
+    static final String JOURNAL_SUFFIX = ".journal";
+
+    private final File file;
+
+    RecordJournal(File file) {
+        this.file = file;
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    boolean exists() {
+        return file.exists() && file.length() > 0;
+    }
+
+    long size() {
+        return file.exists() ? file.length() : 0;
+    }
+
+    /**
+     * Appends one frame to the journal.
+     */
+    synchronized void write(byte op, String key, Serializable record) throws IOException {
+        writeAll(op, Collections.singletonMap(key, record));
+    }
+
+    /**
+     * Appends one frame per entry in a single open/flush of the journal.
+     */
+    synchronized void writeAll(byte op, Map<String, ? extends Serializable> records) throws IOException {
+        boolean created = !file.exists();
+        FileOutputStream fileOut = new FileOutputStream(file, true);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+            for (Map.Entry<String, ? extends Serializable> entry : records.entrySet()) {
+                byte[] payload = op != OP_DELETE ? serialize(entry.getValue()) : new byte[0];
+                out.writeByte(op);
+                out.writeUTF(entry.getKey());
+                out.writeInt(payload.length);
+                out.write(payload);
+            }
+            // The change is acknowledged only once its frames are on disk
+            out.flush();
+            fileOut.getFD().sync();
+        }
+        if (created) {
+            GroupCommit.syncDirectory(file.toPath().toAbsolutePath().getParent());
+        }
+    }
+
+    /**
+     * Replays the journal on top of a snapshot and returns the resulting list.
+     * Snapshot records are keyed with keyFn; records without a key keep their position.
+     * A torn frame at the end of the journal (crash mid-append) is ignored, as is a frame
+     * whose length runs past the end of the file.
+     * Snapshot records sharing a key are all kept; journaled changes apply to the first one.
+     */
+    @SuppressWarnings("unchecked")
+    synchronized <T> List<T> replay(List<T> snapshot, Function<Object, String> keyFn) {
+        Map<String, T> records = new LinkedHashMap<>();
+        int position = 0;
+        int duplicates = 0;
+        for (T record : snapshot) {
+            String key = keyFn != null ? keyFn.apply(record) : null;
+            if (key == null || records.putIfAbsent(key, record) != null) {
+                if (key != null) {
+                    duplicates++;
+                }
+                records.put("#" + position, record);
+            }
+            position++;
+        }
+        if (duplicates > 0) {
+            System.err.println("Snapshot for journal " + file.getName() + " has " + duplicates
+                    + " records with a duplicate key; only the first of each is updated by the journal");
+        }
+
+        if (!exists()) {
+            return snapshot;
+        }
+
+        long remaining = file.length();
+        try (CountingInputStream counter = new CountingInputStream(new BufferedInputStream(new FileInputStream(file)));
+             DataInputStream in = new DataInputStream(counter)) {
+            while (true) {
+                byte op;
+                try {
+                    op = in.readByte();
+                } catch (EOFException eof) {
+                    break; // Clean end of journal
+                }
+                String key = in.readUTF();
+                int length = in.readInt();
+                if (length < 0 || length > remaining - counter.count) {
+                    // A length that runs past the file can only be a torn or damaged last frame
+                    throw new EOFException();
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+
+                if (op == OP_DELETE) {
+                    records.remove(key);
+                } else {
+                    records.put(key, (T) deserialize(payload));
+                }
+            }
+        } catch (EOFException e) {
+            System.err.println("Ignoring incomplete trailing entry in journal " + file.getName());
+        } catch (IOException | ClassNotFoundException e) {
+            System.err.println("Error replaying journal " + file.getName() + ": " + e.getMessage());
+        }
+
+        return new ArrayList<>(records.values());
+    }
+
+    /**
+     * Removes the journal once its entries have been folded into a snapshot.
+     */
+    synchronized void clear() {
+        if (file.exists() && !file.delete()) {
+            System.err.println("Could not remove journal " + file.getName());
+        }
+    }
+
+    // Counts the bytes read so far, to check frame lengths against the rest of the file
+    private static class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
+    private static byte[] serialize(Serializable record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(record);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] payload) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+            return ois.readObject();
+        }
+    }
+}
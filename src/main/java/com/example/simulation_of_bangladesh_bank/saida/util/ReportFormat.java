@@ -0,0 +1,74 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * ReportFormat - Number and field formatting for report text.
+ * fixed2 prints the same digits as String.format("%.2f", value) without creating a
+ * Formatter and re-parsing the pattern on every call, which dominates the cost of
+ * rendering reports for thousands of records.
+ */
+public class ReportFormat {
+
+    // Above this the scaled value no longer fits a long exactly; left to String.format
+    private static final double FAST_LIMIT = 1e15;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(32));
+
+    /**
+     * Formats a value with two decimals, rounding half up like String.format("%.2f").
+     */
+    public static String fixed2(double value) {
+        return fixed(value, 2);
+    }
+
+    /**
+     * Formats a value with one decimal, rounding half up like String.format("%.1f").
+     */
+    public static String fixed1(double value) {
+        return fixed(value, 1);
+    }
+
+    /**
+     * Appends a value left-aligned in a field of the given width, like String.format("%-<width>s").
+     */
+    public static StringBuilder padRight(StringBuilder out, Object value, int width) {
+        String text = String.valueOf(value);
+        out.append(text);
+        for (int i = text.length(); i < width; i++) {
+            out.append(' ');
+        }
+        return out;
+    }
+
+    private static String fixed(double value, int decimals) {
+        if (Double.isNaN(value) || Double.isInfinite(value) || Math.abs(value) >= FAST_LIMIT) {
+            return String.format("%." + decimals + "f", value);
+        }
+        long unit = decimals == 1 ? 10 : 100;
+        double scaled = Math.abs(value) * unit;
+        long digits = (long) scaled;
+        double fraction = scaled - digits;
+        if (Math.abs(fraction - 0.5) <= Math.max(1e-6, 4 * Math.ulp(scaled))) {
+            // Near a tie the binary product can round the wrong way; decide on the decimal digits
+            digits = new BigDecimal(Double.toString(Math.abs(value))).movePointRight(decimals)
+                    .setScale(0, RoundingMode.HALF_UP).longValueExact();
+        } else if (fraction > 0.5) {
+            digits++;
+        }
+
+        StringBuilder text = BUFFER.get();
+        text.setLength(0);
+        if (value < 0 || (value == 0 && 1 / value < 0)) {
+            text.append('-');
+        }
+        long units = digits / unit;
+        int fractionDigits = (int) (digits % unit);
+        text.append(units).append('.');
+        if (unit == 100 && fractionDigits < 10) {
+            text.append('0');
+        }
+        return text.append(fractionDigits).toString();
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import com.example.simulation_of_bangladesh_bank.saida.model.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.DoubleConsumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * ReportGenerator - Batch export of per-record reports to output/reports.
+ * Records are rendered in windows: every record of a window is rendered in parallel,
+ * then the window is written in order through a buffered writer while the next window
+ * renders. Only two windows of report text are held at a time, however many records
+ * are exported. The file is written under a temp name and renamed when complete, so a
+ * cancelled or failed export never leaves a partial report behind.
+ */
+public class ReportGenerator {
+
+    public static final Path REPORTS_DIR = Paths.get("output", "reports");
+
+    // Records rendered per window
+    private static final int WINDOW_SIZE = 256;
+
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final Map<String, ReportType<?>> REPORT_TYPES = new ConcurrentHashMap<>();
+
+    // ==================== REPORT TYPES ====================
+
+    static {
+        register(DataManager.CAR_DATA_FILE, "car_reports", CapitalAdequacy::generateCARReport);
+        register(DataManager.BRANCHES_FILE, "branch_performance_reports", BranchPerformance::generatePerformanceReport);
+        register(DataManager.AML_CASES_FILE, "aml_reports", AMLMonitoring::generateAMLReport);
+        register(DataManager.LIQUIDITY_FILE, "liquidity_reports", LiquidityManagement::generateLiquidityReport);
+        register(DataManager.REVENUE_FILE, "revenue_performance_reports", RevenueMonitoring::generatePerformanceReport);
+        register(DataManager.EXPENDITURE_FILE, "expenditure_reports", ExpenditureControl::generateExpenditureReport);
+        register(DataManager.FOREIGN_AID_FILE, "foreign_aid_reports", ForeignAidMonitoring::generateAidReport);
+        register(DataManager.CASH_BALANCE_FILE, "cash_balance_reports", GovCashBalance::generateCashReport);
+        register(DataManager.REFORM_FILE, "reform_reports", ReformMonitoring::generateReformReport);
+    }
+
+    /**
+     * Declares how the records of a data file are rendered and what the export is called.
+     */
+    public static <T extends Serializable> void register(String filename, String reportName, Function<T, String> renderer) {
+        REPORT_TYPES.put(filename, new ReportType<>(reportName, renderer));
+    }
+
+    /**
+     * Exports the report of every record in a registered data file.
+     * Progress (0 to 1) and the result are delivered on the FX thread.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Serializable> ReportJob exportAll(String filename, DoubleConsumer onProgress) {
+        ReportType<T> type = (ReportType<T>) REPORT_TYPES.get(filename);
+        if (type == null) {
+            throw new IllegalArgumentException("No report registered for " + filename);
+        }
+        ReportJob job = new ReportJob(onProgress);
+        job.result = AsyncDataManager.supplyAsync(() -> {
+            try {
+                List<T> records = DataRepository.get(filename);
+                return job.write(type.reportName, records, type.renderer);
+            } catch (DataFileCorruptedException e) {
+                System.err.println("Cannot export " + type.reportName + ": " + e.getMessage());
+                return null;
+            }
+        });
+        return job;
+    }
+
+    /**
+     * Exports the reports of the given records under output/reports/reportName_timestamp.txt.
+     */
+    public static <T> ReportJob export(String reportName, List<T> records, Function<T, String> renderer,
+                                       DoubleConsumer onProgress) {
+        ReportJob job = new ReportJob(onProgress);
+        job.result = AsyncDataManager.supplyAsync(() -> job.write(reportName, records, renderer));
+        return job;
+    }
+
+    private static class ReportType<T> {
+        final String reportName;
+        final Function<T, String> renderer;
+
+        ReportType(String reportName, Function<T, String> renderer) {
+            this.reportName = reportName;
+            this.renderer = renderer;
+        }
+    }
+
+    // ==================== JOB ====================
+
+    /**
+     * A running export. The result is the written file, or null if the export was
+     * cancelled or failed.
+     */
+    public static class ReportJob {
+        private final DoubleConsumer onProgress;
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private volatile int written;
+        private volatile int total;
+        private CompletableFuture<Path> result;
+
+        ReportJob(DoubleConsumer onProgress) {
+            this.onProgress = onProgress;
+        }
+
+        public CompletableFuture<Path> getResult() {
+            return result;
+        }
+
+        /**
+         * Stops the export after the window being written; the partial file is deleted.
+         */
+        public void cancel() {
+            cancelled.set(true);
+        }
+
+        public boolean isCancelled() {
+            return cancelled.get();
+        }
+
+        public int getWritten() {
+            return written;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        <T> Path write(String reportName, List<T> records, Function<T, String> renderer) {
+            total = records.size();
+            Path target = REPORTS_DIR.resolve(reportName + "_" + LocalDateTime.now().format(STAMP) + ".txt");
+            Path temp = null;
+            try {
+                Files.createDirectories(REPORTS_DIR);
+                temp = GroupCommit.newTempFile(target);
+                try (Writer out = new BufferedWriter(Files.newBufferedWriter(temp, StandardCharsets.UTF_8), 1 << 16)) {
+                    writeWindows(out, records, renderer);
+                }
+                if (cancelled.get()) {
+                    Files.deleteIfExists(temp);
+                    return null;
+                }
+                GroupCommit.commit(temp, target);
+                return target;
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Error writing " + reportName + ": " + e.getMessage());
+                deleteQuietly(temp);
+                return null;
+            }
+        }
+
+        private <T> void writeWindows(Writer out, List<T> records, Function<T, String> renderer) throws IOException {
+            int size = records.size();
+            ForkJoinTask<String[]> rendering = size > 0 ? render(records, 0, renderer) : null;
+            for (int from = 0; rendering != null && !cancelled.get(); from += WINDOW_SIZE) {
+                String[] window = rendering.join();
+                int next = from + WINDOW_SIZE;
+                rendering = next < size ? render(records, next, renderer) : null;
+
+                for (String report : window) {
+                    out.write(report);
+                    out.write('\n');
+                }
+                written = from + window.length;
+                reportProgress();
+            }
+            if (rendering != null) {
+                rendering.join();
+            }
+        }
+
+        private <T> ForkJoinTask<String[]> render(List<T> records, int from, Function<T, String> renderer) {
+            int to = Math.min(records.size(), from + WINDOW_SIZE);
+            return ForkJoinPool.commonPool().submit(() -> {
+                String[] window = new String[to - from];
+                IntStream.range(from, to).parallel().forEach(i -> window[i - from] = renderer.apply(records.get(i)));
+                return window;
+            });
+        }
+
+        private void reportProgress() {
+            if (onProgress != null) {
+                double progress = total > 0 ? (double) written / total : 1;
+                AsyncDataManager.runOnFxThread(() -> onProgress.accept(progress));
+            }
+        }
+
+        private static void deleteQuietly(Path temp) {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    // Leftover temp files are ignored by readers
+                }
+            }
+        }
+    }
+}
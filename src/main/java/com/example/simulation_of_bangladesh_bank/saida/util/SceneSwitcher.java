@@ -10,6 +10,7 @@ import javafx.scene.control.ScrollPane;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.net.URL;
 
 /**
  * Utility class for switching between scenes and loading FXML views.
@@ -27,12 +28,21 @@ public class SceneSwitcher {
      * @throws IOException if the FXML file cannot be loaded
      */
     public static void sceneSwitch(ActionEvent actionEvent, String fxmlFile, String title) throws IOException {
-        FXMLLoader fxmlLoader = new FXMLLoader(Main.class.getResource(fxmlFile));
-        Scene scene = new Scene(fxmlLoader.load());
+        sceneSwitch(actionEvent, Main.class.getResource(fxmlFile), title);
+    }
+
+    /**
+     * Switches the window of the event's source to a view from the ViewCache.
+     * Shared by Sara's SceneSwitching and Shifat's SceneSwitcher, which resolve paths differently.
+     */
+    public static void sceneSwitch(ActionEvent actionEvent, URL fxml, String title) throws IOException {
+        long started = System.nanoTime();
+        ViewCache.View view = ViewCache.acquire(fxml);
         Stage stage = (Stage) ((Node) actionEvent.getSource()).getScene().getWindow();
         stage.setTitle(title);
-        stage.setScene(scene);
+        stage.setScene(view.getScene());
         stage.show();
+        ViewCache.reportNavigation(view, started);
     }
 
     /**
@@ -45,9 +55,11 @@ public class SceneSwitcher {
      */
     public static Parent loadContentIntoScrollPane(ScrollPane scrollPane, String fxmlFile) {
         try {
-            FXMLLoader loader = new FXMLLoader(Main.class.getResource(fxmlFile));
-            Parent content = loader.load();
+            long started = System.nanoTime();
+            ViewCache.View view = ViewCache.acquireContent(Main.class.getResource(fxmlFile));
+            Parent content = view.getRoot();
             scrollPane.setContent(content);
+            ViewCache.reportNavigation(view, started);
             return content;
         } catch (IOException e) {
             System.err.println("Error loading FXML file: " + fxmlFile);
@@ -63,6 +75,8 @@ public class SceneSwitcher {
      * @throws IOException if the login FXML file cannot be loaded
      */
     public static void navigateToLogin(ActionEvent actionEvent) throws IOException {
+        // Cached screens belong to the user who is logging out
+        ViewCache.clear();
         FXMLLoader loader = new FXMLLoader(Main.class.getResource("/com/example/simulation_of_bangladesh_bank/saida/fxml/Login.fxml"));
         Scene scene = new Scene(loader.load(), 900, 600);
         Stage stage = (Stage) ((Node) actionEvent.getSource()).getScene().getWindow();
@@ -82,6 +96,7 @@ public class SceneSwitcher {
      * @throws IOException if the login FXML file cannot be loaded
      */
     public static void navigateToLogin(Node node) throws IOException {
+        ViewCache.clear();
         FXMLLoader loader = new FXMLLoader(Main.class.getResource("/com/example/simulation_of_bangladesh_bank/saida/fxml/Login.fxml"));
         Scene scene = new Scene(loader.load(), 900, 600);
         Stage stage = (Stage) node.getScene().getWindow();
@@ -0,0 +1,377 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import com.example.simulation_of_bangladesh_bank.BinaryFileHelper;
+import com.example.simulation_of_bangladesh_bank.Sara.ExecuteCurrency_Trade;
+import com.example.simulation_of_bangladesh_bank.Sara.ManageRealTimeGrossSettlement;
+import com.example.simulation_of_bangladesh_bank.saida.model.AMLMonitoring;
+import com.example.simulation_of_bangladesh_bank.saida.model.CapitalAdequacy;
+import com.example.simulation_of_bangladesh_bank.saida.model.InterbankOperations;
+import com.example.simulation_of_bangladesh_bank.saida.model.LiquidityManagement;
+import com.example.simulation_of_bangladesh_bank.saida.model.LoanApplication;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.LongStream;
+
+/**
+ * SyntheticDataGenerator - Writes a production-scale dataset for load and regression testing:
+ * N banks × M branches × K transactions per branch, in the same file formats the application reads.
+ *
+ * Volumes for N banks, M branches and K transactions:
+ *   RTGS payments       N·M·K   (streamed to the fixed-width ledger)
+ *   Forex trades        N·K     (streamed as record frames)
+ *   Interbank deals     N·K     (streamed to the fixed-width ledger)
+ *   Liquidity positions N·365   (streamed to the fixed-width ledger)
+ *   Loan applications   N·M·K / 100
+ *   AML cases           about 1% of the RTGS payments
+ *   CAR filings         N·4 quarters
+ * Loans, AML cases and CAR filings are checksummed snapshots that the application loads whole,
+ * so they are built in memory; every other dataset is streamed and uses bounded memory.
+ *
+ * Output depends only on the arguments and the seed: each dataset draws from its own split of
+ * the seeded generator and all dates count from a fixed base date, so the datasets can be
+ * written in parallel and a fixture can be regenerated exactly.
+ *
+ * Usage: SyntheticDataGenerator [banks] [branches] [transactions] [seed] [outputDir]
+ * Writing into the data directory replaces the application's files; do it while the
+ * application is closed.
+ */
+public class SyntheticDataGenerator {
+
+    public static final File DEFAULT_OUTPUT_DIR = new File("target" + File.separator + "synthetic-data");
+
+    private static final String FOREX_FILE = "ExecuteCurrency_Trade.bin";
+    private static final LocalDate BASE_DATE = LocalDate.of(2024, 1, 1);
+    private static final int DAYS = 365;
+    private static final int QUARTERS = 4;
+    // One loan application per hundred transactions, one AML case per hundred payments
+    private static final int LOAN_RATIO = 100;
+    private static final int AML_RATIO = 100;
+
+    private static final String[] BANK_NAMES = {
+            "Sonali Bank PLC", "Janata Bank Ltd.", "Agrani Bank PLC", "Rupali Bank PLC",
+            "Dutch Bangla Bank Ltd.", "BRAC Bank Ltd.", "Islami Bank Bangladesh PLC",
+            "Eastern Bank PLC", "The City Bank PLC", "Pubali Bank PLC"
+    };
+    private static final String[] CURRENCY_PAIRS = {"USD/BDT", "GBP/BDT", "EUR/BDT", "MYR/BDT"};
+    private static final double[] CURRENCY_RATES = {110.0, 139.5, 119.0, 23.4};
+    private static final String[] LOAN_TYPES = {"Term Loan", "Working Capital", "SME Loan", "Trade Finance"};
+    private static final String[] LOAN_STATUSES = {"Pending", "Under Review", "Approved", "Rejected"};
+    private static final String[] AML_TYPES = {"Wire Transfer", "Cash Deposit", "Letter of Credit"};
+    private static final String[] AML_STATUSES = {"Pending Review", "Under Investigation", "Cleared"};
+    private static final String[] RISK_LEVELS = {"Low", "Medium", "High"};
+
+    private final int banks;
+    private final int branchesPerBank;
+    private final int transactionsPerBranch;
+    private final long seed;
+
+    public SyntheticDataGenerator(int banks, int branchesPerBank, int transactionsPerBranch, long seed) {
+        if (banks < 1 || branchesPerBank < 1 || transactionsPerBranch < 1) {
+            throw new IllegalArgumentException("Banks, branches and transactions must all be at least 1");
+        }
+        this.banks = banks;
+        this.branchesPerBank = branchesPerBank;
+        this.transactionsPerBranch = transactionsPerBranch;
+        this.seed = seed;
+    }
+
+    /**
+     * Writes every dataset into the directory, one dataset per thread, and returns the number
+     * of records written per file. Each file is written under a temporary name and renamed
+     * when complete; a stale journal next to it is removed so it is not replayed on top.
+     */
+    public Map<String, Long> generate(File outputDir) throws IOException {
+        long payments = (long) banks * branchesPerBank * transactionsPerBranch;
+        if (payments > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many RTGS payments for one ledger file: " + payments);
+        }
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+            throw new IOException("Cannot create output directory: " + outputDir);
+        }
+
+        // Split in a fixed order so each dataset gets the same stream regardless of scheduling
+        SplittableRandom root = new SplittableRandom(seed);
+        Map<String, Dataset> datasets = new LinkedHashMap<>();
+        datasets.put(ManageRealTimeGrossSettlement.FILE, this::writePayments);
+        datasets.put(FOREX_FILE, this::writeForexTrades);
+        datasets.put(DataManager.INTERBANK_FILE, this::writeInterbankDeals);
+        datasets.put(DataManager.LIQUIDITY_FILE, this::writeLiquidityPositions);
+        datasets.put(DataManager.LOANS_FILE, this::writeLoans);
+        datasets.put(DataManager.AML_CASES_FILE, this::writeAMLCases);
+        datasets.put(DataManager.CAR_DATA_FILE, this::writeCARFilings);
+
+        ExecutorService pool = Executors.newFixedThreadPool(
+                Math.min(datasets.size(), Runtime.getRuntime().availableProcessors()), task -> {
+                    Thread thread = new Thread(task, "synthetic-data");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        Map<String, CompletableFuture<Long>> tasks = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<String, Dataset> entry : datasets.entrySet()) {
+                String filename = entry.getKey();
+                Dataset dataset = entry.getValue();
+                SplittableRandom random = root.split();
+                tasks.put(filename, CompletableFuture.supplyAsync(
+                        () -> write(outputDir, filename, dataset, random), pool));
+            }
+            Map<String, Long> written = new LinkedHashMap<>();
+            for (Map.Entry<String, CompletableFuture<Long>> task : tasks.entrySet()) {
+                written.put(task.getKey(), task.getValue().join());
+            }
+            return written;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static long write(File outputDir, String filename, Dataset dataset, SplittableRandom random) {
+        File target = new File(outputDir, filename);
+        File temp = new File(outputDir, filename + ".tmp");
+        try {
+            Files.deleteIfExists(temp.toPath());
+            long count = dataset.write(temp, random);
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            Files.deleteIfExists(new File(outputDir, filename + RecordJournal.JOURNAL_SUFFIX).toPath());
+            System.out.println("✓ Generated " + count + " records in " + filename);
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ==================== STREAMED LEDGERS ====================
+
+    private long writePayments(File file, SplittableRandom random) throws IOException {
+        int count = 0;
+        try (MappedRecordStore<ManageRealTimeGrossSettlement> store =
+                     MappedRecordStore.open(file, ManageRealTimeGrossSettlement.CODEC)) {
+            store.ensureCapacity(banks * branchesPerBank * transactionsPerBranch);
+            for (int bank = 0; bank < banks; bank++) {
+                for (int branch = 0; branch < branchesPerBank; branch++) {
+                    for (int i = 0; i < transactionsPerBranch; i++) {
+                        int roll = random.nextInt(100);
+                        String status = roll < 90 ? "Settled" : roll < 97 ? "Queued" : "Rejected";
+                        store.append(new ManageRealTimeGrossSettlement(paymentId(bank, branch, i),
+                                bankName(bank), otherBank(bank, random), amount(random, 5_000_000), status));
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private long writeForexTrades(File file, SplittableRandom random) throws IOException {
+        long count = (long) banks * transactionsPerBranch;
+        boolean written = BinaryFileHelper.writeAllObjects(file, LongStream.range(0, count).mapToObj(n -> {
+            int pair = random.nextInt(CURRENCY_PAIRS.length);
+            double rate = CURRENCY_RATES[pair] * (0.98 + random.nextDouble() * 0.04);
+            return new ExecuteCurrency_Trade(CURRENCY_PAIRS[pair],
+                    random.nextBoolean() ? "Buy" : "Sell",
+                    ReportFormat.fixed2(amount(random, 1_000_000)),
+                    ReportFormat.fixed2(rate),
+                    bankName((int) (n / transactionsPerBranch)));
+        }));
+        if (!written) {
+            throw new IOException("Could not write " + file.getName());
+        }
+        return count;
+    }
+
+    private long writeInterbankDeals(File file, SplittableRandom random) throws IOException {
+        int count = 0;
+        try (MappedRecordStore<InterbankOperations> store = MappedRecordStore.open(file, RecordCodecs.INTERBANK)) {
+            store.ensureCapacity(banks * transactionsPerBranch);
+            for (int bank = 0; bank < banks; bank++) {
+                for (int i = 0; i < transactionsPerBranch; i++) {
+                    double principal = amount(random, 1_000_000_000);
+                    boolean borrow = random.nextBoolean();
+                    LocalDate dealDate = BASE_DATE.plusDays(random.nextInt(DAYS));
+                    InterbankOperations deal = new InterbankOperations();
+                    deal.setOperationId(String.format("IB-%04d-%07d", bank, i));
+                    deal.setBankId(bankName(bank));
+                    deal.setCounterpartyBank(otherBank(bank, random));
+                    deal.setBorrowAmount(borrow ? principal : 0);
+                    deal.setLendingAmount(borrow ? 0 : principal);
+                    deal.setInterestRate(5.5 + random.nextInt(16) * 0.125);
+                    deal.setCreditLimit(principal * 2);
+                    deal.setCurrentExposure(principal);
+                    deal.setTransactionDate(dealDate);
+                    deal.setMaturityDate(dealDate.plusDays(1 + random.nextInt(14)));
+                    deal.setOperationType(borrow ? "Borrow" : "Lend");
+                    deal.setStatus(random.nextInt(4) == 0 ? "Active" : "Settled");
+                    store.append(deal);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private long writeLiquidityPositions(File file, SplittableRandom random) throws IOException {
+        int count = 0;
+        try (MappedRecordStore<LiquidityManagement> store = MappedRecordStore.open(file, RecordCodecs.LIQUIDITY)) {
+            store.ensureCapacity(banks * DAYS);
+            for (int bank = 0; bank < banks; bank++) {
+                for (int day = 0; day < DAYS; day++) {
+                    double inflows = amount(random, 15_000_000_000.0);
+                    LiquidityManagement position = new LiquidityManagement();
+                    position.setLiquidityId(String.format("LIQ-%04d-%03d", bank, day));
+                    position.setBankId(bankName(bank));
+                    position.setCashInflows(inflows);
+                    position.setCashOutflows(inflows * (0.8 + random.nextDouble() * 0.35));
+                    position.setMinThreshold(2_000_000_000.0);
+                    position.setReportDate(BASE_DATE.plusDays(day));
+                    position.forecastTransactions();
+                    store.append(position);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    // ==================== SNAPSHOTS ====================
+
+    private long writeLoans(File file, SplittableRandom random) throws IOException {
+        int perBranch = Math.max(1, transactionsPerBranch / LOAN_RATIO);
+        ArrayList<LoanApplication> loans = new ArrayList<>();
+        for (int bank = 0; bank < banks; bank++) {
+            for (int branch = 0; branch < branchesPerBank; branch++) {
+                for (int i = 0; i < perBranch; i++) {
+                    double requested = amount(random, 50_000_000);
+                    LoanApplication loan = new LoanApplication();
+                    loan.setApplicationId(String.format("LOAN-%04d-%04d-%05d", bank, branch, i));
+                    loan.setBankId(bankName(bank));
+                    loan.setBorrowerId(String.format("CORP-%04d-%04d-%05d", bank, branch, i));
+                    loan.setBorrowerName("Borrower " + (loans.size() + 1));
+                    loan.setLoanType(pick(LOAN_TYPES, random));
+                    loan.setRequestedAmount(requested);
+                    loan.setInterestRate(7.0 + random.nextInt(13) * 0.25);
+                    loan.setTenureMonths(12 * (1 + random.nextInt(7)));
+                    loan.setCollateralValue(requested * (0.8 + random.nextDouble()));
+                    loan.setCreditScore(550 + random.nextInt(300));
+                    loan.setDebtToIncomeRatio(random.nextInt(60) / 100.0);
+                    loan.setApplicationDate(BASE_DATE.plusDays(random.nextInt(DAYS)));
+                    loan.setStatus(pick(LOAN_STATUSES, random));
+                    loans.add(loan);
+                }
+            }
+        }
+        ChecksummedFile.write(file, loans);
+        return loans.size();
+    }
+
+    private long writeAMLCases(File file, SplittableRandom random) throws IOException {
+        // Flags payments of the RTGS ledger by id; the ledger draws its own amounts
+        ArrayList<AMLMonitoring> cases = new ArrayList<>();
+        for (int bank = 0; bank < banks; bank++) {
+            for (int branch = 0; branch < branchesPerBank; branch++) {
+                for (int i = 0; i < transactionsPerBranch; i++) {
+                    if (random.nextInt(AML_RATIO) != 0) {
+                        continue;
+                    }
+                    AMLMonitoring amlCase = new AMLMonitoring();
+                    amlCase.setCaseId(String.format("AML-%08d", cases.size() + 1));
+                    amlCase.setBankId(bankName(bank));
+                    amlCase.setTransactionId(paymentId(bank, branch, i));
+                    amlCase.setAccountNumber(String.format("%04d-%08d", branch, random.nextInt(100_000_000)));
+                    amlCase.setTransactionAmount(amount(random, 25_000_000));
+                    amlCase.setTransactionType(pick(AML_TYPES, random));
+                    amlCase.setRiskLevel(pick(RISK_LEVELS, random));
+                    amlCase.setFlaggedDate(BASE_DATE.plusDays(random.nextInt(DAYS)));
+                    amlCase.setStatus(pick(AML_STATUSES, random));
+                    cases.add(amlCase);
+                }
+            }
+        }
+        ChecksummedFile.write(file, cases);
+        return cases.size();
+    }
+
+    private long writeCARFilings(File file, SplittableRandom random) throws IOException {
+        ArrayList<CapitalAdequacy> filings = new ArrayList<>();
+        for (int bank = 0; bank < banks; bank++) {
+            for (int quarter = 0; quarter < QUARTERS; quarter++) {
+                double rwa = amount(random, 850_000_000_000.0);
+                CapitalAdequacy filing = new CapitalAdequacy();
+                filing.setCapitalId(String.format("CAR-%04d-Q%d", bank, quarter + 1));
+                filing.setBankId(bankName(bank));
+                filing.setRiskWeightedAssets(rwa);
+                filing.setTier1Capital(rwa * (0.07 + random.nextDouble() * 0.06));
+                filing.setTier2Capital(rwa * (0.01 + random.nextDouble() * 0.03));
+                filing.setReportDate(BASE_DATE.plusMonths(3L * (quarter + 1)).minusDays(1));
+                filing.calculateCAR();
+                filings.add(filing);
+            }
+        }
+        ChecksummedFile.write(file, filings);
+        return filings.size();
+    }
+
+    // ==================== VALUES ====================
+
+    private static String bankName(int bank) {
+        return bank < BANK_NAMES.length ? BANK_NAMES[bank] : String.format("Commercial Bank %04d PLC", bank + 1);
+    }
+
+    private String otherBank(int bank, SplittableRandom random) {
+        if (banks == 1) {
+            return bankName(bank);
+        }
+        int other = random.nextInt(banks - 1);
+        return bankName(other < bank ? other : other + 1);
+    }
+
+    private static String paymentId(int bank, int branch, int i) {
+        return String.format("RTGS-%04d-%04d-%07d", bank, branch, i);
+    }
+
+    // Log-normally spread around the median, rounded to the paisa
+    private static double amount(SplittableRandom random, double median) {
+        return Math.round(median * Math.exp(random.nextGaussian() * 0.75) * 100) / 100.0;
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private interface Dataset {
+        long write(File file, SplittableRandom random) throws IOException;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int banks = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int branches = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int transactions = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42L;
+        File outputDir = args.length > 4 ? new File(args[4]) : DEFAULT_OUTPUT_DIR;
+
+        System.out.printf("Generating %d banks × %d branches × %d transactions (seed %d) into %s%n",
+                banks, branches, transactions, seed, outputDir);
+        long started = System.nanoTime();
+        Map<String, Long> written = new SyntheticDataGenerator(banks, branches, transactions, seed).generate(outputDir);
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long total = written.values().stream().mapToLong(Long::longValue).sum();
+        System.out.printf("✓ %d records in %.1f s (%.0f records/s)%n", total, seconds, total / seconds);
+    }
+}
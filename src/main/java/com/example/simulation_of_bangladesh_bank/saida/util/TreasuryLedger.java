@@ -0,0 +1,583 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import com.example.simulation_of_bangladesh_bank.saida.model.GovCashBalance;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * TreasuryLedger - Intraday ledger of the government Treasury Single Account (TSA).
+ * Amounts are kept in paisa. A payment out of the TSA is first reserved: the available
+ * balance is lowered with compare-and-set, so it can never go below zero however many
+ * ministries pay at once. The reservation is then committed (the money leaves the ledger
+ * balance) or released (the money becomes available again). Receipts are credited directly.
+ * Balance reads are a single atomic read.
+ *
+ * Every movement is appended to an in-memory queue and written to tsa_journal.log by one
+ * background thread, which forces each batch to the disk. A posting returns once its movement
+ * is on the disk, so concurrent postings share one write and one force. On start the balance
+ * is rebuilt by replaying the journal; reservations that were neither committed nor released
+ * before a restart are released. A journal that cannot be read to the end is copied aside
+ * (tsa_journal.log.corrupt) before the unreadable part is cut off.
+ */
+public class TreasuryLedger {
+
+    public static final String JOURNAL_FILE = "tsa_journal.log";
+
+    public enum Movement { OPEN, CREDIT, RESERVE, COMMIT, RELEASE }
+
+    public enum State { RESERVED, COMMITTED, RELEASED }
+
+    // Movements kept in memory for display
+    private static final int RECENT_LIMIT = 500;
+
+    private static TreasuryLedger shared;
+
+    private final AtomicLong available = new AtomicLong();
+    private final AtomicLong balance = new AtomicLong();
+    private final LongAdder receipts = new LongAdder();
+    private final LongAdder payments = new LongAdder();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final File journalFile;
+    private final ConcurrentLinkedQueue<Entry> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong written = new AtomicLong();
+    private final Deque<Entry> recent = new ArrayDeque<>();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    /**
+     * Opens a ledger on a journal file, replaying it if it exists.
+     * Throws UncheckedIOException if the journal is corrupt and cannot be copied aside.
+     */
+    public TreasuryLedger(File journalFile) {
+        this.journalFile = journalFile;
+        List<Reservation> unresolved = replay();
+        writer = new Thread(this::writeJournal, "tsa-journal");
+        writer.setDaemon(true);
+        writer.start();
+        for (Reservation reservation : unresolved) {
+            release(reservation);
+        }
+    }
+
+    /**
+     * Ledger of the TSA. On first use without a journal it opens with the balance of the
+     * latest saved GovCashBalance record. Replays the journal, so call it off the FX thread.
+     */
+    public static synchronized TreasuryLedger shared() {
+        if (shared == null) {
+            DataManager.ensureDataDirectory();
+            shared = new TreasuryLedger(new File(DataManager.getFilePath(JOURNAL_FILE)));
+            if (shared.sequence.get() == 0) {
+                shared.open(openingBalance());
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Writes the remaining movements of the shared ledger and stops its journal writer, e.g.
+     * before the application exits. Does nothing if the ledger was never opened.
+     */
+    public static void closeShared() {
+        TreasuryLedger current;
+        synchronized (TreasuryLedger.class) {
+            current = shared;
+        }
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private static long openingBalance() {
+        try {
+            List<GovCashBalance> records = DataRepository.get(DataManager.CASH_BALANCE_FILE);
+            return records.stream()
+                    .filter(r -> r.getReportDate() != null)
+                    .max(Comparator.comparing(GovCashBalance::getReportDate))
+                    .map(r -> toPaisa(r.getCashBalance() > 0 ? r.getCashBalance() : r.getClosingBalance()))
+                    .orElse(0L);
+        } catch (DataFileCorruptedException e) {
+            System.err.println("TSA opened with a zero balance: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    public static long toPaisa(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    // ==================== POSTING ====================
+
+    /**
+     * Sets the opening balance of a new ledger.
+     */
+    public void open(long amount) {
+        if (sequence.get() != 0) {
+            throw new IllegalStateException("TSA ledger is already open");
+        }
+        available.set(amount);
+        balance.set(amount);
+        journal(Movement.OPEN, 0, amount, "TSA", "Opening balance");
+    }
+
+    /**
+     * Receipt into the TSA.
+     */
+    public void credit(String source, long amount, String reference) {
+        requirePositive(amount);
+        available.addAndGet(amount);
+        balance.addAndGet(amount);
+        receipts.add(amount);
+        try {
+            journal(Movement.CREDIT, 0, amount, source, reference);
+        } catch (UncheckedIOException e) {
+            available.addAndGet(-amount);
+            balance.addAndGet(-amount);
+            receipts.add(-amount);
+            throw e;
+        }
+    }
+
+    /**
+     * Sets aside an amount for a payment, or returns null if the available balance cannot cover it.
+     */
+    public Reservation reserve(String payee, long amount, String purpose) {
+        requirePositive(amount);
+        long current;
+        do {
+            current = available.get();
+            if (current < amount) {
+                return null;
+            }
+        } while (!available.compareAndSet(current, current - amount));
+        Reservation reservation = new Reservation(sequence.incrementAndGet(), payee, amount, purpose);
+        try {
+            journal(Movement.RESERVE, reservation, reservation.reservationId);
+        } catch (UncheckedIOException e) {
+            available.addAndGet(amount);
+            throw e;
+        }
+        return reservation;
+    }
+
+    /**
+     * Pays out a reservation. Returns false if it was already committed or released.
+     */
+    public boolean commit(Reservation reservation) {
+        if (!reservation.state.compareAndSet(State.RESERVED, State.COMMITTED)) {
+            return false;
+        }
+        balance.addAndGet(-reservation.amount);
+        payments.add(reservation.amount);
+        try {
+            journal(Movement.COMMIT, reservation, sequence.incrementAndGet());
+        } catch (UncheckedIOException e) {
+            balance.addAndGet(reservation.amount);
+            payments.add(-reservation.amount);
+            reservation.state.set(State.RESERVED);
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Cancels a reservation. Returns false if it was already committed or released.
+     */
+    public boolean release(Reservation reservation) {
+        if (!reservation.state.compareAndSet(State.RESERVED, State.RELEASED)) {
+            return false;
+        }
+        available.addAndGet(reservation.amount);
+        try {
+            journal(Movement.RELEASE, reservation, sequence.incrementAndGet());
+        } catch (UncheckedIOException e) {
+            available.addAndGet(-reservation.amount);
+            reservation.state.set(State.RESERVED);
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Reserves and commits a payment in one step; false if the TSA cannot cover it.
+     */
+    public boolean pay(String payee, long amount, String purpose) {
+        Reservation reservation = reserve(payee, amount, purpose);
+        return reservation != null && commit(reservation);
+    }
+
+    private static void requirePositive(long amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Amount must be positive: " + amount);
+        }
+    }
+
+    // ==================== BALANCES ====================
+
+    /**
+     * Money in the TSA, including reserved amounts not yet paid out.
+     */
+    public long getBalance() {
+        return balance.get();
+    }
+
+    /**
+     * Money that can still be reserved.
+     */
+    public long getAvailable() {
+        return available.get();
+    }
+
+    public long getReserved() {
+        return balance.get() - available.get();
+    }
+
+    public long getReceipts() {
+        return receipts.sum();
+    }
+
+    public long getPayments() {
+        return payments.sum();
+    }
+
+    /**
+     * Latest movements, newest first.
+     */
+    public List<Entry> getRecentMovements() {
+        synchronized (recent) {
+            return new ArrayList<>(recent);
+        }
+    }
+
+    // ==================== JOURNAL ====================
+
+    private void journal(Movement movement, Reservation reservation, long entrySequence) {
+        enqueue(new Entry(entrySequence, System.currentTimeMillis(), movement, reservation.reservationId,
+                reservation.amount, reservation.payee, reservation.purpose));
+    }
+
+    private void journal(Movement movement, long reservationId, long amount, String account, String reference) {
+        enqueue(new Entry(sequence.incrementAndGet(), System.currentTimeMillis(), movement, reservationId,
+                amount, account, reference));
+    }
+
+    // Returns once the movement is forced to the journal. Throws UncheckedIOException if the
+    // writer has stopped; the caller then undoes its change, as the journal will not replay it
+    private void enqueue(Entry entry) {
+        entry.poster = Thread.currentThread();
+        pending.add(entry);
+        LockSupport.unpark(writer);
+        while (!entry.durable) {
+            if (!writer.isAlive() && !entry.durable) {
+                throw new UncheckedIOException(new IOException("TSA journal is not being written"));
+            }
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    /**
+     * Waits until every movement posted so far is written to the journal file.
+     */
+    public void flush() {
+        long target = sequence.get();
+        while (written.get() < target && writer.isAlive()) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    /**
+     * Writes the remaining movements and stops the journal writer.
+     */
+    public void close() {
+        flush();
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Writes queued movements in batches; one write and one force per batch however many threads posted
+    private void writeJournal() {
+        List<Entry> batch = new ArrayList<>();
+        try (FileOutputStream file = new FileOutputStream(journalFile, true);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            while (!closed || !pending.isEmpty()) {
+                Entry entry;
+                while ((entry = pending.poll()) != null) {
+                    entry.writeTo(out);
+                    batch.add(entry);
+                }
+                if (batch.isEmpty()) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+                    continue;
+                }
+                out.flush();
+                file.getChannel().force(false);
+                for (Entry done : batch) {
+                    remember(done);
+                    done.durable = true;
+                    LockSupport.unpark(done.poster);
+                }
+                written.addAndGet(batch.size());
+                batch.clear();
+            }
+        } catch (IOException e) {
+            System.err.println("TSA journal stopped: " + e.getMessage());
+        } finally {
+            // Posters still waiting see the writer is gone
+            for (Entry entry : pending) {
+                LockSupport.unpark(entry.poster);
+            }
+            for (Entry entry : batch) {
+                LockSupport.unpark(entry.poster);
+            }
+        }
+    }
+
+    private void remember(Entry entry) {
+        synchronized (recent) {
+            recent.addFirst(entry);
+            if (recent.size() > RECENT_LIMIT) {
+                recent.removeLast();
+            }
+        }
+    }
+
+    // Rebuilds the balances from the journal and returns reservations left open
+    private List<Reservation> replay() {
+        Map<Long, Reservation> open = new HashMap<>();
+        if (!journalFile.exists()) {
+            return new ArrayList<>();
+        }
+        long entries = 0;
+        long validLength = 0;
+        boolean corrupt = false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(journalFile)))) {
+            while (true) {
+                Entry entry;
+                try {
+                    entry = Entry.readFrom(in);
+                } catch (EOFException e) {
+                    // End of file, or a movement cut short by a crash
+                    break;
+                }
+                entries++;
+                validLength += entry.length();
+                sequence.accumulateAndGet(entry.sequence, Math::max);
+                switch (entry.movement) {
+                    case OPEN -> {
+                        available.addAndGet(entry.amount);
+                        balance.addAndGet(entry.amount);
+                    }
+                    case CREDIT -> {
+                        available.addAndGet(entry.amount);
+                        balance.addAndGet(entry.amount);
+                        receipts.add(entry.amount);
+                    }
+                    case RESERVE -> {
+                        available.addAndGet(-entry.amount);
+                        open.put(entry.reservationId,
+                                new Reservation(entry.reservationId, entry.account, entry.amount, entry.reference));
+                    }
+                    case COMMIT -> {
+                        balance.addAndGet(-entry.amount);
+                        payments.add(entry.amount);
+                        open.remove(entry.reservationId);
+                    }
+                    case RELEASE -> {
+                        available.addAndGet(entry.amount);
+                        open.remove(entry.reservationId);
+                    }
+                }
+                remember(entry);
+            }
+        } catch (IOException e) {
+            System.err.println("TSA journal could not be read after " + entries + " movements: " + e.getMessage());
+            corrupt = true;
+        }
+        if (corrupt) {
+            // Kept whole for inspection; the ledger continues from the movements it could read
+            File aside = new File(journalFile.getPath() + ".corrupt");
+            try {
+                Files.copy(journalFile.toPath(), aside.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                System.err.println("TSA journal copied to " + aside.getName());
+            } catch (IOException e) {
+                throw new UncheckedIOException("TSA journal is corrupt and could not be copied aside", e);
+            }
+        }
+        if (validLength < journalFile.length()) {
+            // Cut off a partly written (or unreadable) tail so new movements follow a whole one
+            try (RandomAccessFile file = new RandomAccessFile(journalFile, "rw")) {
+                file.setLength(validLength);
+                file.getFD().sync();
+            } catch (IOException e) {
+                System.err.println("Could not truncate TSA journal: " + e.getMessage());
+            }
+        }
+        // Sequences continue after the replayed ones; only the new movements are waited for by flush()
+        written.set(sequence.get());
+        if (entries > 0) {
+            System.out.println("Replayed " + entries + " TSA journal movements");
+        }
+        return new ArrayList<>(open.values());
+    }
+
+    // ==================== TYPES ====================
+
+    /**
+     * Money set aside for one payment out of the TSA.
+     */
+    public static class Reservation {
+        private final long reservationId;
+        private final String payee;
+        private final long amount;
+        private final String purpose;
+        private final AtomicReference<State> state = new AtomicReference<>(State.RESERVED);
+
+        Reservation(long reservationId, String payee, long amount, String purpose) {
+            this.reservationId = reservationId;
+            this.payee = payee;
+            this.amount = amount;
+            this.purpose = purpose;
+        }
+
+        public long getReservationId() {
+            return reservationId;
+        }
+
+        public String getPayee() {
+            return payee;
+        }
+
+        public long getAmount() {
+            return amount;
+        }
+
+        public String getPurpose() {
+            return purpose;
+        }
+
+        public State getState() {
+            return state.get();
+        }
+    }
+
+    /**
+     * One journal record.
+     * Layout: [sequence long][time long][movement byte][reservation long][amount long][account UTF][reference UTF]
+     */
+    public static class Entry {
+        private final long sequence;
+        private final long timeMillis;
+        private final Movement movement;
+        private final long reservationId;
+        private final long amount;
+        private final String account;
+        private final String reference;
+        // Set by the journal writer once the entry is on the disk
+        private volatile boolean durable;
+        private Thread poster;
+
+        Entry(long sequence, long timeMillis, Movement movement, long reservationId, long amount,
+              String account, String reference) {
+            this.sequence = sequence;
+            this.timeMillis = timeMillis;
+            this.movement = movement;
+            this.reservationId = reservationId;
+            this.amount = amount;
+            this.account = account != null ? account : "";
+            this.reference = reference != null ? reference : "";
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeLong(sequence);
+            out.writeLong(timeMillis);
+            out.writeByte(movement.ordinal());
+            out.writeLong(reservationId);
+            out.writeLong(amount);
+            out.writeUTF(account);
+            out.writeUTF(reference);
+        }
+
+        static Entry readFrom(DataInputStream in) throws IOException {
+            long sequence = in.readLong();
+            long timeMillis = in.readLong();
+            int type = in.readByte();
+            if (type < 0 || type >= Movement.values().length) {
+                throw new IOException("Unknown movement type " + type + " after sequence " + sequence);
+            }
+            Movement movement = Movement.values()[type];
+            long reservationId = in.readLong();
+            long amount = in.readLong();
+            return new Entry(sequence, timeMillis, movement, reservationId, amount, in.readUTF(), in.readUTF());
+        }
+
+        // Bytes taken by the entry in the journal
+        long length() {
+            return 8 + 8 + 1 + 8 + 8 + utfLength(account) + utfLength(reference);
+        }
+
+        private static int utfLength(String text) {
+            int length = 2;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                length += c >= 0x0001 && c <= 0x007F ? 1 : c <= 0x07FF ? 2 : 3;
+            }
+            return length;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public long getTimeMillis() {
+            return timeMillis;
+        }
+
+        public Movement getMovement() {
+            return movement;
+        }
+
+        public long getAmount() {
+            return amount;
+        }
+
+        public String getAccount() {
+            return account;
+        }
+
+        public String getReference() {
+            return reference;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TreasuryLedgerLoadGenerator - Measures TSA posting throughput under concurrent ministries.
+ * Each thread plays a ministry posting a random mix of receipts and payments (reserved, then
+ * mostly committed and sometimes released) against a scratch ledger with its own journal file;
+ * the live TSA journal is never touched. The opening balance is kept small so many payments
+ * compete for the last funds. Afterwards the ledger's balances are checked against the totals,
+ * and the journal is replayed into a second ledger that must reach the same balance.
+ *
+ * Command line: TreasuryLedgerLoadGenerator [postings] [ministries]
+ */
+public class TreasuryLedgerLoadGenerator {
+
+    private static final long OPENING_BALANCE = 1_000_000_000L * 100;
+    private static final long MAX_AMOUNT = 50_000_000L * 100;
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        int postings = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int ministries = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        File journal = File.createTempFile("tsa_load", ".log");
+        journal.deleteOnExit();
+        try {
+            run(journal, postings, ministries, 42);
+        } finally {
+            journal.delete();
+        }
+    }
+
+    public static void run(File journal, int postings, int ministries, long seed) throws InterruptedException {
+        TreasuryLedger ledger = new TreasuryLedger(journal);
+        ledger.open(OPENING_BALANCE);
+
+        LongAdder refused = new LongAdder();
+        LongAdder released = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (int m = 0; m < ministries; m++) {
+            int share = postings / ministries + (m < postings % ministries ? 1 : 0);
+            String ministry = "Ministry-" + (m + 1);
+            SplittableRandom random = seeds.split();
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < share; i++) {
+                    long amount = 1 + random.nextLong(MAX_AMOUNT);
+                    if (random.nextInt(10) < 4) {
+                        ledger.credit(ministry, amount, "Receipt");
+                        continue;
+                    }
+                    TreasuryLedger.Reservation reservation = ledger.reserve(ministry, amount, "Payment");
+                    if (reservation == null) {
+                        refused.increment();
+                    } else if (random.nextInt(10) == 0) {
+                        ledger.release(reservation);
+                        released.increment();
+                    } else {
+                        ledger.commit(reservation);
+                    }
+                }
+            }, "tsa-load-" + m);
+            workers.add(worker);
+            worker.start();
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long posted = System.nanoTime() - began;
+        ledger.flush();
+        long journalled = System.nanoTime() - began;
+        ledger.close();
+
+        long expected = OPENING_BALANCE + ledger.getReceipts() - ledger.getPayments();
+        TreasuryLedger replayed = new TreasuryLedger(journal);
+        replayed.close();
+
+        System.out.printf("%,d postings from %d ministries: %,.0f postings/s (%,d ms, journal flushed after %,d ms)%n",
+                postings, ministries, postings * 1e9 / Math.max(1, posted), posted / 1_000_000, journalled / 1_000_000);
+        System.out.printf("Refused for insufficient funds %,d, released %,d%n", refused.sum(), released.sum());
+        System.out.printf("Balance %s, available %s, reserved %s: %s%n",
+                ReportFormat.fixed2(ledger.getBalance() / 100.0), ReportFormat.fixed2(ledger.getAvailable() / 100.0),
+                ReportFormat.fixed2(ledger.getReserved() / 100.0),
+                ledger.getBalance() == expected && ledger.getReserved() == 0 && ledger.getAvailable() >= 0
+                        ? "consistent" : "INCONSISTENT");
+        System.out.printf("Journal replay: balance %s (%s), journal size %,d bytes%n",
+                ReportFormat.fixed2(replayed.getBalance() / 100.0),
+                replayed.getBalance() == ledger.getBalance() ? "matches" : "DIFFERS", journal.length());
+    }
+}
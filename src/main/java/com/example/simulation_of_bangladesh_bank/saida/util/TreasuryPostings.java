@@ -0,0 +1,66 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import com.example.simulation_of_bangladesh_bank.saida.model.GovCashBalance;
+
+import java.io.UncheckedIOException;
+
+/**
+ * TreasuryPostings - Posts the receipts, payments and transfers of a GovCashBalance record to
+ * the TSA ledger, then records them on the record with the TSA balance after the posting, so
+ * the record follows the ledger instead of keeping a balance of its own.
+ * Opening the ledger replays its journal and each posting waits for the journal to reach the
+ * disk, so call these off the FX thread.
+ */
+public class TreasuryPostings {
+
+    /**
+     * Posts a receipt ("credit"/"inflow") or payment ("debit"/"outflow"). A payment is refused
+     * if the TSA's available balance cannot cover it.
+     */
+    public static String updateCashRecords(GovCashBalance record, double amount, String transactionType) {
+        long paisa = TreasuryLedger.toPaisa(amount);
+        if (paisa <= 0) {
+            return "Error: Amount must be positive.";
+        }
+        try {
+            TreasuryLedger ledger = TreasuryLedger.shared();
+            // Held across the posting so the record's postings are recorded in ledger order
+            synchronized (record) {
+                if (GovCashBalance.isReceipt(transactionType)) {
+                    ledger.credit(record.getAccountType(), paisa, record.getBalanceId());
+                } else if (GovCashBalance.isPayment(transactionType)
+                        && !ledger.pay(record.getAccountType(), paisa, record.getBalanceId())) {
+                    return "Error: Insufficient cash balance for this transaction.";
+                }
+                return record.recordPosting(amount, transactionType, ledger.getBalance() / 100.0);
+            }
+        } catch (UncheckedIOException e) {
+            System.err.println("TSA posting failed: " + e.getMessage());
+            return "Error: The TSA ledger is unavailable.";
+        }
+    }
+
+    /**
+     * Reserves and pays a transfer out of the TSA, so concurrent transfers can never overdraw it.
+     */
+    public static String authorizeTransfer(GovCashBalance record, String targetAccount, double amount, String purpose) {
+        long paisa = TreasuryLedger.toPaisa(amount);
+        if (paisa <= 0) {
+            return "Transfer failed: Amount must be positive.";
+        }
+        try {
+            TreasuryLedger ledger = TreasuryLedger.shared();
+            synchronized (record) {
+                TreasuryLedger.Reservation reservation = ledger.reserve(targetAccount, paisa, purpose);
+                if (reservation == null) {
+                    return "Transfer failed: Insufficient balance.";
+                }
+                ledger.commit(reservation);
+                return record.recordTransfer(targetAccount, amount, purpose, ledger.getBalance() / 100.0);
+            }
+        } catch (UncheckedIOException e) {
+            System.err.println("TSA transfer failed: " + e.getMessage());
+            return "Transfer failed: The TSA ledger is unavailable.";
+        }
+    }
+}
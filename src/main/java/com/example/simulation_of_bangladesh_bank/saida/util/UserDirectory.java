@@ -0,0 +1,119 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import com.example.simulation_of_bangladesh_bank.saida.model.User;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserDirectory - In-memory, case-insensitive index over users.bin.
+ * The file is read once; lookups and logins are answered from the index, and
+ * last-login timestamps are journaled in small batches instead of rewriting the file.
+ */
+public class UserDirectory {
+
+    // Flush pending last-login updates once this many accumulate...
+    private static final int LOGIN_FLUSH_BATCH = 50;
+    // ...or after this many seconds, whichever comes first
+    private static final long LOGIN_FLUSH_INTERVAL_SECONDS = 5;
+
+    private static volatile Map<String, User> index;
+    private static final Map<String, User> pendingLogins = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService flusher;
+
+    /**
+     * Finds a user by username (case-insensitive) in O(1).
+     */
+    public static Optional<User> find(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(index().get(username.toLowerCase()));
+    }
+
+    /**
+     * Queues a last-login update for the next batch flush.
+     */
+    public static void recordLogin(User user) {
+        pendingLogins.put(user.getUsername().toLowerCase(), user);
+        if (pendingLogins.size() >= LOGIN_FLUSH_BATCH) {
+            flushLogins();
+        } else {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Writes all queued last-login updates to the users journal in one append.
+     */
+    public static synchronized void flushLogins() {
+        if (pendingLogins.isEmpty()) {
+            return;
+        }
+        Map<String, User> batch = new HashMap<>(pendingLogins);
+        batch.keySet().forEach(pendingLogins::remove);
+        if (!DataManager.updateRecords(DataManager.USERS_FILE, batch)) {
+            System.err.println("Failed to record " + batch.size() + " login(s); will retry.");
+            batch.forEach(pendingLogins::putIfAbsent);
+        }
+    }
+
+    /**
+     * Adds a newly created user to the index.
+     */
+    static void add(User user) {
+        index().put(user.getUsername().toLowerCase(), user);
+    }
+
+    /**
+     * Rebuilds the index from a list that was just written to users.bin.
+     */
+    static synchronized void reload(List<User> users) {
+        Map<String, User> fresh = new ConcurrentHashMap<>();
+        for (User user : users) {
+            fresh.put(user.getUsername().toLowerCase(), user);
+        }
+        index = fresh;
+    }
+
+    /**
+     * Drops the index so it is rebuilt from disk on next use.
+     */
+    static synchronized void invalidate() {
+        pendingLogins.clear();
+        index = null;
+    }
+
+    private static Map<String, User> index() {
+        Map<String, User> current = index;
+        if (current == null) {
+            synchronized (UserDirectory.class) {
+                if (index == null) {
+                    reload(DataManager.loadUsers());
+                }
+                current = index;
+            }
+        }
+        return current;
+    }
+
+    private static synchronized void scheduleFlush() {
+        if (flusher == null) {
+            flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "user-login-flusher");
+                t.setDaemon(true);
+                return t;
+            });
+            flusher.scheduleWithFixedDelay(UserDirectory::flushLogins,
+                    LOGIN_FLUSH_INTERVAL_SECONDS, LOGIN_FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+            // Don't lose queued logins when the application exits
+            Runtime.getRuntime().addShutdownHook(new Thread(UserDirectory::flushLogins));
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.example.simulation_of_bangladesh_bank.saida.model.User;
 import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
+import java.util.stream.Collectors;
 
 /**
  * UserManagement - Command-line utility for managing users.
@@ -110,7 +111,7 @@ public class UserManagement {
         List<User> users = DataManager.loadUsers();
         
         // Generate new ID
-        String newId = "USR" + String.format("%03d", users.size() + 1);
+        String newId = nextUserId();
         System.out.println("Generated User ID: " + newId);
         
         System.out.print("Enter Username: ");
@@ -339,18 +340,22 @@ public class UserManagement {
      */
     public static boolean addUser(String username, String password, String fullName, 
                                    String role, String email, String phone, String department) {
-        List<User> users = DataManager.loadUsers();
-        
         // Check if username exists
-        if (users.stream().anyMatch(u -> u.getUsername().equalsIgnoreCase(username))) {
+        if (DataManager.findUserByUsername(username).isPresent()) {
             return false;
         }
         
-        String newId = "USR" + String.format("%03d", users.size() + 1);
+        String newId = nextUserId();
         User newUser = new User(newId, username, password, fullName, role, email, phone, department);
-        users.add(newUser);
-        
-        return DataManager.saveUsers(users);
+        return DataManager.addUser(newUser);
+    }
+
+    /**
+     * Mints the next user ID (USR001, USR002, ...) from the shared ID sequence.
+     */
+    public static String nextUserId() {
+        return IdSequence.nextId("USR", 3, () -> DataManager.loadUsers().stream()
+                .map(User::getId).collect(Collectors.toList()));
     }
 
     /**
@@ -0,0 +1,255 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ViewCache - Keeps loaded FXML views so navigating back to a screen does not parse it again.
+ * A view is only reused if its controller implements Resettable: it is then parsed and
+ * initialized once, and resetView() is called each time it is shown again so it can reload
+ * its data. Other views are loaded fresh on every navigation, as before, since their
+ * controllers expect a new instance (e.g. empty forms).
+ *
+ * preload() reads a role's likely next screens and loads their controller classes on a
+ * background thread right after login. The views themselves, and so their controllers, are
+ * always built on the FX thread when first opened, with the data of that moment.
+ *
+ * A view is cached per use, as a window's scene or as content embedded in another screen,
+ * since a node cannot be the root of a scene and a child elsewhere at the same time.
+ *
+ * Every navigation is reported to the NavigationListener with its latency.
+ */
+public class ViewCache {
+
+    /**
+     * Implemented by controllers whose view may be cached and shown again.
+     */
+    public interface Resettable {
+        /**
+         * Called on the FX thread each time the cached view is shown again.
+         */
+        void resetView();
+    }
+
+    /**
+     * Receives the latency of every navigation, e.g. to collect metrics. fromCache is true
+     * when a cached view was shown again; preloaded when a new view was built from a source
+     * read by preload().
+     */
+    public interface NavigationListener {
+        void navigated(String view, long nanos, boolean fromCache, boolean preloaded);
+    }
+
+    // Navigations slower than this are logged by the default listener
+    private static final long SLOW_NAVIGATION_NANOS = 250_000_000L;
+
+    private static final Pattern CONTROLLER = Pattern.compile("fx:controller\\s*=\\s*\"([^\"]+)\"");
+
+    // Only touched on the FX thread
+    private static final Map<String, View> VIEWS = new HashMap<>();
+    // FXML sources read by preload(), reused for every load until clear()
+    private static final Map<String, CompletableFuture<byte[]>> SOURCES = new ConcurrentHashMap<>();
+    private static final ExecutorService PRELOADER = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "view-preload");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private static volatile NavigationListener listener = (view, nanos, fromCache, preloaded) -> {
+        if (nanos > SLOW_NAVIGATION_NANOS) {
+            System.out.println("⏱ " + view + " took " + nanos / 1_000_000 + " ms to open");
+        }
+    };
+
+    /**
+     * Returns the view for an FXML file to show as a window's scene, reusing a cached one when
+     * possible. Must be called on the FX thread.
+     */
+    public static View acquire(URL fxml) throws IOException {
+        return acquire(fxml, "#scene");
+    }
+
+    /**
+     * Returns the view for an FXML file to embed in another screen (e.g. a dashboard's content
+     * area), reusing a cached one when possible. Must be called on the FX thread.
+     */
+    public static View acquireContent(URL fxml) throws IOException {
+        return acquire(fxml, "#content");
+    }
+
+    /**
+     * Reads the given FXML files and loads their controller classes in the background, so
+     * their first navigation does not wait for the disk or the class loader.
+     * Files already read or not found are skipped.
+     */
+    public static void preload(Class<?> anchor, String... fxmlFiles) {
+        for (String fxmlFile : fxmlFiles) {
+            URL fxml = anchor.getResource(fxmlFile);
+            if (fxml == null) {
+                System.err.println("Cannot preload missing FXML file: " + fxmlFile);
+                continue;
+            }
+            SOURCES.computeIfAbsent(fxml.toExternalForm(), key -> CompletableFuture.supplyAsync(() -> {
+                try {
+                    return read(fxml);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, PRELOADER));
+        }
+    }
+
+    /**
+     * Drops every cached view, e.g. on logout so the next user gets fresh screens.
+     */
+    public static void clear() {
+        VIEWS.clear();
+        SOURCES.clear();
+    }
+
+    public static void setNavigationListener(NavigationListener navigationListener) {
+        listener = navigationListener != null ? navigationListener : (view, nanos, fromCache, preloaded) -> { };
+    }
+
+    /**
+     * Reports a finished navigation to the listener.
+     */
+    public static void reportNavigation(View view, long startNanos) {
+        listener.navigated(view.name, System.nanoTime() - startNanos, view.fromCache, view.preloaded);
+    }
+
+    private static View acquire(URL fxml, String use) throws IOException {
+        if (fxml == null) {
+            throw new IOException("FXML file not found");
+        }
+        String key = fxml.toExternalForm();
+        View view = VIEWS.get(key + use);
+        if (view != null) {
+            ((Resettable) view.controller).resetView();
+            view.fromCache = true;
+            return view;
+        }
+        view = load(fxml, source(key));
+        if (view.controller instanceof Resettable) {
+            VIEWS.put(key + use, view);
+        }
+        return view;
+    }
+
+    // Builds the view and its controller; on the FX thread only
+    private static View load(URL fxml, byte[] source) throws IOException {
+        FXMLLoader loader = new FXMLLoader(fxml);
+        Parent root;
+        if (source != null) {
+            try (InputStream in = new ByteArrayInputStream(source)) {
+                root = loader.load(in);
+            }
+        } else {
+            root = loader.load();
+        }
+        return new View(fxml, root, loader.getController(), source != null);
+    }
+
+    // Runs on the preload thread: the FXML bytes, with the controller class loaded (not initialized)
+    private static byte[] read(URL fxml) throws IOException {
+        byte[] source;
+        try (InputStream in = fxml.openStream()) {
+            source = in.readAllBytes();
+        }
+        Matcher controller = CONTROLLER.matcher(new String(source, StandardCharsets.UTF_8));
+        if (controller.find()) {
+            try {
+                Class.forName(controller.group(1), false, ViewCache.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                // Reported by FXMLLoader when the view is opened
+            }
+        }
+        return source;
+    }
+
+    // The preloaded source of a view, or null to read it from its URL
+    private static byte[] source(String key) {
+        CompletableFuture<byte[]> pending = SOURCES.get(key);
+        if (pending == null) {
+            return null;
+        }
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            SOURCES.remove(key, pending);
+            System.err.println("Preloading " + key + " failed, loading it now: " + e.getCause());
+            return null;
+        }
+    }
+
+    // ==================== VIEW ====================
+
+    /**
+     * A loaded FXML view: its root node, controller and (once shown as a window) its scene.
+     */
+    public static class View {
+        private final String name;
+        private final Parent root;
+        private final Object controller;
+        private final boolean preloaded;
+        private Scene scene;
+        private boolean fromCache;
+
+        View(URL fxml, Parent root, Object controller, boolean preloaded) {
+            String path = fxml.getPath();
+            this.name = path.substring(path.lastIndexOf('/') + 1);
+            this.root = root;
+            this.controller = controller;
+            this.preloaded = preloaded;
+        }
+
+        public Parent getRoot() {
+            return root;
+        }
+
+        public Object getController() {
+            return controller;
+        }
+
+        /**
+         * The scene around the root, created on first use so a reused view keeps one scene.
+         */
+        public Scene getScene() {
+            if (scene == null) {
+                scene = new Scene(root);
+            }
+            return scene;
+        }
+
+        /**
+         * True once the view is shown again from the cache, not for its first load.
+         */
+        public boolean isFromCache() {
+            return fromCache;
+        }
+
+        /**
+         * True if the view was built from a source read ahead by preload().
+         */
+        public boolean isPreloaded() {
+            return preloaded;
+        }
+    }
+}
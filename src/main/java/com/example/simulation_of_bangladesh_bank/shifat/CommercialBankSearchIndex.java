@@ -0,0 +1,197 @@
+package com.example.simulation_of_bangladesh_bank.shifat;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * CommercialBankSearchIndex - Prefix search over the commercial bank registry.
+ * Each searchable field keeps its lower-cased values sorted, with the registry row of each
+ * value alongside. All values starting with a prefix are then one contiguous range of that
+ * order, found with two binary searches, which is the same range a trie walk would give
+ * without a node per character. Search results are slices of the sorted rows: nothing is
+ * copied, so type-ahead costs O(log n) per keystroke whatever the registry size.
+ *
+ * Adding a bank builds new sorted arrays, so slices handed out earlier stay valid.
+ */
+public class CommercialBankSearchIndex {
+
+    public enum Field {
+        BANK_ID("Bank Id", ManageCommercialBank::getBankId),
+        NAME("Name", ManageCommercialBank::getName),
+        LICENSE_NUMBER("License Number", b -> String.valueOf(b.getLicensenumber())),
+        TYPE("Type", ManageCommercialBank::getType),
+        STATUS("Status", ManageCommercialBank::getStatus);
+
+        private final String label;
+        private final Function<ManageCommercialBank, String> value;
+
+        Field(String label, Function<ManageCommercialBank, String> value) {
+            this.label = label;
+            this.value = value;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public static Field ofLabel(String label) {
+            for (Field field : values()) {
+                if (field.label.equals(label)) {
+                    return field;
+                }
+            }
+            return BANK_ID;
+        }
+    }
+
+    private final List<ManageCommercialBank> banks = new ArrayList<>();
+    private final FieldIndex[] indexes = new FieldIndex[Field.values().length];
+
+    public CommercialBankSearchIndex(List<ManageCommercialBank> registry) {
+        banks.addAll(registry);
+        for (Field field : Field.values()) {
+            indexes[field.ordinal()] = FieldIndex.build(banks, field);
+        }
+    }
+
+    /**
+     * Adds a newly registered bank to every field index.
+     */
+    public synchronized void add(ManageCommercialBank bank) {
+        int row = banks.size();
+        banks.add(bank);
+        for (Field field : Field.values()) {
+            indexes[field.ordinal()] = indexes[field.ordinal()].insert(key(field.value.apply(bank)), row);
+        }
+    }
+
+    public synchronized int size() {
+        return banks.size();
+    }
+
+    /**
+     * Banks whose field starts with the prefix, ignoring case, ordered by that field.
+     * An empty prefix matches every bank.
+     */
+    public synchronized Slice search(Field field, String prefix) {
+        return indexes[field.ordinal()].range(banks, key(prefix));
+    }
+
+    private static String key(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // ==================== FIELD INDEX ====================
+
+    private static class FieldIndex {
+        final String[] keys;
+        final int[] rows;
+
+        FieldIndex(String[] keys, int[] rows) {
+            this.keys = keys;
+            this.rows = rows;
+        }
+
+        static FieldIndex build(List<ManageCommercialBank> banks, Field field) {
+            int size = banks.size();
+            String[] values = new String[size];
+            Integer[] order = new Integer[size];
+            for (int row = 0; row < size; row++) {
+                values[row] = key(field.value.apply(banks.get(row)));
+                order[row] = row;
+            }
+            Arrays.sort(order, Comparator.comparing((Integer row) -> values[row]));
+            String[] keys = new String[size];
+            int[] rows = new int[size];
+            for (int i = 0; i < size; i++) {
+                rows[i] = order[i];
+                keys[i] = values[order[i]];
+            }
+            return new FieldIndex(keys, rows);
+        }
+
+        FieldIndex insert(String key, int row) {
+            int at = lowerBound(key);
+            while (at < keys.length && keys[at].equals(key)) {
+                at++;
+            }
+            String[] newKeys = new String[keys.length + 1];
+            int[] newRows = new int[rows.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, at);
+            System.arraycopy(rows, 0, newRows, 0, at);
+            newKeys[at] = key;
+            newRows[at] = row;
+            System.arraycopy(keys, at, newKeys, at + 1, keys.length - at);
+            System.arraycopy(rows, at, newRows, at + 1, rows.length - at);
+            return new FieldIndex(newKeys, newRows);
+        }
+
+        Slice range(List<ManageCommercialBank> banks, String prefix) {
+            int from = lowerBound(prefix);
+            // Keys starting with the prefix follow each other from 'from' on
+            int low = from;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].startsWith(prefix)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return new Slice(banks, rows, from, low);
+        }
+
+        // First position whose key is not less than the given one
+        private int lowerBound(String key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    // ==================== RESULTS ====================
+
+    /**
+     * Read-only view of a range of one field's sorted rows.
+     */
+    public static class Slice extends AbstractList<ManageCommercialBank> {
+        private final List<ManageCommercialBank> banks;
+        private final int[] rows;
+        private final int from;
+        private final int to;
+
+        Slice(List<ManageCommercialBank> banks, int[] rows, int from, int to) {
+            this.banks = banks;
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public ManageCommercialBank get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException("Index " + index + " of " + (to - from));
+            }
+            return banks.get(rows[from + index]);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.simulation_of_bangladesh_bank.shifat;
+
+import javafx.collections.ObservableListBase;
+
+import java.util.List;
+
+/**
+ * CommercialBankSearchResults - Read-only observable list over the latest search slice,
+ * for binding a table to type-ahead results. Showing a new slice swaps the list behind the
+ * view and announces one replace change; the rows are never copied, so the table only
+ * fetches the rows it draws.
+ */
+public class CommercialBankSearchResults extends ObservableListBase<ManageCommercialBank> {
+
+    private List<ManageCommercialBank> shown = List.of();
+
+    /**
+     * Replaces the results with another slice.
+     */
+    public void show(CommercialBankSearchIndex.Slice slice) {
+        List<ManageCommercialBank> removed = shown;
+        shown = slice;
+        beginChange();
+        nextReplace(0, slice.size(), removed);
+        endChange();
+    }
+
+    @Override
+    public ManageCommercialBank get(int index) {
+        return shown.get(index);
+    }
+
+    @Override
+    public int size() {
+        return shown.size();
+    }
+}
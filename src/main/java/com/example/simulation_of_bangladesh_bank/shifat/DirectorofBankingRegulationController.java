@@ -1,15 +1,21 @@
 package com.example.simulation_of_bangladesh_bank.shifat;
 
+import com.example.simulation_of_bangladesh_bank.saida.util.ViewCache;
 import javafx.event.ActionEvent;
 
 import java.io.IOException;
 
-public class DirectorofBankingRegulationController
+public class DirectorofBankingRegulationController implements ViewCache.Resettable
 {
     @javafx.fxml.FXML
     public void initialize() {
     }
 
+    // Navigation only, so the cached dashboard has nothing to reload
+    @Override
+    public void resetView() {
+    }
+
     @javafx.fxml.FXML
     public void ManageLoanRequests(ActionEvent actionEvent) throws IOException {
         SceneSwitcher.sceneSwitch(actionEvent, "shifat/ManageLoanRequests.fxml", "Manage Bank");
@@ -1,5 +1,6 @@
 package com.example.simulation_of_bangladesh_bank.shifat;
 
+import com.example.simulation_of_bangladesh_bank.BinaryFileHelper;
 import javafx.event.ActionEvent;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
@@ -70,7 +71,7 @@ public class ManageCircularsNoticesController
     );
 
         manageCircularsNoticesArrayList.add(manageCircularsNotices);
-        BinaryFileHelper.writeAllObjects(file, manageCircularsNoticesArrayList);
+        BinaryFileHelper.saveObject(file, manageCircularsNotices);
     }
 
     @javafx.fxml.FXML
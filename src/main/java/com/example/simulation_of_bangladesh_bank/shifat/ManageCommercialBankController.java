@@ -1,18 +1,20 @@
 package com.example.simulation_of_bangladesh_bank.shifat;
 
+import com.example.simulation_of_bangladesh_bank.BinaryFileHelper;
+import com.example.simulation_of_bangladesh_bank.saida.util.CellValues;
+import com.example.simulation_of_bangladesh_bank.saida.util.ViewCache;
 import javafx.event.ActionEvent;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
-import javafx.scene.control.cell.PropertyValueFactory;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
-public class ManageCommercialBankController
+public class ManageCommercialBankController implements ViewCache.Resettable
 {
     @javafx.fxml.FXML
     private TableView<ManageCommercialBank> tableID;
@@ -48,17 +50,21 @@ public class ManageCommercialBankController
     private TextField licenseID;
     @javafx.fxml.FXML
     private ComboBox<String> statusID2;
+    @javafx.fxml.FXML
+    private ComboBox<String> searchFieldID;
     private List<ManageCommercialBank> manageCommercialBankArrayList = new ArrayList<>();
     private File file = new File( "data/MangeCommercialBank.bin");
+    private CommercialBankSearchIndex searchIndex;
+    private final CommercialBankSearchResults results = new CommercialBankSearchResults();
 
 
     @javafx.fxml.FXML
     public void initialize() {
-        licenseColumn.setCellValueFactory(new PropertyValueFactory<>( "licensenumber"));
-        typeColumn.setCellValueFactory(new PropertyValueFactory<>( "type"));
-        nameColumn.setCellValueFactory(new PropertyValueFactory<>( "name"));
-        statusColumn.setCellValueFactory(new PropertyValueFactory<>( "status"));
-        bankColumn.setCellValueFactory(new PropertyValueFactory<>( "bankId"));
+        licenseColumn.setCellValueFactory(CellValues.of(bank -> String.valueOf(bank.getLicensenumber())));
+        typeColumn.setCellValueFactory(CellValues.of(ManageCommercialBank::getType));
+        nameColumn.setCellValueFactory(CellValues.of(ManageCommercialBank::getName));
+        statusColumn.setCellValueFactory(CellValues.of(ManageCommercialBank::getStatus));
+        bankColumn.setCellValueFactory(CellValues.of(ManageCommercialBank::getBankId));
 
         typeID.getItems().addAll("Public", "Private", "Islamic", "Foreign");
         statusID.getItems().addAll("Active", "Merged", "Suspended");
@@ -69,8 +75,42 @@ public class ManageCommercialBankController
 
 
         manageCommercialBankArrayList = BinaryFileHelper.readAllObjects(file);
-        tableID.getItems().clear();
-        tableID.getItems().addAll(manageCommercialBankArrayList);
+        searchIndex = new CommercialBankSearchIndex(manageCommercialBankArrayList);
+        bindResults();
+
+        // Type-ahead: the table follows the search box on every keystroke
+        for (CommercialBankSearchIndex.Field field : CommercialBankSearchIndex.Field.values()) {
+            searchFieldID.getItems().add(field.getLabel());
+        }
+        searchFieldID.setValue(CommercialBankSearchIndex.Field.BANK_ID.getLabel());
+        searchFieldID.setOnAction(event -> applySearch());
+        bankId3.textProperty().addListener((observable, oldValue, newValue) -> applySearch());
+        applySearch();
+    }
+
+    // Shown again from the view cache: pick up banks added since, with empty forms
+    @Override
+    public void resetView() {
+        manageCommercialBankArrayList = BinaryFileHelper.readAllObjects(file);
+        searchIndex = new CommercialBankSearchIndex(manageCommercialBankArrayList);
+        for (TextField field : new TextField[] {bankId, nameID, licenseID, bankId2, nameID2, bankId4, bankId3}) {
+            field.clear();
+        }
+        applySearch();
+    }
+
+    // The table shows the search slice itself, so a keystroke copies no rows
+    private void bindResults() {
+        tableID.setItems(results);
+        // Results come ordered by the searched field; sorting by a column would need a copy
+        for (TableColumn<ManageCommercialBank, ?> column : tableID.getColumns()) {
+            column.setSortable(false);
+        }
+    }
+
+    private void applySearch() {
+        CommercialBankSearchIndex.Field field = CommercialBankSearchIndex.Field.ofLabel(searchFieldID.getValue());
+        results.show(searchIndex.search(field, bankId3.getText()));
     }
 
     @Deprecated
@@ -80,17 +120,19 @@ public class ManageCommercialBankController
     @javafx.fxml.FXML
     public void addOnClicnk(ActionEvent actionEvent) {
         ManageCommercialBank manageCommercialBank = new ManageCommercialBank(
-                bankId.getText(),
-                nameID.getText(),
-                Integer.parseInt(licenseID.getText()),
+                statusID.getValue(),
                 typeID.getValue(),
-                statusID.getValue()
+                Integer.parseInt(licenseID.getText()),
+                nameID.getText(),
+                bankId.getText()
 
 
         );
 
         manageCommercialBankArrayList.add(manageCommercialBank);
-        BinaryFileHelper.writeAllObjects(file, manageCommercialBankArrayList);
+        BinaryFileHelper.saveObject(file, manageCommercialBank);
+        searchIndex.add(manageCommercialBank);
+        applySearch();
 
     }
 
@@ -119,5 +161,6 @@ public class ManageCommercialBankController
 
     @javafx.fxml.FXML
     public void searchOnClickk(ActionEvent actionEvent) {
+        applySearch();
     }
 }
\ No newline at end of file
@@ -1,20 +1,23 @@
 package com.example.simulation_of_bangladesh_bank.shifat;
 
+import com.example.simulation_of_bangladesh_bank.BinaryFileHelper;
+import com.example.simulation_of_bangladesh_bank.saida.util.CellValues;
+import com.example.simulation_of_bangladesh_bank.saida.util.ViewCache;
 import javafx.event.ActionEvent;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
-import javafx.scene.control.cell.PropertyValueFactory;
 
+import java.io.File;
 import java.io.IOException;
 
-public class SuperviseCommercialBanksController
+public class SuperviseCommercialBanksController implements ViewCache.Resettable
 {
     @javafx.fxml.FXML
-    private TableColumn<SuperviseCommercialBanks, String> licenseColumn;
+    private TableColumn<ManageCommercialBank, String> licenseColumn;
     @javafx.fxml.FXML
-    private TableColumn<SuperviseCommercialBanks, String> typeColumn;
+    private TableColumn<ManageCommercialBank, String> typeColumn;
     @javafx.fxml.FXML
     private TextField nameID2;
     @javafx.fxml.FXML
@@ -22,7 +25,7 @@ public class SuperviseCommercialBanksController
     @javafx.fxml.FXML
     private TextField bankId2;
     @javafx.fxml.FXML
-    private TableColumn<SuperviseCommercialBanks, String> nameColumn;
+    private TableColumn<ManageCommercialBank, String> nameColumn;
     @javafx.fxml.FXML
     private ComboBox<String> statusID;
     @javafx.fxml.FXML
@@ -30,11 +33,11 @@ public class SuperviseCommercialBanksController
     @javafx.fxml.FXML
     private TextField bankId4;
     @javafx.fxml.FXML
-    private TableColumn<SuperviseCommercialBanks, String> statusColumn;
+    private TableColumn<ManageCommercialBank, String> statusColumn;
     @javafx.fxml.FXML
-    private TableView<SuperviseCommercialBanks> tableID;
+    private TableView<ManageCommercialBank> tableID;
     @javafx.fxml.FXML
-    private TableColumn<SuperviseCommercialBanks, String> bankColumn;
+    private TableColumn<ManageCommercialBank, String> bankColumn;
     @javafx.fxml.FXML
     private TextField nameID;
     @javafx.fxml.FXML
@@ -45,15 +48,53 @@ public class SuperviseCommercialBanksController
     private TextField licenseID;
     @javafx.fxml.FXML
     private ComboBox<String> statusID2;
+    @javafx.fxml.FXML
+    private ComboBox<String> searchFieldID;
+    private File file = new File( "data/MangeCommercialBank.bin");
+    private CommercialBankSearchIndex searchIndex;
+    private final CommercialBankSearchResults results = new CommercialBankSearchResults();
 
     @javafx.fxml.FXML
     public void initialize() {
-        bankColumn.setCellValueFactory(new PropertyValueFactory<>("bankId"));
-        nameColumn.setCellValueFactory(new PropertyValueFactory<>("name"));
-        licenseColumn.setCellValueFactory(new PropertyValueFactory<>("licensenumber"));
-        typeColumn.setCellValueFactory(new PropertyValueFactory<>("type"));
-        statusColumn.setCellValueFactory(new PropertyValueFactory<>("status"));
+        bankColumn.setCellValueFactory(CellValues.of(ManageCommercialBank::getBankId));
+        nameColumn.setCellValueFactory(CellValues.of(ManageCommercialBank::getName));
+        licenseColumn.setCellValueFactory(CellValues.of(bank -> String.valueOf(bank.getLicensenumber())));
+        typeColumn.setCellValueFactory(CellValues.of(ManageCommercialBank::getType));
+        statusColumn.setCellValueFactory(CellValues.of(ManageCommercialBank::getStatus));
+
+        bindResults();
+
+        // Supervision works on the same registry the governor maintains
+        searchIndex = new CommercialBankSearchIndex(BinaryFileHelper.readAllObjects(file));
+        for (CommercialBankSearchIndex.Field field : CommercialBankSearchIndex.Field.values()) {
+            searchFieldID.getItems().add(field.getLabel());
+        }
+        searchFieldID.setValue(CommercialBankSearchIndex.Field.BANK_ID.getLabel());
+        searchFieldID.setOnAction(event -> applySearch());
+        bankId3.textProperty().addListener((observable, oldValue, newValue) -> applySearch());
+        applySearch();
+    }
+
+    // Shown again from the view cache: pick up registry changes made since
+    @Override
+    public void resetView() {
+        searchIndex = new CommercialBankSearchIndex(BinaryFileHelper.readAllObjects(file));
+        bankId3.clear();
+        applySearch();
+    }
+
+    // The table shows the search slice itself, so a keystroke copies no rows
+    private void bindResults() {
+        tableID.setItems(results);
+        // Results come ordered by the searched field; sorting by a column would need a copy
+        for (TableColumn<ManageCommercialBank, ?> column : tableID.getColumns()) {
+            column.setSortable(false);
+        }
+    }
 
+    private void applySearch() {
+        CommercialBankSearchIndex.Field field = CommercialBankSearchIndex.Field.ofLabel(searchFieldID.getValue());
+        results.show(searchIndex.search(field, bankId3.getText()));
     }
 
     @javafx.fxml.FXML
@@ -72,6 +113,7 @@ public class SuperviseCommercialBanksController
 
     @javafx.fxml.FXML
     public void searchOnClickk(ActionEvent actionEvent) {
+        applySearch();
     }
 
     @javafx.fxml.FXML
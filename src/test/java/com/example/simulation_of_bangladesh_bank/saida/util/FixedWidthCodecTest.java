@@ -0,0 +1,75 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FixedWidthCodecTest {
+
+    @Test
+    void layoutFollowsFieldOrder() {
+        // id: 2 + 12, status: 2 + 8, amount: 8, date: 8
+        assertEquals(40, TestRow.CODEC.getRecordSize());
+        assertEquals(0, TestRow.CODEC.offsetOf("id"));
+        assertEquals(14, TestRow.CODEC.offsetOf("status"));
+        assertEquals(24, TestRow.CODEC.offsetOf("amount"));
+        assertEquals(FixedWidthCodec.FieldType.DATE, TestRow.CODEC.typeOf("date"));
+        assertThrows(IllegalArgumentException.class, () -> TestRow.CODEC.offsetOf("missing"));
+    }
+
+    @Test
+    void encodeAndDecodeRoundTrip() {
+        ByteBuffer buffer = ByteBuffer.allocate(100);
+        TestRow row = new TestRow("LOAN-007", "Paid", 1234.5, LocalDate.of(2025, 3, 1));
+
+        TestRow.CODEC.encode(row, buffer, 10);
+        TestRow decoded = TestRow.CODEC.decode(buffer, 10);
+
+        assertEquals("LOAN-007", decoded.getId());
+        assertEquals("Paid", decoded.getStatus());
+        assertEquals(1234.5, decoded.getAmount());
+        assertEquals(LocalDate.of(2025, 3, 1), decoded.getDate());
+        assertEquals("LOAN-007", FixedWidthCodec.readText(buffer, 10));
+        assertEquals("LOAN-007", TestRow.CODEC.keyOf(decoded));
+    }
+
+    @Test
+    void nullTextAndDateRoundTrip() {
+        ByteBuffer buffer = ByteBuffer.allocate(40);
+
+        TestRow.CODEC.encode(new TestRow("A", null, 0, null), buffer, 0);
+        TestRow decoded = TestRow.CODEC.decode(buffer, 0);
+
+        assertNull(decoded.getStatus());
+        assertNull(decoded.getDate());
+    }
+
+    @Test
+    void checkFitsCountsUtf8Bytes() {
+        // Eight bytes fit the status slot; three 3-byte characters do not
+        assertDoesNotThrow(() -> TestRow.CODEC.checkFits(new TestRow("A", "12345678", 0, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> TestRow.CODEC.checkFits(new TestRow("A", "123456789", 0, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> TestRow.CODEC.checkFits(new TestRow("A", "৳৳৳", 0, null)));
+    }
+
+    @Test
+    void encodeRejectsOversizedValueBeforeWriting() {
+        ByteBuffer buffer = ByteBuffer.allocate(40);
+        TestRow.CODEC.encode(new TestRow("A", "old", 1, null), buffer, 0);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> TestRow.CODEC.encode(new TestRow("B", "much too long", 2, null), buffer, 0));
+
+        TestRow kept = TestRow.CODEC.decode(buffer, 0);
+        assertEquals("A", kept.getId());
+        assertEquals(1, kept.getAmount());
+    }
+}
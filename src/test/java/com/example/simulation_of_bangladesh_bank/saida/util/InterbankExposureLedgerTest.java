@@ -0,0 +1,74 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import com.example.simulation_of_bangladesh_bank.saida.model.InterbankOperations;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InterbankExposureLedgerTest {
+
+    @Test
+    void bookingAgainReplacesTheDeal() {
+        InterbankExposureLedger ledger = new InterbankExposureLedger();
+        ledger.book(deal("IB-1", "Sonali Bank Ltd.", 1_000, "Active"));
+
+        ledger.book(deal("IB-1", "Sonali Bank Ltd.", 1_500, "Active"));
+
+        assertEquals(1_500, ledger.getExposure("Sonali Bank Ltd."));
+        assertEquals(1, ledger.getOpenPositions());
+    }
+
+    @Test
+    void bookingAgainCanMoveTheDealToAnotherCounterparty() {
+        InterbankExposureLedger ledger = new InterbankExposureLedger();
+        ledger.book(deal("IB-1", "Sonali Bank Ltd.", 1_000, "Active"));
+
+        ledger.book(deal("IB-1", "Janata Bank Ltd.", 700, "Active"));
+
+        assertEquals(0, ledger.getExposure("Sonali Bank Ltd."));
+        assertEquals(700, ledger.getExposure("Janata Bank Ltd."));
+    }
+
+    @Test
+    void settledAndInactiveDealsCarryNoExposure() {
+        InterbankExposureLedger ledger = new InterbankExposureLedger();
+        InterbankOperations first = deal("IB-1", "Sonali Bank Ltd.", 1_000, "Active");
+        ledger.book(first);
+        ledger.book(deal("IB-2", "Sonali Bank Ltd.", 400, "Active"));
+        ledger.book(deal("IB-3", "Sonali Bank Ltd.", 900, "Pending"));
+
+        ledger.settle(first);
+        ledger.settle(first);
+
+        assertEquals(400, ledger.getExposure("Sonali Bank Ltd."));
+        ledger.book(deal("IB-2", "Sonali Bank Ltd.", 400, "Settled"));
+        assertEquals(0, ledger.getExposure("Sonali Bank Ltd."));
+        assertEquals(0, ledger.getOpenPositions());
+    }
+
+    @Test
+    void maturedDealsAgeOut() {
+        InterbankExposureLedger ledger = new InterbankExposureLedger();
+        InterbankOperations shortDeal = deal("IB-1", "Sonali Bank Ltd.", 1_000, "Active");
+        shortDeal.setMaturityDate(LocalDate.now().plusDays(1));
+        ledger.book(shortDeal);
+        ledger.book(deal("IB-2", "Sonali Bank Ltd.", 300, "Active"));
+
+        ledger.ageOut(LocalDate.now().plusDays(2));
+
+        assertEquals(1, ledger.getOpenPositions());
+        assertEquals(300, ledger.getExposure("Sonali Bank Ltd."));
+    }
+
+    private static InterbankOperations deal(String id, String counterparty, double amount, String status) {
+        InterbankOperations operation = new InterbankOperations();
+        operation.setOperationId(id);
+        operation.setCounterpartyBank(counterparty);
+        operation.setLendingAmount(amount);
+        operation.setMaturityDate(LocalDate.now().plusDays(30));
+        operation.setStatus(status);
+        return operation;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedRecordStoreTest {
+
+    @TempDir
+    File dir;
+
+    @Test
+    void appendGrowsTheFileAndSurvivesReopen() throws IOException {
+        File file = new File(dir, "rows.bin");
+        try (MappedRecordStore<TestRow> store = MappedRecordStore.open(file, TestRow.CODEC)) {
+            // Past the initial capacity of 256 rows
+            for (int i = 0; i < 600; i++) {
+                store.append(row(i, "Open", i));
+            }
+        }
+
+        try (MappedRecordStore<TestRow> store = MappedRecordStore.open(file, TestRow.CODEC)) {
+            assertEquals(600, store.size());
+            assertEquals("ID-599", store.get(599).getId());
+            assertEquals(599, store.get(599).getAmount());
+            assertEquals(LocalDate.of(2025, 1, 1).plusDays(599), store.get(599).getDate());
+        }
+        assertTrue(MappedRecordStore.isFixedWidthFile(file));
+    }
+
+    @Test
+    void setOverwritesRowInPlace() throws IOException {
+        try (MappedRecordStore<TestRow> store = open()) {
+            store.append(row(0, "Open", 10));
+            store.append(row(1, "Open", 20));
+
+            store.set(1, row(1, "Closed", 25));
+
+            assertEquals(2, store.size());
+            assertEquals("Closed", store.get(1).getStatus());
+            assertEquals(25, store.get(1).getAmount());
+            assertEquals("Open", store.get(0).getStatus());
+        }
+    }
+
+    @Test
+    void setAndGetRejectRowsOutsideTheFile() throws IOException {
+        try (MappedRecordStore<TestRow> store = open()) {
+            store.append(row(0, "Open", 10));
+
+            assertThrows(IndexOutOfBoundsException.class, () -> store.get(1));
+            assertThrows(IndexOutOfBoundsException.class, () -> store.set(-1, row(0, "Open", 1)));
+        }
+    }
+
+    @Test
+    void appendRejectsOversizedValueWithoutAddingRow() throws IOException {
+        try (MappedRecordStore<TestRow> store = open()) {
+            store.append(row(0, "Open", 10));
+
+            assertThrows(IllegalArgumentException.class, () -> store.append(row(1, "Far too long", 20)));
+
+            assertEquals(1, store.size());
+        }
+    }
+
+    @Test
+    void rewriteReplacesEveryRow() throws IOException {
+        File file = new File(dir, "rows.bin");
+        try (MappedRecordStore<TestRow> store = MappedRecordStore.open(file, TestRow.CODEC)) {
+            for (int i = 0; i < 300; i++) {
+                store.append(row(i, "Open", i));
+            }
+
+            store.rewrite(List.of(row(7, "Kept", 70), row(8, "Kept", 80)));
+
+            assertEquals(2, store.size());
+            assertEquals("ID-8", store.get(1).getId());
+        }
+        try (MappedRecordStore<TestRow> store = MappedRecordStore.open(file, TestRow.CODEC)) {
+            assertEquals(2, store.size());
+            assertEquals(List.of("ID-7", "ID-8"), store.keys());
+        }
+    }
+
+    @Test
+    void rewriteRejectsOversizedValueBeforeOverwritingAnything() throws IOException {
+        try (MappedRecordStore<TestRow> store = open()) {
+            store.append(row(0, "Open", 10));
+            store.append(row(1, "Open", 20));
+            List<TestRow> replacement = new ArrayList<>(List.of(row(5, "Open", 50), row(6, "Far too long", 60)));
+
+            assertThrows(IllegalArgumentException.class, () -> store.rewrite(replacement));
+
+            assertEquals(2, store.size());
+            assertEquals("ID-0", store.get(0).getId());
+        }
+    }
+
+    @Test
+    void scansColumnsWithoutDecodingRows() throws IOException {
+        try (MappedRecordStore<TestRow> store = open()) {
+            store.append(row(0, "Open", 10));
+            store.append(row(1, "Closed", 20));
+            store.append(row(2, "Open", 30));
+
+            assertEquals(1, store.indexOf("ID-1"));
+            assertEquals(-1, store.indexOf("ID-9"));
+            assertArrayEquals(new int[]{0, 2}, store.indexesOf("status", "Open"));
+            assertArrayEquals(new int[0], store.indexesOf("status", "Ope"));
+            assertEquals(60, store.sum("amount"));
+            assertEquals(50, store.sum("amount", "amount", amount -> amount > 15));
+            assertEquals(2, store.count("amount", amount -> amount >= 20));
+            assertThrows(IllegalArgumentException.class, () -> store.sum("status"));
+            assertThrows(IllegalArgumentException.class, () -> store.indexesOf("amount", "10"));
+        }
+    }
+
+    @Test
+    void openRejectsFileOfAnotherSchema() throws IOException {
+        File file = new File(dir, "rows.bin");
+        try (MappedRecordStore<TestRow> store = MappedRecordStore.open(file, TestRow.CODEC)) {
+            store.append(row(0, "Open", 10));
+        }
+        FixedWidthCodec<TestRow> wider = new FixedWidthCodec<>(TestRow::new)
+                .text("id", 40, TestRow::getId, TestRow::setId);
+
+        assertThrows(IOException.class, () -> MappedRecordStore.open(file, wider));
+    }
+
+    @Test
+    void plainFileIsNotFixedWidth() throws IOException {
+        File file = new File(dir, "plain.bin");
+        Files.write(file.toPath(), new byte[32]);
+
+        assertFalse(MappedRecordStore.isFixedWidthFile(file));
+        assertFalse(MappedRecordStore.isFixedWidthFile(new File(dir, "missing.bin")));
+    }
+
+    private MappedRecordStore<TestRow> open() throws IOException {
+        return MappedRecordStore.open(new File(dir, "rows.bin"), TestRow.CODEC);
+    }
+
+    private static TestRow row(int i, String status, double amount) {
+        return new TestRow("ID-" + i, status, amount, LocalDate.of(2025, 1, 1).plusDays(i));
+    }
+}
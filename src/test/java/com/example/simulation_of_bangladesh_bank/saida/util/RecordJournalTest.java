@@ -0,0 +1,154 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecordJournalTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 15);
+
+    @TempDir
+    File dir;
+
+    @Test
+    void replayAppliesAppendsUpdatesAndDeletesByKey() throws IOException {
+        RecordJournal journal = journal();
+        journal.write(RecordJournal.OP_APPEND, "C", row("C", "new", 3));
+        journal.write(RecordJournal.OP_UPDATE, "A", row("A", "changed", 10));
+        journal.write(RecordJournal.OP_DELETE, "B", null);
+
+        List<TestRow> rows = journal.replay(snapshot(row("A", "old", 1), row("B", "old", 2)), TestRow::keyOf);
+
+        assertEquals(List.of("A", "C"), ids(rows));
+        assertEquals("changed", rows.get(0).getStatus());
+        assertEquals(10, rows.get(0).getAmount());
+        assertEquals(DAY, rows.get(1).getDate());
+    }
+
+    @Test
+    void replayIsIdempotentByKey() throws IOException {
+        RecordJournal journal = journal();
+        Map<String, TestRow> batch = new LinkedHashMap<>();
+        batch.put("A", row("A", "paid", 5));
+        batch.put("B", row("B", "paid", 6));
+        journal.writeAll(RecordJournal.OP_APPEND, batch);
+
+        // The snapshot already holds the journaled rows, as after a crash before the journal was cleared
+        List<TestRow> rows = journal.replay(snapshot(row("A", "paid", 5), row("B", "paid", 6)), TestRow::keyOf);
+
+        assertEquals(List.of("A", "B"), ids(rows));
+    }
+
+    @Test
+    void replayIgnoresTornTrailingFrame() throws IOException {
+        RecordJournal journal = journal();
+        journal.write(RecordJournal.OP_APPEND, "A", row("A", "new", 1));
+        long whole = journal.size();
+        journal.write(RecordJournal.OP_APPEND, "B", row("B", "new", 2));
+        try (RandomAccessFile file = new RandomAccessFile(journal.getFile(), "rw")) {
+            file.setLength(whole + (journal.size() - whole) / 2);
+        }
+
+        List<TestRow> rows = journal.replay(snapshot(), TestRow::keyOf);
+
+        assertEquals(List.of("A"), ids(rows));
+    }
+
+    @Test
+    void replayIgnoresFrameLengthRunningPastTheFile() throws IOException {
+        RecordJournal journal = journal();
+        journal.write(RecordJournal.OP_APPEND, "A", row("A", "new", 1));
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(journal.getFile(), true))) {
+            out.writeByte(RecordJournal.OP_APPEND);
+            out.writeUTF("B");
+            out.writeInt(Integer.MAX_VALUE);
+            out.write(new byte[16]);
+        }
+
+        List<TestRow> rows = journal.replay(snapshot(), TestRow::keyOf);
+
+        assertEquals(List.of("A"), ids(rows));
+    }
+
+    @Test
+    void replayIgnoresNegativeFrameLength() throws IOException {
+        RecordJournal journal = journal();
+        journal.write(RecordJournal.OP_APPEND, "A", row("A", "new", 1));
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(journal.getFile(), true))) {
+            out.writeByte(RecordJournal.OP_APPEND);
+            out.writeUTF("B");
+            out.writeInt(-1);
+        }
+
+        List<TestRow> rows = journal.replay(snapshot(), TestRow::keyOf);
+
+        assertEquals(List.of("A"), ids(rows));
+    }
+
+    @Test
+    void replayKeepsSnapshotDuplicatesAndUpdatesTheFirst() throws IOException {
+        RecordJournal journal = journal();
+        journal.write(RecordJournal.OP_UPDATE, "A", row("A", "changed", 9));
+
+        List<TestRow> rows = journal.replay(snapshot(row("A", "first", 1), row("A", "second", 2)), TestRow::keyOf);
+
+        assertEquals(2, rows.size());
+        assertEquals("changed", rows.get(0).getStatus());
+        assertEquals("second", rows.get(1).getStatus());
+    }
+
+    @Test
+    void replayWithoutJournalReturnsSnapshot() {
+        List<TestRow> snapshot = snapshot(row("A", "old", 1));
+
+        assertSame(snapshot, journal().replay(snapshot, TestRow::keyOf));
+    }
+
+    @Test
+    void clearRemovesJournal() throws IOException {
+        RecordJournal journal = journal();
+        journal.write(RecordJournal.OP_APPEND, "A", row("A", "new", 1));
+        assertTrue(journal.exists());
+
+        journal.clear();
+
+        assertFalse(journal.exists());
+        assertEquals(0, journal.size());
+    }
+
+    private RecordJournal journal() {
+        return new RecordJournal(new File(dir, "rows.bin" + RecordJournal.JOURNAL_SUFFIX));
+    }
+
+    private static TestRow row(String id, String status, double amount) {
+        return new TestRow(id, status, amount, DAY);
+    }
+
+    private static List<TestRow> snapshot(TestRow... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    private static List<String> ids(List<TestRow> rows) {
+        List<String> ids = new ArrayList<>();
+        for (TestRow row : rows) {
+            ids.add(row.getId());
+        }
+        return ids;
+    }
+}
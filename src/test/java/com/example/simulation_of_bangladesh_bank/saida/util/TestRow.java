@@ -0,0 +1,68 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Small keyed record for the storage tests, with a text, a number and a date column.
+ */
+class TestRow implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    static final FixedWidthCodec<TestRow> CODEC = new FixedWidthCodec<>(TestRow::new)
+            .text("id", 12, TestRow::getId, TestRow::setId)
+            .text("status", 8, TestRow::getStatus, TestRow::setStatus)
+            .number("amount", TestRow::getAmount, TestRow::setAmount)
+            .date("date", TestRow::getDate, TestRow::setDate);
+
+    private String id;
+    private String status;
+    private double amount;
+    private LocalDate date;
+
+    TestRow() {
+    }
+
+    TestRow(String id, String status, double amount, LocalDate date) {
+        this.id = id;
+        this.status = status;
+        this.amount = amount;
+        this.date = date;
+    }
+
+    static String keyOf(Object row) {
+        return ((TestRow) row).getId();
+    }
+
+    String getId() {
+        return id;
+    }
+
+    void setId(String id) {
+        this.id = id;
+    }
+
+    String getStatus() {
+        return status;
+    }
+
+    void setStatus(String status) {
+        this.status = status;
+    }
+
+    double getAmount() {
+        return amount;
+    }
+
+    void setAmount(double amount) {
+        this.amount = amount;
+    }
+
+    LocalDate getDate() {
+        return date;
+    }
+
+    void setDate(LocalDate date) {
+        this.date = date;
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.simulation_of_bangladesh_bank.saida.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TreasuryLedgerTest {
+
+    @TempDir
+    File dir;
+
+    @Test
+    void reserveNeverOverdraws() {
+        TreasuryLedger ledger = open(1_000);
+
+        TreasuryLedger.Reservation reservation = ledger.reserve("Ministry A", 700, "Salaries");
+
+        assertNull(ledger.reserve("Ministry B", 400, "Works"));
+        assertEquals(300, ledger.getAvailable());
+        assertEquals(1_000, ledger.getBalance());
+        assertTrue(ledger.commit(reservation));
+        assertFalse(ledger.commit(reservation));
+        assertFalse(ledger.release(reservation));
+        assertEquals(300, ledger.getBalance());
+        assertEquals(700, ledger.getPayments());
+        ledger.close();
+    }
+
+    @Test
+    void concurrentPaymentsStayWithinTheBalance() throws Exception {
+        TreasuryLedger ledger = open(1_000);
+        AtomicInteger paid = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                tasks.add(pool.submit(() -> {
+                    if (ledger.pay("Ministry", 100, "Transfer")) {
+                        paid.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(10, paid.get());
+        assertEquals(0, ledger.getBalance());
+        assertEquals(0, ledger.getAvailable());
+        ledger.close();
+    }
+
+    @Test
+    void replayRebuildsBalancesAndReleasesOpenReservations() {
+        TreasuryLedger ledger = open(1_000);
+        ledger.credit("NBR", 500, "VAT");
+        assertTrue(ledger.pay("Ministry A", 200, "Salaries"));
+        ledger.reserve("Ministry B", 300, "Works");
+        ledger.close();
+
+        TreasuryLedger replayed = reopen();
+
+        assertEquals(1_300, replayed.getBalance());
+        // The reservation left open by the previous run is released
+        assertEquals(1_300, replayed.getAvailable());
+        assertEquals(500, replayed.getReceipts());
+        assertEquals(200, replayed.getPayments());
+        replayed.close();
+
+        TreasuryLedger again = reopen();
+        assertEquals(1_300, again.getAvailable());
+        again.close();
+    }
+
+    @Test
+    void tornTailIsCutOffAndPostingContinues() throws IOException {
+        TreasuryLedger ledger = open(1_000);
+        ledger.credit("NBR", 500, "VAT");
+        ledger.close();
+        long whole = journal().length();
+        try (FileOutputStream out = new FileOutputStream(journal(), true)) {
+            // A movement cut short by a crash
+            out.write(new byte[]{0, 0, 0, 0, 0, 0, 0, 3, 0, 0});
+        }
+
+        TreasuryLedger replayed = reopen();
+
+        assertEquals(whole, journal().length());
+        assertEquals(1_500, replayed.getBalance());
+        replayed.credit("NBR", 1, "Customs");
+        replayed.close();
+        TreasuryLedger again = reopen();
+        assertEquals(1_501, again.getBalance());
+        again.close();
+        assertFalse(new File(dir, "tsa.log.corrupt").exists());
+    }
+
+    @Test
+    void unreadableJournalIsCopiedAsideBeforeTruncating() throws IOException {
+        TreasuryLedger ledger = open(1_000);
+        ledger.close();
+        long whole = journal().length();
+        try (FileOutputStream out = new FileOutputStream(journal(), true)) {
+            byte[] entry = new byte[40];
+            // Movement type 42 does not exist
+            entry[16] = 42;
+            out.write(entry);
+        }
+
+        TreasuryLedger replayed = reopen();
+
+        assertEquals(1_000, replayed.getBalance());
+        assertEquals(whole, journal().length());
+        assertEquals(whole + 40, new File(dir, "tsa.log.corrupt").length());
+        replayed.close();
+    }
+
+    @Test
+    void failedPostingLeavesBalancesUnchanged() {
+        TreasuryLedger ledger = open(1_000);
+        TreasuryLedger.Reservation reservation = ledger.reserve("Ministry A", 300, "Works");
+        ledger.close();
+
+        assertThrows(UncheckedIOException.class, () -> ledger.credit("NBR", 50, "VAT"));
+        assertThrows(UncheckedIOException.class, () -> ledger.commit(reservation));
+        assertThrows(UncheckedIOException.class, () -> ledger.reserve("Ministry B", 10, "Works"));
+
+        assertEquals(1_000, ledger.getBalance());
+        assertEquals(700, ledger.getAvailable());
+        assertEquals(0, ledger.getReceipts());
+        assertEquals(TreasuryLedger.State.RESERVED, reservation.getState());
+    }
+
+    @Test
+    void rejectsNonPositiveAmounts() {
+        TreasuryLedger ledger = open(1_000);
+
+        assertThrows(IllegalArgumentException.class, () -> ledger.credit("NBR", 0, "VAT"));
+        assertThrows(IllegalArgumentException.class, () -> ledger.reserve("Ministry", -5, "Works"));
+        assertThrows(IllegalStateException.class, () -> ledger.open(10));
+        ledger.close();
+    }
+
+    private TreasuryLedger open(long openingBalance) {
+        TreasuryLedger ledger = reopen();
+        ledger.open(openingBalance);
+        return ledger;
+    }
+
+    private TreasuryLedger reopen() {
+        return new TreasuryLedger(journal());
+    }
+
+    private File journal() {
+        return new File(dir, "tsa.log");
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.simulation_of_bangladesh_bank.shifat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommercialBankSearchIndexTest {
+
+    @Test
+    void prefixSearchIgnoresCaseAndOrdersByField() {
+        CommercialBankSearchIndex index = new CommercialBankSearchIndex(registry());
+
+        CommercialBankSearchIndex.Slice slice = index.search(CommercialBankSearchIndex.Field.NAME, "  SONALI ");
+
+        assertEquals(List.of("Sonali Bank", "Sonali Finance"), names(slice));
+    }
+
+    @Test
+    void emptyPrefixMatchesEveryBank() {
+        CommercialBankSearchIndex index = new CommercialBankSearchIndex(registry());
+
+        CommercialBankSearchIndex.Slice slice = index.search(CommercialBankSearchIndex.Field.NAME, "");
+
+        assertEquals(List.of("Agrani Bank", "Janata Bank", "Sonali Bank", "Sonali Finance"), names(slice));
+        assertEquals(4, index.search(CommercialBankSearchIndex.Field.STATUS, null).size());
+    }
+
+    @Test
+    void prefixWithoutMatchesGivesEmptySlice() {
+        CommercialBankSearchIndex index = new CommercialBankSearchIndex(registry());
+
+        assertTrue(index.search(CommercialBankSearchIndex.Field.NAME, "Zz").isEmpty());
+        assertTrue(index.search(CommercialBankSearchIndex.Field.NAME, "Sonali Bankx").isEmpty());
+        assertTrue(new CommercialBankSearchIndex(new ArrayList<>())
+                .search(CommercialBankSearchIndex.Field.BANK_ID, "B").isEmpty());
+    }
+
+    @Test
+    void searchesNumericFieldsAsText() {
+        CommercialBankSearchIndex index = new CommercialBankSearchIndex(registry());
+
+        CommercialBankSearchIndex.Slice slice = index.search(CommercialBankSearchIndex.Field.LICENSE_NUMBER, "10");
+
+        assertEquals(List.of("Sonali Bank", "Janata Bank"), names(slice));
+    }
+
+    @Test
+    void addedBankIsFoundAndEarlierSlicesKeepTheirRows() {
+        CommercialBankSearchIndex index = new CommercialBankSearchIndex(registry());
+        CommercialBankSearchIndex.Slice before = index.search(CommercialBankSearchIndex.Field.NAME, "sonali");
+
+        index.add(new ManageCommercialBank("Active", "Private", 500, "Sonali Agro", "B5"));
+
+        assertEquals(List.of("Sonali Bank", "Sonali Finance"), names(before));
+        assertEquals(List.of("Sonali Agro", "Sonali Bank", "Sonali Finance"),
+                names(index.search(CommercialBankSearchIndex.Field.NAME, "sonali")));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void sliceRejectsIndexesOutsideTheRange() {
+        CommercialBankSearchIndex index = new CommercialBankSearchIndex(registry());
+        CommercialBankSearchIndex.Slice slice = index.search(CommercialBankSearchIndex.Field.NAME, "sonali");
+
+        assertThrows(IndexOutOfBoundsException.class, () -> slice.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> slice.get(-1));
+    }
+
+    @Test
+    void fieldLabelsMapBackToFields() {
+        assertEquals(CommercialBankSearchIndex.Field.TYPE, CommercialBankSearchIndex.Field.ofLabel("Type"));
+        assertEquals(CommercialBankSearchIndex.Field.BANK_ID, CommercialBankSearchIndex.Field.ofLabel("Unknown"));
+    }
+
+    private static List<ManageCommercialBank> registry() {
+        List<ManageCommercialBank> banks = new ArrayList<>();
+        banks.add(new ManageCommercialBank("Active", "State-owned", 101, "Sonali Bank", "B1"));
+        banks.add(new ManageCommercialBank("Active", "State-owned", 205, "Agrani Bank", "B2"));
+        banks.add(new ManageCommercialBank("Suspended", "Private", 300, "Sonali Finance", "B3"));
+        banks.add(new ManageCommercialBank("Active", "State-owned", 102, "Janata Bank", "B4"));
+        return banks;
+    }
+
+    private static List<String> names(List<ManageCommercialBank> banks) {
+        List<String> names = new ArrayList<>();
+        for (ManageCommercialBank bank : banks) {
+            names.add(bank.getName());
+        }
+        return names;
+    }
+}